@@ -133,6 +133,10 @@ public enum ErrorCode {
       Response.Status.BAD_REQUEST,
       "The payload for the batched document write must be a JSON array."),
 
+  DOCS_API_WRITE_BATCH_INVALID_JSON(
+      Response.Status.BAD_REQUEST,
+      "The payload for the batched document write is not a valid JSON array."),
+
   DOCS_API_WRITE_BATCH_DUPLICATE_ID(
       Response.Status.BAD_REQUEST,
       "A same document ID is found in more than one document when doing batched document write."),
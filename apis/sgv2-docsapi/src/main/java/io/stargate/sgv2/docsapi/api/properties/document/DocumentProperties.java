@@ -32,6 +32,18 @@ public interface DocumentProperties {
   /** @return Defines the Cassandra search page size when fetching documents. */
   int maxSearchPageSize();
 
+  /** @return Defines how many pages of a search query are fetched ahead of the consumer. */
+  int searchPrefetchDepth();
+
+  /** @return Defines the maximum size in bytes of the prefetched pages per query. */
+  long searchPrefetchMaxBufferedBytes();
+
+  /**
+   * @return Defines the maximum ratio of changed rows to the rows of an update, above which a diff
+   *     update rewrites the whole (sub-)document.
+   */
+  double diffUpdateMaxChangeRatio();
+
   /** @return Properties for a table where documents are stored. */
   DocumentTableProperties tableProperties();
 
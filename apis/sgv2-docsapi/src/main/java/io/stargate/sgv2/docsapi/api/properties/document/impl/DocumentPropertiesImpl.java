@@ -32,6 +32,9 @@ public record DocumentPropertiesImpl(
     int maxArrayLength,
     int maxPageSize,
     int maxSearchPageSize,
+    int searchPrefetchDepth,
+    long searchPrefetchMaxBufferedBytes,
+    double diffUpdateMaxChangeRatio,
     DocumentTableProperties tableProperties,
     DocumentTableColumns tableColumns)
     implements DocumentProperties {
@@ -42,6 +45,9 @@ public record DocumentPropertiesImpl(
         documentConfig.maxArrayLength(),
         documentConfig.maxPageSize(),
         documentConfig.maxSearchPageSize(),
+        documentConfig.searchPrefetch().depth(),
+        documentConfig.searchPrefetch().maxBufferedBytes(),
+        documentConfig.diffUpdate().maxChangeRatio(),
         new DocumentTablePropertiesImpl(documentConfig),
         DocumentTableColumnsImpl.of(documentConfig, numericBooleans));
   }
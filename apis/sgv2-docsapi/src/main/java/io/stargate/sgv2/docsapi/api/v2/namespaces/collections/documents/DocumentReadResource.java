@@ -365,7 +365,7 @@ public class DocumentReadResource {
                         });
               } else {
                 return readDocumentsService
-                    .getDocument(namespace, collection, id, pathStrings, fields, context)
+                    .getDocumentForResponse(namespace, collection, id, pathStrings, fields, context)
                     .map(
                         result -> {
                           if (null != result) {
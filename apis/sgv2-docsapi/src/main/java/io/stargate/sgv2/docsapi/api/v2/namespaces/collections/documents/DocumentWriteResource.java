@@ -18,9 +18,11 @@
 package io.stargate.sgv2.docsapi.api.v2.namespaces.collections.documents;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.api.common.exception.model.dto.ApiError;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentWriteResult;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.ExecutionProfile;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.MultiDocsResponse;
 import io.stargate.sgv2.docsapi.config.constants.OpenApiConstants;
@@ -40,6 +42,7 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.UriInfo;
+import java.io.InputStream;
 import java.net.URI;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
@@ -56,6 +59,8 @@ import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.resteasy.reactive.RestResponse;
 import org.jboss.resteasy.reactive.RestResponse.ResponseBuilder;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
 /** Document write resource. */
 @Path(DocumentWriteResource.BASE_PATH)
@@ -227,4 +232,74 @@ public class DocumentWriteResource {
         .onItem()
         .transform(result -> ResponseBuilder.accepted().entity(result).build());
   }
+
+  @Operation(
+      summary = "Create documents in a streaming fashion",
+      description =
+          """
+              Create multiple new documents, reading them one by one from the payload and returning the result of each write as soon as it's known, as newline-delimited JSON. If the collection does not exist, it will be created.
+
+              > Unlike the non-streaming batch write, a single failed document does not fail the whole request. Each result contains either the document ID or the reason the write failed.
+              Include the `id-path` parameter to extract the ID for each document from the document itself.
+              """)
+  @Parameters(
+      value = {
+        @Parameter(name = "namespace", ref = OpenApiConstants.Parameters.NAMESPACE),
+        @Parameter(
+            name = "collection",
+            ref = OpenApiConstants.Parameters.COLLECTION,
+            description = "The collection of the documents. Will be created if it does not exist."),
+        @Parameter(
+            name = "id-path",
+            description =
+                "The optional path of the ID in each document whose value will be used as the ID of the created document, if present."),
+        @Parameter(
+            name = "ttl",
+            ref = OpenApiConstants.Parameters.TTL,
+            description = "The time-to-live (in seconds) of each written document."),
+      })
+  @RequestBody(ref = OpenApiConstants.RequestBodies.WRITE_BATCH)
+  @APIResponses(
+      value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Writes are processed, and the result of each one is streamed.",
+            content = {
+              @Content(
+                  mediaType = RestMediaType.APPLICATION_NDJSON,
+                  schema =
+                      @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                          implementation = DocumentWriteResult.class))
+            }),
+        @APIResponse(
+            responseCode = "404",
+            description = "Not found.",
+            content =
+                @Content(
+                    examples = {
+                      @ExampleObject(ref = OpenApiConstants.Examples.NAMESPACE_DOES_NOT_EXIST)
+                    },
+                    schema =
+                        @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                            implementation = ApiError.class))),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_400),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_401),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_500),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_503),
+      })
+  @POST
+  @Path("{collection:\\w+}/batch/stream")
+  @Produces(RestMediaType.APPLICATION_NDJSON)
+  @RestStreamElementType(MediaType.APPLICATION_JSON)
+  public Multi<DocumentWriteResult> createDocumentsStreaming(
+      @PathParam("namespace") String namespace,
+      @PathParam("collection") String collection,
+      @QueryParam("id-path") String idPath,
+      @QueryParam("ttl") @Min(value = 1, message = "TTL value must be a positive integer")
+          Integer ttl,
+      @NotNull(message = "payload must not be empty") InputStream body) {
+    Uni<Schema.CqlTable> table = collectionManager.ensureValidDocumentTable(namespace, collection);
+    return documentWriteService.writeDocuments(
+        table, namespace, collection, body, idPath, ttl, ExecutionContext.NOOP_CONTEXT);
+  }
 }
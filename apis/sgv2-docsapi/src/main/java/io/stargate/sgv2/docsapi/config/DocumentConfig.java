@@ -24,6 +24,7 @@ import io.stargate.sgv2.docsapi.config.constants.Constants;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 /**
  * Configuration for the documents.
@@ -64,6 +65,67 @@ public interface DocumentConfig {
   /** {@inheritDoc} */
   DocumentTableConfig table();
 
+  /** {@inheritDoc} */
+  SearchPrefetchConfig searchPrefetch();
+
+  /** {@inheritDoc} */
+  BatchWriteConfig batchWrite();
+
+  /** {@inheritDoc} */
+  DiffUpdateConfig diffUpdate();
+
+  interface BatchWriteConfig {
+
+    /**
+     * @return Defines how many documents of a batch write are written concurrently, defaults to
+     *     <code>16</code>.
+     */
+    @Max(1024)
+    @Positive
+    @WithDefault("16")
+    int concurrency();
+  }
+
+  interface DiffUpdateConfig {
+
+    /**
+     * @return If document updates and patches should read the existing rows first, in order to
+     *     write only the rows that changed, defaults to <code>false</code>.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return Defines the maximum ratio of changed rows (inserted and deleted) to the rows of the
+     *     update, above which the whole (sub-)document is rewritten instead, defaults to <code>0.5
+     *     </code>.
+     */
+    @PositiveOrZero
+    @WithDefault("0.5")
+    double maxChangeRatio();
+  }
+
+  interface SearchPrefetchConfig {
+
+    /**
+     * @return Defines how many pages of a search query are fetched ahead of the consumer, defaults
+     *     to <code>0</code> (no prefetching). As each page has at most {@link #maxSearchPageSize()}
+     *     rows, at most <code>depth * max-search-page-size</code> rows are buffered per query.
+     */
+    @Max(16)
+    @PositiveOrZero
+    @WithDefault("0")
+    int depth();
+
+    /**
+     * @return Defines the maximum size in bytes of the pages buffered per query, no more pages are
+     *     prefetched while it's reached, defaults to <code>4194304</code> (4MB).
+     */
+    @Positive
+    @WithDefault("4194304")
+    long maxBufferedBytes();
+  }
+
   interface DocumentTableConfig {
 
     /** @return The name of the column where a document key is stored. */
@@ -114,6 +114,46 @@ public interface RowWrapper {
     return Values.bool(getValue(columnName));
   }
 
+  /**
+   * Resolves the index of a column, for the index-based getters below. Resolving it once and
+   * reusing it avoids a map lookup per value when reading many rows with the same columns.
+   *
+   * @return the index, or <0 if the column does not exist.
+   */
+  default int columnIndex(String columnName) {
+    return firstIndexOf(columnName);
+  }
+
+  /** @return If value of the column at the given index is <code>null</code>. */
+  default boolean isNull(int columnIndex) {
+    return row().getValues(columnIndex).hasNull();
+  }
+
+  /** @return Value of the column at the given index as string. */
+  default String getString(int columnIndex) {
+    return Values.string(row().getValues(columnIndex));
+  }
+
+  /** @return Value of the column at the given index as double. */
+  default double getDouble(int columnIndex) {
+    return Values.double_(row().getValues(columnIndex));
+  }
+
+  /** @return Value of the column at the given index as long. */
+  default long getLong(int columnIndex) {
+    return Values.bigint(row().getValues(columnIndex));
+  }
+
+  /** @return Value of the column at the given index as byte. */
+  default byte getByte(int columnIndex) {
+    return Values.tinyint(row().getValues(columnIndex));
+  }
+
+  /** @return Value of the column at the given index as boolean. */
+  default boolean getBoolean(int columnIndex) {
+    return Values.bool(row().getValues(columnIndex));
+  }
+
   private Value getValue(String columnName) {
     int i = firstIndexOf(columnName);
     if (i < 0) {
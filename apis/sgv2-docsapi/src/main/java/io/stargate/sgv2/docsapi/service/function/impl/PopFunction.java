@@ -14,7 +14,6 @@
  * limitations under the License.
  *
  */
-
 package io.stargate.sgv2.docsapi.service.function.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -28,8 +27,22 @@ import io.stargate.sgv2.docsapi.service.query.ReadDocumentsService;
 import io.stargate.sgv2.docsapi.service.write.WriteDocumentsService;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
 
-/** Pop function implementation. Pops a value to the existing array. Returns the popped value. */
+/**
+ * Pop function implementation. Pops a value to the existing array. Returns the popped value.
+ *
+ * <p>The index of the last element is found by reading only the last row of the array, then only
+ * the rows of that element are read and deleted. If the array can not be resolved that way (f.e.
+ * the path holds no array, or dead leaves hide the last element), the whole array is read and
+ * rewritten instead.
+ *
+ * <p>Concurrency: the pop is not atomic. Two concurrent pops of the same array can resolve the same
+ * element, in which case both return it and only one element is removed. A push concurrent with a
+ * pop can have its value removed by the pop. Concurrent updates of the other elements are not
+ * overwritten by a pop.
+ */
 @ApplicationScoped
 public class PopFunction implements BuiltInFunction {
 
@@ -46,6 +59,65 @@ public class PopFunction implements BuiltInFunction {
   /** {@inheritDoc} */
   @Override
   public Uni<JsonNode> execute(Uni<Schema.CqlTable> table, BuiltInFunction.Data data) {
+    // get the last index of the array at the path
+    return readDocumentsService
+        .getLastArrayIndex(
+            data.namespace(),
+            data.collection(),
+            data.documentId(),
+            data.documentPath(),
+            data.executionContext())
+        .flatMap(
+            lastIndex -> {
+              if (null == lastIndex) {
+                return popFromDocument(table, data);
+              }
+
+              // ensure not empty
+              if (lastIndex < 0) {
+                Exception outOfBounds =
+                    new ErrorCodeRuntimeException(ErrorCode.DOCS_API_ARRAY_POP_OUT_OF_BOUNDS);
+                return Uni.createFrom().failure(outOfBounds);
+              }
+
+              // read the last element only
+              List<String> elementPath = new ArrayList<>(data.documentPath());
+              elementPath.add("[%d]".formatted(lastIndex));
+              return readDocumentsService
+                  .getDocument(
+                      data.namespace(),
+                      data.collection(),
+                      data.documentId(),
+                      elementPath,
+                      null,
+                      data.executionContext())
+                  .flatMap(
+                      element -> {
+                        if (null == element) {
+                          return popFromDocument(table, data);
+                        }
+
+                        // delete the element rows
+                        // ttl auto is one here as in V1
+                        return writeDocumentsService
+                            .removeArrayElement(
+                                table,
+                                data.namespace(),
+                                data.collection(),
+                                data.documentId(),
+                                data.documentPath(),
+                                lastIndex,
+                                true,
+                                data.executionContext())
+
+                            // return popped value back
+                            .map(any -> element.data());
+                      });
+            });
+  }
+
+  // pops by reading and rewriting the whole array
+  private Uni<JsonNode> popFromDocument(Uni<Schema.CqlTable> table, BuiltInFunction.Data data) {
     // get the doc at the path
     return readDocumentsService
         .getDocument(
@@ -14,7 +14,6 @@
  * limitations under the License.
  *
  */
-
 package io.stargate.sgv2.docsapi.service.function.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -23,6 +22,7 @@ import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
 import io.stargate.sgv2.docsapi.service.function.BuiltInFunction;
 import io.stargate.sgv2.docsapi.service.query.ReadDocumentsService;
 import io.stargate.sgv2.docsapi.service.write.WriteDocumentsService;
@@ -31,6 +31,15 @@ import jakarta.inject.Inject;
 
 /**
  * Push function implementation. Pushes a value to the existing array. Returns the updated array.
+ *
+ * <p>The index of the last element is found by reading only the last row of the array, and only the
+ * rows of the pushed value are written. The whole array is still read, as it's returned. If the
+ * array read does not match its last row (f.e. due to dead leaves), the whole array is rewritten
+ * instead.
+ *
+ * <p>Concurrency: the push is not atomic. Two concurrent pushes to the same array can resolve the
+ * same index, in which case both values are written to the same element and the latest write
+ * timestamp wins. Concurrent updates of the other elements are not overwritten by a push.
  */
 @ApplicationScoped
 public class PushFunction implements BuiltInFunction {
@@ -49,23 +58,38 @@ public class PushFunction implements BuiltInFunction {
   @Override
   public Uni<JsonNode> execute(Uni<Schema.CqlTable> table, Data data) {
     // get the doc at the path
-    return readDocumentsService
-        .getDocument(
+    Uni<DocumentResponseWrapper<JsonNode>> document =
+        readDocumentsService.getDocument(
             data.namespace(),
             data.collection(),
             data.documentId(),
             data.documentPath(),
             null,
-            data.executionContext())
+            data.executionContext());
 
-        // when we get it back
-        .onItem()
-        .ifNotNull()
-        .transformToUni(
-            document -> {
+    // and in parallel the last index of the array
+    Uni<Integer> lastIndex =
+        readDocumentsService.getLastArrayIndex(
+            data.namespace(),
+            data.collection(),
+            data.documentId(),
+            data.documentPath(),
+            data.executionContext());
+
+    return Uni.combine()
+        .all()
+        .unis(document, lastIndex)
+        .asTuple()
+
+        // when we get them back
+        .flatMap(
+            tuple -> {
+              if (null == tuple.getItem1()) {
+                return Uni.createFrom().nullItem();
+              }
 
               // first ensure array exists
-              JsonNode jsonNode = document.data();
+              JsonNode jsonNode = tuple.getItem1().data();
               if (jsonNode == null || !jsonNode.isArray()) {
                 Exception invalid =
                     new ErrorCodeRuntimeException(
@@ -76,10 +100,30 @@ public class PushFunction implements BuiltInFunction {
 
               // push value
               ArrayNode arrayNode = (ArrayNode) jsonNode;
-              arrayNode.insert(arrayNode.size(), data.input());
+              int index = arrayNode.size();
+              arrayNode.insert(index, data.input());
 
-              // write sub document with new array state
+              // write only the pushed value if the next index is confirmed by the last row
               // ttl auto is one here as in V1
+              Integer last = tuple.getItem2();
+              if (null != last && last + 1 == index) {
+                return writeDocumentsService
+                    .addArrayElement(
+                        table,
+                        data.namespace(),
+                        data.collection(),
+                        data.documentId(),
+                        data.documentPath(),
+                        index,
+                        data.input(),
+                        true,
+                        data.executionContext())
+
+                    // return updated array back
+                    .map(any -> arrayNode);
+              }
+
+              // otherwise write sub document with new array state
               return writeDocumentsService
                   .updateSubDocument(
                       table,
@@ -16,22 +16,29 @@
  */
 package io.stargate.sgv2.docsapi.service.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.BooleanNode;
 import com.fasterxml.jackson.databind.node.DoubleNode;
 import com.fasterxml.jackson.databind.node.LongNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import io.opentelemetry.extension.annotations.WithSpan;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
 import io.stargate.sgv2.docsapi.config.constants.Constants;
 import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
-import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -85,6 +92,47 @@ public class JsonConverter {
     return convertToJsonDoc(rows, collector, writeAllPathsAsObjects, numericBooleans, maxDepth);
   }
 
+  /**
+   * Returns the JSON document represented by a List of rows as a node that is written straight to
+   * the generator it is serialized with, without building the intermediate tree.
+   *
+   * <p>This is only possible for the rows of a document that only has one version of each path, in
+   * clustering order, as they are then written as they are read. Otherwise (for example if some
+   * paths were overwritten with a different structure and the old rows were not purged yet), this
+   * returns <code>null</code> and the document must be built with {@link #convertToJsonDoc(List,
+   * DeadLeafCollector, boolean, boolean)}, so that the dead leaves are collected.
+   *
+   * <p>The returned node can only be serialized, it has no children to traverse.
+   *
+   * @param rows The List of RowWrapper objects
+   * @param writeAllPathsAsObjects `true` if array paths should be written as JSON objects instead
+   * @param numericBooleans `true` if booleans should be treated as numbers
+   * @return the node writing the document, or <code>null</code> if the rows can not be streamed
+   */
+  @WithSpan
+  public JsonNode streamedJsonDoc(
+      List<RowWrapper> rows, boolean writeAllPathsAsObjects, boolean numericBooleans) {
+    int maxDepth = docsProperties.maxDepth();
+    if (!isStreamable(rows, writeAllPathsAsObjects, maxDepth)) {
+      return null;
+    }
+    return new POJONode(
+        new JsonSerializable.Base() {
+          @Override
+          public void serialize(JsonGenerator generator, SerializerProvider serializers)
+              throws IOException {
+            streamJsonDoc(rows, generator, writeAllPathsAsObjects, numericBooleans, maxDepth);
+          }
+
+          @Override
+          public void serializeWithType(
+              JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSer)
+              throws IOException {
+            serialize(generator, serializers);
+          }
+        });
+  }
+
   /**
    * Takes a List of rows from a documents table, iterating over it and constructing a JSON object
    * (or array) that is represented by those rows. Note: Because the system avoids
@@ -110,45 +158,39 @@ public class JsonConverter {
       boolean numericBooleans,
       int maxDepth) {
     JsonNode doc = mapper.createObjectNode();
-    Map<String, Long> pathWriteTimes = new HashMap<>();
     if (rows.isEmpty()) {
       return doc;
     }
 
+    PathNode root = new PathNode(null, "$", -1);
+    Columns columns = null;
     for (RowWrapper row : rows) {
-      Long rowWriteTime = row.getLong(docsProperties.tableProperties().writetimeColumnName());
-      String rowLeaf = row.getString(docsProperties.tableProperties().leafColumnName());
+      columns = Columns.forRow(row, columns, docsProperties, maxDepth);
+      long rowWriteTime = row.getLong(columns.index(Columns.WRITETIME));
+      String rowLeaf = row.getString(columns.index(Columns.LEAF));
       if (rowLeaf.equals(Constants.ROOT_DOC_MARKER)) {
         continue;
       }
 
-      String leaf = null;
+      PathNode leaf = null;
       JsonNode parentRef = null;
       JsonNode ref = doc;
 
-      String parentPath = "$";
+      PathNode parent = root;
+      String previousP = null;
+      String p = columns.path(row, 0);
 
       for (int i = 0; i < maxDepth; i++) {
-        String p = row.getString(docsProperties.tableProperties().pathColumnName(i));
-        String nextP =
-            i < maxDepth - 1
-                ? row.getString(docsProperties.tableProperties().pathColumnName(i + 1))
-                : "";
-        boolean endOfPath = nextP.equals("");
+        String nextP = i < maxDepth - 1 ? columns.path(row, i + 1) : "";
+        boolean endOfPath = nextP.isEmpty();
         boolean isArray = p.startsWith("[");
         boolean nextIsArray = nextP.startsWith("[");
 
-        if (isArray) {
-          // This removes leading zeros if applicable
-          p = "[" + Integer.parseInt(p.substring(1, p.length() - 1)) + "]";
-        }
+        // This removes leading zeros if applicable
+        int index = isArray ? arrayIndex(p) : -1;
 
-        boolean shouldWrite =
-            !pathWriteTimes.containsKey(parentPath)
-                || pathWriteTimes.get(parentPath) <= rowWriteTime;
-
-        if (!shouldWrite) {
-          markFullPathAsDead(parentPath, p, collector);
+        if (!parent.isWritableAt(rowWriteTime)) {
+          collector.addAll(parent.childPath(p, index));
           break;
         }
 
@@ -157,33 +199,32 @@ public class JsonConverter {
           if (i == 0 && shouldBeArray) {
             doc = mapper.createArrayNode();
             ref = doc;
-            pathWriteTimes.put(parentPath, rowWriteTime);
+            parent.writeTime = rowWriteTime;
           } else if (i != 0 && shouldBeArray) {
-            markObjectAtPathAsDead(ref, parentPath, collector);
-            ref = changeCurrentNodeToArray(row, parentRef, i);
-            pathWriteTimes.put(parentPath, rowWriteTime);
+            markObjectAtPathAsDead(ref, parent.path(), collector);
+            ref = changeCurrentNodeToArray(parentRef, previousP);
+            parent.writeTime = rowWriteTime;
           } else if (i != 0 && !isArray && !ref.isObject()) {
-            markArrayAtPathAsDead(ref, parentPath, collector);
-            ref = changeCurrentNodeToObject(row, parentRef, i, writeAllPathsAsObjects);
-            pathWriteTimes.put(parentPath, rowWriteTime);
+            markArrayAtPathAsDead(ref, parent.path(), collector);
+            ref = changeCurrentNodeToObject(parentRef, previousP, writeAllPathsAsObjects);
+            parent.writeTime = rowWriteTime;
           }
-          leaf = p;
+          leaf = parent.child(p, index);
           break;
         }
 
+        PathNode node = parent.child(p, index);
         JsonNode childRef;
 
         if (isArray && !writeAllPathsAsObjects) {
-          int index = Integer.parseInt(p.substring(1, p.length() - 1));
-
-          boolean shouldBeArray = isArray && !ref.isArray();
+          boolean shouldBeArray = !ref.isArray();
           if (i == 0 && shouldBeArray) {
             doc = mapper.createArrayNode();
             ref = doc;
           } else if (shouldBeArray) {
-            markObjectAtPathAsDead(ref, parentPath, collector);
-            ref = changeCurrentNodeToArray(row, parentRef, i);
-            pathWriteTimes.put(parentPath, rowWriteTime);
+            markObjectAtPathAsDead(ref, parent.path(), collector);
+            ref = changeCurrentNodeToArray(parentRef, previousP);
+            parent.writeTime = rowWriteTime;
           }
 
           ArrayNode arrayRef = (ArrayNode) ref;
@@ -205,7 +246,7 @@ public class JsonConverter {
             arrayRef.set(index, childRef);
           }
         } else {
-          childRef = ref.get(p);
+          childRef = ref.get(node.name);
           if (childRef == null) {
             childRef =
                 nextIsArray && !writeAllPathsAsObjects
@@ -213,24 +254,26 @@ public class JsonConverter {
                     : mapper.createObjectNode();
 
             if (!ref.isObject()) {
-              markArrayAtPathAsDead(ref, parentPath, collector);
-              ref = changeCurrentNodeToObject(row, parentRef, i, writeAllPathsAsObjects);
-              pathWriteTimes.put(parentPath, rowWriteTime);
+              markArrayAtPathAsDead(ref, parent.path(), collector);
+              ref = changeCurrentNodeToObject(parentRef, previousP, writeAllPathsAsObjects);
+              parent.writeTime = rowWriteTime;
             }
 
-            ((ObjectNode) ref).set(p, childRef);
+            ((ObjectNode) ref).set(node.name, childRef);
           }
         }
         parentRef = ref;
         ref = childRef;
-        parentPath += "." + p;
+        parent = node;
+        previousP = p;
+        p = nextP;
       }
 
       if (leaf == null) {
         continue;
       }
 
-      writeLeafIfNewer(ref, row, leaf, parentPath, pathWriteTimes, rowWriteTime, numericBooleans);
+      writeLeafIfNewer(ref, row, columns, leaf, rowWriteTime, numericBooleans);
     }
 
     return doc;
@@ -241,11 +284,10 @@ public class JsonConverter {
    * is necessary if an older value in the data is an Object or scalar, but a newer representation
    * is an Array.
    */
-  private JsonNode changeCurrentNodeToArray(RowWrapper row, JsonNode parentRef, int pathIndex) {
-    String pbefore = row.getString(docsProperties.tableProperties().pathColumnName(pathIndex - 1));
+  private JsonNode changeCurrentNodeToArray(JsonNode parentRef, String pbefore) {
     JsonNode ref = mapper.createArrayNode();
     if (pbefore.startsWith("[")) {
-      int index = Integer.parseInt(pbefore.substring(1, pbefore.length() - 1));
+      int index = arrayIndex(pbefore);
       ((ArrayNode) parentRef).set(index, ref);
     } else {
       ((ObjectNode) parentRef).set(pbefore, ref);
@@ -260,11 +302,10 @@ public class JsonConverter {
    * an Object.
    */
   private JsonNode changeCurrentNodeToObject(
-      RowWrapper row, JsonNode parentRef, int pathIndex, boolean writeAllPathsAsObjects) {
-    String pbefore = row.getString(docsProperties.tableProperties().pathColumnName(pathIndex - 1));
+      JsonNode parentRef, String pbefore, boolean writeAllPathsAsObjects) {
     JsonNode ref = mapper.createObjectNode();
     if (pbefore.startsWith("[") && !writeAllPathsAsObjects) {
-      int index = Integer.parseInt(pbefore.substring(1, pbefore.length() - 1));
+      int index = arrayIndex(pbefore);
       ((ArrayNode) parentRef).set(index, ref);
     } else {
       ((ObjectNode) parentRef).set(pbefore, ref);
@@ -272,18 +313,6 @@ public class JsonConverter {
     return ref;
   }
 
-  /**
-   * Adds a full path to the DeadLeafCollector.
-   *
-   * @param parentPath the parent path to mark for deletion.
-   * @param currentPath the current path to mark for deletion.
-   * @param collector the DeadLeafCollector
-   */
-  private void markFullPathAsDead(
-      String parentPath, String currentPath, DeadLeafCollector collector) {
-    collector.addAll(parentPath + "." + currentPath);
-  }
-
   /**
    * Adds an Object's paths to the DeadLeafCollector.
    *
@@ -325,75 +354,445 @@ public class JsonConverter {
    *
    * @param ref the JsonNode
    * @param row the Row, for extraction of values
+   * @param columns the indexes of the columns in the row
    * @param leaf the path of the leaf
-   * @param parentPath the parent path to the leaf in the document
-   * @param pathWriteTimes a Map of all the path write times
    * @param rowWriteTime the current row's write time
    * @param numericBooleans whether to treat boolean values should be treated as integers
    */
   private void writeLeafIfNewer(
       JsonNode ref,
       RowWrapper row,
-      String leaf,
-      String parentPath,
-      Map<String, Long> pathWriteTimes,
-      Long rowWriteTime,
+      Columns columns,
+      PathNode leaf,
+      long rowWriteTime,
       boolean numericBooleans) {
-    JsonNode n = NullNode.getInstance();
+    if (!leaf.isWritableAt(rowWriteTime)) {
+      return;
+    }
+
+    JsonNode n = leafValue(row, columns, numericBooleans);
+    if (ref.isObject()) {
+      ((ObjectNode) ref).set(leaf.name, n);
+    } else if (ref.isArray()) {
+      if (leaf.index < 0)
+        throw new IllegalStateException("Trying to write object to array " + leaf.name);
+
+      ArrayNode arrayRef = (ArrayNode) ref;
+      int index = leaf.index;
 
-    String stringValue = DocsApiUtils.getStringFromRow(row, docsProperties);
-    Boolean booleanValue = DocsApiUtils.getBooleanFromRow(row, docsProperties, numericBooleans);
-    Double doubleValue = DocsApiUtils.getDoubleFromRow(row, docsProperties);
+      int currentSize = arrayRef.size();
+      for (int k = currentSize; k < index; k++) arrayRef.addNull();
 
-    if (stringValue != null) {
-      if (stringValue.equals(Constants.EMPTY_OBJECT_MARKER)) {
-        n = mapper.createObjectNode();
-      } else if (stringValue.equals(Constants.EMPTY_ARRAY_MARKER)) {
-        n = mapper.createArrayNode();
+      if (currentSize <= index) {
+        arrayRef.add(n);
+      } else if (!arrayRef.hasNonNull(index)) {
+        arrayRef.set(index, n);
+      }
+    } else {
+      throw new IllegalStateException("Invalid document state: " + ref);
+    }
+    leaf.writeTime = rowWriteTime;
+  }
+
+  /** Reads the value of the leaf of a row, from the first of its value columns that is set. */
+  private JsonNode leafValue(RowWrapper row, Columns columns, boolean numericBooleans) {
+    int stringValue = columns.index(Columns.STRING_VALUE);
+    if (!row.isNull(stringValue)) {
+      String value = row.getString(stringValue);
+      if (value.equals(Constants.EMPTY_OBJECT_MARKER)) {
+        return mapper.createObjectNode();
+      } else if (value.equals(Constants.EMPTY_ARRAY_MARKER)) {
+        return mapper.createArrayNode();
       } else {
-        n = new TextNode(stringValue);
+        return new TextNode(value);
       }
-    } else if (booleanValue != null) {
-      n = BooleanNode.valueOf(booleanValue);
-    } else if (doubleValue != null) {
+    }
+
+    int booleanValue = columns.index(Columns.BOOLEAN_VALUE);
+    if (!row.isNull(booleanValue)) {
+      return BooleanNode.valueOf(booleanValue(row, booleanValue, numericBooleans));
+    }
+
+    int doubleValue = columns.index(Columns.DOUBLE_VALUE);
+    if (!row.isNull(doubleValue)) {
       // If not a fraction represent as a long to the user
       // This lets us handle queries of doubles and longs without
       // splitting them into separate columns
-      long lv = (long) doubleValue.doubleValue();
-      if ((double) lv == doubleValue) {
-        n = new LongNode(lv);
+      double value = row.getDouble(doubleValue);
+      long lv = (long) value;
+      return (double) lv == value ? new LongNode(lv) : new DoubleNode(value);
+    }
+
+    return NullNode.getInstance();
+  }
+
+  /** Same as {@link #leafValue}, but writes the value to a generator. */
+  private void writeLeafValue(
+      JsonGenerator generator, RowWrapper row, Columns columns, boolean numericBooleans)
+      throws IOException {
+    int stringValue = columns.index(Columns.STRING_VALUE);
+    if (!row.isNull(stringValue)) {
+      String value = row.getString(stringValue);
+      if (value.equals(Constants.EMPTY_OBJECT_MARKER)) {
+        generator.writeStartObject();
+        generator.writeEndObject();
+      } else if (value.equals(Constants.EMPTY_ARRAY_MARKER)) {
+        generator.writeStartArray();
+        generator.writeEndArray();
+      } else {
+        generator.writeString(value);
+      }
+      return;
+    }
+
+    int booleanValue = columns.index(Columns.BOOLEAN_VALUE);
+    if (!row.isNull(booleanValue)) {
+      generator.writeBoolean(booleanValue(row, booleanValue, numericBooleans));
+      return;
+    }
+
+    int doubleValue = columns.index(Columns.DOUBLE_VALUE);
+    if (!row.isNull(doubleValue)) {
+      double value = row.getDouble(doubleValue);
+      long lv = (long) value;
+      if ((double) lv == value) {
+        generator.writeNumber(lv);
+      } else {
+        generator.writeNumber(value);
+      }
+      return;
+    }
+
+    generator.writeNull();
+  }
+
+  private static boolean booleanValue(RowWrapper row, int index, boolean numericBooleans) {
+    return numericBooleans ? row.getByte(index) != 0 : row.getBoolean(index);
+  }
+
+  /**
+   * Checks whether {@link #streamJsonDoc} can write the rows: the paths of the rows must be in
+   * strictly increasing order, without any path being a prefix of another, and the children of a
+   * path must be either all array elements or all fields. This guarantees that there is a single
+   * version of each path, so that there are no write times to compare and nothing to collect.
+   */
+  private boolean isStreamable(
+      List<RowWrapper> rows, boolean writeAllPathsAsObjects, int maxDepth) {
+    if (maxDepth == 0) {
+      return false;
+    }
+
+    String[] segments = new String[maxDepth];
+    String[] previous = new String[maxDepth];
+    int previousDepth = 0;
+    // A leaf written directly in a root array sets the write time of the root, the older rows are
+    // then skipped by convertToJsonDoc
+    long rootWriteTime = Long.MIN_VALUE;
+    Columns columns = null;
+    for (RowWrapper row : rows) {
+      columns = Columns.forRow(row, columns, docsProperties, maxDepth);
+      if (row.getString(columns.index(Columns.LEAF)).equals(Constants.ROOT_DOC_MARKER)) {
+        continue;
+      }
+
+      long rowWriteTime = row.getLong(columns.index(Columns.WRITETIME));
+      int depth = readPath(row, columns, segments, maxDepth);
+      if (previousDepth == 0) {
+        if (depth == 1 && segments[0].startsWith("[") && !writeAllPathsAsObjects) {
+          rootWriteTime = rowWriteTime;
+        }
+      } else if (rowWriteTime < rootWriteTime
+          || firstDifference(segments, depth, previous, previousDepth) < 0) {
+        return false;
+      }
+
+      String[] swap = previous;
+      previous = segments;
+      segments = swap;
+      previousDepth = depth;
+    }
+    return true;
+  }
+
+  /**
+   * Writes the rows to the generator as they are read, see {@link #isStreamable}. Only the segments
+   * that differ from the previous row are written: the containers of the previous row below the
+   * first differing segment are closed, and the new ones are opened.
+   */
+  private void streamJsonDoc(
+      List<RowWrapper> rows,
+      JsonGenerator generator,
+      boolean writeAllPathsAsObjects,
+      boolean numericBooleans,
+      int maxDepth)
+      throws IOException {
+    String[] segments = new String[maxDepth];
+    String[] previous = new String[maxDepth];
+    // The next index of the array at each depth, to fill the gaps with nulls
+    int[] nextIndexes = new int[maxDepth];
+    int previousDepth = 0;
+    Columns columns = null;
+    for (RowWrapper row : rows) {
+      columns = Columns.forRow(row, columns, docsProperties, maxDepth);
+      if (row.getString(columns.index(Columns.LEAF)).equals(Constants.ROOT_DOC_MARKER)) {
+        continue;
+      }
+
+      int depth = readPath(row, columns, segments, maxDepth);
+      int from;
+      if (previousDepth == 0) {
+        writeStart(generator, segments[0], writeAllPathsAsObjects);
+        from = 0;
       } else {
-        n = new DoubleNode(doubleValue);
+        from = firstDifference(segments, depth, previous, previousDepth);
+        for (int i = previousDepth - 1; i > from; i--) {
+          writeEnd(generator, previous[i], writeAllPathsAsObjects);
+        }
+      }
+
+      for (int i = from; i < depth; i++) {
+        String p = segments[i];
+        if (p.startsWith("[")) {
+          int index = arrayIndex(p);
+          if (writeAllPathsAsObjects) {
+            generator.writeFieldName("[" + index + "]");
+          } else {
+            for (int k = nextIndexes[i]; k < index; k++) generator.writeNull();
+            nextIndexes[i] = index + 1;
+          }
+        } else {
+          generator.writeFieldName(p);
+        }
+
+        if (i < depth - 1) {
+          writeStart(generator, segments[i + 1], writeAllPathsAsObjects);
+          nextIndexes[i + 1] = 0;
+        } else {
+          writeLeafValue(generator, row, columns, numericBooleans);
+        }
+      }
+
+      String[] swap = previous;
+      previous = segments;
+      segments = swap;
+      previousDepth = depth;
+    }
+
+    if (previousDepth == 0) {
+      generator.writeStartObject();
+      generator.writeEndObject();
+      return;
+    }
+    for (int i = previousDepth - 1; i >= 0; i--) {
+      writeEnd(generator, previous[i], writeAllPathsAsObjects);
+    }
+  }
+
+  /** Opens the container whose first child is the given path segment. */
+  private static void writeStart(
+      JsonGenerator generator, String firstChild, boolean writeAllPathsAsObjects)
+      throws IOException {
+    if (firstChild.startsWith("[") && !writeAllPathsAsObjects) {
+      generator.writeStartArray();
+    } else {
+      generator.writeStartObject();
+    }
+  }
+
+  /** Closes the container whose last child is the given path segment. */
+  private static void writeEnd(
+      JsonGenerator generator, String lastChild, boolean writeAllPathsAsObjects)
+      throws IOException {
+    if (lastChild.startsWith("[") && !writeAllPathsAsObjects) {
+      generator.writeEndArray();
+    } else {
+      generator.writeEndObject();
+    }
+  }
+
+  /**
+   * Reads the path of a row into the given array, stopping at the first empty path column.
+   *
+   * @return the depth of the path
+   */
+  private static int readPath(RowWrapper row, Columns columns, String[] segments, int maxDepth) {
+    segments[0] = columns.path(row, 0);
+    int depth = 1;
+    while (depth < maxDepth) {
+      String p = columns.path(row, depth);
+      if (p.isEmpty()) {
+        break;
+      }
+      segments[depth++] = p;
+    }
+    return depth;
+  }
+
+  /**
+   * @return the depth of the first segment that differs from the previous path, or -1 if the path
+   *     is not strictly after the previous one, if one of them is a prefix of the other, or if the
+   *     segments at that depth are not both array elements or both fields.
+   */
+  private static int firstDifference(
+      String[] segments, int depth, String[] previous, int previousDepth) {
+    int common = Math.min(depth, previousDepth);
+    for (int i = 0; i < common; i++) {
+      String p = segments[i];
+      String q = previous[i];
+      boolean isArray = p.startsWith("[");
+      if (isArray != q.startsWith("[")) {
+        return -1;
+      }
+      int order = isArray ? Integer.compare(arrayIndex(p), arrayIndex(q)) : p.compareTo(q);
+      if (order != 0) {
+        return order > 0 ? i : -1;
       }
     }
-    if (ref == null)
-      throw new IllegalStateException("Missing path @" + leaf + " v=" + n + " row=" + row);
-
-    boolean shouldWrite =
-        !pathWriteTimes.containsKey(parentPath + "." + leaf)
-            || pathWriteTimes.get(parentPath + "." + leaf) <= rowWriteTime;
-    if (shouldWrite) {
-      if (ref.isObject()) {
-        ((ObjectNode) ref).set(leaf, n);
-      } else if (ref.isArray()) {
-        if (!leaf.startsWith("["))
-          throw new IllegalStateException("Trying to write object to array " + leaf);
-
-        ArrayNode arrayRef = (ArrayNode) ref;
-        int index = Integer.parseInt(leaf.substring(1, leaf.length() - 1));
-
-        int currentSize = arrayRef.size();
-        for (int k = currentSize; k < index; k++) arrayRef.addNull();
-
-        if (currentSize <= index) {
-          arrayRef.add(n);
-        } else if (!arrayRef.hasNonNull(index)) {
-          arrayRef.set(index, n);
+    return -1;
+  }
+
+  /** Parses the index of an array path segment, such as "[000012]". */
+  private static int arrayIndex(String p) {
+    return Integer.parseInt(p, 1, p.length() - 1, 10);
+  }
+
+  /**
+   * The indexes of the document table columns in the rows. Rows read by the same query share their
+   * column index map, so the indexes are only resolved again when it changes.
+   */
+  private static final class Columns {
+    static final int WRITETIME = 0;
+    static final int LEAF = 1;
+    static final int STRING_VALUE = 2;
+    static final int DOUBLE_VALUE = 3;
+    static final int BOOLEAN_VALUE = 4;
+    private static final int FIRST_PATH = 5;
+
+    private final Map<String, Integer> columnIndexMap;
+    private final String[] names;
+    private final int[] indexes;
+
+    private Columns(RowWrapper row, DocumentTableProperties tableProperties, int maxDepth) {
+      this.columnIndexMap = row.columnIndexMap();
+      this.names = new String[FIRST_PATH + maxDepth];
+      names[WRITETIME] = tableProperties.writetimeColumnName();
+      names[LEAF] = tableProperties.leafColumnName();
+      names[STRING_VALUE] = tableProperties.stringValueColumnName();
+      names[DOUBLE_VALUE] = tableProperties.doubleValueColumnName();
+      names[BOOLEAN_VALUE] = tableProperties.booleanValueColumnName();
+      for (int i = 0; i < maxDepth; i++) {
+        names[FIRST_PATH + i] = tableProperties.pathColumnName(i);
+      }
+      this.indexes = new int[names.length];
+      for (int i = 0; i < names.length; i++) {
+        indexes[i] = row.columnIndex(names[i]);
+      }
+    }
+
+    static Columns forRow(
+        RowWrapper row, Columns previous, DocumentProperties docsProperties, int maxDepth) {
+      if (previous != null && previous.columnIndexMap == row.columnIndexMap()) {
+        return previous;
+      }
+      return new Columns(row, docsProperties.tableProperties(), maxDepth);
+    }
+
+    /** @throws IllegalArgumentException If column does not exist. */
+    int index(int column) {
+      int index = indexes[column];
+      if (index < 0) {
+        throw new IllegalArgumentException(
+            String.format("Column '%s' does not exist", names[column]));
+      }
+      return index;
+    }
+
+    String path(RowWrapper row, int depth) {
+      return row.getString(index(FIRST_PATH + depth));
+    }
+  }
+
+  /**
+   * A node of the trie of the paths of a document, that holds the latest write time of the path, if
+   * any. The string of a path is only built when it must be collected as a dead leaf.
+   */
+  private static final class PathNode {
+    private static final long NO_WRITETIME = Long.MIN_VALUE;
+
+    private final PathNode parent;
+    /** The path segment, without the leading zeros of array indexes. */
+    private final String name;
+    /** The array index, or -1 if the segment is a field. */
+    private final int index;
+
+    private long writeTime = NO_WRITETIME;
+    private Map<String, PathNode> fields;
+    private PathNode[] elements;
+
+    private PathNode(PathNode parent, String name, int index) {
+      this.parent = parent;
+      this.name = name;
+      this.index = index;
+    }
+
+    boolean isWritableAt(long rowWriteTime) {
+      return writeTime <= rowWriteTime;
+    }
+
+    /**
+     * @param p the raw path segment
+     * @param index its array index, or -1 if it is a field
+     */
+    PathNode child(String p, int index) {
+      PathNode child;
+      if (index < 0) {
+        if (fields == null) {
+          fields = new HashMap<>();
+        }
+        child = fields.get(p);
+        if (child == null) {
+          child = new PathNode(this, p, -1);
+          fields.put(p, child);
         }
       } else {
-        throw new IllegalStateException("Invalid document state: " + ref);
+        if (elements == null) {
+          elements = new PathNode[index + 1];
+        } else if (elements.length <= index) {
+          elements = Arrays.copyOf(elements, Math.max(index + 1, elements.length * 2));
+        }
+        child = elements[index];
+        if (child == null) {
+          child = new PathNode(this, "[" + index + "]", index);
+          elements[index] = child;
+        }
+      }
+      return child;
+    }
+
+    String path() {
+      StringBuilder path = new StringBuilder();
+      appendPath(path);
+      return path.toString();
+    }
+
+    String childPath(String p, int index) {
+      StringBuilder path = new StringBuilder();
+      appendPath(path);
+      path.append('.');
+      if (index < 0) {
+        path.append(p);
+      } else {
+        path.append('[').append(index).append(']');
+      }
+      return path.toString();
+    }
+
+    private void appendPath(StringBuilder path) {
+      if (parent != null) {
+        parent.appendPath(path);
+        path.append('.');
       }
-      pathWriteTimes.put(parentPath + "." + leaf, rowWriteTime);
+      path.append(name);
     }
   }
 }
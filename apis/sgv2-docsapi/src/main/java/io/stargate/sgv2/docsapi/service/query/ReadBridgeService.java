@@ -24,7 +24,9 @@ import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.cql.builder.QueryBuilderImpl;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.common.model.Paginator;
 import io.stargate.sgv2.docsapi.service.query.executor.QueryExecutor;
@@ -33,6 +35,7 @@ import io.stargate.sgv2.docsapi.service.query.search.db.impl.DocumentTtlQueryBui
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.FullSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.PopulateSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.SubDocumentSearchQueryBuilder;
+import io.stargate.sgv2.docsapi.service.query.search.db.impl.SubDocumentTailQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.BaseResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.DocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.SubDocumentsResolver;
@@ -171,6 +174,101 @@ public class ReadBridgeService {
         .first();
   }
 
+  /**
+   * Gets only the last row, in clustering order, of a single document limited to the
+   * #subDocumentPath. When the path holds an array, this is a row of the element with the highest
+   * index, found without reading the rest of the array.
+   *
+   * @param keyspace Keyspace to search in.
+   * @param collection Collection to search in.
+   * @param documentId Document ID to search in
+   * @param subDocumentPath Path where to find the document
+   * @param context Context for recording profiling information
+   * @return Uni with a single {@link RawDocument} holding the last row in the given
+   *     #subDocumentPath, or null if not found.
+   */
+  @WithSpan
+  public Uni<RawDocument> getSubDocumentTail(
+      String keyspace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      ExecutionContext context) {
+
+    ExecutionContext nested = nestedSubDocumentTail(context);
+    return Uni.createFrom()
+        .item(
+            () -> {
+              String[] columns = documentProperties.tableColumns().allColumnNamesArray();
+
+              SubDocumentTailQueryBuilder queryBuilder =
+                  new SubDocumentTailQueryBuilder(documentProperties, documentId, subDocumentPath);
+              QueryOuterClass.Query query = queryBuilder.buildQuery(keyspace, collection, columns);
+              return queryBuilder.bind(query);
+            })
+        .onItem()
+        .transformToMulti(query -> queryExecutor.queryDocs(query, 1, false, null, false, nested))
+        .select()
+        .first()
+        .toUni();
+  }
+
+  /**
+   * Gets all rows of a single document limited to the #subDocumentPath, with the TTL of each row.
+   * Unlike {@link #getDocument(String, String, String, List, ExecutionContext)}, this is meant for
+   * comparing the stored rows with the rows of a write.
+   *
+   * @param keyspace Keyspace to search in.
+   * @param collection Collection to search in.
+   * @param documentId Document ID to search in
+   * @param subDocumentPath Path where to find the document
+   * @param context Context for recording profiling information
+   * @return Uni with a single {@link RawDocument} holding all rows in the given #subDocumentPath,
+   *     with TTL as a column, or null if not found.
+   */
+  @WithSpan
+  public Uni<RawDocument> getDocumentRows(
+      String keyspace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      ExecutionContext context) {
+
+    ExecutionContext nested = nestedDocumentRows(context);
+    return Uni.createFrom()
+        .item(
+            () -> {
+              DocumentTableProperties tableProps = documentProperties.tableProperties();
+              String[] columns = documentProperties.tableColumns().allColumnNamesArray();
+              List<QueryBuilderImpl.FunctionCall> ttlFunction =
+                  List.of(QueryBuilderImpl.FunctionCall.ttl(tableProps.leafColumnName()));
+
+              SubDocumentSearchQueryBuilder queryBuilder =
+                  new SubDocumentSearchQueryBuilder(
+                      documentProperties, documentId, subDocumentPath);
+              QueryOuterClass.Query query =
+                  queryBuilder.buildQuery(keyspace, collection, null, ttlFunction, columns);
+              return queryBuilder.bind(query);
+            })
+        .onItem()
+        .transformToMulti(
+            query -> {
+              // same as the full document, row paging only if not the whole document
+              int keyDepth = subDocumentPath.size() + 1;
+              return queryExecutor.queryDocs(
+                  keyDepth,
+                  query,
+                  documentProperties.maxSearchPageSize(),
+                  false,
+                  null,
+                  keyDepth > 1,
+                  nested);
+            })
+        .select()
+        .first()
+        .toUni();
+  }
+
   /**
    * Gets a single document's rows with its TTL data in each row.
    *
@@ -360,4 +458,12 @@ public class ReadBridgeService {
   private ExecutionContext nestedFullDocument(ExecutionContext context) {
     return context.nested("GetFullDocument");
   }
+
+  private ExecutionContext nestedSubDocumentTail(ExecutionContext context) {
+    return context.nested("GetSubDocumentTail");
+  }
+
+  private ExecutionContext nestedDocumentRows(ExecutionContext context) {
+    return context.nested("GetDocumentRows");
+  }
 }
@@ -36,8 +36,10 @@ import io.stargate.sgv2.api.common.properties.datastore.DataStoreProperties;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.ExecutionProfile;
+import io.stargate.sgv2.docsapi.config.constants.Constants;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.common.model.Paginator;
 import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
@@ -180,6 +182,29 @@ public class ReadDocumentsService {
         .transform(Pair::getLeft);
   }
 
+  /**
+   * Same as {@link #getDocument(String, String, String, List, String, ExecutionContext)}, but meant
+   * for the responses that only serialize the result: when a complete document only has one version
+   * of each path, its data is written straight to the response instead of being built as a tree
+   * first (see {@link JsonConverter#streamedJsonDoc(List, boolean, boolean)}). Such data can not be
+   * traversed.
+   */
+  public Uni<DocumentResponseWrapper<JsonNode>> getDocumentForResponse(
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      String fields,
+      ExecutionContext context) {
+    return getDocumentInternal(
+            namespace, collection, documentId, subDocumentPath, fields, context, true)
+
+        // map only if internal returns something
+        .onItem()
+        .ifNotNull()
+        .transform(Pair::getLeft);
+  }
+
   /**
    * See {@link #getDocument(String, String, String, List, String, ExecutionContext)}
    *
@@ -194,6 +219,18 @@ public class ReadDocumentsService {
       List<String> subDocumentPath,
       String fields,
       ExecutionContext context) {
+    return getDocumentInternal(
+        namespace, collection, documentId, subDocumentPath, fields, context, false);
+  }
+
+  private Uni<Pair<DocumentResponseWrapper<JsonNode>, Cancellable>> getDocumentInternal(
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      String fields,
+      ExecutionContext context,
+      boolean streamed) {
 
     long now = timeSource.currentTimeMicros();
     Metadata metadata = metadataResolver.getMetadata(requestInfo);
@@ -227,6 +264,22 @@ public class ReadDocumentsService {
                   // map to the json
                   .flatMap(
                       document -> {
+                        // complete documents without dead leaves are written as they are read
+                        if (streamed && subDocumentPath.isEmpty()) {
+                          JsonNode streamedDoc =
+                              jsonConverter.streamedJsonDoc(
+                                  documentRows(document, fieldPathsFinal),
+                                  false,
+                                  dataStoreProperties.treatBooleansAsNumeric());
+                          if (null != streamedDoc) {
+                            DocumentResponseWrapper<JsonNode> wrapper =
+                                new DocumentResponseWrapper<>(
+                                    documentId, null, streamedDoc, context.toProfile());
+                            Cancellable noDeletion = () -> {};
+                            return Multi.createFrom().item(Pair.of(wrapper, noDeletion));
+                          }
+                        }
+
                         DeadLeafCollectorImpl collector = new DeadLeafCollectorImpl();
                         JsonNode docsResult =
                             documentToNode(document, fieldPathsFinal, collector, false);
@@ -287,6 +340,75 @@ public class ReadDocumentsService {
             });
   }
 
+  /**
+   * Finds the index of the last element of the array at the given path of a single document. Only
+   * the last row of the path, in clustering order, is read, so the cost does not depend on the size
+   * of the array.
+   *
+   * <p><b>Note:</b> the result is resolved from a single row and can not see dead leaves, thus
+   * callers should read the whole sub-document when they get <code>null</code>.
+   *
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param documentId Document to look in
+   * @param subDocumentPath path of the array, must not contain globs or multiple keys
+   * @param context Execution content
+   * @return Uni emitting the index of the last array element, <code>-1</code> for an empty array,
+   *     or <code>null</code> if the document or the path do not exist, or if the path does not hold
+   *     an array
+   */
+  public Uni<Integer> getLastArrayIndex(
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      ExecutionContext context) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              List<String> subDocumentPathProcessed = processSubDocumentPath(subDocumentPath);
+
+              // array elements must fit in the next path column, and the path must be exact
+              int depth = subDocumentPathProcessed.size();
+              if (depth >= documentProperties.maxDepth()
+                  || !subDocumentPathProcessed.stream().allMatch(this::isSingleKey)) {
+                return Uni.createFrom().nullItem();
+              }
+
+              return readBridgeService
+                  .getSubDocumentTail(
+                      namespace, collection, documentId, subDocumentPathProcessed, context)
+                  .onItem()
+                  .ifNotNull()
+                  .transform(document -> lastArrayIndex(document.rows().get(0), depth));
+            });
+  }
+
+  // resolves the last array index from the last row of the array path at the given depth
+  private Integer lastArrayIndex(RowWrapper row, int depth) {
+    DocumentTableProperties tableProps = documentProperties.tableProperties();
+    String segment = row.getString(tableProps.pathColumnName(depth));
+
+    // nothing below the path, it's an empty array only if it's marked as such
+    if (segment.isEmpty()) {
+      String stringValue = tableProps.stringValueColumnName();
+      boolean emptyArray =
+          !row.isNull(stringValue)
+              && Constants.EMPTY_ARRAY_MARKER.equals(row.getString(stringValue));
+      return emptyArray ? -1 : null;
+    }
+
+    // object keys are never array paths
+    return DocsApiUtils.extractArrayPathIndex(segment, documentProperties.maxArrayLength())
+        .orElse(null);
+  }
+
+  private boolean isSingleKey(String pathSegment) {
+    return !Constants.GLOB_VALUE.equals(pathSegment)
+        && !Constants.GLOB_ARRAY_VALUE.equals(pathSegment)
+        && !DocsApiUtils.COMMA_PATTERN.matcher(pathSegment).find();
+  }
+
   /**
    * Searches for all sub-documents of a single document at the given path, or a complete document
    * if #subDocumentPath is empty. Response structure is an array with full found sub-doc structure.
@@ -500,21 +622,23 @@ public class ReadDocumentsService {
       DeadLeafCollector collector,
       boolean writeAllPathsAsObjects) {
     // filter needed rows only
-    List<RowWrapper> rows = doc.rows();
-    if (!fieldPaths.isEmpty()) {
-      rows =
-          doc.rows().stream()
-              .filter(
-                  row ->
-                      fieldPaths.stream()
-                          .anyMatch(
-                              fieldPath ->
-                                  DocsApiUtils.isRowOnPath(row, fieldPath, documentProperties)))
-              .collect(Collectors.toList());
-    }
+    List<RowWrapper> rows = documentRows(doc, fieldPaths);
 
     // create document node and set to result
     return jsonConverter.convertToJsonDoc(
         rows, collector, writeAllPathsAsObjects, dataStoreProperties.treatBooleansAsNumeric());
   }
+
+  private List<RowWrapper> documentRows(RawDocument doc, Collection<List<String>> fieldPaths) {
+    if (fieldPaths.isEmpty()) {
+      return doc.rows();
+    }
+    return doc.rows().stream()
+        .filter(
+            row ->
+                fieldPaths.stream()
+                    .anyMatch(
+                        fieldPath -> DocsApiUtils.isRowOnPath(row, fieldPath, documentProperties)))
+        .collect(Collectors.toList());
+  }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.docsapi.service.query.executor;
+
+import io.smallrye.mutiny.Uni;
+import io.stargate.bridge.proto.QueryOuterClass;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
+/**
+ * Utility used by the {@link QueryExecutor} in order to fetch the pages of the same query ahead of
+ * the consumer.
+ *
+ * <p>Pages are handed out in order by {@link #nextPage()}. As soon as a page arrives, the next one
+ * is requested from the bridge, as long as less than {@code depth} pages are waiting for the
+ * consumer and the buffered pages are below {@code maxBufferedBytes}. With the depth of <code>0
+ * </code> each page is only requested when the consumer asks for it.
+ *
+ * <p>Pages must be requested one at a time, as done by the repeating {@link
+ * io.smallrye.mutiny.Multi}.
+ */
+class PagePrefetcher {
+
+  private final Function<QueryState, Uni<QueryOuterClass.ResultSet>> fetcher;
+
+  private final int depth;
+
+  private final long maxBufferedBytes;
+
+  private final boolean exponentPageSize;
+
+  private final int maxPageSize;
+
+  // pages that were fetched or are in flight, and were not yet handed out
+  private final Deque<Uni<QueryOuterClass.ResultSet>> pages = new ArrayDeque<>();
+
+  // the state for the next fetch, only meaningful when not in flight and not exhausted
+  private QueryState nextState;
+
+  private boolean inFlight;
+
+  private boolean exhausted;
+
+  private boolean cancelled;
+
+  private long bufferedBytes;
+
+  /**
+   * @param initialState State for fetching the first page.
+   * @param fetcher Function that fetches a page for the given state.
+   * @param depth How many pages can be fetched ahead of the consumer.
+   * @param maxBufferedBytes Max size of the pages fetched ahead.
+   * @param exponentPageSize If the page size should be exponentially increased.
+   * @param maxPageSize The absolute max page size that should never be exceeded.
+   */
+  PagePrefetcher(
+      QueryState initialState,
+      Function<QueryState, Uni<QueryOuterClass.ResultSet>> fetcher,
+      int depth,
+      long maxBufferedBytes,
+      boolean exponentPageSize,
+      int maxPageSize) {
+    this.nextState = initialState;
+    this.fetcher = fetcher;
+    this.depth = depth;
+    this.maxBufferedBytes = maxBufferedBytes;
+    this.exponentPageSize = exponentPageSize;
+    this.maxPageSize = maxPageSize;
+  }
+
+  /** @return The next page, either already fetched, in flight, or fetched on subscription. */
+  Uni<QueryOuterClass.ResultSet> nextPage() {
+    Uni<QueryOuterClass.ResultSet> page;
+    synchronized (this) {
+      if (pages.isEmpty() && !inFlight && !exhausted) {
+        fetchNext();
+      }
+      page = pages.poll();
+    }
+
+    if (null == page) {
+      // should not happen, as the consumer stops once a page without paging state is emitted
+      return Uni.createFrom().failure(new IllegalStateException("No more pages to fetch."));
+    }
+
+    return page.onItem().invoke(this::onConsumed);
+  }
+
+  /** Stops any further prefetching, pages in flight are not cancelled. */
+  synchronized void cancel() {
+    cancelled = true;
+  }
+
+  // must be called while holding the lock
+  private void fetchNext() {
+    QueryState state = nextState;
+    inFlight = true;
+
+    Uni<QueryOuterClass.ResultSet> page =
+        fetcher
+            .apply(state)
+            .onItemOrFailure()
+            .invoke((rs, failure) -> onFetched(state, rs))
+            .memoize()
+            .indefinitely();
+    pages.add(page);
+
+    // subscribe right away, so the fetch starts without waiting for the consumer
+    // failures are propagated to the consumer when it gets to this page
+    page.subscribe().with(rs -> {}, failure -> {});
+  }
+
+  private synchronized void onFetched(QueryState state, QueryOuterClass.ResultSet rs) {
+    inFlight = false;
+
+    // on failure stop, the consumer will get the failure
+    if (null == rs) {
+      exhausted = true;
+      return;
+    }
+
+    bufferedBytes += rs.getSerializedSize();
+    if (rs.hasPagingState()) {
+      nextState = state.next(rs.getPagingState(), exponentPageSize, maxPageSize);
+    } else {
+      exhausted = true;
+    }
+
+    maybeFetchNext();
+  }
+
+  private synchronized void onConsumed(QueryOuterClass.ResultSet rs) {
+    bufferedBytes -= rs.getSerializedSize();
+    maybeFetchNext();
+  }
+
+  // must be called while holding the lock
+  private void maybeFetchNext() {
+    if (!cancelled
+        && !inFlight
+        && !exhausted
+        && pages.size() < depth
+        && bufferedBytes < maxBufferedBytes) {
+      fetchNext();
+    }
+  }
+}
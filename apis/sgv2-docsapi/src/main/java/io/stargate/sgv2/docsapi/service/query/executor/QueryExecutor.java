@@ -23,8 +23,12 @@ import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
 import com.google.protobuf.Int32Value;
 import hu.akarnokd.rxjava3.operators.Flowables;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.protobuf.StatusProto;
 import io.reactivex.rxjava3.core.Flowable;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.converters.multi.MultiRx3Converters;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.StargateBridge;
@@ -46,7 +50,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -318,7 +323,14 @@ public class QueryExecutor {
     // execute that query
     // comparable bytes with singe query not needed
     return queryBridge(
-            stargateBridge, query, pageSize, exponentPageSize, queryPagingState, resumeMode, false)
+            stargateBridge,
+            query,
+            pageSize,
+            exponentPageSize,
+            queryPagingState,
+            resumeMode,
+            false,
+            null)
 
         // for each result set, transform to doc property
         .onItem()
@@ -339,6 +351,10 @@ public class QueryExecutor {
       QueryOuterClass.ResumeMode resumeMode,
       ExecutionContext context) {
 
+    // the first pages of all the queries are fetched in a single round trip
+    List<Uni<QueryOuterClass.ResultSet>> firstPages =
+        firstPages(stargateBridge, queries, pageSize, pagingStates, resumeMode);
+
     // for each query
     List<Flowable<DocumentProperty>> allDocuments =
         Streams.mapWithIndex(
@@ -361,7 +377,8 @@ public class QueryExecutor {
                           exponentPageSize,
                           queryPagingState,
                           resumeMode,
-                          true)
+                          true,
+                          firstPages.get(intIndex))
 
                       // for each result set, transform to doc property
                       .onItem()
@@ -384,8 +401,119 @@ public class QueryExecutor {
     return MultiRx3Converters.<DocumentProperty>fromFlowable().from(orderedPublisher);
   }
 
+  // fetches the first pages of the queries with a single ExecuteQueries call
+  // returns the first page of each query, or null if the query must fetch it by itself
+  // the call is made when any first page is subscribed, and each first page is emitted as soon as
+  // the response of its query is received
+  private List<Uni<QueryOuterClass.ResultSet>> firstPages(
+      StargateBridge stargateBridge,
+      List<QueryOuterClass.Query> queries,
+      int pageSize,
+      List<ByteBuffer> pagingStates,
+      QueryOuterClass.ResumeMode resumeMode) {
+    QueryOuterClass.Queries.Builder request = QueryOuterClass.Queries.newBuilder();
+    int[] requestIndexes = new int[queries.size()];
+    for (int i = 0; i < queries.size(); i++) {
+      ByteBuffer pagingState = pagingStates.get(i);
+
+      // exhausted queries are not executed
+      if (pagingState != null && pagingState.remaining() == 0) {
+        requestIndexes[i] = -1;
+      } else {
+        requestIndexes[i] = request.getQueriesCount();
+        // slice, as the paging state is consumed when copied
+        QueryState initialState =
+            initialState(pageSize, null != pagingState ? pagingState.slice() : null);
+        request.addQueries(pageQuery(queries.get(i), initialState, resumeMode, true));
+      }
+    }
+
+    // nothing to gain with less than two queries
+    if (request.getQueriesCount() < 2) {
+      return Collections.nCopies(queries.size(), null);
+    }
+
+    QueryOuterClass.Queries queriesRequest = request.build();
+    List<CompletableFuture<QueryOuterClass.ResultSet>> responses =
+        new ArrayList<>(queriesRequest.getQueriesCount());
+    for (int i = 0; i < queriesRequest.getQueriesCount(); i++) {
+      responses.add(new CompletableFuture<>());
+    }
+    AtomicBoolean started = new AtomicBoolean();
+    Runnable start =
+        () -> {
+          if (started.compareAndSet(false, true)) {
+            stargateBridge
+                .executeQueries(queriesRequest)
+                .subscribe()
+                .with(
+                    response -> complete(responses, response),
+                    failure -> responses.forEach(r -> r.completeExceptionally(failure)),
+                    () -> {
+                      for (int i = 0; i < responses.size(); i++) {
+                        responses
+                            .get(i)
+                            .completeExceptionally(
+                                new IllegalStateException(
+                                    "No response for the query at index %d.".formatted(i)));
+                      }
+                    });
+          }
+        };
+
+    List<Uni<QueryOuterClass.ResultSet>> result = new ArrayList<>(queries.size());
+    for (int requestIndex : requestIndexes) {
+      if (requestIndex < 0) {
+        result.add(null);
+        continue;
+      }
+
+      QueryOuterClass.Query firstPageQuery = queriesRequest.getQueries(requestIndex);
+      Uni<QueryOuterClass.ResultSet> firstPage =
+          Uni.createFrom()
+              .deferred(
+                  () -> {
+                    start.run();
+                    return Uni.createFrom().completionStage(responses.get(requestIndex));
+                  })
+
+              // bridges that do not implement ExecuteQueries yet, fetch with a single query
+              .onFailure(QueryExecutor::isUnimplemented)
+              .recoverWithUni(
+                  () ->
+                      stargateBridge
+                          .executeQuery(firstPageQuery)
+                          .map(QueryOuterClass.Response::getResultSet));
+      result.add(firstPage);
+    }
+    return result;
+  }
+
+  // completes the first page of the query the response is for, with its result set or failure
+  private static void complete(
+      List<CompletableFuture<QueryOuterClass.ResultSet>> responses,
+      QueryOuterClass.IndexedResponse response) {
+    int index = response.getIndex();
+    if (index < 0 || index >= responses.size()) {
+      return;
+    }
+    if (response.hasStatus()) {
+      responses
+          .get(index)
+          .completeExceptionally(StatusProto.toStatusRuntimeException(response.getStatus()));
+    } else {
+      responses.get(index).complete(response.getResponse().getResultSet());
+    }
+  }
+
+  private static boolean isUnimplemented(Throwable throwable) {
+    return throwable instanceof StatusRuntimeException e
+        && e.getStatus().getCode() == Status.Code.UNIMPLEMENTED;
+  }
+
   // executes a single query and returns Multi of the ResultSet
   // each result set represents a result of a single trip to the data store
+  // the first page is taken from the firstPage if given
   private Multi<QueryOuterClass.ResultSet> queryBridge(
       StargateBridge stargateBridge,
       QueryOuterClass.Query query,
@@ -393,77 +521,97 @@ public class QueryExecutor {
       boolean exponentPageSize,
       ByteBuffer pagingState,
       QueryOuterClass.ResumeMode resumeMode,
-      boolean comparableBytesNeeded) {
+      boolean comparableBytesNeeded,
+      Uni<QueryOuterClass.ResultSet> firstPage) {
     // An empty paging state means the query was exhausted during previous execution
     if (pagingState != null && pagingState.remaining() == 0) {
       return Multi.createFrom().empty();
     }
 
     // construct initial state for the query
+    QueryState initialState = initialState(pageSize, pagingState);
+
+    // fetches a single page for the given state
+    Function<QueryState, Uni<QueryOuterClass.ResultSet>> fetcher =
+        state -> {
+          if (null != firstPage && state == initialState) {
+            return firstPage;
+          }
+
+          QueryOuterClass.Query finalQuery =
+              pageQuery(query, state, resumeMode, comparableBytesNeeded);
+          return stargateBridge
+              .executeQuery(finalQuery)
+              .map(QueryOuterClass.Response::getResultSet);
+        };
+
+    return Multi.createFrom()
+        .deferred(
+            () -> {
+              // next pages are fetched ahead of the consumer, if enabled
+              PagePrefetcher prefetcher =
+                  new PagePrefetcher(
+                      initialState,
+                      fetcher,
+                      documentProperties.searchPrefetchDepth(),
+                      documentProperties.searchPrefetchMaxBufferedBytes(),
+                      exponentPageSize,
+                      documentProperties.maxSearchPageSize());
+
+              return Multi.createBy()
+                  .repeating()
+                  .uni(prefetcher::nextPage)
+
+                  // and do fetch results until we have a paging state
+                  // if necessary of course, handled by the down stream
+                  .whilst(QueryOuterClass.ResultSet::hasPagingState)
+                  .onCancellation()
+                  .invoke(prefetcher::cancel);
+            });
+  }
+
+  private QueryState initialState(int pageSize, ByteBuffer pagingState) {
     BytesValue pagingStateValue =
         pagingState != null
             ? BytesValue.newBuilder().setValue(ByteString.copyFrom(pagingState)).build()
             : null;
-    QueryState initialState = ImmutableQueryState.of(pageSize, pagingStateValue);
+    return ImmutableQueryState.of(pageSize, pagingStateValue);
+  }
 
-    return Multi.createBy()
-        .repeating()
-        .uni(
-            () -> new AtomicReference<>(initialState),
-            stateRef -> {
-              QueryState state = stateRef.get();
-
-              // create params, ensure:
-              // 1. read consistency
-              // 2. needed page size
-              // 3. enriched if needed
-              // 4. resume mode if defined
-              QueryOuterClass.Consistency consistency = queriesConfig.consistency().reads();
-              QueryOuterClass.ConsistencyValue.Builder consistencyValue =
-                  QueryOuterClass.ConsistencyValue.newBuilder().setValue(consistency);
-              boolean enriched = comparableBytesNeeded || null != resumeMode;
-              QueryOuterClass.QueryParameters.Builder params =
-                  QueryOuterClass.QueryParameters.newBuilder()
-                      .setConsistency(consistencyValue)
-                      .setPageSize(Int32Value.of(state.pageSize()))
-                      .setEnriched(enriched);
-
-              // set resume mode if not null
-              if (null != resumeMode) {
-                params.setResumeMode(
-                    QueryOuterClass.ResumeModeValue.newBuilder().setValue(resumeMode).build());
-              }
-
-              // if we have paging state, set
-              if (null != state.pagingState()) {
-                params.setPagingState(state.pagingState());
-              }
-
-              // final query is same as the original, just with different params
-              QueryOuterClass.Query finalQuery =
-                  QueryOuterClass.Query.newBuilder(query).setParameters(params).buildPartial();
-
-              // execute
-              return stargateBridge
-                  .executeQuery(finalQuery)
-                  .map(
-                      response -> {
-                        // update next state
-                        QueryOuterClass.ResultSet resultSet = response.getResultSet();
-                        QueryState nextState =
-                            state.next(
-                                resultSet.getPagingState(),
-                                exponentPageSize,
-                                documentProperties.maxSearchPageSize());
-                        stateRef.set(nextState);
-
-                        return resultSet;
-                      });
-            })
-
-        // and do fetch results until we have a paging state
-        // if necessary of course, handled by the down stream
-        .whilst(QueryOuterClass.ResultSet::hasPagingState);
+  // the query that fetches the page for the given state
+  private QueryOuterClass.Query pageQuery(
+      QueryOuterClass.Query query,
+      QueryState state,
+      QueryOuterClass.ResumeMode resumeMode,
+      boolean comparableBytesNeeded) {
+    // create params, ensure:
+    // 1. read consistency
+    // 2. needed page size
+    // 3. enriched if needed
+    // 4. resume mode if defined
+    QueryOuterClass.Consistency consistency = queriesConfig.consistency().reads();
+    QueryOuterClass.ConsistencyValue.Builder consistencyValue =
+        QueryOuterClass.ConsistencyValue.newBuilder().setValue(consistency);
+    boolean enriched = comparableBytesNeeded || null != resumeMode;
+    QueryOuterClass.QueryParameters.Builder params =
+        QueryOuterClass.QueryParameters.newBuilder()
+            .setConsistency(consistencyValue)
+            .setPageSize(Int32Value.of(state.pageSize()))
+            .setEnriched(enriched);
+
+    // set resume mode if not null
+    if (null != resumeMode) {
+      params.setResumeMode(
+          QueryOuterClass.ResumeModeValue.newBuilder().setValue(resumeMode).build());
+    }
+
+    // if we have paging state, set
+    if (null != state.pagingState()) {
+      params.setPagingState(state.pagingState());
+    }
+
+    // final query is same as the original, just with different params
+    return QueryOuterClass.Query.newBuilder(query).setParameters(params).buildPartial();
   }
 
   /**
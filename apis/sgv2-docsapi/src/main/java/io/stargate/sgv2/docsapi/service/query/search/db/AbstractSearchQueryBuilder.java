@@ -19,12 +19,14 @@ package io.stargate.sgv2.docsapi.service.query.search.db;
 
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
+import io.stargate.sgv2.api.common.cql.builder.Column;
 import io.stargate.sgv2.api.common.cql.builder.QueryBuilder;
 import io.stargate.sgv2.api.common.cql.builder.QueryBuilderImpl;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /** Abstract class that can create a query for a document search. */
 public abstract class AbstractSearchQueryBuilder {
@@ -55,6 +57,11 @@ public abstract class AbstractSearchQueryBuilder {
   /** @return Should <code>ALLOW FILTERING</code> be used. */
   protected abstract boolean allowFiltering();
 
+  /** @return Ordering of the clustering columns, empty keeps the natural clustering order. */
+  protected Map<String, Column.Order> getOrderBy() {
+    return Collections.emptyMap();
+  }
+
   /**
    * Builds the query without limit (no functions).
    *
@@ -91,7 +98,7 @@ public abstract class AbstractSearchQueryBuilder {
       Integer limit,
       List<QueryBuilderImpl.FunctionCall> functions,
       String... columns) {
-    QueryBuilder.QueryBuilder__47 builder =
+    QueryBuilder.QueryBuilder__48 builder =
         new QueryBuilder()
             .select()
             .column(columns)
@@ -100,7 +107,8 @@ public abstract class AbstractSearchQueryBuilder {
             .from(keyspace, table)
             .where(getPredicates())
             .where(getBindPredicates())
-            .limit(limit);
+            .limit(limit)
+            .orderBy(getOrderBy());
 
     // resolve allow limit
     if (allowFiltering()) {
@@ -0,0 +1,52 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.db.impl;
+
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.cql.builder.Column;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search query builder that matches only the last row, in clustering order, on the given
+ * #subDocumentsPath for a single document. For a path that holds an array, this is a row of the
+ * element with the highest index.
+ */
+public class SubDocumentTailQueryBuilder extends SubDocumentSearchQueryBuilder {
+
+  public SubDocumentTailQueryBuilder(
+      DocumentProperties documentProperties, String documentId, List<String> subDocumentsPath) {
+    super(documentProperties, documentId, subDocumentsPath);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public QueryOuterClass.Query buildQuery(String keyspace, String table, String... columns) {
+    return buildQuery(keyspace, table, 1, columns);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected Map<String, Column.Order> getOrderBy() {
+    // reversing the first clustering column reverses all of them
+    String firstPathColumn = documentProperties.tableProperties().pathColumnName(0);
+    return Collections.singletonMap(firstPathColumn, Column.Order.DESC);
+  }
+}
@@ -22,7 +22,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CompositeCacheKey;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.bridge.proto.StargateBridge;
@@ -34,6 +40,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
@@ -47,12 +54,22 @@ import org.slf4j.LoggerFactory;
 public class JsonSchemaManager {
   private static final Logger logger = LoggerFactory.getLogger(JsonSchemaManager.class);
 
+  private static final String VALIDATION_METRIC = "docs.json.schema.validation";
+  private static final String NAMESPACE_TAG = "namespace";
+  private static final String COLLECTION_TAG = "collection";
+
   @Inject ObjectMapper objectMapper;
 
   @Inject JsonSchemaQueryProvider jsonSchemaQueryProvider;
 
   @Inject StargateRequestInfo requestInfo;
 
+  @Inject MeterRegistry meterRegistry;
+
+  @Inject
+  @CacheName("json-schema-cache")
+  Cache jsonSchemaCache;
+
   private final JsonSchemaFactory jsonSchemaFactory = JsonSchemaFactory.byDefault();
 
   /**
@@ -103,7 +120,8 @@ public class JsonSchemaManager {
                 .executeQuery(
                     jsonSchemaQueryProvider.attachSchemaQuery(
                         namespace, c.getName(), wrappedSchema.toString()))
-                .map(r -> schema);
+                .flatMap(r -> invalidateCompiledJsonSchemas(namespace, c.getName()))
+                .map(v -> schema);
           } else {
             String msgs =
                 StreamSupport.stream(report.spliterator(), false)
@@ -117,29 +135,39 @@ public class JsonSchemaManager {
   }
 
   /**
-   * Validates a JSON document against a given table's schema
+   * Validates a JSON document against a given table's schema.
+   *
+   * <p>The schema is compiled once per namespace, collection and schema comment, and the compiled
+   * schema is reused for all the documents written to the collection until its schema changes.
    *
+   * @param namespace the namespace of the collection
    * @param table the table that has a schema
    * @param document the document, as JsonNode
    * @param subDocument whether the document currently being checked is a sub-document
    * @return a Uni with Boolean detailing whether or not the document complies with the schema.
    */
   public Uni<Boolean> validateJsonDocument(
-      Uni<Schema.CqlTable> table, JsonNode document, boolean subDocument) {
-    return getJsonSchema(table)
+      String namespace, Uni<Schema.CqlTable> table, JsonNode document, boolean subDocument) {
+    return table
+        .onItem()
+        .ifNotNull()
+        .transformToUni(t -> getCompiledJsonSchema(namespace, t))
         .onItem()
         .transform(
-            jsonSchema -> {
-              if (jsonSchema == null) {
+            compiled -> {
+              if (compiled == null || compiled.schema == null && !compiled.processingFailed) {
                 // If there is no valid JSON schema, then the document is valid
                 return true;
               } else if (subDocument) {
                 throw new ErrorCodeRuntimeException(
                     ErrorCode.DOCS_API_JSON_SCHEMA_INVALID_PARTIAL_UPDATE);
+              } else if (compiled.processingFailed) {
+                throw new ErrorCodeRuntimeException(
+                    ErrorCode.DOCS_API_JSON_SCHEMA_PROCESSING_FAILED);
               }
 
               try {
-                validate(jsonSchema, document);
+                validate(compiled, document);
               } catch (ProcessingException e) {
                 throw new ErrorCodeRuntimeException(
                     ErrorCode.DOCS_API_JSON_SCHEMA_PROCESSING_FAILED);
@@ -148,8 +176,60 @@ public class JsonSchemaManager {
             });
   }
 
-  private void validate(JsonNode schema, JsonNode jsonValue) throws ProcessingException {
-    ProcessingReport result = jsonSchemaFactory.getValidator().validate(schema, jsonValue);
+  private Uni<CompiledJsonSchema> getCompiledJsonSchema(String namespace, Schema.CqlTable table) {
+    String comment = table.getOptionsMap().getOrDefault("comment", null);
+    if (comment == null || comment.isEmpty()) {
+      return Uni.createFrom().nullItem();
+    }
+
+    // the comment is part of the key, so a new schema is compiled as soon as the comment changes
+    CompositeCacheKey key = new CompositeCacheKey(namespace, table.getName(), comment);
+    return jsonSchemaCache.get(key, k -> compile(namespace, table.getName(), comment));
+  }
+
+  private CompiledJsonSchema compile(String namespace, String collection, String comment) {
+    Timer timer =
+        Timer.builder(VALIDATION_METRIC)
+            .description("Time spent validating documents against the JSON schema of a collection")
+            .tags(NAMESPACE_TAG, namespace, COLLECTION_TAG, collection)
+            .register(meterRegistry);
+
+    JsonNode schema;
+    try {
+      schema = objectMapper.readTree(comment).get("schema");
+    } catch (JsonProcessingException e) {
+      logger.warn("Document table has comment, but it's not a valid JSON.");
+      return new CompiledJsonSchema(null, false, timer);
+    }
+    if (schema == null) {
+      return new CompiledJsonSchema(null, false, timer);
+    }
+
+    try {
+      return new CompiledJsonSchema(jsonSchemaFactory.getJsonSchema(schema), false, timer);
+    } catch (ProcessingException e) {
+      logger.warn("Failed to compile the JSON schema of {}.{}.", namespace, collection, e);
+      return new CompiledJsonSchema(null, true, timer);
+    }
+  }
+
+  private Uni<Void> invalidateCompiledJsonSchemas(String namespace, String collection) {
+    return jsonSchemaCache.invalidateIf(
+        key -> {
+          Object[] elements = ((CompositeCacheKey) key).getKeyElements();
+          return namespace.equals(elements[0]) && collection.equals(elements[1]);
+        });
+  }
+
+  private void validate(CompiledJsonSchema compiled, JsonNode jsonValue)
+      throws ProcessingException {
+    long start = System.nanoTime();
+    ProcessingReport result;
+    try {
+      result = compiled.schema.validate(jsonValue);
+    } finally {
+      compiled.validationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
     if (!result.isSuccess()) {
       List<String> messages = new ArrayList<>();
       result.forEach(msg -> messages.add(msg.getMessage()));
@@ -157,4 +237,20 @@ public class JsonSchemaManager {
           ErrorCode.DOCS_API_INVALID_JSON_VALUE, "Invalid JSON: " + messages);
     }
   }
+
+  /** The compiled JSON schema of a collection, and the timer of the validations against it. */
+  private static class CompiledJsonSchema {
+    /** The schema, or <code>null</code> if the collection has no valid one. */
+    private final JsonSchema schema;
+    /** Whether the schema of the collection could not be compiled. */
+    private final boolean processingFailed;
+
+    private final Timer validationTimer;
+
+    private CompiledJsonSchema(JsonSchema schema, boolean processingFailed, Timer validationTimer) {
+      this.schema = schema;
+      this.processingFailed = processingFailed;
+      this.validationTimer = validationTimer;
+    }
+  }
 }
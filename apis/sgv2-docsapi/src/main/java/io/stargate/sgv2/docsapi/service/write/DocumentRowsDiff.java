@@ -0,0 +1,124 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.write;
+
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.service.JsonShreddedRow;
+import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
+import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The difference between the stored rows of a (sub-)document and the shredded rows that replace
+ * them. Rows are matched by their path, as the path is the clustering key of a row.
+ *
+ * @param inserts Shredded rows that are new or have a different value.
+ * @param deletes Paths of the stored rows that are not replaced by any shredded row.
+ * @param rowCount Number of the shredded rows.
+ */
+record DocumentRowsDiff(List<JsonShreddedRow> inserts, List<List<String>> deletes, int rowCount) {
+
+  /**
+   * Resolves the difference between the stored rows and the shredded rows.
+   *
+   * <p>A stored row with the same path and value is kept only if it has no TTL and no TTL is
+   * requested, as otherwise rewriting it is the only way to set its TTL.
+   *
+   * @param existingRows Stored rows, must include the TTL of the leaf.
+   * @param replaced Tests if the stored row at a path is replaced by the write, others are ignored.
+   * @param rows Shredded rows of the write.
+   * @param ttl Requested TTL of the rows, <code>null</code> or <code>0</code> for none.
+   * @param properties Document properties
+   * @param numericBooleans If booleans are stored as numbers.
+   * @return DocumentRowsDiff
+   */
+  static DocumentRowsDiff of(
+      List<RowWrapper> existingRows,
+      Predicate<List<String>> replaced,
+      List<JsonShreddedRow> rows,
+      Integer ttl,
+      DocumentProperties properties,
+      boolean numericBooleans) {
+    List<String> pathColumns = properties.tableColumns().pathColumnNamesList();
+    String ttlColumn = "ttl(%s)".formatted(properties.tableProperties().leafColumnName());
+
+    Map<List<String>, RowWrapper> existing = new LinkedHashMap<>();
+    for (RowWrapper row : existingRows) {
+      List<String> path = rowPath(row, pathColumns);
+      if (replaced.test(path)) {
+        existing.put(path, row);
+      }
+    }
+
+    boolean keepUnchanged = null == ttl || ttl <= 0;
+    List<JsonShreddedRow> inserts = new ArrayList<>();
+    for (JsonShreddedRow row : rows) {
+      RowWrapper stored = existing.remove(row.getPath());
+      boolean unchanged =
+          keepUnchanged
+              && null != stored
+              && stored.isNull(ttlColumn)
+              && sameValue(stored, row, properties, numericBooleans);
+      if (!unchanged) {
+        inserts.add(row);
+      }
+    }
+
+    return new DocumentRowsDiff(inserts, new ArrayList<>(existing.keySet()), rows.size());
+  }
+
+  /** @return Ratio of inserted and deleted rows to the shredded rows. */
+  double changeRatio() {
+    return (inserts.size() + deletes.size()) / (double) Math.max(rowCount, 1);
+  }
+
+  /** @return If nothing needs to be written. */
+  boolean isEmpty() {
+    return inserts.isEmpty() && deletes.isEmpty();
+  }
+
+  // path of the stored row, until the first empty path column
+  private static List<String> rowPath(RowWrapper row, List<String> pathColumns) {
+    List<String> path = new ArrayList<>();
+    for (String column : pathColumns) {
+      String segment = row.getString(column);
+      if (segment.isEmpty()) {
+        break;
+      }
+      path.add(segment);
+    }
+    return path;
+  }
+
+  private static boolean sameValue(
+      RowWrapper stored,
+      JsonShreddedRow row,
+      DocumentProperties properties,
+      boolean numericBooleans) {
+    return Objects.equals(DocsApiUtils.getStringFromRow(stored, properties), row.getStringValue())
+        && Objects.equals(DocsApiUtils.getDoubleFromRow(stored, properties), row.getDoubleValue())
+        && Objects.equals(
+            DocsApiUtils.getBooleanFromRow(stored, properties, numericBooleans),
+            row.getBooleanValue());
+  }
+}
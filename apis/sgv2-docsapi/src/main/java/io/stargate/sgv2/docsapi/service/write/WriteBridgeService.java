@@ -19,6 +19,7 @@ package io.stargate.sgv2.docsapi.service.write;
 
 import com.google.common.base.Splitter;
 import io.grpc.Metadata;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.extension.annotations.WithSpan;
 import io.quarkus.grpc.GrpcClientUtils;
 import io.smallrye.mutiny.Uni;
@@ -32,8 +33,11 @@ import io.stargate.sgv2.api.common.properties.datastore.DataStoreProperties;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.config.constants.Constants;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.ImmutableJsonShreddedRow;
 import io.stargate.sgv2.docsapi.service.JsonShreddedRow;
+import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
 import io.stargate.sgv2.docsapi.service.json.DeadLeaf;
 import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
 import io.stargate.sgv2.docsapi.service.util.TimeSource;
@@ -51,6 +55,10 @@ public class WriteBridgeService {
   // path splitter on dot
   private static final Splitter PATH_SPLITTER = Splitter.on(".");
 
+  // metric names for the update and patch batches
+  private static final String BATCH_SIZE_METRIC = "docs.write.batch.size";
+  private static final String TOMBSTONES_METRIC = "docs.write.tombstones";
+
   private final StargateRequestInfo requestInfo;
   private final TimeSource timeSource;
   private final InsertQueryBuilder insertQueryBuilder;
@@ -58,6 +66,7 @@ public class WriteBridgeService {
   private final boolean treatBooleansAsNumeric;
   private final DocumentProperties documentProperties;
   private final QueriesConfig queriesConfig;
+  private final MeterRegistry meterRegistry;
 
   @Inject
   public WriteBridgeService(
@@ -65,7 +74,8 @@ public class WriteBridgeService {
       TimeSource timeSource,
       DataStoreProperties dataStoreProperties,
       DocumentProperties documentProperties,
-      QueriesConfig queriesConfig) {
+      QueriesConfig queriesConfig,
+      MeterRegistry meterRegistry) {
     this.requestInfo = requestInfo;
     this.insertQueryBuilder = new InsertQueryBuilder(documentProperties);
     this.timeSource = timeSource;
@@ -73,6 +83,7 @@ public class WriteBridgeService {
     this.treatBooleansAsNumeric = dataStoreProperties.treatBooleansAsNumeric();
     this.documentProperties = documentProperties;
     this.queriesConfig = queriesConfig;
+    this.meterRegistry = meterRegistry;
   }
 
   /**
@@ -170,6 +181,62 @@ public class WriteBridgeService {
         keyspace, collection, documentId, subDocumentPath, rows, ttl, context);
   }
 
+  /**
+   * Updates a single document at the given sub-path, writing only the rows that differ from the
+   * existing rows of the sub-document: new or changed rows are inserted and the rows that are not
+   * part of the update are deleted one by one. If the ratio of changed rows exceeds {@link
+   * DocumentProperties#diffUpdateMaxChangeRatio()}, the sub-path is rewritten as in {@link
+   * #updateDocument(String, String, String, List, List, Integer, ExecutionContext)}.
+   *
+   * <p>Note that, unlike the full rewrite, rows written after the existing rows were read are not
+   * deleted by this update.
+   *
+   * @param keyspace Keyspace to store document in.
+   * @param collection Collection the document belongs to.
+   * @param documentId Document ID.
+   * @param subDocumentPath The sub-document path to update, empty for the whole document.
+   * @param rows Rows of this document.
+   * @param existingRows Existing rows of the sub-document, including the TTL of the leaf.
+   * @param ttl the time-to-live of the rows (seconds)
+   * @param context Execution content for profiling.
+   * @return Uni containing the {@link ResultSet} of the batch execution.
+   */
+  @WithSpan
+  public Uni<ResultSet> updateDocument(
+      String keyspace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      List<JsonShreddedRow> rows,
+      List<RowWrapper> existingRows,
+      Integer ttl,
+      ExecutionContext context) {
+
+    StargateBridge bridge = requestInfo.getStargateBridge();
+
+    return Uni.createFrom()
+        .item(
+            () -> {
+              checkPathMatchesRows(subDocumentPath, rows);
+
+              // all existing rows of the sub-path are replaced
+              DocumentRowsDiff diff =
+                  DocumentRowsDiff.of(
+                      existingRows,
+                      path -> true,
+                      rows,
+                      ttl,
+                      documentProperties,
+                      treatBooleansAsNumeric);
+              if (diff.changeRatio() > documentProperties.diffUpdateMaxChangeRatio()) {
+                return updateQueries(keyspace, collection, documentId, subDocumentPath, rows, ttl);
+              }
+              return diffQueries(keyspace, collection, documentId, diff, ttl, "update");
+            })
+        .flatMap(
+            boundQueries -> executeDiffBatch(bridge, boundQueries, context.nested("ASYNC UPDATE")));
+  }
+
   private Uni<ResultSet> updateDocumentInternal(
       String keyspace,
       String collection,
@@ -189,36 +256,83 @@ public class WriteBridgeService {
               //  and instead add it here as a wrapper
               checkPathMatchesRows(subDocumentPath, rows);
 
-              long timestamp = timeSource.currentTimeMicros();
-              List<QueryOuterClass.BatchQuery> queries = new ArrayList<>(rows.size() + 1);
-
-              // delete existing subpath
-              AbstractDeleteQueryBuilder deleteQueryBuilder =
-                  subDocumentPath.isEmpty()
-                      ? new DeleteDocumentQueryBuilder(documentProperties)
-                      : new DeleteSubDocumentPathQueryBuilder(
-                          subDocumentPath, false, documentProperties);
-              queries.add(
-                  deleteQueryBuilder.buildAndBind(keyspace, collection, documentId, timestamp - 1));
-
-              // then insert new one
-              rows.forEach(
-                  row ->
-                      queries.add(
-                          insertQueryBuilder.buildAndBind(
-                              keyspace,
-                              collection,
-                              ttl,
-                              documentId,
-                              row,
-                              timestamp,
-                              treatBooleansAsNumeric)));
-              return queries;
+              return updateQueries(keyspace, collection, documentId, subDocumentPath, rows, ttl);
             })
         .flatMap(
             boundQueries -> executeBatch(bridge, boundQueries, context.nested("ASYNC UPDATE")));
   }
 
+  // queries that rewrite the whole sub-path
+  private List<QueryOuterClass.BatchQuery> updateQueries(
+      String keyspace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      List<JsonShreddedRow> rows,
+      Integer ttl) {
+    long timestamp = timeSource.currentTimeMicros();
+    List<QueryOuterClass.BatchQuery> queries = new ArrayList<>(rows.size() + 1);
+
+    // delete existing subpath
+    AbstractDeleteQueryBuilder deleteQueryBuilder =
+        subDocumentPath.isEmpty()
+            ? new DeleteDocumentQueryBuilder(documentProperties)
+            : new DeleteSubDocumentPathQueryBuilder(subDocumentPath, false, documentProperties);
+    queries.add(deleteQueryBuilder.buildAndBind(keyspace, collection, documentId, timestamp - 1));
+
+    // then insert new one
+    rows.forEach(
+        row ->
+            queries.add(
+                insertQueryBuilder.buildAndBind(
+                    keyspace,
+                    collection,
+                    ttl,
+                    documentId,
+                    row,
+                    timestamp,
+                    treatBooleansAsNumeric)));
+
+    recordBatch("update", "full", queries.size(), 1, 0);
+    return queries;
+  }
+
+  // queries that write only the diff, deleting the removed rows one by one
+  private List<QueryOuterClass.BatchQuery> diffQueries(
+      String keyspace,
+      String collection,
+      String documentId,
+      DocumentRowsDiff diff,
+      Integer ttl,
+      String operation) {
+    long timestamp = timeSource.currentTimeMicros();
+    List<QueryOuterClass.BatchQuery> queries =
+        new ArrayList<>(diff.deletes().size() + diff.inserts().size());
+
+    diff.deletes()
+        .forEach(
+            path ->
+                queries.add(
+                    new DeleteSubDocumentPathQueryBuilder(path, true, documentProperties)
+                        .buildAndBind(keyspace, collection, documentId, timestamp - 1)));
+
+    diff.inserts()
+        .forEach(
+            row ->
+                queries.add(
+                    insertQueryBuilder.buildAndBind(
+                        keyspace,
+                        collection,
+                        ttl,
+                        documentId,
+                        row,
+                        timestamp,
+                        treatBooleansAsNumeric)));
+
+    recordBatch(operation, "diff", queries.size(), 0, diff.deletes().size());
+    return queries;
+  }
+
   /**
    * Patches a single document at root, ensuring that:
    *
@@ -283,6 +397,71 @@ public class WriteBridgeService {
         keyspace, collection, documentId, subDocumentPath, rows, ttl, context);
   }
 
+  /**
+   * Patches a single document at given sub-path, with the same outcome as {@link
+   * #patchDocument(String, String, String, List, List, Integer, ExecutionContext)}, but writing
+   * only the rows that differ from the existing rows: new or changed rows are inserted and the
+   * replaced rows that are not part of the patch are deleted one by one. If the ratio of changed
+   * rows exceeds {@link DocumentProperties#diffUpdateMaxChangeRatio()}, the patched keys are
+   * rewritten instead.
+   *
+   * <p>Note that, unlike the full rewrite, rows written after the existing rows were read are not
+   * deleted by this patch.
+   *
+   * @param keyspace Keyspace to store document in.
+   * @param collection Collection the document belongs to.
+   * @param documentId Document ID.
+   * @param subDocumentPath The sub-document path to patch. Empty patches at the root level.
+   * @param rows Rows of the patch.
+   * @param existingRows Existing rows of the sub-document, including the TTL of the leaf.
+   * @param ttl the time-to-live of the rows (seconds)
+   * @param context Execution content for profiling.
+   * @return Uni containing the {@link ResultSet} of the batch execution.
+   */
+  @WithSpan
+  public Uni<ResultSet> patchDocument(
+      String keyspace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      List<JsonShreddedRow> rows,
+      List<RowWrapper> existingRows,
+      Integer ttl,
+      ExecutionContext context) {
+
+    StargateBridge bridge = requestInfo.getStargateBridge();
+
+    return Uni.createFrom()
+        .item(
+            () -> {
+              checkPathMatchesRows(subDocumentPath, rows);
+              List<String> patchedKeys = firstLevelPatchedKeys(subDocumentPath, rows);
+
+              // only the rows replaced by the full patch are compared, being the value at the
+              // sub-path itself, any array at the sub-path, and the patched keys
+              int depth = subDocumentPath.size();
+              Set<String> patchedKeySet = new HashSet<>(patchedKeys);
+              DocumentRowsDiff diff =
+                  DocumentRowsDiff.of(
+                      existingRows,
+                      path ->
+                          path.size() == depth
+                              || DocsApiUtils.isArrayPath(path.get(depth))
+                              || patchedKeySet.contains(path.get(depth)),
+                      rows,
+                      ttl,
+                      documentProperties,
+                      treatBooleansAsNumeric);
+              if (diff.changeRatio() > documentProperties.diffUpdateMaxChangeRatio()) {
+                return patchQueries(
+                    keyspace, collection, documentId, subDocumentPath, patchedKeys, rows, ttl);
+              }
+              return diffQueries(keyspace, collection, documentId, diff, ttl, "patch");
+            })
+        .flatMap(
+            boundQueries -> executeDiffBatch(bridge, boundQueries, context.nested("ASYNC PATCH")));
+  }
+
   private Uni<ResultSet> patchDocumentInternal(
       String keyspace,
       String collection,
@@ -302,33 +481,103 @@ public class WriteBridgeService {
               //  and instead add it here as a wrapper
               checkPathMatchesRows(subDocumentPath, rows);
 
-              long timestamp = timeSource.currentTimeMicros();
-              List<QueryOuterClass.BatchQuery> queries = new ArrayList<>(rows.size() + 3);
+              List<String> patchedKeys = firstLevelPatchedKeys(subDocumentPath, rows);
+              return patchQueries(
+                  keyspace, collection, documentId, subDocumentPath, patchedKeys, rows, ttl);
+            })
+        .flatMap(boundQueries -> executeBatch(bridge, boundQueries, context.nested("ASYNC PATCH")));
+  }
+
+  // queries that rewrite the patched keys, and any primitive or array at the sub-path
+  private List<QueryOuterClass.BatchQuery> patchQueries(
+      String keyspace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      List<String> patchedKeys,
+      List<JsonShreddedRow> rows,
+      Integer ttl) {
+    long timestamp = timeSource.currentTimeMicros();
+    List<QueryOuterClass.BatchQuery> queries = new ArrayList<>(rows.size() + 3);
+
+    // Example: we are patching the object {"d": 2, "e": 3} at path ["b","c"]
+
+    // If the existing document already contains an object at this subpath, delete all the
+    // keys that we are about to patch, for example:
+    // {"a": 1, "b": {"c": {d": 3, "f": 4}}} => {"a": 1, "b": {"c": {"f": 4}}}
+    queries.add(
+        new DeleteSubDocumentKeysQueryBuilder(subDocumentPath, patchedKeys, documentProperties)
+            .buildAndBind(keyspace, collection, documentId, timestamp - 1));
+
+    // If the existing document contains a primitive, empty array or empty object at this
+    // subpath, delete it, for example:
+    // {"a": 1, "b": {"c": 2, "f": 4}} => {"a": 1, "b": {"f": 4}}
+    queries.add(
+        new DeleteSubDocumentPathQueryBuilder(subDocumentPath, true, documentProperties)
+            .buildAndBind(keyspace, collection, documentId, timestamp - 1));
+
+    // If the existing document contains a non-empty array at this subpath, delete it, for
+    // example:
+    // {"a": 1, "b": {"c": [1,2,3], "f": 4}} => {"a": 1, "b": {"f": 4}}
+    queries.add(
+        new DeleteSubDocumentArrayQueryBuilder(subDocumentPath, documentProperties)
+            .buildAndBind(keyspace, collection, documentId, timestamp - 1));
+
+    // Finally, insert the new data.
+    rows.forEach(
+        row ->
+            queries.add(
+                insertQueryBuilder.buildAndBind(
+                    keyspace,
+                    collection,
+                    ttl,
+                    documentId,
+                    row,
+                    timestamp,
+                    treatBooleansAsNumeric)));
+
+    // one range per patched key, plus the array range
+    recordBatch("patch", "full", queries.size(), patchedKeys.size() + 1, 1);
+    return queries;
+  }
 
-              // Example: we are patching the object {"d": 2, "e": 3} at path ["b","c"]
+  /**
+   * Sets data at various paths on a single document, relative to its root. This allows partial
+   * updates of any data in a document, without touching unrelated data.
+   *
+   * @param keyspace Keyspace to store document in.
+   * @param collection Collection the document belongs to.
+   * @param documentId Document ID.
+   * @param setPaths the paths that are being set by the JSON fields.
+   * @param rows Rows of the patch.
+   * @param ttl the time-to-live of the rows (seconds)
+   * @param context Execution content for profiling.
+   * @return Uni containing the {@link ResultSet} of the batch execution.
+   */
+  @WithSpan
+  public Uni<ResultSet> setPathsOnDocument(
+      String keyspace,
+      String collection,
+      String documentId,
+      Set<List<String>> setPaths,
+      List<JsonShreddedRow> rows,
+      Integer ttl,
+      ExecutionContext context) {
 
-              // If the existing document already contains an object at this subpath, delete all the
-              // keys that we are about to patch, for example:
-              // {"a": 1, "b": {"c": {d": 3, "f": 4}}} => {"a": 1, "b": {"c": {"f": 4}}}
-              List<String> patchedKeys = firstLevelPatchedKeys(subDocumentPath, rows);
-              queries.add(
-                  new DeleteSubDocumentKeysQueryBuilder(
-                          subDocumentPath, patchedKeys, documentProperties)
-                      .buildAndBind(keyspace, collection, documentId, timestamp - 1));
+    StargateBridge bridge = requestInfo.getStargateBridge();
 
-              // If the existing document contains a primitive, empty array or empty object at this
-              // subpath, delete it, for example:
-              // {"a": 1, "b": {"c": 2, "f": 4}} => {"a": 1, "b": {"f": 4}}
-              queries.add(
-                  new DeleteSubDocumentPathQueryBuilder(subDocumentPath, true, documentProperties)
-                      .buildAndBind(keyspace, collection, documentId, timestamp - 1));
+    return Uni.createFrom()
+        .item(
+            () -> {
+              long timestamp = timeSource.currentTimeMicros();
+              List<QueryOuterClass.BatchQuery> queries = new ArrayList<>(rows.size() + 3);
 
-              // If the existing document contains a non-empty array at this subpath, delete it, for
-              // example:
-              // {"a": 1, "b": {"c": [1,2,3], "f": 4}} => {"a": 1, "b": {"f": 4}}
-              queries.add(
-                  new DeleteSubDocumentArrayQueryBuilder(subDocumentPath, documentProperties)
-                      .buildAndBind(keyspace, collection, documentId, timestamp - 1));
+              // For each distinct path that is going to be set, delete the exact path first.
+              setPaths.forEach(
+                  path ->
+                      queries.add(
+                          new DeleteSubDocumentPathQueryBuilder(path, false, documentProperties)
+                              .buildAndBind(keyspace, collection, documentId, timestamp - 1)));
 
               // Finally, insert the new data.
               rows.forEach(
@@ -342,31 +591,32 @@ public class WriteBridgeService {
                               row,
                               timestamp,
                               treatBooleansAsNumeric)));
-
               return queries;
             })
-        .flatMap(boundQueries -> executeBatch(bridge, boundQueries, context.nested("ASYNC PATCH")));
+        .flatMap(boundQueries -> executeBatch(bridge, boundQueries, context.nested("ASYNC SET")));
   }
 
   /**
-   * Sets data at various paths on a single document, relative to its root. This allows partial
-   * updates of any data in a document, without touching unrelated data.
+   * Adds a single element to an existing array of a document, leaving the other elements untouched.
    *
    * @param keyspace Keyspace to store document in.
    * @param collection Collection the document belongs to.
    * @param documentId Document ID.
-   * @param setPaths the paths that are being set by the JSON fields.
-   * @param rows Rows of the patch.
+   * @param elementPath The path of the new element, its last segment being the array index.
+   * @param emptyArray If the array is currently empty, in which case its empty array marker is
+   *     deleted.
+   * @param rows Rows of the new element.
    * @param ttl the time-to-live of the rows (seconds)
    * @param context Execution content for profiling.
    * @return Uni containing the {@link ResultSet} of the batch execution.
    */
   @WithSpan
-  public Uni<ResultSet> setPathsOnDocument(
+  public Uni<ResultSet> addArrayElement(
       String keyspace,
       String collection,
       String documentId,
-      Set<List<String>> setPaths,
+      List<String> elementPath,
+      boolean emptyArray,
       List<JsonShreddedRow> rows,
       Integer ttl,
       ExecutionContext context) {
@@ -376,17 +626,21 @@ public class WriteBridgeService {
     return Uni.createFrom()
         .item(
             () -> {
+              checkArrayElementPath(elementPath);
+              checkPathMatchesRows(elementPath, rows);
+
               long timestamp = timeSource.currentTimeMicros();
-              List<QueryOuterClass.BatchQuery> queries = new ArrayList<>(rows.size() + 3);
+              List<QueryOuterClass.BatchQuery> queries = new ArrayList<>(rows.size() + 1);
 
-              // For each distinct path that is going to be set, delete the exact path first.
-              setPaths.forEach(
-                  path ->
-                      queries.add(
-                          new DeleteSubDocumentPathQueryBuilder(path, false, documentProperties)
-                              .buildAndBind(keyspace, collection, documentId, timestamp - 1)));
+              // an empty array is a single row on the exact path, it goes away with the first
+              // element
+              if (emptyArray) {
+                List<String> arrayPath = elementPath.subList(0, elementPath.size() - 1);
+                queries.add(
+                    new DeleteSubDocumentPathQueryBuilder(arrayPath, true, documentProperties)
+                        .buildAndBind(keyspace, collection, documentId, timestamp - 1));
+              }
 
-              // Finally, insert the new data.
               rows.forEach(
                   row ->
                       queries.add(
@@ -400,7 +654,71 @@ public class WriteBridgeService {
                               treatBooleansAsNumeric)));
               return queries;
             })
-        .flatMap(boundQueries -> executeBatch(bridge, boundQueries, context.nested("ASYNC SET")));
+        .flatMap(
+            boundQueries ->
+                executeBatch(bridge, boundQueries, context.nested("ASYNC ADD ELEMENT")));
+  }
+
+  /**
+   * Removes a single element from an existing array of a document, leaving the other elements
+   * untouched.
+   *
+   * @param keyspace Keyspace to delete an element from.
+   * @param collection Collection the document belongs to.
+   * @param documentId Document ID.
+   * @param elementPath The path of the element, its last segment being the array index.
+   * @param lastElement If this is the only element of the array, in which case the array is marked
+   *     as empty, so that it does not disappear from the document.
+   * @param ttl the time-to-live of the empty array marker (seconds)
+   * @param context Execution content for profiling.
+   * @return Uni containing the {@link ResultSet} of the batch execution.
+   */
+  @WithSpan
+  public Uni<ResultSet> removeArrayElement(
+      String keyspace,
+      String collection,
+      String documentId,
+      List<String> elementPath,
+      boolean lastElement,
+      Integer ttl,
+      ExecutionContext context) {
+
+    StargateBridge bridge = requestInfo.getStargateBridge();
+
+    return Uni.createFrom()
+        .item(
+            () -> {
+              checkArrayElementPath(elementPath);
+
+              long timestamp = timeSource.currentTimeMicros();
+              List<QueryOuterClass.BatchQuery> queries = new ArrayList<>(2);
+
+              queries.add(
+                  new DeleteSubDocumentPathQueryBuilder(elementPath, false, documentProperties)
+                      .buildAndBind(keyspace, collection, documentId, timestamp - 1));
+
+              if (lastElement) {
+                JsonShreddedRow emptyArray =
+                    ImmutableJsonShreddedRow.builder()
+                        .maxDepth(documentProperties.maxDepth())
+                        .addAllPath(elementPath.subList(0, elementPath.size() - 1))
+                        .stringValue(Constants.EMPTY_ARRAY_MARKER)
+                        .build();
+                queries.add(
+                    insertQueryBuilder.buildAndBind(
+                        keyspace,
+                        collection,
+                        ttl,
+                        documentId,
+                        emptyArray,
+                        timestamp,
+                        treatBooleansAsNumeric));
+              }
+              return queries;
+            })
+        .flatMap(
+            boundQueries ->
+                executeBatch(bridge, boundQueries, context.nested("ASYNC REMOVE ELEMENT")));
   }
 
   /**
@@ -598,6 +916,17 @@ public class WriteBridgeService {
     return bridge.executeBatch(batchBuilt).map(QueryOuterClass.Response::getResultSet);
   }
 
+  // a diff can be empty, in which case there is nothing to execute
+  private Uni<ResultSet> executeDiffBatch(
+      StargateBridge bridge,
+      List<QueryOuterClass.BatchQuery> batchQueries,
+      ExecutionContext context) {
+    if (batchQueries.isEmpty()) {
+      return Uni.createFrom().item(ResultSet.getDefaultInstance());
+    }
+    return executeBatch(bridge, batchQueries, context);
+  }
+
   private Uni<ResultSet> executeSingle(
       StargateBridge bridge, QueryOuterClass.BatchQuery batchQuery, ExecutionContext context) {
 
@@ -617,6 +946,20 @@ public class WriteBridgeService {
     return bridge.executeQuery(singleQuery).map(QueryOuterClass.Response::getResultSet);
   }
 
+  // records the size and the tombstones of an update or patch batch
+  private void recordBatch(
+      String operation, String mode, int batchSize, int rangeTombstones, int rowTombstones) {
+    meterRegistry
+        .summary(BATCH_SIZE_METRIC, "operation", operation, "mode", mode)
+        .record(batchSize);
+    meterRegistry
+        .counter(TOMBSTONES_METRIC, "operation", operation, "mode", mode, "type", "range")
+        .increment(rangeTombstones);
+    meterRegistry
+        .counter(TOMBSTONES_METRIC, "operation", operation, "mode", mode, "type", "row")
+        .increment(rowTombstones);
+  }
+
   // makes sure that any row starts with the given sub-document path
   private void checkPathMatchesRows(List<String> subDocumentPath, List<JsonShreddedRow> rows) {
     if (!subDocumentPath.isEmpty()) {
@@ -632,6 +975,15 @@ public class WriteBridgeService {
     }
   }
 
+  // makes sure that the path targets an array element
+  private void checkArrayElementPath(List<String> elementPath) {
+    if (elementPath.isEmpty()
+        || !DocsApiUtils.isArrayPath(elementPath.get(elementPath.size() - 1))) {
+      ErrorCode code = ErrorCode.DOCS_API_UPDATE_PATH_NOT_MATCHING;
+      throw new ErrorCodeRuntimeException(code);
+    }
+  }
+
   // collects the first level patched keys
   private List<String> firstLevelPatchedKeys(
       List<String> subDocumentPath, List<JsonShreddedRow> rows) {
@@ -16,14 +16,19 @@
  */
 package io.stargate.sgv2.docsapi.service.write;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentWriteResult;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.MultiDocsResponse;
 import io.stargate.sgv2.docsapi.config.DocumentConfig;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
@@ -35,6 +40,8 @@ import io.stargate.sgv2.docsapi.service.schema.JsonSchemaManager;
 import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -44,6 +51,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -63,6 +71,8 @@ public class WriteDocumentsService {
 
   @Inject DocumentConfig configuration;
 
+  @Inject ObjectMapper objectMapper;
+
   /**
    * Writes a document in the given namespace and collection using the randomly generated ID.
    *
@@ -84,7 +94,7 @@ public class WriteDocumentsService {
     // generate the document id
     final String documentId = UUID.randomUUID().toString();
     return jsonSchemaManager
-        .validateJsonDocument(table, document, false)
+        .validateJsonDocument(namespace, table, document, false)
         .onItem()
         .transformToUni(
             __ -> {
@@ -146,50 +156,13 @@ public class WriteDocumentsService {
     return Multi.createFrom()
         .iterable(root)
         .onItem()
-        .transformToUniAndMerge(
+        .transformToUni(
             json -> {
-              return jsonSchemaManager
-                  .validateJsonDocument(table, json, false)
-                  .onItem()
-                  .transformToUni(
-                      __ -> {
-                        String documentId = documentIdResolver().apply(idPointer, json);
-
-                        List<JsonShreddedRow> rows =
-                            documentShredder.shred(json, Collections.emptyList());
-                        if (useUpdate) {
-                          return writeBridgeService
-                              .updateDocument(namespace, collection, documentId, rows, ttl, context)
-                              .onItemOrFailure()
-                              .transform(
-                                  (resultSet, failure) -> {
-                                    if (failure == null) {
-                                      return documentId;
-                                    } else {
-                                      logger.error(
-                                          "Write failed for one of the documents included in the batch document write.",
-                                          failure);
-                                      return null;
-                                    }
-                                  });
-                        } else {
-                          return writeBridgeService
-                              .writeDocument(namespace, collection, documentId, rows, ttl, context)
-                              .onItemOrFailure()
-                              .transform(
-                                  (resultSet, failure) -> {
-                                    if (failure == null) {
-                                      return documentId;
-                                    } else {
-                                      logger.error(
-                                          "Write failed for one of the documents included in the batch document write.",
-                                          failure);
-                                      return null;
-                                    }
-                                  });
-                        }
-                      });
+              String documentId = documentIdResolver().apply(idPointer, json);
+              return writeBatchDocument(
+                  table, namespace, collection, documentId, json, useUpdate, ttl, context);
             })
+        .merge(configuration.batchWrite().concurrency())
         .collect()
         .asList()
         .onItem()
@@ -200,6 +173,165 @@ public class WriteDocumentsService {
                     context.toProfile()));
   }
 
+  /**
+   * Writes many documents in the given namespace and collection, reading them one by one from the
+   * given JSON array payload. If #idPath is not provided, IDs for each document will be randomly
+   * generated.
+   *
+   * <p>Unlike {@link #writeDocuments(Uni, String, String, JsonNode, String, Integer,
+   * ExecutionContext)}, the payload is never fully materialized. Each document is parsed, validated
+   * and shredded only when it can be written, with at most {@link
+   * DocumentConfig.BatchWriteConfig#concurrency()} documents being written at the same time. The
+   * result of each document write is emitted as soon as it's known, failures of a single document
+   * (including a duplicate or invalid ID) do not fail the whole batch.
+   *
+   * @param table a CqlTable to be used for schema/validity checks
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param payload Documents represented as JSON array
+   * @param idPath Optional path to the id of the document in each doc.
+   * @param ttl the time-to-live for the documents (seconds)
+   * @param context Execution content
+   * @return Multi emitting the result of each document write, in the order of completion.
+   */
+  public Multi<DocumentWriteResult> writeDocuments(
+      Uni<Schema.CqlTable> table,
+      String namespace,
+      String collection,
+      InputStream payload,
+      String idPath,
+      Integer ttl,
+      ExecutionContext context) {
+    boolean useUpdate = null != idPath;
+    final Optional<JsonPointer> idPointer = DocsApiUtils.pathToJsonPointer(idPath);
+    Set<String> existingIds = ConcurrentHashMap.newKeySet();
+
+    return readDocuments(payload)
+        .onItem()
+        .transformToUni(
+            json -> {
+              String documentId;
+              try {
+                documentId = documentIdResolver().apply(idPointer, json);
+              } catch (ErrorCodeRuntimeException e) {
+                return Uni.createFrom().item(DocumentWriteResult.failure(null, e.getMessage()));
+              }
+
+              if (idPointer.isPresent() && !existingIds.add(documentId)) {
+                String msg =
+                    String.format(
+                        "Found duplicate ID %s in more than one document when doing batched document write.",
+                        documentId);
+                return Uni.createFrom().item(DocumentWriteResult.failure(documentId, msg));
+              }
+
+              return writeBatchDocument(
+                      table, namespace, collection, documentId, json, useUpdate, ttl, context)
+                  .map(
+                      id ->
+                          null != id
+                              ? DocumentWriteResult.success(id)
+                              : DocumentWriteResult.failure(
+                                  documentId,
+                                  ErrorCode.DOCS_API_WRITE_BATCH_FAILED.getDefaultMessage()))
+                  .onFailure()
+                  .recoverWithItem(t -> DocumentWriteResult.failure(documentId, t.getMessage()));
+            })
+        .merge(configuration.batchWrite().concurrency());
+  }
+
+  // validates, shreds and writes a single document of a batch
+  // emits the document id, or null if the write failed
+  private Uni<String> writeBatchDocument(
+      Uni<Schema.CqlTable> table,
+      String namespace,
+      String collection,
+      String documentId,
+      JsonNode json,
+      boolean useUpdate,
+      Integer ttl,
+      ExecutionContext context) {
+    return jsonSchemaManager
+        .validateJsonDocument(namespace, table, json, false)
+        .onItem()
+        .transformToUni(
+            __ -> {
+              List<JsonShreddedRow> rows = documentShredder.shred(json, Collections.emptyList());
+              Uni<?> write;
+              if (useUpdate) {
+                write =
+                    writeBridgeService.updateDocument(
+                        namespace, collection, documentId, rows, ttl, context);
+              } else {
+                write =
+                    writeBridgeService.writeDocument(
+                        namespace, collection, documentId, rows, ttl, context);
+              }
+
+              return write
+                  .onItemOrFailure()
+                  .transform(
+                      (resultSet, failure) -> {
+                        if (failure == null) {
+                          return documentId;
+                        } else {
+                          logger.error(
+                              "Write failed for one of the documents included in the batch document write.",
+                              failure);
+                          return null;
+                        }
+                      });
+            });
+  }
+
+  // reads the documents from the JSON array payload one by one, as they are requested
+  private Multi<JsonNode> readDocuments(InputStream payload) {
+    return Multi.createFrom()
+        .deferred(
+            () -> {
+              JsonParser parser;
+              try {
+                parser = objectMapper.createParser(payload);
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                  parser.close();
+                  throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_WRITE_BATCH_NOT_ARRAY);
+                }
+              } catch (IOException e) {
+                throw new ErrorCodeRuntimeException(
+                    ErrorCode.DOCS_API_WRITE_BATCH_INVALID_JSON, e.getMessage());
+              }
+
+              return Multi.createFrom()
+                  .<JsonParser, JsonNode>generator(
+                      () -> parser,
+                      (p, emitter) -> {
+                        try {
+                          JsonToken token = p.nextToken();
+                          if (null == token || token == JsonToken.END_ARRAY) {
+                            emitter.complete();
+                          } else {
+                            emitter.emit(p.readValueAsTree());
+                          }
+                        } catch (IOException e) {
+                          emitter.fail(
+                              new ErrorCodeRuntimeException(
+                                  ErrorCode.DOCS_API_WRITE_BATCH_INVALID_JSON, e.getMessage()));
+                        }
+                        return p;
+                      })
+                  .onTermination()
+                  .invoke(() -> closeQuietly(parser));
+            });
+  }
+
+  private void closeQuietly(JsonParser parser) {
+    try {
+      parser.close();
+    } catch (IOException e) {
+      logger.warn("Failed to close the batch document write parser.", e);
+    }
+  }
+
   /**
    * Updates a document with given ID in the given namespace and collection. Any previously existing
    * document with the same ID will be overwritten.
@@ -284,17 +416,35 @@ public class WriteDocumentsService {
       ExecutionContext context) {
     final List<String> subPathProcessed = processSubDocumentPath(subPath);
     return jsonSchemaManager
-        .validateJsonDocument(table, document, !subPathProcessed.isEmpty())
+        .validateJsonDocument(namespace, table, document, !subPathProcessed.isEmpty())
         .onItem()
         .transformToUni(
             __ -> {
               // shred rows
               List<JsonShreddedRow> rows = documentShredder.shred(document, subPathProcessed);
 
-              // call update document
-              return writeBridgeService
-                  .updateDocument(
-                      namespace, collection, documentId, subPathProcessed, rows, ttl, context)
+              // call update document, diff based if existing rows were read
+              return existingRows(namespace, collection, documentId, subPathProcessed, ttl, context)
+                  .flatMap(
+                      existingRows ->
+                          null == existingRows
+                              ? writeBridgeService.updateDocument(
+                                  namespace,
+                                  collection,
+                                  documentId,
+                                  subPathProcessed,
+                                  rows,
+                                  ttl,
+                                  context)
+                              : writeBridgeService.updateDocument(
+                                  namespace,
+                                  collection,
+                                  documentId,
+                                  subPathProcessed,
+                                  rows,
+                                  existingRows,
+                                  ttl,
+                                  context))
                   .map(
                       result ->
                           new DocumentResponseWrapper<>(
@@ -405,17 +555,35 @@ public class WriteDocumentsService {
     }
 
     return jsonSchemaManager
-        .validateJsonDocument(table, root, !subPathProcessed.isEmpty())
+        .validateJsonDocument(namespace, table, root, !subPathProcessed.isEmpty())
         .onItem()
         .transformToUni(
             __ -> {
               // shred rows
               List<JsonShreddedRow> rows = documentShredder.shred(root, subPathProcessed);
 
-              // call patch document
-              return writeBridgeService
-                  .patchDocument(
-                      namespace, collection, documentId, subPathProcessed, rows, ttl, context)
+              // call patch document, diff based if existing rows were read
+              return existingRows(namespace, collection, documentId, subPathProcessed, ttl, context)
+                  .flatMap(
+                      existingRows ->
+                          null == existingRows
+                              ? writeBridgeService.patchDocument(
+                                  namespace,
+                                  collection,
+                                  documentId,
+                                  subPathProcessed,
+                                  rows,
+                                  ttl,
+                                  context)
+                              : writeBridgeService.patchDocument(
+                                  namespace,
+                                  collection,
+                                  documentId,
+                                  subPathProcessed,
+                                  rows,
+                                  existingRows,
+                                  ttl,
+                                  context))
                   .map(
                       result ->
                           new DocumentResponseWrapper<>(
@@ -483,7 +651,7 @@ public class WriteDocumentsService {
       ExecutionContext context) {
     // the payload will have a representation of all paths that need a partial update
     return jsonSchemaManager
-        .validateJsonDocument(table, payload, true)
+        .validateJsonDocument(namespace, table, payload, true)
         .onItem()
         .transformToUni(
             __ -> {
@@ -505,6 +673,123 @@ public class WriteDocumentsService {
             });
   }
 
+  /**
+   * Adds an element to an existing array of a document with given ID in the given namespace and
+   * collection. Only the rows of the new element are written, the other elements of the array are
+   * left untouched.
+   *
+   * @param table a CqlTable to be used for schema/validity checks
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param documentId The ID of the document to update
+   * @param arrayPath Path of the array in the document
+   * @param index Index of the new element, <code>0</code> if the array is currently empty
+   * @param value Element represented as JSON node
+   * @param ttlAuto Whether to automatically determine TTL from the surrounding document
+   * @param context Execution content
+   * @return Document response wrapper containing the ID.
+   */
+  public Uni<DocumentResponseWrapper<Void>> addArrayElement(
+      Uni<Schema.CqlTable> table,
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> arrayPath,
+      int index,
+      JsonNode value,
+      boolean ttlAuto,
+      ExecutionContext context) {
+    Uni<Integer> ttlValue = Uni.createFrom().item(0);
+    if (ttlAuto) {
+      ttlValue = determineTtl(namespace, collection, documentId, context);
+    }
+    return ttlValue
+        .onItem()
+        .transformToUni(
+            ttl ->
+                jsonSchemaManager
+                    .validateJsonDocument(namespace, table, value, true)
+                    .onItem()
+                    .transformToUni(
+                        __ -> {
+                          List<String> elementPath = arrayElementPath(arrayPath, index);
+
+                          // shred rows of the element only
+                          List<JsonShreddedRow> rows = documentShredder.shred(value, elementPath);
+
+                          return writeBridgeService
+                              .addArrayElement(
+                                  namespace,
+                                  collection,
+                                  documentId,
+                                  elementPath,
+                                  index == 0,
+                                  rows,
+                                  ttl,
+                                  context)
+                              .map(
+                                  result ->
+                                      new DocumentResponseWrapper<>(
+                                          documentId, null, null, context.toProfile()));
+                        }));
+  }
+
+  /**
+   * Removes an element from an existing array of a document with given ID in the given namespace
+   * and collection. Only the rows of the removed element are deleted, the other elements of the
+   * array are left untouched.
+   *
+   * @param table a CqlTable to be used for schema/validity checks
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param documentId The ID of the document to update
+   * @param arrayPath Path of the array in the document
+   * @param index Index of the element to remove, <code>0</code> if it's the only element
+   * @param ttlAuto Whether to automatically determine TTL from the surrounding document
+   * @param context Execution content
+   * @return Document response wrapper containing the ID.
+   */
+  public Uni<DocumentResponseWrapper<Void>> removeArrayElement(
+      Uni<Schema.CqlTable> table,
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> arrayPath,
+      int index,
+      boolean ttlAuto,
+      ExecutionContext context) {
+    // the TTL only matters for the empty array that remains after the only element
+    boolean lastElement = index == 0;
+    Uni<Integer> ttlValue = Uni.createFrom().item(0);
+    if (ttlAuto && lastElement) {
+      ttlValue = determineTtl(namespace, collection, documentId, context);
+    }
+    return ttlValue
+        .onItem()
+        .transformToUni(
+            ttl ->
+                // partial updates are refused as a whole if there is a schema, content is not
+                // checked
+                jsonSchemaManager
+                    .validateJsonDocument(namespace, table, NullNode.getInstance(), true)
+                    .onItem()
+                    .transformToUni(
+                        __ ->
+                            writeBridgeService
+                                .removeArrayElement(
+                                    namespace,
+                                    collection,
+                                    documentId,
+                                    arrayElementPath(arrayPath, index),
+                                    lastElement,
+                                    ttl,
+                                    context)
+                                .map(
+                                    result ->
+                                        new DocumentResponseWrapper<>(
+                                            documentId, null, null, context.toProfile()))));
+  }
+
   /**
    * Deletes a document with given ID in the given namespace and collection.
    *
@@ -554,6 +839,32 @@ public class WriteDocumentsService {
         .collect(Collectors.toList());
   }
 
+  // the path of the element at the given index of the array, ensures max array length
+  private List<String> arrayElementPath(List<String> arrayPath, int index) {
+    List<String> elementPath = new ArrayList<>(processSubDocumentPath(arrayPath));
+    String arrayIndex = "[%d]".formatted(index);
+    elementPath.add(
+        DocsApiUtils.convertSingleArrayPath(arrayIndex, configuration.maxArrayLength()));
+    return elementPath;
+  }
+
+  // reads the existing rows of the sub-document for a diff update
+  // emits null if the diff updates are disabled, or if a ttl is set, as then all rows are rewritten
+  private Uni<List<RowWrapper>> existingRows(
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> subPath,
+      Integer ttl,
+      ExecutionContext context) {
+    if (!configuration.diffUpdate().enabled() || (null != ttl && ttl > 0)) {
+      return Uni.createFrom().nullItem();
+    }
+    return readBridgeService
+        .getDocumentRows(namespace, collection, documentId, subPath, context)
+        .map(rawDocument -> null != rawDocument ? rawDocument.rows() : Collections.emptyList());
+  }
+
   private Uni<Integer> determineTtl(
       String namespace, String collection, String documentId, ExecutionContext ctx) {
     return readBridgeService
@@ -214,6 +214,88 @@ class BuiltInFunctionResourceIntegrationTest extends DocsApiIntegrationTest {
           .body("data", jsonPartEquals("array", "[1, 2, 3, true]"));
     }
 
+    @Test
+    public void pushAfterPopEmpty() {
+      for (int i = 0; i < 3; i++) {
+        given()
+            .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+            .contentType(ContentType.JSON)
+            .body(POP_PAYLOAD)
+            .when()
+            .post(BASE_PATH + "/array/function", DEFAULT_NAMESPACE, DEFAULT_COLLECTION, DOCUMENT_ID)
+            .then()
+            .statusCode(200);
+      }
+
+      given()
+          .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+          .contentType(ContentType.JSON)
+          .body(PUSH_PAYLOAD)
+          .when()
+          .post(BASE_PATH + "/array/function", DEFAULT_NAMESPACE, DEFAULT_COLLECTION, DOCUMENT_ID)
+          .then()
+          .statusCode(200)
+          .body("documentId", equalTo(DOCUMENT_ID))
+          .body("data", jsonEquals("[true]"));
+
+      // assert whole document
+      given()
+          .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+          .when()
+          .get(BASE_PATH, DEFAULT_NAMESPACE, DEFAULT_COLLECTION, DOCUMENT_ID)
+          .then()
+          .statusCode(200)
+          .body("documentId", equalTo(DOCUMENT_ID))
+          .body("data", jsonPartEquals("array", "[true]"));
+    }
+
+    @Test
+    public void pushPopNestedArray() {
+      given()
+          .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+          .contentType(ContentType.JSON)
+          .body(PUSH_PAYLOAD)
+          .when()
+          .post(
+              BASE_PATH + "/object/b/function", DEFAULT_NAMESPACE, DEFAULT_COLLECTION, DOCUMENT_ID)
+          .then()
+          .statusCode(200)
+          .body("documentId", equalTo(DOCUMENT_ID))
+          .body("data", jsonEquals("[{}, {\"nested\": \"value\"}, [], true]"));
+
+      given()
+          .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+          .contentType(ContentType.JSON)
+          .body(POP_PAYLOAD)
+          .when()
+          .post(
+              BASE_PATH + "/object/b/function", DEFAULT_NAMESPACE, DEFAULT_COLLECTION, DOCUMENT_ID)
+          .then()
+          .statusCode(200)
+          .body("data", jsonEquals(true));
+
+      given()
+          .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+          .contentType(ContentType.JSON)
+          .body(POP_PAYLOAD)
+          .when()
+          .post(
+              BASE_PATH + "/object/b/function", DEFAULT_NAMESPACE, DEFAULT_COLLECTION, DOCUMENT_ID)
+          .then()
+          .statusCode(200)
+          .body("data", jsonEquals("[]"));
+
+      // assert whole document
+      given()
+          .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+          .when()
+          .get(BASE_PATH, DEFAULT_NAMESPACE, DEFAULT_COLLECTION, DOCUMENT_ID)
+          .then()
+          .statusCode(200)
+          .body("documentId", equalTo(DOCUMENT_ID))
+          .body("data", jsonPartEquals("object.b", "[{}, {\"nested\": \"value\"}]"));
+    }
+
     @Test
     public void pushObject() {
       given()
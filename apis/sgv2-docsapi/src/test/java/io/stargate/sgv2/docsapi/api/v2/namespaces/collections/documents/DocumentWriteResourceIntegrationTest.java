@@ -609,4 +609,62 @@ class DocumentWriteResourceIntegrationTest extends DocsApiIntegrationTest {
               "description", equalTo("Unknown namespace notakeyspace, you must create it first."));
     }
   }
+
+  @Nested
+  class WriteDocumentBatchStreaming {
+
+    @Test
+    public void idPath() throws JsonProcessingException {
+      String doc1 = "{\"id\": \"s1\", \"name\":\"a\"}";
+      String doc2 = "{\"id\": \"s2\", \"name\":\"b\"}";
+      String body =
+          given()
+              .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+              .contentType(ContentType.JSON)
+              .queryParam("id-path", "id")
+              .body(String.format("[%s, %s, %s]", doc1, doc2, doc1))
+              .when()
+              .post(BASE_PATH + "/batch/stream", DEFAULT_NAMESPACE, DEFAULT_COLLECTION)
+              .then()
+              .statusCode(200)
+              .extract()
+              .asString();
+
+      // one result per line, duplicate reported without failing the batch
+      String[] lines = body.trim().split("\n");
+      assertThat(lines).hasSize(3);
+      long failed = 0;
+      for (String line : lines) {
+        JsonNode result = objectMapper.readTree(line);
+        assertThat(result.path("documentId").asText()).isIn("s1", "s2");
+        if (result.has("error")) {
+          failed++;
+        }
+      }
+      assertThat(failed).isEqualTo(1);
+
+      given()
+          .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+          .queryParam("raw", "true")
+          .when()
+          .get(BASE_PATH + "/s2", DEFAULT_NAMESPACE, DEFAULT_COLLECTION)
+          .then()
+          .statusCode(200)
+          .body(jsonEquals(doc2));
+    }
+
+    // 4xx
+
+    @Test
+    public void notArray() {
+      given()
+          .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+          .contentType(ContentType.JSON)
+          .body(DEFAULT_PAYLOAD)
+          .when()
+          .post(BASE_PATH + "/batch/stream", DEFAULT_NAMESPACE, DEFAULT_COLLECTION)
+          .then()
+          .statusCode(400);
+    }
+  }
 }
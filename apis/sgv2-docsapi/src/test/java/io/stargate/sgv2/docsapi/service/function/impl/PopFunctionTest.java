@@ -0,0 +1,239 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.function.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectMock;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
+import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
+import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.function.BuiltInFunction;
+import io.stargate.sgv2.docsapi.service.query.ReadDocumentsService;
+import io.stargate.sgv2.docsapi.service.write.WriteDocumentsService;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@QuarkusTest
+@TestProfile(NoGlobalResourcesTestProfile.Impl.class)
+class PopFunctionTest {
+
+  @Inject PopFunction function;
+
+  @Inject ObjectMapper objectMapper;
+
+  @InjectMock ReadDocumentsService readDocumentsService;
+
+  @InjectMock WriteDocumentsService writeDocumentsService;
+
+  Uni<Schema.CqlTable> table;
+  ExecutionContext context;
+  List<String> path;
+  BuiltInFunction.Data data;
+
+  @BeforeEach
+  public void init() {
+    table = Uni.createFrom().item(Schema.CqlTable.newBuilder().build());
+    context = ExecutionContext.create(true);
+    path = List.of("array");
+    data =
+        new BuiltInFunction.Data(
+            RandomStringUtils.randomAlphanumeric(16),
+            RandomStringUtils.randomAlphanumeric(16),
+            RandomStringUtils.randomAlphanumeric(16),
+            path,
+            context,
+            null);
+  }
+
+  private void mockLastIndex(Integer lastIndex) {
+    when(readDocumentsService.getLastArrayIndex(
+            data.namespace(), data.collection(), data.documentId(), path, context))
+        .thenReturn(Uni.createFrom().item(lastIndex));
+  }
+
+  private void mockRead(List<String> documentPath, JsonNode document) {
+    Uni<DocumentResponseWrapper<JsonNode>> read =
+        null == document
+            ? Uni.createFrom().nullItem()
+            : Uni.createFrom()
+                .item(new DocumentResponseWrapper<>(data.documentId(), null, document, null));
+    when(readDocumentsService.getDocument(
+            data.namespace(), data.collection(), data.documentId(), documentPath, null, context))
+        .thenReturn(read);
+  }
+
+  private List<String> elementPath(int index) {
+    List<String> elementPath = new ArrayList<>(path);
+    elementPath.add("[%d]".formatted(index));
+    return elementPath;
+  }
+
+  private ArrayNode array(int size) {
+    ArrayNode array = objectMapper.createArrayNode();
+    for (int i = 0; i < size; i++) {
+      array.add(i);
+    }
+    return array;
+  }
+
+  // neither the read nor the write depend on the size of the array
+  @ParameterizedTest
+  @ValueSource(ints = {10, 1_000, 100_000})
+  public void removesPoppedElementOnly(int size) {
+    JsonNode element = objectMapper.createObjectNode().put("last", size - 1);
+    mockLastIndex(size - 1);
+    mockRead(elementPath(size - 1), element);
+    when(writeDocumentsService.removeArrayElement(
+            any(), any(), any(), any(), any(), anyInt(), anyBoolean(), any()))
+        .thenReturn(Uni.createFrom().item(new DocumentResponseWrapper<>(null, null, null, null)));
+
+    function
+        .execute(table, data)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertCompleted()
+        .assertItem(element);
+
+    verify(readDocumentsService, never()).getDocument(any(), any(), any(), eq(path), any(), any());
+    verify(writeDocumentsService)
+        .removeArrayElement(
+            table,
+            data.namespace(),
+            data.collection(),
+            data.documentId(),
+            path,
+            size - 1,
+            true,
+            context);
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+
+  @Test
+  public void emptyArray() {
+    mockLastIndex(-1);
+
+    function
+        .execute(table, data)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitFailure()
+        .assertFailedWith(ErrorCodeRuntimeException.class);
+
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+
+  @Test
+  public void lastIndexUnknown() {
+    mockLastIndex(null);
+    mockRead(path, array(3));
+    when(writeDocumentsService.updateSubDocument(
+            any(), any(), any(), any(), any(), any(), anyBoolean(), any()))
+        .thenReturn(Uni.createFrom().item(new DocumentResponseWrapper<>(null, null, null, null)));
+
+    function
+        .execute(table, data)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertCompleted()
+        .assertItem(objectMapper.getNodeFactory().numberNode(2));
+
+    verify(writeDocumentsService)
+        .updateSubDocument(
+            table,
+            data.namespace(),
+            data.collection(),
+            data.documentId(),
+            path,
+            array(2),
+            true,
+            context);
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+
+  @Test
+  public void lastElementNotFound() {
+    mockLastIndex(2);
+    mockRead(elementPath(2), null);
+    mockRead(path, array(2));
+    when(writeDocumentsService.updateSubDocument(
+            any(), any(), any(), any(), any(), any(), anyBoolean(), any()))
+        .thenReturn(Uni.createFrom().item(new DocumentResponseWrapper<>(null, null, null, null)));
+
+    function
+        .execute(table, data)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertCompleted()
+        .assertItem(objectMapper.getNodeFactory().numberNode(1));
+
+    verify(writeDocumentsService)
+        .updateSubDocument(
+            table,
+            data.namespace(),
+            data.collection(),
+            data.documentId(),
+            path,
+            array(1),
+            true,
+            context);
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+
+  @Test
+  public void notArray() {
+    mockLastIndex(null);
+    mockRead(path, objectMapper.createObjectNode().put("a", 1));
+
+    function
+        .execute(table, data)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitFailure()
+        .assertFailedWith(
+            ErrorCodeRuntimeException.class,
+            "The path provided to pop from has no array, found {\"a\":1}.");
+
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.function.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectMock;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
+import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
+import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.function.BuiltInFunction;
+import io.stargate.sgv2.docsapi.service.query.ReadDocumentsService;
+import io.stargate.sgv2.docsapi.service.write.WriteDocumentsService;
+import jakarta.inject.Inject;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@QuarkusTest
+@TestProfile(NoGlobalResourcesTestProfile.Impl.class)
+class PushFunctionTest {
+
+  @Inject PushFunction function;
+
+  @Inject ObjectMapper objectMapper;
+
+  @InjectMock ReadDocumentsService readDocumentsService;
+
+  @InjectMock WriteDocumentsService writeDocumentsService;
+
+  Uni<Schema.CqlTable> table;
+  ExecutionContext context;
+  List<String> path;
+  JsonNode input;
+  BuiltInFunction.Data data;
+
+  @BeforeEach
+  public void init() {
+    table = Uni.createFrom().item(Schema.CqlTable.newBuilder().build());
+    context = ExecutionContext.create(true);
+    path = List.of("array");
+    input = objectMapper.createObjectNode().put("pushed", true);
+    data =
+        new BuiltInFunction.Data(
+            RandomStringUtils.randomAlphanumeric(16),
+            RandomStringUtils.randomAlphanumeric(16),
+            RandomStringUtils.randomAlphanumeric(16),
+            path,
+            context,
+            input);
+  }
+
+  private void mockRead(JsonNode document, Integer lastIndex) {
+    Uni<DocumentResponseWrapper<JsonNode>> read =
+        null == document
+            ? Uni.createFrom().nullItem()
+            : Uni.createFrom()
+                .item(new DocumentResponseWrapper<>(data.documentId(), null, document, null));
+    when(readDocumentsService.getDocument(
+            data.namespace(), data.collection(), data.documentId(), path, null, context))
+        .thenReturn(read);
+    when(readDocumentsService.getLastArrayIndex(
+            data.namespace(), data.collection(), data.documentId(), path, context))
+        .thenReturn(Uni.createFrom().item(lastIndex));
+  }
+
+  private ArrayNode array(int size) {
+    ArrayNode array = objectMapper.createArrayNode();
+    for (int i = 0; i < size; i++) {
+      array.add(i);
+    }
+    return array;
+  }
+
+  private JsonNode execute() {
+    return function
+        .execute(table, data)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertCompleted()
+        .getItem();
+  }
+
+  // the write does not depend on the size of the array
+  @ParameterizedTest
+  @ValueSource(ints = {10, 1_000, 100_000})
+  public void addsPushedElementOnly(int size) {
+    mockRead(array(size), size - 1);
+    when(writeDocumentsService.addArrayElement(
+            any(), any(), any(), any(), any(), eq(size), any(), anyBoolean(), any()))
+        .thenReturn(Uni.createFrom().item(new DocumentResponseWrapper<>(null, null, null, null)));
+
+    JsonNode result = execute();
+
+    assertThat(result).hasSize(size + 1);
+    assertThat(result.get(size)).isEqualTo(input);
+    verify(writeDocumentsService)
+        .addArrayElement(
+            table,
+            data.namespace(),
+            data.collection(),
+            data.documentId(),
+            path,
+            size,
+            input,
+            true,
+            context);
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+
+  @Test
+  public void emptyArray() {
+    mockRead(array(0), -1);
+    when(writeDocumentsService.addArrayElement(
+            any(), any(), any(), any(), any(), eq(0), any(), anyBoolean(), any()))
+        .thenReturn(Uni.createFrom().item(new DocumentResponseWrapper<>(null, null, null, null)));
+
+    JsonNode result = execute();
+
+    assertThat(result).containsExactly(input);
+    verify(writeDocumentsService)
+        .addArrayElement(
+            table,
+            data.namespace(),
+            data.collection(),
+            data.documentId(),
+            path,
+            0,
+            input,
+            true,
+            context);
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+
+  @Test
+  public void lastIndexUnknown() {
+    mockRead(array(3), null);
+    when(writeDocumentsService.updateSubDocument(
+            any(), any(), any(), any(), any(), any(), anyBoolean(), any()))
+        .thenReturn(Uni.createFrom().item(new DocumentResponseWrapper<>(null, null, null, null)));
+
+    JsonNode result = execute();
+
+    ArrayNode expected = array(3).add(input);
+    assertThat(result).isEqualTo(expected);
+    verify(writeDocumentsService)
+        .updateSubDocument(
+            table,
+            data.namespace(),
+            data.collection(),
+            data.documentId(),
+            path,
+            expected,
+            true,
+            context);
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+
+  @Test
+  public void lastIndexNotMatchingArray() {
+    mockRead(array(3), 5);
+    when(writeDocumentsService.updateSubDocument(
+            any(), any(), any(), any(), any(), any(), anyBoolean(), any()))
+        .thenReturn(Uni.createFrom().item(new DocumentResponseWrapper<>(null, null, null, null)));
+
+    JsonNode result = execute();
+
+    assertThat(result).isEqualTo(array(3).add(input));
+    verify(writeDocumentsService)
+        .updateSubDocument(any(), any(), any(), any(), any(), any(), anyBoolean(), any());
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+
+  @Test
+  public void notArray() {
+    mockRead(objectMapper.createObjectNode().put("a", 1), null);
+
+    function
+        .execute(table, data)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitFailure()
+        .assertFailedWith(
+            ErrorCodeRuntimeException.class,
+            "The path provided to push to has no array, found {\"a\":1}.");
+
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+
+  @Test
+  public void notFound() {
+    mockRead(null, null);
+
+    assertThat(execute()).isNull();
+    verifyNoMoreInteractions(writeDocumentsService);
+  }
+}
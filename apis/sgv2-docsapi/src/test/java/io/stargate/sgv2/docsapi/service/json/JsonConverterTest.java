@@ -33,7 +33,9 @@ import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
 import io.stargate.sgv2.docsapi.config.constants.Constants;
 import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
 import jakarta.inject.Inject;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -374,6 +376,102 @@ public class JsonConverterTest {
         .isEqualTo(mapper.readTree("{\"a\":{\"b\":{\"c\":{}}}}").toString());
   }
 
+  @Test
+  public void streamedJsonDoc_streamsSortedRows() throws IOException {
+    for (boolean numericBooleans : new boolean[] {false, true}) {
+      List<Row> initial = makeInitialRowData(numericBooleans);
+      initial.sort(BY_PATH);
+      List<RowWrapper> rowWrappers = createRowWrappers(initial, columns());
+
+      assertThat(writeJsonDoc(rowWrappers, false, numericBooleans))
+          .isEqualTo(
+              mapper
+                  .readTree(
+                      "{\"a\": {\"b\": {\"c\": true}}, \"d\": {\"e\": [3]}, \"f\": \"abc\", \"g\": {\"h\": \"something\"}}")
+                  .toString());
+      assertThat(writeJsonDoc(rowWrappers, true, numericBooleans))
+          .isEqualTo(
+              mapper
+                  .readTree(
+                      "{\"a\": {\"b\": {\"c\": true}}, \"d\": {\"e\": {\"[0]\": 3}}, \"f\": \"abc\", \"g\": {\"h\": \"something\"}}")
+                  .toString());
+    }
+
+    assertThat(writeJsonDoc(new ArrayList<>(), false, false)).isEqualTo("{}");
+  }
+
+  @Test
+  public void streamedJsonDoc_arrayGaps() throws IOException {
+    List<Row> rows = new ArrayList<>();
+    rows.add(row(1L, "x", "[000001]"));
+    rows.add(row(1L, "y", "[000003]", "a", "[000002]"));
+    rows.add(row(1L, Constants.EMPTY_OBJECT_MARKER, "[000003]", "b"));
+    List<RowWrapper> rowWrappers = createRowWrappers(rows, columns());
+
+    assertThat(writeJsonDoc(rowWrappers, false, false))
+        .isEqualTo(
+            mapper
+                .readTree("[null, \"x\", null, {\"a\": [null, null, \"y\"], \"b\": {}}]")
+                .toString())
+        .isEqualTo(mapper.writeValueAsString(service.convertToJsonDoc(rowWrappers, false, false)));
+    assertThat(writeJsonDoc(rowWrappers, true, false))
+        .isEqualTo(
+            mapper
+                .readTree("{\"[1]\": \"x\", \"[3]\": {\"a\": {\"[2]\": \"y\"}, \"b\": {}}}")
+                .toString())
+        .isEqualTo(mapper.writeValueAsString(service.convertToJsonDoc(rowWrappers, true, false)));
+  }
+
+  @Test
+  public void streamedJsonDoc_notStreamable() throws IOException {
+    // Several versions of the same paths
+    List<Row> replaced = makeInitialRowData(false);
+    replaced.addAll(makeSecondRowData(false));
+    replaced.sort(BY_PATH);
+    // Unsorted, and a root array whose first leaf is newer than the other rows
+    List<Row> rootArray = makeThirdRowData(false);
+    rootArray.add(row(1L, "older", "[000001]"));
+    rootArray.add(row(3L, "newer", "[000002]"));
+
+    for (List<Row> rows : List.of(replaced, makeMultipleReplacements(), rootArray)) {
+      List<RowWrapper> rowWrappers = createRowWrappers(rows, columns());
+      assertThat(service.streamedJsonDoc(rowWrappers, false, false)).isNull();
+    }
+  }
+
+  private String writeJsonDoc(
+      List<RowWrapper> rows, boolean writeAllPathsAsObjects, boolean numericBooleans)
+      throws IOException {
+    JsonNode doc = service.streamedJsonDoc(rows, writeAllPathsAsObjects, numericBooleans);
+    assertThat(doc).isNotNull();
+    return mapper.writeValueAsString(doc);
+  }
+
+  private static final Comparator<Row> BY_PATH = pathComparator();
+
+  private static Comparator<Row> pathComparator() {
+    Comparator<Row> comparator = Comparator.comparing(row -> row.getValues(2).getString());
+    for (int i = 3; i < 8; i++) {
+      int index = i;
+      comparator = comparator.thenComparing(row -> row.getValues(index).getString());
+    }
+    return comparator;
+  }
+
+  private static Row row(long writeTime, String textValue, String... path) {
+    Row.Builder row = Row.newBuilder();
+    row.addValues(Value.newBuilder().setString("1").build());
+    row.addValues(Value.newBuilder().setInt(writeTime).build());
+    for (int i = 0; i < 6; i++) {
+      row.addValues(Value.newBuilder().setString(i < path.length ? path[i] : "").build());
+    }
+    row.addValues(Value.newBuilder().setString(path[path.length - 1]).build());
+    row.addValues(Value.newBuilder().setNull(Value.Null.getDefaultInstance()).build());
+    row.addValues(Value.newBuilder().setNull(Value.Null.getDefaultInstance()).build());
+    row.addValues(Value.newBuilder().setString(textValue).build());
+    return row.build();
+  }
+
   public static List<Row> makeInitialRowData(boolean numericBooleans) {
     List<Row> rows = new ArrayList<>();
     Row.Builder data0 = Row.newBuilder();
@@ -41,6 +41,7 @@ import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.EqFilterOper
 import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
 import io.stargate.sgv2.docsapi.testprofiles.MaxDepth4TestProfile;
 import jakarta.inject.Inject;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -979,6 +980,168 @@ class ReadBridgeServiceTest extends AbstractValidatingStargateBridgeTest {
     }
   }
 
+  @Nested
+  class GetSubDocumentTail {
+
+    @Test
+    public void happyPath() {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("array");
+
+      String cql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM \"%s\".\"%s\" WHERE p0 = ? AND key = ? ORDER BY p0 DESC LIMIT 1 ALLOW FILTERING"
+              .formatted(KEYSPACE_NAME, COLLECTION_NAME);
+      ValidatingStargateBridge.QueryAssert cqlAssert =
+          withQuery(cql, Values.of("array"), Values.of(documentId))
+              .withPageSize(1)
+              .withColumnSpec(schemaProvider.allColumnSpec())
+              .returning(
+                  List.of(
+                      List.of(
+                          Values.of(documentId),
+                          Values.of("array"),
+                          Values.of("[000041]"),
+                          Values.of(""),
+                          Values.of(""),
+                          Values.of("[000041]"),
+                          Values.of("v41"),
+                          Values.NULL,
+                          Values.NULL)));
+
+      RawDocument result =
+          service
+              .getSubDocumentTail(KEYSPACE_NAME, COLLECTION_NAME, documentId, subPath, context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      // assert results
+      assertThat(result)
+          .satisfies(
+              doc -> {
+                assertThat(doc.id()).isEqualTo(documentId);
+                assertThat(doc.rows())
+                    .singleElement()
+                    .satisfies(row -> assertThat(row.getString("p1")).isEqualTo("[000041]"));
+              });
+
+      // assert queries execution
+      cqlAssert.assertExecuteCount().isEqualTo(1);
+
+      // assert execution context
+      assertThat(context.toProfile().nested())
+          .singleElement()
+          .satisfies(c -> assertThat(c.description()).isEqualTo("GetSubDocumentTail"));
+    }
+
+    @Test
+    public void notFound() {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("array");
+
+      String cql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM \"%s\".\"%s\" WHERE p0 = ? AND key = ? ORDER BY p0 DESC LIMIT 1 ALLOW FILTERING"
+              .formatted(KEYSPACE_NAME, COLLECTION_NAME);
+      ValidatingStargateBridge.QueryAssert cqlAssert =
+          withQuery(cql, Values.of("array"), Values.of(documentId))
+              .withPageSize(1)
+              .withColumnSpec(schemaProvider.allColumnSpec())
+              .returningNothing();
+
+      RawDocument result =
+          service
+              .getSubDocumentTail(KEYSPACE_NAME, COLLECTION_NAME, documentId, subPath, context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      assertThat(result).isNull();
+      cqlAssert.assertExecuteCount().isEqualTo(1);
+    }
+  }
+
+  @Nested
+  class GetDocumentRows {
+
+    @Test
+    public void happyPath() {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("field");
+
+      List<QueryOuterClass.ColumnSpec> columns = new ArrayList<>(schemaProvider.allColumnSpec());
+      columns.add(QueryOuterClass.ColumnSpec.newBuilder().setName("ttl(leaf)").build());
+      String cql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, TTL(leaf), WRITETIME(leaf) FROM \"%s\".\"%s\" WHERE p0 = ? AND key = ? ALLOW FILTERING"
+              .formatted(KEYSPACE_NAME, COLLECTION_NAME);
+      ValidatingStargateBridge.QueryAssert cqlAssert =
+          withQuery(cql, Values.of("field"), Values.of(documentId))
+              .withPageSize(documentProperties.maxSearchPageSize())
+              .withResumeMode(QueryOuterClass.ResumeMode.NEXT_ROW)
+              .enriched()
+              .withColumnSpec(columns)
+              .returning(
+                  List.of(
+                      List.of(
+                          Values.of(documentId),
+                          Values.of("field"),
+                          Values.of("k1"),
+                          Values.of(""),
+                          Values.of(""),
+                          Values.of("k1"),
+                          Values.of("v1"),
+                          Values.NULL,
+                          Values.NULL,
+                          Values.NULL),
+                      List.of(
+                          Values.of(documentId),
+                          Values.of("field"),
+                          Values.of("k2"),
+                          Values.of(""),
+                          Values.of(""),
+                          Values.of("k2"),
+                          Values.of("v2"),
+                          Values.NULL,
+                          Values.NULL,
+                          Values.of(100))));
+
+      RawDocument result =
+          service
+              .getDocumentRows(KEYSPACE_NAME, COLLECTION_NAME, documentId, subPath, context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      // assert results
+      assertThat(result)
+          .satisfies(
+              doc -> {
+                assertThat(doc.id()).isEqualTo(documentId);
+                assertThat(doc.rows())
+                    .hasSize(2)
+                    .satisfiesExactly(
+                        row -> assertThat(row.isNull("ttl(leaf)")).isTrue(),
+                        row -> assertThat(row.getLong("ttl(leaf)")).isEqualTo(100L));
+              });
+
+      // assert queries execution
+      cqlAssert.assertExecuteCount().isEqualTo(1);
+
+      // assert execution context
+      assertThat(context.toProfile().nested())
+          .singleElement()
+          .satisfies(c -> assertThat(c.description()).isEqualTo("GetDocumentRows"));
+    }
+  }
+
   @Nested
   class GetDocumentTtlInfo {
 
@@ -27,6 +27,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.grpc.Metadata;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
@@ -45,6 +46,7 @@ import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
+import io.stargate.sgv2.docsapi.config.constants.Constants;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.common.model.Paginator;
 import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
@@ -81,6 +83,8 @@ class ReadDocumentsServiceTest {
 
   @Inject DocumentProperties documentProperties;
 
+  @Inject ObjectMapper objectMapper;
+
   @InjectMock ReadBridgeService readBridgeService;
 
   @InjectMock WriteBridgeService writeBridgeService;
@@ -653,6 +657,108 @@ class ReadDocumentsServiceTest {
       verifyNoMoreInteractions(readBridgeService, writeBridgeService);
     }
 
+    @Test
+    public void forResponseStreamed() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+
+      Multi<RawDocument> docs = Multi.createFrom().items(rawDocument);
+
+      when(readBridgeService.getDocument(
+              eq(namespace),
+              eq(collection),
+              eq(documentId),
+              eq(Collections.emptyList()),
+              eq(context)))
+          .thenReturn(docs);
+
+      QueryOuterClass.Row row1 = rowFor(documentId, "value", "prePath", "myField");
+      QueryOuterClass.Row row2 = rowFor(documentId, "other", "prePath", "otherField");
+      when(rawDocument.id()).thenReturn(documentId);
+      when(rawDocument.rows())
+          .thenReturn(List.of(wrapperFunction.apply(row1), wrapperFunction.apply(row2)));
+
+      DocumentResponseWrapper<? extends JsonNode> wrapper =
+          service
+              .getDocumentForResponse(
+                  namespace, collection, documentId, Collections.emptyList(), null, context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      assertThat(wrapper.documentId()).isEqualTo(documentId);
+      assertThat(objectMapper.writeValueAsString(wrapper.data()))
+          .isEqualTo("{\"prePath\":{\"myField\":\"value\",\"otherField\":\"other\"}}");
+      assertThat(wrapper.profile()).isEqualTo(context.toProfile());
+      assertThat(wrapper.pageState()).isNull();
+
+      verify(readBridgeService)
+          .getDocument(
+              eq(namespace),
+              eq(collection),
+              eq(documentId),
+              eq(Collections.emptyList()),
+              eq(context));
+      verifyNoMoreInteractions(readBridgeService, writeBridgeService);
+    }
+
+    @Test
+    public void forResponseWithDeadLeaves() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+
+      Multi<RawDocument> docs = Multi.createFrom().items(rawDocument);
+
+      when(readBridgeService.getDocument(
+              eq(namespace),
+              eq(collection),
+              eq(documentId),
+              eq(Collections.emptyList()),
+              eq(context)))
+          .thenReturn(docs);
+
+      when(writeBridgeService.deleteDeadLeaves(
+              eq(namespace), eq(collection), eq(documentId), anyLong(), any(), eq(context), any()))
+          .thenReturn(Uni.createFrom().nothing());
+
+      QueryOuterClass.Row oldRow = rowFor(documentId, "oldValue", 1L, "prePath");
+      QueryOuterClass.Row row = rowFor(documentId, "value", 2L, "prePath", "myField");
+      when(rawDocument.id()).thenReturn(documentId);
+      when(rawDocument.rows())
+          .thenReturn(List.of(wrapperFunction.apply(oldRow), wrapperFunction.apply(row)));
+
+      DocumentResponseWrapper<? extends JsonNode> wrapper =
+          service
+              .getDocumentForResponse(
+                  namespace, collection, documentId, Collections.emptyList(), null, context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      // not streamed, so that the dead leaves are collected
+      assertThat(wrapper.data()).hasSize(1);
+      assertThat(wrapper.data().findValue("prePath").findValue("myField").textValue())
+          .isEqualTo("value");
+
+      verify(writeBridgeService)
+          .deleteDeadLeaves(
+              eq(namespace),
+              eq(collection),
+              eq(documentId),
+              anyLong(),
+              deadLeavesCaptor.capture(),
+              eq(context),
+              metadataCaptor.capture());
+    }
+
     @Test
     public void notFound() {
       String namespace = RandomStringUtils.randomAlphanumeric(16);
@@ -685,6 +791,94 @@ class ReadDocumentsServiceTest {
     }
   }
 
+  @Nested
+  class GetLastArrayIndex implements OpenMocksTest {
+
+    @Mock RawDocument rawDocument;
+
+    String namespace;
+    String collection;
+    String documentId;
+    ExecutionContext context;
+
+    @BeforeEach
+    public void init() {
+      namespace = RandomStringUtils.randomAlphanumeric(16);
+      collection = RandomStringUtils.randomAlphanumeric(16);
+      documentId = RandomStringUtils.randomAlphanumeric(16);
+      context = ExecutionContext.create(true);
+    }
+
+    private Integer lastArrayIndex(List<String> path, QueryOuterClass.Row tail) {
+      List<String> processed = List.of("array", "[000001]");
+      Uni<RawDocument> document = Uni.createFrom().nullItem();
+      if (null != tail) {
+        when(rawDocument.rows()).thenReturn(List.of(wrapperFunction.apply(tail)));
+        document = Uni.createFrom().item(rawDocument);
+      }
+      when(readBridgeService.getSubDocumentTail(
+              eq(namespace), eq(collection), eq(documentId), eq(processed), eq(context)))
+          .thenReturn(document);
+
+      return service
+          .getLastArrayIndex(namespace, collection, documentId, path, context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted()
+          .getItem();
+    }
+
+    @Test
+    public void arrayElement() {
+      QueryOuterClass.Row tail = rowFor(documentId, "value", "array", "[000001]", "[000041]", "a");
+
+      assertThat(lastArrayIndex(List.of("array", "[1]"), tail)).isEqualTo(41);
+    }
+
+    @Test
+    public void emptyArray() {
+      QueryOuterClass.Row tail =
+          rowFor(documentId, Constants.EMPTY_ARRAY_MARKER, "array", "[000001]");
+
+      assertThat(lastArrayIndex(List.of("array", "[1]"), tail)).isEqualTo(-1);
+    }
+
+    @Test
+    public void object() {
+      QueryOuterClass.Row tail = rowFor(documentId, "value", "array", "[000001]", "key");
+
+      assertThat(lastArrayIndex(List.of("array", "[1]"), tail)).isNull();
+    }
+
+    @Test
+    public void primitive() {
+      QueryOuterClass.Row tail = rowFor(documentId, "value", "array", "[000001]");
+
+      assertThat(lastArrayIndex(List.of("array", "[1]"), tail)).isNull();
+    }
+
+    @Test
+    public void notFound() {
+      assertThat(lastArrayIndex(List.of("array", "[1]"), null)).isNull();
+    }
+
+    @Test
+    public void notSinglePath() {
+      Integer result =
+          service
+              .getLastArrayIndex(namespace, collection, documentId, List.of("array", "*"), context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      assertThat(result).isNull();
+      verifyNoInteractions(readBridgeService);
+    }
+  }
+
   @Nested
   class FindSubDocuments implements OpenMocksTest {
 
@@ -0,0 +1,169 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.cql.builder.QueryBuilder;
+import io.stargate.sgv2.common.bridge.AbstractValidatingStargateBridgeTest;
+import io.stargate.sgv2.common.bridge.ValidatingStargateBridge;
+import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
+import io.stargate.sgv2.docsapi.DocsApiTestSchemaProvider;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
+import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+@QuarkusTest
+@TestProfile(QueryExecutorPrefetchTest.Profile.class)
+class QueryExecutorPrefetchTest extends AbstractValidatingStargateBridgeTest {
+
+  public static class Profile implements NoGlobalResourcesTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return ImmutableMap.<String, String>builder()
+          .put("stargate.document.max-depth", "4")
+          .put("stargate.document.search-prefetch.depth", "2")
+          .build();
+    }
+  }
+
+  private final ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+  @Inject QueryExecutor queryExecutor;
+
+  @Inject DocsApiTestSchemaProvider schemaProvider;
+
+  @Inject DocumentProperties documentProperties;
+
+  List<QueryOuterClass.ColumnSpec> columnSpec;
+
+  QueryOuterClass.Query allDocsQuery;
+
+  @BeforeEach
+  public void init() {
+    DocumentTableProperties tableProps = documentProperties.tableProperties();
+
+    // using only sub-set of columns
+    columnSpec =
+        schemaProvider
+            .allColumnSpecStream()
+            .filter(
+                c -> {
+                  String column = c.getName();
+
+                  return Objects.equals(column, tableProps.keyColumnName())
+                      || Objects.equals(column, tableProps.doubleValueColumnName())
+                      || column.startsWith(tableProps.pathColumnPrefix());
+                })
+            .toList();
+
+    allDocsQuery =
+        new QueryBuilder().select().star().from(schemaProvider.getTable().getName()).build();
+  }
+
+  List<QueryOuterClass.Value> row(String id, String p0, Double value) {
+    return ImmutableList.of(
+        Values.of(id),
+        Values.of(p0),
+        Values.of(""),
+        Values.of(""),
+        Values.of(""),
+        Values.of(value));
+  }
+
+  ValidatingStargateBridge.QueryAssert withFiveTestDocs(int pageSize) {
+    return withQuery(allDocsQuery.getCql())
+        .withPageSize(pageSize)
+        .withColumnSpec(columnSpec)
+        .returning(
+            ImmutableList.of(
+                row("1", "x", 1.0d),
+                row("1", "y", 2.0d),
+                row("2", "x", 3.0d),
+                row("3", "x", 1.0d),
+                row("4", "y", 2.0d),
+                row("4", "x", 3.0d),
+                row("5", "x", 3.0d),
+                row("5", "y", 3.0d)));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1", "3", "100"})
+  public void fullScanPaged(int pageSize) {
+    withFiveTestDocs(pageSize);
+
+    List<RawDocument> result =
+        queryExecutor
+            .queryDocs(allDocsQuery, pageSize, false, null, false, context)
+            .subscribe()
+            .withSubscriber(AssertSubscriber.create(5))
+            .awaitCompletion()
+            .assertCompleted()
+            .getItems();
+
+    assertThat(result).extracting(RawDocument::id).containsExactly("1", "2", "3", "4", "5");
+    assertThat(result).extracting(d -> d.rows().size()).containsExactly(2, 1, 1, 2, 2);
+  }
+
+  @Test
+  public void prefetchBoundedByDepth() {
+    ValidatingStargateBridge.QueryAssert queryAssert = withFiveTestDocs(1);
+
+    // first doc is complete once the third row is seen
+    queryExecutor
+        .queryDocs(allDocsQuery, 1, false, null, false, context)
+        .subscribe()
+        .withSubscriber(AssertSubscriber.create(1))
+        .awaitItems(1)
+        .cancel();
+
+    // three pages consumed, two fetched ahead
+    queryAssert.assertExecuteCount().isEqualTo(5);
+  }
+
+  @Test
+  public void prefetchStopsWhenExhausted() {
+    ValidatingStargateBridge.QueryAssert queryAssert = withFiveTestDocs(3);
+
+    queryExecutor
+        .queryDocs(allDocsQuery, 3, false, null, false, context)
+        .subscribe()
+        .withSubscriber(AssertSubscriber.create(1))
+        .awaitItems(1)
+        .cancel();
+
+    // all three pages fetched, no more
+    queryAssert.assertExecuteCount().isEqualTo(3);
+  }
+}
@@ -18,10 +18,19 @@
 package io.stargate.sgv2.docsapi.service.query.executor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 import io.stargate.bridge.grpc.Values;
@@ -51,6 +60,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
 
 /**
  * @author Dmitri Bourlatchkov
@@ -738,6 +748,188 @@ class QueryExecutorTest extends AbstractValidatingStargateBridgeTest {
       assertThat(result.get(1).rows()).extracting(r -> r.getString("p0")).contains("x2", "x3");
     }
 
+    @Test
+    void firstPagesInSingleCall() {
+      ValidatingStargateBridge bridgeSpy = spy(bridge);
+      when(requestInfo.getStargateBridge()).thenReturn(bridgeSpy);
+
+      QueryOuterClass.Query query =
+          new QueryBuilder()
+              .select()
+              .star()
+              .from(schemaProvider.getTable().getName())
+              .where(
+                  BuiltCondition.of(
+                      documentProperties.tableProperties().pathColumnName(0),
+                      Predicate.GT,
+                      Term.marker()))
+              .build();
+
+      QueryOuterClass.Value valueX = Values.of("x");
+      withQuery(query.getCql(), valueX)
+          .withComparableKey(FIRST_COLUMN_COMPARABLE_KEY)
+          .enriched()
+          .withPageSize(1)
+          .withColumnSpec(columnSpec)
+          .returning(ImmutableList.of(row("a", "x1", 1.0d), row("c", "x2", 2.0d)));
+      QueryOuterClass.Value valueY = Values.of("y");
+      withQuery(query.getCql(), valueY)
+          .withComparableKey(FIRST_COLUMN_COMPARABLE_KEY)
+          .enriched()
+          .withPageSize(1)
+          .withColumnSpec(columnSpec)
+          .returning(ImmutableList.of(row("b", "x1", 1.0d)));
+
+      QueryOuterClass.Query q1 =
+          QueryOuterClass.Query.newBuilder(query)
+              .setValues(QueryOuterClass.Values.newBuilder().addValues(valueX))
+              .build();
+      QueryOuterClass.Query q2 =
+          QueryOuterClass.Query.newBuilder(query)
+              .setValues(QueryOuterClass.Values.newBuilder().addValues(valueY))
+              .build();
+
+      List<RawDocument> result =
+          queryExecutor
+              .queryDocs(ImmutableList.of(q1, q2), 1, false, null, false, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(3))
+              .awaitItems(3)
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(result).extracting(RawDocument::id).containsExactly("a", "b", "c");
+
+      // first pages in one call, the next page of the first query on its own
+      ArgumentCaptor<QueryOuterClass.Queries> queries =
+          ArgumentCaptor.forClass(QueryOuterClass.Queries.class);
+      verify(bridgeSpy).executeQueries(queries.capture());
+      assertThat(queries.getValue().getQueriesList())
+          .extracting(q -> q.getValues().getValues(0))
+          .containsExactly(valueX, valueY);
+    }
+
+    @Test
+    void firstPagesUnimplemented() {
+      ValidatingStargateBridge bridgeSpy = spy(bridge);
+      doReturn(Multi.createFrom().failure(Status.UNIMPLEMENTED.asRuntimeException()))
+          .when(bridgeSpy)
+          .executeQueries(any());
+      when(requestInfo.getStargateBridge()).thenReturn(bridgeSpy);
+
+      QueryOuterClass.Query query =
+          new QueryBuilder()
+              .select()
+              .star()
+              .from(schemaProvider.getTable().getName())
+              .where(
+                  BuiltCondition.of(
+                      documentProperties.tableProperties().pathColumnName(0),
+                      Predicate.GT,
+                      Term.marker()))
+              .build();
+
+      QueryOuterClass.Value valueX = Values.of("x");
+      withQuery(query.getCql(), valueX)
+          .withComparableKey(FIRST_COLUMN_COMPARABLE_KEY)
+          .enriched()
+          .withPageSize(1)
+          .withColumnSpec(columnSpec)
+          .returning(ImmutableList.of(row("a", "x1", 1.0d), row("c", "x2", 2.0d)));
+      QueryOuterClass.Value valueY = Values.of("y");
+      withQuery(query.getCql(), valueY)
+          .withComparableKey(FIRST_COLUMN_COMPARABLE_KEY)
+          .enriched()
+          .withPageSize(1)
+          .withColumnSpec(columnSpec)
+          .returning(ImmutableList.of(row("b", "x1", 1.0d)));
+
+      QueryOuterClass.Query q1 =
+          QueryOuterClass.Query.newBuilder(query)
+              .setValues(QueryOuterClass.Values.newBuilder().addValues(valueX))
+              .build();
+      QueryOuterClass.Query q2 =
+          QueryOuterClass.Query.newBuilder(query)
+              .setValues(QueryOuterClass.Values.newBuilder().addValues(valueY))
+              .build();
+
+      List<RawDocument> result =
+          queryExecutor
+              .queryDocs(ImmutableList.of(q1, q2), 1, false, null, false, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(3))
+              .awaitItems(3)
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(result).extracting(RawDocument::id).containsExactly("a", "b", "c");
+
+      // the single call is tried once, then each first page is fetched on its own
+      ArgumentCaptor<QueryOuterClass.Query> executed =
+          ArgumentCaptor.forClass(QueryOuterClass.Query.class);
+      verify(bridgeSpy).executeQueries(any());
+      verify(bridgeSpy, atLeast(2)).executeQuery(executed.capture());
+      assertThat(executed.getAllValues())
+          .filteredOn(q -> !q.getParameters().hasPagingState())
+          .extracting(q -> q.getValues().getValues(0))
+          .containsExactlyInAnyOrder(valueX, valueY);
+    }
+
+    @Test
+    void firstPageFailure() {
+      QueryOuterClass.Query query =
+          new QueryBuilder()
+              .select()
+              .star()
+              .from(schemaProvider.getTable().getName())
+              .where(
+                  BuiltCondition.of(
+                      documentProperties.tableProperties().pathColumnName(0),
+                      Predicate.GT,
+                      Term.marker()))
+              .build();
+
+      QueryOuterClass.Value valueX = Values.of("x");
+      withQuery(query.getCql(), valueX)
+          .withComparableKey(FIRST_COLUMN_COMPARABLE_KEY)
+          .enriched()
+          .withPageSize(10)
+          .withColumnSpec(columnSpec)
+          .returning(ImmutableList.of(row("a", "x1", 1.0d)));
+      QueryOuterClass.Value valueY = Values.of("y");
+      withQuery(query.getCql(), valueY)
+          .withComparableKey(FIRST_COLUMN_COMPARABLE_KEY)
+          .enriched()
+          .withPageSize(10)
+          .withColumnSpec(columnSpec)
+          .returningFailure(Status.UNAVAILABLE.withDescription("Boom").asRuntimeException());
+
+      QueryOuterClass.Query q1 =
+          QueryOuterClass.Query.newBuilder(query)
+              .setValues(QueryOuterClass.Values.newBuilder().addValues(valueX))
+              .build();
+      QueryOuterClass.Query q2 =
+          QueryOuterClass.Query.newBuilder(query)
+              .setValues(QueryOuterClass.Values.newBuilder().addValues(valueY))
+              .build();
+
+      Throwable failure =
+          queryExecutor
+              .queryDocs(ImmutableList.of(q1, q2), 10, false, null, false, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(1))
+              .awaitFailure()
+              .getFailure();
+
+      assertThat(failure)
+          .isInstanceOfSatisfying(
+              StatusRuntimeException.class,
+              e -> {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+                assertThat(e.getStatus().getDescription()).isEqualTo("Boom");
+              });
+    }
+
     @ParameterizedTest
     @CsvSource({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "100"})
     void mergeSubDocuments(int pageSize) {
@@ -26,6 +26,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.cache.CompositeCacheKey;
 import io.quarkus.grpc.GrpcClient;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
@@ -41,6 +47,7 @@ import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import jakarta.inject.Inject;
+import java.util.List;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -59,8 +66,16 @@ class JsonSchemaManagerTest extends BridgeTest {
 
   @InjectMock StargateRequestInfo requestInfo;
 
+  @Inject MeterRegistry meterRegistry;
+
+  @Inject
+  @CacheName("json-schema-cache")
+  Cache jsonSchemaCache;
+
   Schema.CqlTable table;
 
+  String namespace = RandomStringUtils.randomAlphanumeric(16);
+
   ArgumentCaptor<QueryOuterClass.Query> queryCaptor;
 
   @BeforeEach
@@ -100,6 +115,44 @@ class JsonSchemaManagerTest extends BridgeTest {
       verifyNoMoreInteractions(bridgeService);
     }
 
+    @Test
+    public void invalidatesCompiledSchemas() throws JsonProcessingException {
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      table =
+          Schema.CqlTable.newBuilder()
+              .setName(collection)
+              .putOptions("comment", testJsonSchema())
+              .build();
+
+      doAnswer(
+              invocationOnMock -> {
+                StreamObserver<QueryOuterClass.Query> observer = invocationOnMock.getArgument(1);
+                observer.onNext(QueryOuterClass.Query.getDefaultInstance());
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .executeQuery(any(), any());
+
+      JsonNode document = objectMapper.readTree("{\"id\":1, \"name\": \"Eric\", \"price\":1}");
+      jsonSchemaManager
+          .validateJsonDocument(namespace, Uni.createFrom().item(table), document, false)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem();
+      assertThat(compiledSchemaKeys(collection)).hasSize(1);
+
+      JsonNode schema =
+          objectMapper.readTree("{\"$schema\": \"https://json-schema.org/draft/2019-09/schema\"}");
+      jsonSchemaManager
+          .attachJsonSchema(namespace, Uni.createFrom().item(table), schema)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem();
+
+      assertThat(compiledSchemaKeys(collection)).isEmpty();
+    }
+
     @Test
     public void malformedSchema() throws JsonProcessingException {
       table = Schema.CqlTable.newBuilder().build();
@@ -183,13 +236,72 @@ class JsonSchemaManagerTest extends BridgeTest {
 
       UniAssertSubscriber<Boolean> result =
           jsonSchemaManager
-              .validateJsonDocument(Uni.createFrom().item(table), document, false)
+              .validateJsonDocument(namespace, Uni.createFrom().item(table), document, false)
               .subscribe()
               .withSubscriber(UniAssertSubscriber.create());
 
       result.awaitItem().assertItem(true).assertCompleted();
     }
 
+    @Test
+    public void compiledSchemaReused() throws JsonProcessingException {
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      table =
+          Schema.CqlTable.newBuilder()
+              .setName(collection)
+              .putOptions("comment", testJsonSchema())
+              .build();
+
+      for (int i = 0; i < 3; i++) {
+        JsonNode document =
+            objectMapper.readTree("{\"id\":%d, \"name\": \"Eric\", \"price\":1}".formatted(i));
+        jsonSchemaManager
+            .validateJsonDocument(namespace, Uni.createFrom().item(table), document, false)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitItem()
+            .assertItem(true);
+      }
+
+      assertThat(compiledSchemaKeys(collection)).hasSize(1);
+      Timer timer =
+          meterRegistry
+              .get("docs.json.schema.validation")
+              .tags("namespace", namespace, "collection", collection)
+              .timer();
+      assertThat(timer.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void schemaChanged() throws JsonProcessingException {
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      table =
+          Schema.CqlTable.newBuilder()
+              .setName(collection)
+              .putOptions("comment", testJsonSchema())
+              .build();
+      JsonNode document = objectMapper.readTree("{\"id\":1, \"price\":1}");
+
+      jsonSchemaManager
+          .validateJsonDocument(namespace, Uni.createFrom().item(table), document, false)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitFailure()
+          .assertFailedWith(ErrorCodeRuntimeException.class);
+
+      // the name is not required anymore
+      Schema.CqlTable changed =
+          table.toBuilder()
+              .putOptions("comment", testJsonSchema().replace("\"name\", \"price\"]", "\"price\"]"))
+              .build();
+      jsonSchemaManager
+          .validateJsonDocument(namespace, Uni.createFrom().item(changed), document, false)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertItem(true);
+    }
+
     @Test
     public void noSchemaAvailable() throws JsonProcessingException {
       table = Schema.CqlTable.newBuilder().build();
@@ -198,7 +310,7 @@ class JsonSchemaManagerTest extends BridgeTest {
 
       UniAssertSubscriber<Boolean> result =
           jsonSchemaManager
-              .validateJsonDocument(Uni.createFrom().item(table), document, false)
+              .validateJsonDocument(namespace, Uni.createFrom().item(table), document, false)
               .subscribe()
               .withSubscriber(UniAssertSubscriber.create());
 
@@ -212,7 +324,7 @@ class JsonSchemaManagerTest extends BridgeTest {
 
     JsonNode document = objectMapper.readTree("{\"id\":1, \"price\":1}");
     jsonSchemaManager
-        .validateJsonDocument(Uni.createFrom().item(table), document, false)
+        .validateJsonDocument(namespace, Uni.createFrom().item(table), document, false)
         .subscribe()
         .withSubscriber(UniAssertSubscriber.create())
         .awaitFailure()
@@ -226,7 +338,7 @@ class JsonSchemaManagerTest extends BridgeTest {
     JsonNode document = objectMapper.readTree("{\"id\":1, \"name\": \"Eric\", \"price\":1}");
     Throwable failure =
         jsonSchemaManager
-            .validateJsonDocument(Uni.createFrom().item(table), document, true)
+            .validateJsonDocument(namespace, Uni.createFrom().item(table), document, true)
             .subscribe()
             .withSubscriber(UniAssertSubscriber.create())
             .awaitFailure()
@@ -238,6 +350,12 @@ class JsonSchemaManagerTest extends BridgeTest {
             "errorCode", ErrorCode.DOCS_API_JSON_SCHEMA_INVALID_PARTIAL_UPDATE);
   }
 
+  private List<Object> compiledSchemaKeys(String collection) {
+    return jsonSchemaCache.as(CaffeineCache.class).keySet().stream()
+        .filter(key -> ((CompositeCacheKey) key).getKeyElements()[1].equals(collection))
+        .toList();
+  }
+
   private String testJsonSchema() {
     return """
             {"schema": {
@@ -21,12 +21,17 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import io.grpc.Metadata;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import io.quarkus.test.junit.mockito.InjectMock;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.grpc.TypeSpecs;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass.Batch;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Row;
+import io.stargate.bridge.proto.QueryOuterClass.Value;
 import io.stargate.sgv2.api.common.properties.datastore.DataStoreProperties;
 import io.stargate.sgv2.common.bridge.AbstractValidatingStargateBridgeTest;
 import io.stargate.sgv2.common.bridge.ValidatingStargateBridge;
@@ -34,14 +39,17 @@ import io.stargate.sgv2.docsapi.DocsApiTestSchemaProvider;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.config.constants.Constants;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.ImmutableJsonShreddedRow;
 import io.stargate.sgv2.docsapi.service.JsonShreddedRow;
+import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
 import io.stargate.sgv2.docsapi.service.json.DeadLeaf;
 import io.stargate.sgv2.docsapi.service.json.ImmutableDeadLeaf;
 import io.stargate.sgv2.docsapi.service.util.TimeSource;
 import io.stargate.sgv2.docsapi.testprofiles.MaxDepth4TestProfile;
 import jakarta.inject.Inject;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -64,6 +72,7 @@ class WriteBridgeServiceTest extends AbstractValidatingStargateBridgeTest {
   @Inject DocsApiTestSchemaProvider schemaProvider;
   @Inject DataStoreProperties dataStoreProperties;
   @Inject DocumentProperties documentProperties;
+  @Inject MeterRegistry meterRegistry;
   @InjectMock TimeSource timeSource;
 
   String keyspaceName;
@@ -1333,6 +1342,682 @@ class WriteBridgeServiceTest extends AbstractValidatingStargateBridgeTest {
     }
   }
 
+  @Nested
+  class AddArrayElement {
+
+    @Test
+    public void happyPath() {
+      List<String> elementPath = Arrays.asList("array", "[000002]");
+      JsonShreddedRow row =
+          ImmutableJsonShreddedRow.builder()
+              .maxDepth(documentProperties.maxDepth())
+              .addAllPath(elementPath)
+              .addPath("key")
+              .stringValue("value")
+              .build();
+
+      String insertCql =
+          String.format(
+              "INSERT INTO %s.%s (key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value) "
+                  + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) USING TTL ? AND TIMESTAMP ?",
+              keyspaceName, tableName);
+      ValidatingStargateBridge.QueryAssert rowQueryAssert =
+          withQuery(
+                  insertCql,
+                  Values.of(documentId),
+                  Values.of("array"),
+                  Values.of("[000002]"),
+                  Values.of("key"),
+                  Values.of(""),
+                  Values.of("key"),
+                  Values.of("value"),
+                  Values.NULL,
+                  Values.NULL,
+                  Values.of(100),
+                  Values.of(timestamp))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      service
+          .addArrayElement(
+              keyspaceName,
+              tableName,
+              documentId,
+              elementPath,
+              false,
+              Collections.singletonList(row),
+              100,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      // only the element is written, nothing is deleted
+      rowQueryAssert.assertExecuteCount().isEqualTo(1);
+
+      // execution context
+      assertThat(context.toProfile().nested())
+          .singleElement()
+          .satisfies(
+              nested -> {
+                assertThat(nested.description()).isEqualTo("ASYNC ADD ELEMENT");
+                assertThat(nested.queries())
+                    .singleElement()
+                    .satisfies(
+                        queryInfo -> {
+                          assertThat(queryInfo.cql()).isEqualTo(insertCql);
+                          assertThat(queryInfo.executionCount()).isEqualTo(1);
+                          assertThat(queryInfo.rowCount()).isEqualTo(1);
+                        });
+              });
+    }
+
+    @Test
+    public void emptyArray() {
+      List<String> elementPath = Arrays.asList("array", "[000000]");
+      JsonShreddedRow row =
+          ImmutableJsonShreddedRow.builder()
+              .maxDepth(documentProperties.maxDepth())
+              .addAllPath(elementPath)
+              .doubleValue(1d)
+              .build();
+
+      String insertCql =
+          String.format(
+              "INSERT INTO %s.%s (key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value) "
+                  + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) USING TIMESTAMP ?",
+              keyspaceName, tableName);
+      ValidatingStargateBridge.QueryAssert rowQueryAssert =
+          withQuery(
+                  insertCql,
+                  Values.of(documentId),
+                  Values.of("array"),
+                  Values.of("[000000]"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of("[000000]"),
+                  Values.NULL,
+                  Values.of(1d),
+                  Values.NULL,
+                  Values.of(timestamp))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      String deleteCql =
+          String.format(
+              "DELETE FROM %s.%s USING TIMESTAMP ? WHERE key = ? AND p0 = ? AND p1 = ? AND p2 = ? AND p3 = ?",
+              keyspaceName, tableName);
+      ValidatingStargateBridge.QueryAssert deleteQueryAssert =
+          withQuery(
+                  deleteCql,
+                  Values.of(timestamp - 1),
+                  Values.of(documentId),
+                  Values.of("array"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of(""))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      service
+          .addArrayElement(
+              keyspaceName,
+              tableName,
+              documentId,
+              elementPath,
+              true,
+              Collections.singletonList(row),
+              null,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      rowQueryAssert.assertExecuteCount().isEqualTo(1);
+      deleteQueryAssert.assertExecuteCount().isEqualTo(1);
+    }
+
+    @Test
+    public void rowsNotOnElementPath() {
+      List<String> elementPath = Arrays.asList("array", "[000001]");
+      JsonShreddedRow row =
+          ImmutableJsonShreddedRow.builder()
+              .maxDepth(documentProperties.maxDepth())
+              .addPath("array")
+              .addPath("[000002]")
+              .stringValue("value")
+              .build();
+
+      service
+          .addArrayElement(
+              keyspaceName,
+              tableName,
+              documentId,
+              elementPath,
+              false,
+              Collections.singletonList(row),
+              null,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitFailure(
+              throwable ->
+                  assertThat(throwable)
+                      .isInstanceOf(ErrorCodeRuntimeException.class)
+                      .hasFieldOrPropertyWithValue(
+                          "errorCode", ErrorCode.DOCS_API_UPDATE_PATH_NOT_MATCHING));
+    }
+
+    @Test
+    public void notArrayElementPath() {
+      List<String> elementPath = Collections.singletonList("array");
+      JsonShreddedRow row =
+          ImmutableJsonShreddedRow.builder()
+              .maxDepth(documentProperties.maxDepth())
+              .addPath("array")
+              .stringValue("value")
+              .build();
+
+      service
+          .addArrayElement(
+              keyspaceName,
+              tableName,
+              documentId,
+              elementPath,
+              false,
+              Collections.singletonList(row),
+              null,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitFailure(
+              throwable ->
+                  assertThat(throwable)
+                      .isInstanceOf(ErrorCodeRuntimeException.class)
+                      .hasFieldOrPropertyWithValue(
+                          "errorCode", ErrorCode.DOCS_API_UPDATE_PATH_NOT_MATCHING));
+    }
+  }
+
+  @Nested
+  class RemoveArrayElement {
+
+    @Test
+    public void happyPath() {
+      List<String> elementPath = Arrays.asList("array", "[000002]");
+
+      String deleteCql =
+          String.format(
+              "DELETE FROM %s.%s USING TIMESTAMP ? WHERE key = ? AND p0 = ? AND p1 = ?",
+              keyspaceName, tableName);
+      ValidatingStargateBridge.QueryAssert deleteQueryAssert =
+          withQuery(
+                  deleteCql,
+                  Values.of(timestamp - 1),
+                  Values.of(documentId),
+                  Values.of("array"),
+                  Values.of("[000002]"))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      service
+          .removeArrayElement(keyspaceName, tableName, documentId, elementPath, false, 0, context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      // only the element is deleted
+      deleteQueryAssert.assertExecuteCount().isEqualTo(1);
+
+      // execution context
+      assertThat(context.toProfile().nested())
+          .singleElement()
+          .satisfies(
+              nested -> {
+                assertThat(nested.description()).isEqualTo("ASYNC REMOVE ELEMENT");
+                assertThat(nested.queries())
+                    .singleElement()
+                    .satisfies(
+                        queryInfo -> {
+                          assertThat(queryInfo.cql()).isEqualTo(deleteCql);
+                          assertThat(queryInfo.executionCount()).isEqualTo(1);
+                          assertThat(queryInfo.rowCount()).isEqualTo(1);
+                        });
+              });
+    }
+
+    @Test
+    public void lastElement() {
+      List<String> elementPath = Arrays.asList("array", "[000000]");
+
+      String deleteCql =
+          String.format(
+              "DELETE FROM %s.%s USING TIMESTAMP ? WHERE key = ? AND p0 = ? AND p1 = ?",
+              keyspaceName, tableName);
+      ValidatingStargateBridge.QueryAssert deleteQueryAssert =
+          withQuery(
+                  deleteCql,
+                  Values.of(timestamp - 1),
+                  Values.of(documentId),
+                  Values.of("array"),
+                  Values.of("[000000]"))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      String insertCql =
+          String.format(
+              "INSERT INTO %s.%s (key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value) "
+                  + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) USING TTL ? AND TIMESTAMP ?",
+              keyspaceName, tableName);
+      ValidatingStargateBridge.QueryAssert emptyArrayQueryAssert =
+          withQuery(
+                  insertCql,
+                  Values.of(documentId),
+                  Values.of("array"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of("array"),
+                  Values.of(Constants.EMPTY_ARRAY_MARKER),
+                  Values.NULL,
+                  Values.NULL,
+                  Values.of(100),
+                  Values.of(timestamp))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      service
+          .removeArrayElement(keyspaceName, tableName, documentId, elementPath, true, 100, context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      // the array remains, as an empty one
+      deleteQueryAssert.assertExecuteCount().isEqualTo(1);
+      emptyArrayQueryAssert.assertExecuteCount().isEqualTo(1);
+    }
+
+    @Test
+    public void notArrayElementPath() {
+      List<String> elementPath = Arrays.asList("array", "key");
+
+      service
+          .removeArrayElement(keyspaceName, tableName, documentId, elementPath, false, 0, context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitFailure(
+              throwable ->
+                  assertThat(throwable)
+                      .isInstanceOf(ErrorCodeRuntimeException.class)
+                      .hasFieldOrPropertyWithValue(
+                          "errorCode", ErrorCode.DOCS_API_UPDATE_PATH_NOT_MATCHING));
+    }
+  }
+
+  // a stored row with the TTL of the leaf, as read for the diff updates
+  RowWrapper existingRow(List<String> path, String text, Double dbl, Long ttl) {
+    List<ColumnSpec> columns = new ArrayList<>(schemaProvider.allColumnSpec());
+    columns.add(ColumnSpec.newBuilder().setName("ttl(leaf)").setType(TypeSpecs.BIGINT).build());
+
+    List<Value> values = new ArrayList<>();
+    for (ColumnSpec column : columns) {
+      String name = column.getName();
+      if (name.equals("key")) {
+        values.add(Values.of(documentId));
+      } else if (name.startsWith("p") && name.length() == 2) {
+        int index = Integer.parseInt(name.substring(1));
+        values.add(Values.of(index < path.size() ? path.get(index) : ""));
+      } else if (name.equals("leaf")) {
+        values.add(Values.of(path.get(path.size() - 1)));
+      } else if (name.equals("text_value")) {
+        values.add(null != text ? Values.of(text) : Values.NULL);
+      } else if (name.equals("dbl_value")) {
+        values.add(null != dbl ? Values.of(dbl) : Values.NULL);
+      } else if (name.equals("ttl(leaf)")) {
+        values.add(null != ttl ? Values.of(ttl) : Values.NULL);
+      } else {
+        values.add(Values.NULL);
+      }
+    }
+    return RowWrapper.forColumns(columns).apply(Row.newBuilder().addAllValues(values).build());
+  }
+
+  JsonShreddedRow stringRow(String value, String... path) {
+    return ImmutableJsonShreddedRow.builder()
+        .maxDepth(documentProperties.maxDepth())
+        .addPath(path)
+        .stringValue(value)
+        .build();
+  }
+
+  @Nested
+  class UpdateDocumentDiff {
+
+    String insertCql;
+    String deleteExactCql;
+
+    @BeforeEach
+    public void setup() {
+      insertCql =
+          String.format(
+              "INSERT INTO %s.%s (key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value) "
+                  + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) USING TIMESTAMP ?",
+              keyspaceName, tableName);
+      deleteExactCql =
+          String.format(
+              "DELETE FROM %s.%s USING TIMESTAMP ? WHERE key = ? AND p0 = ? AND p1 = ? AND p2 = ? AND p3 = ?",
+              keyspaceName, tableName);
+    }
+
+    @Test
+    public void changedRowsOnly() {
+      List<JsonShreddedRow> rows =
+          Arrays.asList(
+              stringRow("value1", "key1"),
+              stringRow("changed", "key2", "nested"),
+              stringRow("value4", "key4"),
+              stringRow("value5", "key5"));
+      List<RowWrapper> existingRows =
+          Arrays.asList(
+              existingRow(List.of("key1"), "value1", null, null),
+              existingRow(List.of("key2", "nested"), null, 2.2d, null),
+              existingRow(List.of("key3"), "removed", null, null),
+              existingRow(List.of("key4"), "value4", null, null),
+              existingRow(List.of("key5"), "value5", null, null));
+
+      ValidatingStargateBridge.QueryAssert insertQueryAssert =
+          withQuery(
+                  insertCql,
+                  Values.of(documentId),
+                  Values.of("key2"),
+                  Values.of("nested"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of("nested"),
+                  Values.of("changed"),
+                  Values.NULL,
+                  Values.NULL,
+                  Values.of(timestamp))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+      ValidatingStargateBridge.QueryAssert deleteQueryAssert =
+          withQuery(
+                  deleteExactCql,
+                  Values.of(timestamp - 1),
+                  Values.of(documentId),
+                  Values.of("key3"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of(""))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      service
+          .updateDocument(
+              keyspaceName,
+              tableName,
+              documentId,
+              Collections.emptyList(),
+              rows,
+              existingRows,
+              null,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      // unchanged rows are not written
+      insertQueryAssert.assertExecuteCount().isEqualTo(1);
+      deleteQueryAssert.assertExecuteCount().isEqualTo(1);
+
+      assertThat(context.toProfile().nested())
+          .singleElement()
+          .satisfies(
+              nested -> {
+                assertThat(nested.description()).isEqualTo("ASYNC UPDATE");
+                assertThat(nested.queries()).hasSize(2);
+              });
+      assertThat(
+              meterRegistry
+                  .get("docs.write.tombstones")
+                  .tag("operation", "update")
+                  .tag("mode", "diff")
+                  .tag("type", "row")
+                  .counter()
+                  .count())
+          .isGreaterThanOrEqualTo(1d);
+    }
+
+    @Test
+    public void nothingChanged() {
+      List<JsonShreddedRow> rows =
+          Arrays.asList(stringRow("value1", "sub", "key1"), stringRow("value2", "sub", "key2"));
+      List<RowWrapper> existingRows =
+          Arrays.asList(
+              existingRow(List.of("sub", "key1"), "value1", null, null),
+              existingRow(List.of("sub", "key2"), "value2", null, null));
+
+      service
+          .updateDocument(
+              keyspaceName,
+              tableName,
+              documentId,
+              List.of("sub"),
+              rows,
+              existingRows,
+              null,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      // nothing executed, as the validating bridge fails on any unexpected query
+      assertThat(context.toProfile().nested())
+          .allSatisfy(nested -> assertThat(nested.queries()).isEmpty());
+    }
+
+    @Test
+    public void existingTtlRewritesRows() {
+      List<JsonShreddedRow> rows =
+          Arrays.asList(stringRow("value1", "key1"), stringRow("value2", "key2"));
+      List<RowWrapper> existingRows =
+          Arrays.asList(
+              existingRow(List.of("key1"), "value1", null, 100L),
+              existingRow(List.of("key2"), "value2", null, 100L));
+
+      // both rows must be rewritten to drop the TTL, so the change ratio forces a full rewrite
+      String deleteCql =
+          String.format(
+              "DELETE FROM %s.%s USING TIMESTAMP ? WHERE key = ?", keyspaceName, tableName);
+      ValidatingStargateBridge.QueryAssert deleteQueryAssert =
+          withQuery(deleteCql, Values.of(timestamp - 1), Values.of(documentId))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+      ValidatingStargateBridge.QueryAssert row1QueryAssert =
+          withQuery(
+                  insertCql,
+                  Values.of(documentId),
+                  Values.of("key1"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of("key1"),
+                  Values.of("value1"),
+                  Values.NULL,
+                  Values.NULL,
+                  Values.of(timestamp))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+      ValidatingStargateBridge.QueryAssert row2QueryAssert =
+          withQuery(
+                  insertCql,
+                  Values.of(documentId),
+                  Values.of("key2"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of("key2"),
+                  Values.of("value2"),
+                  Values.NULL,
+                  Values.NULL,
+                  Values.of(timestamp))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      service
+          .updateDocument(
+              keyspaceName,
+              tableName,
+              documentId,
+              Collections.emptyList(),
+              rows,
+              existingRows,
+              null,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      deleteQueryAssert.assertExecuteCount().isEqualTo(1);
+      row1QueryAssert.assertExecuteCount().isEqualTo(1);
+      row2QueryAssert.assertExecuteCount().isEqualTo(1);
+    }
+
+    @Test
+    public void subPathNotMatchingRows() {
+      List<JsonShreddedRow> rows = List.of(stringRow("value1", "key1"));
+
+      service
+          .updateDocument(
+              keyspaceName,
+              tableName,
+              documentId,
+              List.of("sub"),
+              rows,
+              Collections.emptyList(),
+              null,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitFailure()
+          .assertFailedWith(ErrorCodeRuntimeException.class);
+    }
+  }
+
+  @Nested
+  class PatchDocumentDiff {
+
+    @Test
+    public void patchedKeysOnly() {
+      String insertCql =
+          String.format(
+              "INSERT INTO %s.%s (key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value) "
+                  + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) USING TIMESTAMP ?",
+              keyspaceName, tableName);
+      String deleteExactCql =
+          String.format(
+              "DELETE FROM %s.%s USING TIMESTAMP ? WHERE key = ? AND p0 = ? AND p1 = ? AND p2 = ? AND p3 = ?",
+              keyspaceName, tableName);
+
+      // patching {"a": "1", "b": {"c": "2", "d": "changed", "g": "4"}}
+      List<JsonShreddedRow> rows =
+          Arrays.asList(
+              stringRow("1", "a"),
+              stringRow("2", "b", "c"),
+              stringRow("changed", "b", "d"),
+              stringRow("4", "b", "g"));
+      // stored {"a": "1", "b": {"c": "2", "d": "3", "e": "removed", "g": "4"}, "f": "untouched"}
+      List<RowWrapper> existingRows =
+          Arrays.asList(
+              existingRow(List.of("a"), "1", null, null),
+              existingRow(List.of("b", "c"), "2", null, null),
+              existingRow(List.of("b", "d"), "3", null, null),
+              existingRow(List.of("b", "e"), "removed", null, null),
+              existingRow(List.of("b", "g"), "4", null, null),
+              existingRow(List.of("f"), "untouched", null, null));
+
+      ValidatingStargateBridge.QueryAssert insertQueryAssert =
+          withQuery(
+                  insertCql,
+                  Values.of(documentId),
+                  Values.of("b"),
+                  Values.of("d"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of("d"),
+                  Values.of("changed"),
+                  Values.NULL,
+                  Values.NULL,
+                  Values.of(timestamp))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+      ValidatingStargateBridge.QueryAssert deleteQueryAssert =
+          withQuery(
+                  deleteExactCql,
+                  Values.of(timestamp - 1),
+                  Values.of(documentId),
+                  Values.of("b"),
+                  Values.of("e"),
+                  Values.of(""),
+                  Values.of(""))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      service
+          .patchDocument(
+              keyspaceName,
+              tableName,
+              documentId,
+              Collections.emptyList(),
+              rows,
+              existingRows,
+              null,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      insertQueryAssert.assertExecuteCount().isEqualTo(1);
+      deleteQueryAssert.assertExecuteCount().isEqualTo(1);
+
+      assertThat(context.toProfile().nested())
+          .singleElement()
+          .satisfies(
+              nested -> {
+                assertThat(nested.description()).isEqualTo("ASYNC PATCH");
+                assertThat(nested.queries()).hasSize(2);
+              });
+    }
+
+    @Test
+    public void arrayNotAccepted() {
+      List<JsonShreddedRow> rows = List.of(stringRow("value", "[000000]"));
+
+      service
+          .patchDocument(
+              keyspaceName,
+              tableName,
+              documentId,
+              Collections.emptyList(),
+              rows,
+              Collections.emptyList(),
+              null,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitFailure()
+          .assertFailedWith(ErrorCodeRuntimeException.class);
+    }
+  }
+
   @Nested
   class DeleteDocument {
 
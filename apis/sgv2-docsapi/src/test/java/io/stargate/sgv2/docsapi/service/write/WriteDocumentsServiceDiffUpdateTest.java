@@ -0,0 +1,278 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.write;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectMock;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
+import io.stargate.sgv2.docsapi.OpenMocksTest;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
+import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.JsonDocumentShredder;
+import io.stargate.sgv2.docsapi.service.JsonShreddedRow;
+import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
+import io.stargate.sgv2.docsapi.service.query.ReadBridgeService;
+import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
+import io.stargate.sgv2.docsapi.service.schema.JsonSchemaManager;
+import jakarta.inject.Inject;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+@QuarkusTest
+@TestProfile(WriteDocumentsServiceDiffUpdateTest.Profile.class)
+public class WriteDocumentsServiceDiffUpdateTest {
+
+  public static class Profile implements NoGlobalResourcesTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return ImmutableMap.<String, String>builder()
+          .put("stargate.document.diff-update.enabled", "true")
+          .build();
+    }
+  }
+
+  @InjectMock WriteBridgeService writeBridgeService;
+
+  @InjectMock ReadBridgeService readBridgeService;
+
+  @InjectMock JsonDocumentShredder jsonDocumentShredder;
+
+  @InjectMock JsonSchemaManager jsonSchemaManager;
+
+  @Inject WriteDocumentsService documentWriteService;
+
+  @Inject ObjectMapper objectMapper;
+
+  @Nested
+  class UpdateDocument implements OpenMocksTest {
+
+    @Mock RowWrapper row;
+    @Mock RawDocument rawDocument;
+    @Mock List<JsonShreddedRow> rows;
+
+    String documentId;
+    String namespace;
+    String collection;
+    ExecutionContext context;
+    Schema.CqlTable table;
+
+    @BeforeEach
+    public void setup() {
+      when(rawDocument.rows()).thenReturn(List.of(row));
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenReturn(Uni.createFrom().item(true));
+      documentId = RandomStringUtils.randomAlphanumeric(16);
+      namespace = RandomStringUtils.randomAlphanumeric(16);
+      collection = RandomStringUtils.randomAlphanumeric(16);
+      context = ExecutionContext.create(true);
+      table = Schema.CqlTable.newBuilder().build();
+    }
+
+    @Test
+    public void existingRows() throws Exception {
+      JsonNode obj = objectMapper.readTree("{\"a\": 1}");
+
+      when(jsonDocumentShredder.shred(obj, Collections.emptyList())).thenReturn(rows);
+      when(readBridgeService.getDocumentRows(
+              namespace, collection, documentId, Collections.emptyList(), context))
+          .thenReturn(Uni.createFrom().item(rawDocument));
+      when(writeBridgeService.updateDocument(
+              namespace,
+              collection,
+              documentId,
+              Collections.emptyList(),
+              rows,
+              List.of(row),
+              null,
+              context))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      DocumentResponseWrapper<Void> result =
+          documentWriteService
+              .updateDocument(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  documentId,
+                  obj,
+                  null,
+                  context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      assertThat(result.documentId()).isEqualTo(documentId);
+      verify(writeBridgeService)
+          .updateDocument(
+              namespace,
+              collection,
+              documentId,
+              Collections.emptyList(),
+              rows,
+              List.of(row),
+              null,
+              context);
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+
+    @Test
+    public void withTtl() throws Exception {
+      JsonNode obj = objectMapper.readTree("{\"a\": 1}");
+
+      when(jsonDocumentShredder.shred(obj, Collections.emptyList())).thenReturn(rows);
+      when(writeBridgeService.updateDocument(
+              namespace, collection, documentId, Collections.emptyList(), rows, 100, context))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      documentWriteService
+          .updateDocument(
+              Uni.createFrom().item(table), namespace, collection, documentId, obj, 100, context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      // all rows are rewritten with the ttl, so existing rows are not read
+      verify(readBridgeService, never()).getDocumentRows(any(), any(), any(), any(), any());
+      verify(writeBridgeService)
+          .updateDocument(
+              namespace, collection, documentId, Collections.emptyList(), rows, 100, context);
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+
+    @Test
+    public void documentNotExisting() throws Exception {
+      JsonNode obj = objectMapper.readTree("{\"a\": 1}");
+
+      when(jsonDocumentShredder.shred(obj, List.of("sub"))).thenReturn(rows);
+      when(readBridgeService.getDocumentRows(
+              namespace, collection, documentId, List.of("sub"), context))
+          .thenReturn(Uni.createFrom().nullItem());
+      when(writeBridgeService.updateDocument(
+              namespace,
+              collection,
+              documentId,
+              List.of("sub"),
+              rows,
+              Collections.emptyList(),
+              0,
+              context))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      documentWriteService
+          .updateSubDocument(
+              Uni.createFrom().item(table),
+              namespace,
+              collection,
+              documentId,
+              List.of("sub"),
+              obj,
+              false,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      verify(writeBridgeService)
+          .updateDocument(
+              namespace,
+              collection,
+              documentId,
+              List.of("sub"),
+              rows,
+              Collections.emptyList(),
+              0,
+              context);
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+  }
+
+  @Nested
+  class PatchDocument implements OpenMocksTest {
+
+    @Mock RowWrapper row;
+    @Mock RawDocument rawDocument;
+    @Mock List<JsonShreddedRow> rows;
+
+    @Test
+    public void existingRows() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+      JsonNode obj = objectMapper.readTree("{\"a\": 1}");
+
+      when(rawDocument.rows()).thenReturn(List.of(row));
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenReturn(Uni.createFrom().item(true));
+      when(jsonDocumentShredder.shred(obj, List.of("sub"))).thenReturn(rows);
+      when(readBridgeService.getDocumentRows(
+              namespace, collection, documentId, List.of("sub"), context))
+          .thenReturn(Uni.createFrom().item(rawDocument));
+      when(writeBridgeService.patchDocument(
+              namespace, collection, documentId, List.of("sub"), rows, List.of(row), 0, context))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      documentWriteService
+          .patchSubDocument(
+              Uni.createFrom().item(table),
+              namespace,
+              collection,
+              documentId,
+              List.of("sub"),
+              obj,
+              false,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      verify(writeBridgeService)
+          .patchDocument(
+              namespace, collection, documentId, List.of("sub"), rows, List.of(row), 0, context);
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+  }
+}
@@ -36,6 +36,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import io.quarkus.test.junit.mockito.InjectMock;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.Schema;
@@ -44,6 +45,7 @@ import io.stargate.sgv2.docsapi.OpenMocksTest;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentWriteResult;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.MultiDocsResponse;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.JsonDocumentShredder;
@@ -53,7 +55,9 @@ import io.stargate.sgv2.docsapi.service.query.ReadBridgeService;
 import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
 import io.stargate.sgv2.docsapi.service.schema.JsonSchemaManager;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -110,7 +114,7 @@ public class WriteDocumentsServiceTest {
       when(writeBridgeService.writeDocument(
               eq(namespace), eq(collection), anyString(), eq(rows), any(), eq(context)))
           .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean()))
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
           .thenReturn(Uni.createFrom().item(true));
 
       DocumentResponseWrapper<Void> result =
@@ -146,7 +150,7 @@ public class WriteDocumentsServiceTest {
       when(writeBridgeService.writeDocument(
               eq(namespace), eq(collection), anyString(), eq(rows), any(), eq(context)))
           .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean()))
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
           .thenReturn(Uni.createFrom().item(true));
 
       DocumentResponseWrapper<Void> result =
@@ -197,7 +201,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .writeDocument(namespace, collection, result.documentId(), rows, null, context);
-      verify(jsonSchemaManager).validateJsonDocument(tableUni, document, false);
+      verify(jsonSchemaManager).validateJsonDocument(namespace, tableUni, document, false);
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
   }
@@ -251,7 +255,7 @@ public class WriteDocumentsServiceTest {
           .writeDocument(namespace, collection, result.documentIds().get(0), rows1, null, context);
       verify(writeBridgeService)
           .writeDocument(namespace, collection, result.documentIds().get(1), rows2, null, context);
-      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -290,7 +294,7 @@ public class WriteDocumentsServiceTest {
           .writeDocument(namespace, collection, result.documentIds().get(0), rows1, 100, context);
       verify(writeBridgeService)
           .writeDocument(namespace, collection, result.documentIds().get(1), rows2, 100, context);
-      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -329,7 +333,7 @@ public class WriteDocumentsServiceTest {
           .updateDocument(namespace, collection, result.documentIds().get(0), rows1, null, context);
       verify(writeBridgeService)
           .updateDocument(namespace, collection, result.documentIds().get(1), rows2, null, context);
-      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -370,7 +374,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService).updateDocument(namespace, collection, "1", rows1, null, context);
       verify(writeBridgeService)
           .updateDocument(namespace, collection, result.documentIds().get(0), rows2, null, context);
-      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -389,9 +393,11 @@ public class WriteDocumentsServiceTest {
       ErrorCodeRuntimeException exception =
           new ErrorCodeRuntimeException(ErrorCode.DOCS_API_INVALID_JSON_VALUE);
       when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(table, objectMapper.readTree(doc1Payload), false))
+      when(jsonSchemaManager.validateJsonDocument(
+              namespace, table, objectMapper.readTree(doc1Payload), false))
           .thenReturn(Uni.createFrom().item(true));
-      when(jsonSchemaManager.validateJsonDocument(table, objectMapper.readTree(doc2Payload), false))
+      when(jsonSchemaManager.validateJsonDocument(
+              namespace, table, objectMapper.readTree(doc2Payload), false))
           .thenThrow(exception);
 
       documentWriteService
@@ -402,9 +408,9 @@ public class WriteDocumentsServiceTest {
           .assertFailedWith(ErrorCodeRuntimeException.class);
 
       verify(jsonSchemaManager)
-          .validateJsonDocument(table, objectMapper.readTree(doc1Payload), false);
+          .validateJsonDocument(namespace, table, objectMapper.readTree(doc1Payload), false);
       verify(jsonSchemaManager)
-          .validateJsonDocument(table, objectMapper.readTree(doc2Payload), false);
+          .validateJsonDocument(namespace, table, objectMapper.readTree(doc2Payload), false);
       verify(writeBridgeService, times(1))
           .updateDocument(any(), any(), anyString(), any(), any(), any());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
@@ -465,6 +471,171 @@ public class WriteDocumentsServiceTest {
     }
   }
 
+  @Nested
+  class WriteDocumentsStreaming implements OpenMocksTest {
+    @Mock JsonShreddedRow jsonShreddedRow;
+
+    List<JsonShreddedRow> rows1;
+
+    List<JsonShreddedRow> rows2;
+
+    @BeforeEach
+    public void setupRows() {
+      rows1 = new ArrayList<>();
+      rows2 = new ArrayList<>();
+      rows1.add(jsonShreddedRow);
+    }
+
+    @Test
+    public void happyPathWithIdExtraction() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+      String doc1Payload = "{\"id\": \"1\"}";
+      String doc2Payload = "{\"id\": \"2\"}";
+      String payload = String.format("[%s,%s]", doc1Payload, doc2Payload);
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
+          .thenReturn(rows1);
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc2Payload), Collections.emptyList()))
+          .thenReturn(rows2);
+      when(writeBridgeService.updateDocument(
+              eq(namespace), eq(collection), anyString(), any(), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<DocumentWriteResult> result =
+          documentWriteService
+              .writeDocuments(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+                  "id",
+                  null,
+                  context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(result)
+          .containsExactlyInAnyOrder(
+              DocumentWriteResult.success("1"), DocumentWriteResult.success("2"));
+
+      verify(writeBridgeService).updateDocument(namespace, collection, "1", rows1, null, context);
+      verify(writeBridgeService).updateDocument(namespace, collection, "2", rows2, null, context);
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
+      verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
+    }
+
+    @Test
+    public void failuresReportedPerDocument() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+      String doc1Payload = "{\"id\": \"1\"}";
+      String doc2Payload = "{\"id\": \"2\", \"value\": true}";
+      String payload = String.format("[%s,%s,%s,{}]", doc1Payload, doc2Payload, "{\"id\": \"1\"}");
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
+          .thenReturn(rows1);
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc2Payload), Collections.emptyList()))
+          .thenReturn(rows2);
+      when(writeBridgeService.updateDocument(
+              eq(namespace), eq(collection), anyString(), eq(rows1), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+      when(writeBridgeService.updateDocument(
+              eq(namespace), eq(collection), anyString(), eq(rows2), any(), eq(context)))
+          .thenReturn(Uni.createFrom().failure(new IOException()));
+
+      List<DocumentWriteResult> result =
+          documentWriteService
+              .writeDocuments(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+                  "id",
+                  null,
+                  context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(result)
+          .hasSize(4)
+          .contains(DocumentWriteResult.success("1"))
+          .contains(
+              DocumentWriteResult.failure(
+                  "2", ErrorCode.DOCS_API_WRITE_BATCH_FAILED.getDefaultMessage()))
+          .contains(
+              DocumentWriteResult.failure(
+                  "1",
+                  "Found duplicate ID 1 in more than one document when doing batched document write."))
+          .anySatisfy(
+              r -> {
+                assertThat(r.documentId()).isNull();
+                assertThat(r.error()).contains("requires a scalar value at the path /id");
+              });
+
+      verify(writeBridgeService).updateDocument(namespace, collection, "1", rows1, null, context);
+      verify(writeBridgeService).updateDocument(namespace, collection, "2", rows2, null, context);
+      verify(jsonSchemaManager, times(2)).validateJsonDocument(any(), any(), any(), anyBoolean());
+      verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
+    }
+
+    @Test
+    public void notArrayPayload() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+
+      documentWriteService
+          .writeDocuments(
+              Uni.createFrom().item(table),
+              namespace,
+              collection,
+              new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)),
+              null,
+              null,
+              ExecutionContext.NOOP_CONTEXT)
+          .subscribe()
+          .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+          .awaitFailure()
+          .assertFailedWith(
+              ErrorCodeRuntimeException.class,
+              ErrorCode.DOCS_API_WRITE_BATCH_NOT_ARRAY.getDefaultMessage());
+
+      verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
+    }
+
+    @Test
+    public void invalidJsonPayload() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
+
+      documentWriteService
+          .writeDocuments(
+              Uni.createFrom().item(table),
+              namespace,
+              collection,
+              new ByteArrayInputStream("[{\"a\":".getBytes(StandardCharsets.UTF_8)),
+              null,
+              null,
+              ExecutionContext.NOOP_CONTEXT)
+          .subscribe()
+          .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+          .awaitFailure()
+          .assertFailedWith(ErrorCodeRuntimeException.class);
+
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+  }
+
   @Nested
   class UpdateDocument implements OpenMocksTest {
 
@@ -516,7 +687,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .updateDocument(
               namespace, collection, documentId, Collections.emptyList(), rows, null, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -559,7 +730,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .updateDocument(
               namespace, collection, documentId, Collections.emptyList(), rows, 100, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -604,7 +775,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .updateDocument(namespace, collection, documentId, subPath, rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -653,7 +824,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .updateDocument(namespace, collection, documentId, subPath, rows, ttl, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -698,7 +869,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .updateDocument(
               namespace, collection, documentId, Collections.emptyList(), rows, null, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -713,9 +884,13 @@ public class WriteDocumentsServiceTest {
       ExecutionContext context = ExecutionContext.create(true);
       String payload = "{}";
       JsonNode obj = objectMapper.readTree(payload);
-      JsonNode schema = objectMapper.createObjectNode();
-      when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean())).thenCallRealMethod();
+      // the collection has a schema, so sub-documents are rejected
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), eq(true)))
+          .thenReturn(
+              Uni.createFrom()
+                  .failure(
+                      new ErrorCodeRuntimeException(
+                          ErrorCode.DOCS_API_JSON_SCHEMA_INVALID_PARTIAL_UPDATE)));
 
       documentWriteService
           .updateSubDocument(
@@ -747,7 +922,8 @@ public class WriteDocumentsServiceTest {
       ErrorCodeRuntimeException exception =
           new ErrorCodeRuntimeException(ErrorCode.DOCS_API_INVALID_JSON_VALUE);
       when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean())).thenThrow(exception);
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenThrow(exception);
 
       assertThatThrownBy(
               () ->
@@ -816,7 +992,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .setPathsOnDocument(
               namespace, collection, documentId, Collections.emptySet(), rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -865,7 +1041,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .setPathsOnDocument(
               namespace, collection, documentId, Collections.emptySet(), rows, ttl, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -911,7 +1087,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .setPathsOnDocument(
               namespace, collection, documentId, Collections.emptySet(), rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -961,7 +1137,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .setPathsOnDocument(
               namespace, collection, documentId, Collections.emptySet(), rows, ttl, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -973,11 +1149,15 @@ public class WriteDocumentsServiceTest {
       Schema.CqlTable table = Schema.CqlTable.newBuilder().build();
       ExecutionContext context = ExecutionContext.create(true);
       String payload = "{}";
-      JsonNode schema = objectMapper.createObjectNode();
       JsonNode obj = objectMapper.readTree(payload);
 
-      when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean())).thenCallRealMethod();
+      // the collection has a schema, so sub-documents are rejected
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), eq(true)))
+          .thenReturn(
+              Uni.createFrom()
+                  .failure(
+                      new ErrorCodeRuntimeException(
+                          ErrorCode.DOCS_API_JSON_SCHEMA_INVALID_PARTIAL_UPDATE)));
 
       documentWriteService
           .setPathsOnDocument(
@@ -996,6 +1176,221 @@ public class WriteDocumentsServiceTest {
     }
   }
 
+  @Nested
+  class ArrayElements implements OpenMocksTest {
+
+    @Mock RowWrapper row;
+    @Mock RawDocument rawDocument;
+    @Mock List<JsonShreddedRow> rows;
+
+    String documentId;
+    String namespace;
+    String collection;
+    ExecutionContext context;
+    Schema.CqlTable table;
+
+    @BeforeEach
+    public void setup() {
+      when(rawDocument.rows()).thenReturn(List.of(row));
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenReturn(Uni.createFrom().item(true));
+      documentId = RandomStringUtils.randomAlphanumeric(16);
+      namespace = RandomStringUtils.randomAlphanumeric(16);
+      collection = RandomStringUtils.randomAlphanumeric(16);
+      context = ExecutionContext.create(true);
+      table = Schema.CqlTable.newBuilder().build();
+    }
+
+    @Test
+    public void addArrayElement() throws Exception {
+      int ttl = RandomUtils.nextInt(1, 100);
+      List<String> elementPath = List.of("array", "[000001]");
+      JsonNode value = objectMapper.readTree("{\"a\": 1}");
+
+      when(row.getLong("ttl(leaf)")).thenReturn((long) ttl);
+      when(readBridgeService.getDocumentTtlInfo(any(), any(), any(), any()))
+          .thenReturn(Uni.createFrom().item(rawDocument));
+      when(jsonDocumentShredder.shred(value, elementPath)).thenReturn(rows);
+      when(writeBridgeService.addArrayElement(
+              namespace, collection, documentId, elementPath, false, rows, ttl, context))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      DocumentResponseWrapper<Void> result =
+          documentWriteService
+              .addArrayElement(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  documentId,
+                  List.of("array"),
+                  1,
+                  value,
+                  true,
+                  context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      assertThat(result.documentId()).isEqualTo(documentId);
+      assertThat(result.data()).isNull();
+
+      verify(writeBridgeService)
+          .addArrayElement(
+              namespace, collection, documentId, elementPath, false, rows, ttl, context);
+      verify(jsonSchemaManager).validateJsonDocument(eq(namespace), any(), eq(value), eq(true));
+      verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
+    }
+
+    @Test
+    public void addArrayElementToEmptyArray() throws Exception {
+      List<String> elementPath = List.of("array", "[000000]");
+      JsonNode value = objectMapper.readTree("1");
+
+      when(jsonDocumentShredder.shred(value, elementPath)).thenReturn(rows);
+      when(writeBridgeService.addArrayElement(
+              namespace, collection, documentId, elementPath, true, rows, 0, context))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      documentWriteService
+          .addArrayElement(
+              Uni.createFrom().item(table),
+              namespace,
+              collection,
+              documentId,
+              List.of("array"),
+              0,
+              value,
+              false,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      verify(writeBridgeService)
+          .addArrayElement(namespace, collection, documentId, elementPath, true, rows, 0, context);
+      verifyNoMoreInteractions(writeBridgeService, readBridgeService);
+    }
+
+    @Test
+    public void addArrayElementMaxArrayLength() throws Exception {
+      JsonNode value = objectMapper.readTree("1");
+
+      documentWriteService
+          .addArrayElement(
+              Uni.createFrom().item(table),
+              namespace,
+              collection,
+              documentId,
+              List.of("array"),
+              2,
+              value,
+              false,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitFailure()
+          .assertFailedWith(ErrorCodeRuntimeException.class);
+
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+
+    @Test
+    public void removeArrayElement() {
+      List<String> elementPath = List.of("array", "[000001]");
+
+      when(writeBridgeService.removeArrayElement(
+              namespace, collection, documentId, elementPath, false, 0, context))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      DocumentResponseWrapper<Void> result =
+          documentWriteService
+              .removeArrayElement(
+                  Uni.createFrom().item(table),
+                  namespace,
+                  collection,
+                  documentId,
+                  List.of("array"),
+                  1,
+                  true,
+                  context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      assertThat(result.documentId()).isEqualTo(documentId);
+
+      // no ttl needed when elements remain
+      verify(writeBridgeService)
+          .removeArrayElement(namespace, collection, documentId, elementPath, false, 0, context);
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), eq(true));
+      verifyNoMoreInteractions(writeBridgeService, readBridgeService, jsonSchemaManager);
+    }
+
+    @Test
+    public void removeLastArrayElement() {
+      int ttl = RandomUtils.nextInt(1, 100);
+      List<String> elementPath = List.of("array", "[000000]");
+
+      when(row.getLong("ttl(leaf)")).thenReturn((long) ttl);
+      when(readBridgeService.getDocumentTtlInfo(any(), any(), any(), any()))
+          .thenReturn(Uni.createFrom().item(rawDocument));
+      when(writeBridgeService.removeArrayElement(
+              namespace, collection, documentId, elementPath, true, ttl, context))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      documentWriteService
+          .removeArrayElement(
+              Uni.createFrom().item(table),
+              namespace,
+              collection,
+              documentId,
+              List.of("array"),
+              0,
+              true,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      verify(writeBridgeService)
+          .removeArrayElement(namespace, collection, documentId, elementPath, true, ttl, context);
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+
+    @Test
+    public void removeArrayElementSchemaCheck() {
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), eq(true)))
+          .thenReturn(
+              Uni.createFrom()
+                  .failure(
+                      new ErrorCodeRuntimeException(
+                          ErrorCode.DOCS_API_JSON_SCHEMA_INVALID_PARTIAL_UPDATE)));
+
+      documentWriteService
+          .removeArrayElement(
+              Uni.createFrom().item(table),
+              namespace,
+              collection,
+              documentId,
+              List.of("array"),
+              1,
+              false,
+              context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitFailure()
+          .assertFailedWith(ErrorCodeRuntimeException.class);
+
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+  }
+
   @Nested
   class PatchDocument implements OpenMocksTest {
     @Mock RowWrapper row;
@@ -1045,7 +1440,7 @@ public class WriteDocumentsServiceTest {
       verify(writeBridgeService)
           .patchDocument(
               namespace, collection, documentId, Collections.emptyList(), rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -1089,7 +1484,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .patchDocument(namespace, collection, documentId, subPath, rows, 0, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -1137,7 +1532,7 @@ public class WriteDocumentsServiceTest {
 
       verify(writeBridgeService)
           .patchDocument(namespace, collection, documentId, subPath, rows, ttl, context);
-      verify(jsonSchemaManager).validateJsonDocument(any(), any(), anyBoolean());
+      verify(jsonSchemaManager).validateJsonDocument(any(), any(), any(), anyBoolean());
       verifyNoMoreInteractions(writeBridgeService, jsonSchemaManager);
     }
 
@@ -1153,7 +1548,8 @@ public class WriteDocumentsServiceTest {
       JsonNode obj = objectMapper.readTree(payload);
 
       when(jsonSchemaManager.getJsonSchema(any())).thenReturn(Uni.createFrom().item(schema));
-      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean())).thenCallRealMethod();
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), any(), anyBoolean()))
+          .thenCallRealMethod();
 
       documentWriteService
           .patchSubDocument(
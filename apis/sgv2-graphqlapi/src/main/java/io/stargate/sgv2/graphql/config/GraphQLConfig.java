@@ -7,6 +7,8 @@ import io.stargate.sgv2.api.common.token.CassandraTokenResolver;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
 import java.util.Optional;
 
 /** Configuration for the GraphQL. */
@@ -21,11 +23,40 @@ public interface GraphQLConfig {
   @WithDefault("true")
   boolean enableDefaultKeyspace();
 
+  /**
+   * @return How long the schema-first source of a keyspace is considered up to date, before it is
+   *     read again. Until then, only changes of the CQL schema are detected for each request.
+   *     Deployments through this instance are picked up immediately.
+   */
+  @WithDefault("PT5S")
+  @NotNull
+  Duration schemaSourceRevalidation();
+
+  /** @return Configuration for the cache of parsed and validated queries. */
+  @NotNull
+  @Valid
+  DocumentCacheConfig documentCache();
+
   /** @return Configuration for the GraphQL Playground. */
   @NotNull
   @Valid
   PlaygroundConfig playground();
 
+  interface DocumentCacheConfig {
+
+    /**
+     * @return Whether to cache parsed and validated queries. This is also required for clients to
+     *     use Automatic Persisted Queries.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /** @return Maximum number of queries cached for each GraphQL schema. */
+    @WithDefault("500")
+    @Positive
+    int maxSize();
+  }
+
   interface PlaygroundConfig {
 
     /** @return Whether to expose the GraphQL Playground at /playground. */
@@ -38,9 +38,10 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
-public class QueryFetcher extends DmlFetcher<Map<String, Object>> {
+public class QueryFetcher extends DmlFetcher<CompletionStage<Map<String, Object>>> {
 
   private final AggregationsFetcherSupport aggregationsFetcherSupport;
 
@@ -50,11 +51,19 @@ public class QueryFetcher extends DmlFetcher<Map<String, Object>> {
   }
 
   @Override
-  protected Map<String, Object> get(
+  protected CompletionStage<Map<String, Object>> get(
       DataFetchingEnvironment environment, StargateGraphqlContext context) throws Exception {
     Query query = buildQuery(environment);
 
-    Response response = context.getBridge().executeQuery(query);
+    // Go through the loader, so that all the queries of the operation are sent together (and
+    // identical ones only once) instead of blocking on each of them in turn.
+    return context
+        .getQueryLoader()
+        .load(query)
+        .thenApply(response -> toResult(response, environment));
+  }
+
+  private Map<String, Object> toResult(Response response, DataFetchingEnvironment environment) {
     ResultSet resultSet = response.getResultSet();
 
     Map<String, Object> result = new HashMap<>();
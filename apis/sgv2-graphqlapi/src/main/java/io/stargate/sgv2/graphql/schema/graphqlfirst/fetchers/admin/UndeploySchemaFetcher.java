@@ -39,6 +39,7 @@ public class UndeploySchemaFetcher extends CassandraFetcher<Boolean> {
     boolean force = environment.getArgument("force");
 
     new SchemaSourceDao(context.getBridge()).undeploy(keyspaceName, expectedVersion, force);
+    context.getGraphqlCache().invalidateDml(keyspace);
     return true;
   }
 
@@ -23,6 +23,7 @@ public class GraphqlJsonBody {
   private String query;
   private String operationName;
   private Map<String, Object> variables;
+  private Map<String, Object> extensions;
 
   public String getQuery() {
     return query;
@@ -48,6 +49,14 @@ public class GraphqlJsonBody {
     this.variables = variables;
   }
 
+  public Map<String, Object> getExtensions() {
+    return extensions;
+  }
+
+  public void setExtensions(Map<String, Object> extensions) {
+    this.extensions = extensions;
+  }
+
   @Override
   public String toString() {
     return "GraphqlJsonBody{"
@@ -59,6 +68,8 @@ public class GraphqlJsonBody {
         + '\''
         + ", variables="
         + variables
+        + ", extensions="
+        + extensions
         + '}';
   }
 }
@@ -19,7 +19,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.GraphQL;
 import graphql.GraphqlErrorException;
 import io.smallrye.mutiny.Uni;
-import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.stargate.sgv2.api.common.StargateRequestInfo;
 import io.stargate.sgv2.api.common.grpc.StargateBridgeClient;
 import io.stargate.sgv2.graphql.web.models.GraphqlJsonBody;
@@ -71,10 +70,12 @@ public class DmlResource extends StargateGraphqlResourceBase {
   public Uni<RestResponse<?>> get(
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
-      @QueryParam("variables") String variables) {
+      @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions) {
 
     return getDefaultGraphql()
-        .flatMap(graphql -> get(query, operationName, variables, graphql, newContext()));
+        .flatMap(
+            graphql -> get(query, operationName, variables, extensions, graphql, newContext()));
   }
 
   @GET
@@ -83,10 +84,12 @@ public class DmlResource extends StargateGraphqlResourceBase {
       @PathParam("keyspaceName") String keyspaceName,
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
-      @QueryParam("variables") String variables) {
+      @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions) {
 
     return getGraphql(keyspaceName)
-        .flatMap(graphql -> get(query, operationName, variables, graphql, newContext()));
+        .flatMap(
+            graphql -> get(query, operationName, variables, extensions, graphql, newContext()));
   }
 
   @POST
@@ -189,11 +192,10 @@ public class DmlResource extends StargateGraphqlResourceBase {
 
   private Uni<GraphQL> getDml(String keyspaceName) {
     return Uni.createFrom()
-        .optional(() -> graphqlCache.getDml(bridgeClient, keyspaceName))
+        .completionStage(() -> graphqlCache.getDmlAsync(bridgeClient, keyspaceName))
 
-        // always run subscription on workers thread
-        // we are blocking inside of the graphqlCache
-        .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        // map optional to uni
+        .flatMap(optional -> Uni.createFrom().optional(optional));
   }
 
   private Uni<GraphQL> getDefaultGraphql() {
@@ -51,10 +51,12 @@ import java.util.concurrent.atomic.AtomicReference;
 @ApplicationScoped
 public class GraphqlCache {
 
-  private final GraphQL ddlGraphql = newGraphql(SchemaFactory.newDdlSchema());
-  private final GraphQL schemaFirstAdminGraphql = newGraphql(new AdminSchemaBuilder().build());
-
   private final boolean enableDefaultKeyspace;
+  private final long sourceRevalidationNanos;
+  private final GraphQLConfig.DocumentCacheConfig documentCacheConfig;
+
+  private final GraphQL ddlGraphql;
+  private final GraphQL schemaFirstAdminGraphql;
 
   private volatile CompletionStage<Optional<String>> defaultKeyspaceName;
 
@@ -64,6 +66,10 @@ public class GraphqlCache {
   @Inject
   public GraphqlCache(GraphQLConfig graphQLConfig) {
     this.enableDefaultKeyspace = graphQLConfig.enableDefaultKeyspace();
+    this.sourceRevalidationNanos = graphQLConfig.schemaSourceRevalidation().toNanos();
+    this.documentCacheConfig = graphQLConfig.documentCache();
+    this.ddlGraphql = newGraphql(SchemaFactory.newDdlSchema());
+    this.schemaFirstAdminGraphql = newGraphql(new AdminSchemaBuilder().build());
   }
 
   public GraphQL getDdl() {
@@ -103,7 +109,15 @@ public class GraphqlCache {
     GraphqlHolder holder =
         dmlGraphqlCache.get(keyspace.getGlobalName(), __ -> new GraphqlHolder(keyspace.getName()));
     assert holder != null;
-    holder.putGraphql(graphql, keyspaceDescribe.getHash().getValue(), newSource);
+    holder.putGraphql(withDocumentCache(graphql), keyspaceDescribe.getHash().getValue(), newSource);
+  }
+
+  /**
+   * Drops the cache entry of a keyspace, so that the next request reads its schema-first source
+   * again. This is used after a schema-first undeployment, which doesn't change the CQL schema.
+   */
+  public void invalidateDml(Schema.CqlKeyspaceDescribe keyspaceDescribe) {
+    dmlGraphqlCache.invalidate(keyspaceDescribe.getCqlKeyspace().getGlobalName());
   }
 
   public CompletionStage<Optional<String>> getDefaultKeyspaceNameAsync(
@@ -128,16 +142,28 @@ public class GraphqlCache {
     return Futures.getUninterruptibly(getDefaultKeyspaceNameAsync(bridge));
   }
 
-  private static GraphQL newGraphql(GraphQLSchema schema) {
-    return GraphQL.newGraphQL(schema)
-        .defaultDataFetcherExceptionHandler(CassandraFetcherExceptionHandler.INSTANCE)
-        // Use parallel execution strategy for mutations (serial is default)
-        .mutationExecutionStrategy(
-            new AsyncExecutionStrategy(CassandraFetcherExceptionHandler.INSTANCE))
-        .build();
+  private GraphQL newGraphql(GraphQLSchema schema) {
+    return withDocumentCache(
+        GraphQL.newGraphQL(schema)
+            .defaultDataFetcherExceptionHandler(CassandraFetcherExceptionHandler.INSTANCE)
+            // Use parallel execution strategy for mutations (serial is default)
+            .mutationExecutionStrategy(
+                new AsyncExecutionStrategy(CassandraFetcherExceptionHandler.INSTANCE))
+            .build());
+  }
+
+  // Gives the GraphQL its own document cache. It is dropped with the GraphQL when the keyspace's
+  // schema changes, so there is no need to invalidate entries explicitly.
+  private GraphQL withDocumentCache(GraphQL graphql) {
+    return documentCacheConfig.enabled()
+        ? graphql.transform(
+            builder ->
+                builder.preparsedDocumentProvider(
+                    new GraphqlDocumentCache(documentCacheConfig.maxSize())))
+        : graphql;
   }
 
-  static class GraphqlHolder {
+  class GraphqlHolder {
 
     private final String keyspaceName;
     private final AtomicReference<GraphqlHolderState> stateRef = new AtomicReference<>(null);
@@ -169,17 +195,27 @@ public class GraphqlCache {
     private CompletionStage<Optional<GraphQL>> handleExisting(
         Schema.CqlKeyspaceDescribe keyspace, StargateBridgeClient bridge) {
 
+      // If the CQL schema didn't change and the source was checked recently, assume it is still
+      // the latest version. This saves a query on the schema source table for most requests.
+      int hash = keyspace.getHash().getValue();
+      GraphqlHolderState currentState = stateRef.get();
+      if (currentState != null
+          && currentState.hash == hash
+          && System.nanoTime() - currentState.sourceCheckedNanos < sourceRevalidationNanos) {
+        return currentState.graphqlFuture;
+      }
+
       // Next step is to check if this is a GraphQL schema-first keyspace
       CompletionStage<Optional<SchemaSource>> sourceFuture =
           new SchemaSourceDao(bridge).getLatestVersionAsync(keyspaceName);
 
       return sourceFuture.thenComposeAsync(
           maybeSource -> {
-            GraphqlHolderState newState =
-                new GraphqlHolderState(keyspace.getHash().getValue(), maybeSource);
+            GraphqlHolderState newState = new GraphqlHolderState(hash, maybeSource);
             GraphqlHolderState oldState = stateRef.get();
             if (newState.equals(oldState)) {
               // The state matches, we already have the latest version
+              oldState.sourceCheckedNanos = newState.sourceCheckedNanos;
               return oldState.graphqlFuture;
             } else if (stateRef.compareAndSet(oldState, newState)) {
               // We installed our new state, it is our responsibility to recompute
@@ -212,7 +248,7 @@ public class GraphqlCache {
           new SchemaProcessor(bridge, true).process(source.getContents(), keyspace);
       // Check that the data model still matches
       CassandraMigrator.forPersisted().compute(processedSchema.getMappingModel(), keyspace);
-      return processedSchema.getGraphql();
+      return withDocumentCache(processedSchema.getGraphql());
     }
 
     private GraphQL computeCqlFirst(Schema.CqlKeyspaceDescribe keyspace) {
@@ -234,16 +270,19 @@ public class GraphqlCache {
     final Optional<SchemaSource> source;
     // The result of the computation of this GraphQL (possibly still in progress).
     final CompletableFuture<Optional<GraphQL>> graphqlFuture;
+    // When the source was last read (or written) for this state, in System.nanoTime() units.
+    volatile long sourceCheckedNanos;
 
     GraphqlHolderState(int hash, Optional<SchemaSource> source) {
       this.hash = hash;
       this.source = source;
       this.graphqlFuture = new CompletableFuture<>();
+      this.sourceCheckedNanos = System.nanoTime();
     }
 
     @Override
     public boolean equals(Object other) {
-      // Note: graphqlFuture deliberately omitted
+      // Note: graphqlFuture and sourceCheckedNanos deliberately omitted
       if (other == this) {
         return true;
       } else if (other instanceof GraphqlHolderState) {
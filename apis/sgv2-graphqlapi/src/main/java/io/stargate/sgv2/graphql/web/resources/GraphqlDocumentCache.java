@@ -0,0 +1,97 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caches the parsed and validated documents of the queries executed against a {@link GraphQL}
+ * instance, so that repeated queries skip parsing and validation.
+ *
+ * <p>Documents are keyed by the SHA-256 hash of the query text. This also provides <a
+ * href="https://www.apollographql.com/docs/apollo-server/performance/apq/">Automatic Persisted
+ * Queries</a>: a client may send only the hash of a query (in the {@code persistedQuery} request
+ * extension), and it is found as long as the same query was executed recently.
+ *
+ * <p>Each instance must be used with a single schema, since validation depends on it. A new cache
+ * is created every time the schema of a keyspace changes, and the previous one is discarded with
+ * the {@link GraphQL} that was using it.
+ */
+public class GraphqlDocumentCache extends ApolloPersistedQuerySupport {
+
+  private final Cache<String, PreparsedDocumentEntry> documents;
+
+  public GraphqlDocumentCache(long maxSize) {
+    this(Caffeine.newBuilder().maximumSize(maxSize).build());
+  }
+
+  private GraphqlDocumentCache(Cache<String, PreparsedDocumentEntry> documents) {
+    super(
+        (hash, input, onCacheMiss) ->
+            documents.get(
+                hash.toString(),
+                __ -> {
+                  String query = input.getQuery();
+                  if (query.isEmpty() || query.equals(PERSISTED_QUERY_MARKER)) {
+                    // The client only sent the hash, it is expected to retry with the query
+                    throw new PersistedQueryNotFound(hash);
+                  }
+                  return onCacheMiss.apply(query);
+                }));
+    this.documents = documents;
+  }
+
+  @Override
+  public PreparsedDocumentEntry getDocument(
+      ExecutionInput input, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+    if (getPersistedQueryId(input).isPresent()) {
+      return super.getDocument(input, parseAndValidate);
+    }
+    return documents.get(sha256(input.getQuery()), __ -> parseAndValidate.apply(input));
+  }
+
+  @Override
+  protected Optional<Object> getPersistedQueryId(ExecutionInput input) {
+    try {
+      return super.getPersistedQueryId(input);
+    } catch (RuntimeException e) {
+      // Malformed extension (e.g. not a map): treat it as a regular query
+      return Optional.empty();
+    }
+  }
+
+  private static String sha256(String query) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // Every JVM is required to support SHA-256
+      throw new AssertionError(e);
+    }
+  }
+}
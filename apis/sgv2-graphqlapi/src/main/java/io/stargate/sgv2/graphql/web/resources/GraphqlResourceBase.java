@@ -20,11 +20,11 @@ import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.GraphqlErrorException;
-import graphql.com.google.common.base.MoreObjects;
 import graphql.com.google.common.base.Splitter;
 import graphql.com.google.common.base.Strings;
 import graphql.com.google.common.collect.ImmutableList;
 import graphql.com.google.common.collect.ImmutableMap;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.stargate.sgv2.graphql.web.models.GraphqlFormData;
@@ -64,12 +64,28 @@ public abstract class GraphqlResourceBase {
    * <p>The payload is provided via URL parameters.
    */
   protected Uni<RestResponse<?>> get(
-      String query, String operationName, String variables, GraphQL graphql, Object context) {
+      String query,
+      String operationName,
+      String variables,
+      String extensions,
+      GraphQL graphql,
+      Object context) {
 
     return Uni.createFrom()
         .deferred(
             () -> {
-              if (Strings.isNullOrEmpty(query)) {
+              Map<String, Object> parsedExtensions;
+              try {
+                parsedExtensions = parseJsonParameter(extensions);
+              } catch (IOException e) {
+                return Uni.createFrom()
+                    .failure(
+                        graphqlError(
+                            Response.Status.BAD_REQUEST,
+                            "Could not parse extensions: " + e.getMessage()));
+              }
+
+              if (Strings.isNullOrEmpty(query) && !isPersistedQuery(parsedExtensions)) {
                 return Uni.createFrom()
                     .failure(
                         graphqlError(
@@ -79,14 +95,16 @@ public abstract class GraphqlResourceBase {
 
               try {
                 ExecutionInput.Builder input =
-                    ExecutionInput.newExecutionInput(query).operationName(operationName);
+                    ExecutionInput.newExecutionInput(queryOrMarker(query))
+                        .operationName(operationName);
 
                 if (!Strings.isNullOrEmpty(variables)) {
-                  @SuppressWarnings("unchecked")
-                  Map<String, Object> parsedVariables =
-                      objectMapper.readValue(variables, Map.class);
+                  Map<String, Object> parsedVariables = parseJsonParameter(variables);
                   input = input.context(context).variables(parsedVariables);
                 }
+                if (parsedExtensions != null) {
+                  input = input.extensions(parsedExtensions);
+                }
 
                 return execute(input.build(), graphql);
               } catch (IOException e) {
@@ -119,8 +137,11 @@ public abstract class GraphqlResourceBase {
               String operationName =
                   (jsonBody == null) ? null : Strings.emptyToNull(jsonBody.getOperationName());
               Map<String, Object> variables = (jsonBody == null) ? null : jsonBody.getVariables();
+              Map<String, Object> extensions = (jsonBody == null) ? null : jsonBody.getExtensions();
 
-              if (queryFromBody == null && queryFromUrlSafe == null) {
+              if (queryFromBody == null
+                  && queryFromUrlSafe == null
+                  && !isPersistedQuery(extensions)) {
                 return Uni.createFrom()
                     .failure(
                         graphqlError(
@@ -139,7 +160,8 @@ public abstract class GraphqlResourceBase {
                             "You can't provide a GraphQL query both as a query parameter and in the request body"));
               }
 
-              String query = MoreObjects.firstNonNull(queryFromBody, queryFromUrlSafe);
+              String query =
+                  queryOrMarker(queryFromBody == null ? queryFromUrlSafe : queryFromBody);
               ExecutionInput.Builder input =
                   ExecutionInput.newExecutionInput(query)
                       .operationName(operationName)
@@ -147,6 +169,9 @@ public abstract class GraphqlResourceBase {
               if (variables != null) {
                 input = input.variables(variables);
               }
+              if (extensions != null) {
+                input = input.extensions(extensions);
+              }
               return execute(input.build(), graphql);
             })
         // map to rest response
@@ -286,9 +311,40 @@ public abstract class GraphqlResourceBase {
         .map(RestResponse::ok);
   }
 
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> parseJsonParameter(String value) throws IOException {
+    return Strings.isNullOrEmpty(value) ? null : objectMapper.readValue(value, Map.class);
+  }
+
+  /**
+   * Whether the request uses Automatic Persisted Queries, in which case the query text can be
+   * omitted if it was sent previously.
+   *
+   * @see GraphqlDocumentCache
+   */
+  private static boolean isPersistedQuery(Map<String, Object> extensions) {
+    return extensions != null && extensions.containsKey("persistedQuery");
+  }
+
+  private static String queryOrMarker(String query) {
+    // ExecutionInput requires a query, the marker tells graphql-java to look it up by hash.
+    return Strings.isNullOrEmpty(query) ? PersistedQuerySupport.PERSISTED_QUERY_MARKER : query;
+  }
+
   protected static Uni<Map<String, Object>> execute(ExecutionInput input, GraphQL graphql) {
     // execute graphql call
-    return executeGraphql(input, graphql)
+    return executeGraphql(withDataLoaders(input), graphql)
+
+        // on failure map to web app exception
+        // (before the overloaded check, so that its 429 is not turned into a 500)
+        .onFailure()
+        .recoverWithUni(
+            error -> {
+              LOG.error("Unexpected error while processing GraphQL request", error);
+              return Uni.createFrom()
+                  .failure(
+                      graphqlError(Response.Status.INTERNAL_SERVER_ERROR, "Internal server error"));
+            })
 
         // on item check if we are not maybe overloaded
         .onItem()
@@ -303,19 +359,18 @@ public abstract class GraphqlResourceBase {
               } else {
                 return Uni.createFrom().item(result.toSpecification());
               }
-            })
-
-        // on failure map to web app exception
-        .onFailure()
-        .recoverWithUni(
-            error -> {
-              LOG.error("Unexpected error while processing GraphQL request", error);
-              return Uni.createFrom()
-                  .failure(
-                      graphqlError(Response.Status.INTERNAL_SERVER_ERROR, "Internal server error"));
             });
   }
 
+  private static ExecutionInput withDataLoaders(ExecutionInput input) {
+    if (input.getContext() instanceof StargateGraphqlContext context) {
+      // let GraphQL dispatch the loaders used by our fetchers
+      return input.transform(
+          builder -> builder.dataLoaderRegistry(context.getDataLoaderRegistry()));
+    }
+    return input;
+  }
+
   private static Uni<ExecutionResult> executeGraphql(ExecutionInput input, GraphQL graphql) {
     // create uni from future
     return Uni.createFrom()
@@ -28,18 +28,29 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.Try;
 
 public class StargateGraphqlContext {
 
+  private static final String QUERY_LOADER = "cqlQueries";
+
   private final StargateBridgeClient bridge;
   private final GraphqlCache graphqlCache;
   private final BatchContext batchContext = new BatchContext();
+  private final DataLoader<Query, Response> queryLoader;
+  private final DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
 
   private volatile boolean overloaded;
 
   public StargateGraphqlContext(StargateBridgeClient bridge, GraphqlCache graphqlCache) {
     this.bridge = bridge;
     this.graphqlCache = graphqlCache;
+    this.queryLoader = DataLoaderFactory.newDataLoader(this::executeQueries);
+    dataLoaderRegistry.register(QUERY_LOADER, queryLoader);
   }
 
   public StargateBridgeClient getBridge() {
@@ -54,6 +65,42 @@ public class StargateGraphqlContext {
     return batchContext;
   }
 
+  /**
+   * Loads the results of read queries. The queries of a same level of the operation are dispatched
+   * together once all its fields have been fetched, and identical queries are executed only once.
+   */
+  public DataLoader<Query, Response> getQueryLoader() {
+    return queryLoader;
+  }
+
+  /** The registry to pass to the execution input, so that GraphQL dispatches our loaders. */
+  public DataLoaderRegistry getDataLoaderRegistry() {
+    return dataLoaderRegistry;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private CompletionStage<List<Response>> executeQueries(List<Query> queries) {
+    // Send all the queries before waiting for any of them, they are pipelined on the bridge
+    // channel. Failures are reported individually, for the fields that issued them.
+    List<CompletableFuture<Try<Response>>> results =
+        queries.stream()
+            .map(
+                query ->
+                    bridge
+                        .executeQueryAsync(query)
+                        .handle(
+                            (response, error) ->
+                                error == null
+                                    ? Try.succeeded(response)
+                                    : Try.<Response>failed(error))
+                        .toCompletableFuture())
+            .collect(Collectors.toList());
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+        .thenApply(
+            __ ->
+                (List) results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+  }
+
   /**
    * Records the fact that at least one CQL query in the current execution failed with an OVERLOADED
    * error. This will be translated into an HTTP 429 error at the resource layer.
@@ -18,7 +18,6 @@ package io.stargate.sgv2.graphql.schema;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.quality.Strictness.LENIENT;
 
@@ -65,6 +64,7 @@ public abstract class GraphqlTestBase {
   @Captor private ArgumentCaptor<Query> queryCaptor;
   @Captor private ArgumentCaptor<Batch> batchCaptor;
   private volatile Response response;
+  private volatile Throwable failure;
 
   protected abstract GraphQLSchema createGraphqlSchema();
 
@@ -105,9 +105,14 @@ public abstract class GraphqlTestBase {
             });
 
     response = Response.newBuilder().build();
+    failure = null;
     when(bridge.executeQuery(queryCaptor.capture())).thenAnswer(i -> response);
     when(bridge.executeQueryAsync(queryCaptor.capture()))
-        .thenAnswer(i -> CompletableFuture.completedFuture(response));
+        .thenAnswer(
+            i ->
+                failure == null
+                    ? CompletableFuture.completedFuture(response)
+                    : CompletableFuture.failedFuture(failure));
 
     when(bridge.executeBatch(batchCaptor.capture())).thenAnswer(i -> response);
     when(bridge.executeBatchAsync(batchCaptor.capture()))
@@ -127,11 +132,28 @@ public abstract class GraphqlTestBase {
     response = Response.newBuilder().setResultSet(resultSet).build();
   }
 
+  /**
+   * Mocks a failure of future asynchronous CQL queries. Note that this is reset before each test
+   * method.
+   */
+  protected void mockQueryFailure(Throwable failure) {
+    this.failure = failure;
+  }
+
+  protected GraphQL getGraphql() {
+    return graphql;
+  }
+
+  protected ExecutionInput newExecutionInput(String query) {
+    StargateGraphqlContext context = new StargateGraphqlContext(bridge, null);
+    return ExecutionInput.newExecutionInput(query)
+        .context(context)
+        .dataLoaderRegistry(context.getDataLoaderRegistry())
+        .build();
+  }
+
   protected ExecutionResult executeGraphql(String query) {
-    StargateGraphqlContext context = mock(StargateGraphqlContext.class);
-    when(context.getBridge()).thenReturn(bridge);
-    when(context.getBatchContext()).thenReturn(new StargateGraphqlContext.BatchContext());
-    return graphql.execute(ExecutionInput.newExecutionInput(query).context(context).build());
+    return graphql.execute(newExecutionInput(query));
   }
 
   /** Executes a GraphQL query and asserts that it generates the given CQL query. */
@@ -156,6 +178,10 @@ public abstract class GraphqlTestBase {
     return query;
   }
 
+  protected List<Query> getCapturedQueries() {
+    return queryCaptor.getAllValues();
+  }
+
   protected String getCapturedCql() {
     return getCapturedQuery().getCql();
   }
@@ -23,6 +23,7 @@ import io.stargate.sgv2.graphql.schema.cqlfirst.dml.DmlTestBase;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -82,6 +83,23 @@ public class QueryFetcherTest extends DmlTestBase {
     };
   }
 
+  @Test
+  @DisplayName("Should execute identical selections of an operation only once")
+  public void identicalSelectionsTest() {
+    ExecutionResult result =
+        executeGraphql(
+            "query { "
+                + "  road1: books(filter: { title: { eq: \"The Road\" } }) { values { title } } "
+                + "  road2: books(filter: { title: { eq: \"The Road\" } }) { values { title } } "
+                + "  other: books(filter: { title: { eq: \"Other\" } }) { values { title } } "
+                + "}");
+    assertThat(result.getErrors()).isEmpty();
+    assertThat(getCapturedQueries())
+        .extracting(query -> query.getValues().getValuesList())
+        .containsExactlyInAnyOrder(
+            ImmutableList.of(Values.of("The Road")), ImmutableList.of(Values.of("Other")));
+  }
+
   @ParameterizedTest
   @MethodSource("operationsWithOptions")
   @DisplayName("Should execute GraphQL with options passed correctly")
@@ -0,0 +1,167 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.Int32Value;
+import graphql.GraphQL;
+import graphql.schema.DataFetchingEnvironment;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.bridge.proto.QueryOuterClass.Row;
+import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.sgv2.api.common.grpc.StargateBridgeClient;
+import io.stargate.sgv2.graphql.config.GraphQLConfig;
+import io.stargate.sgv2.graphql.persistence.graphqlfirst.SchemaSource;
+import io.stargate.sgv2.graphql.persistence.graphqlfirst.SchemaSourceDao;
+import io.stargate.sgv2.graphql.schema.SampleKeyspaces;
+import io.stargate.sgv2.graphql.schema.Uuids;
+import io.stargate.sgv2.graphql.schema.graphqlfirst.fetchers.admin.UndeploySchemaFetcher;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GraphqlCacheTest {
+
+  private static final String KEYSPACE = "library";
+
+  private final AtomicReference<CqlKeyspaceDescribe> keyspace = new AtomicReference<>();
+  private StargateBridgeClient bridge;
+
+  @BeforeEach
+  public void setup() {
+    keyspace.set(keyspace(1));
+    bridge = mock(StargateBridgeClient.class);
+    when(bridge.decorateKeyspaceName(KEYSPACE)).thenReturn(KEYSPACE);
+    when(bridge.getKeyspaceAsync(KEYSPACE, true))
+        .then(i -> CompletableFuture.completedFuture(Optional.of(keyspace.get())));
+    when(bridge.getKeyspace(KEYSPACE, true)).then(i -> Optional.of(keyspace.get()));
+    // No schema-first source: the keyspace uses the CQL-first GraphQL
+    when(bridge.getTableAsync(SchemaSourceDao.KEYSPACE_NAME, SchemaSourceDao.TABLE_NAME, false))
+        .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+  }
+
+  @Test
+  public void shouldReuseDmlUntilRevalidation() {
+    GraphqlCache cache = newCache(Duration.ofHours(1));
+
+    GraphQL graphql1 = cache.getDml(bridge, KEYSPACE).orElseThrow(AssertionError::new);
+    GraphQL graphql2 = cache.getDml(bridge, KEYSPACE).orElseThrow(AssertionError::new);
+
+    assertThat(graphql2).isSameAs(graphql1);
+    verifySourceChecks(1);
+  }
+
+  @Test
+  public void shouldRecompileDmlAfterKeyspaceChange() {
+    GraphqlCache cache = newCache(Duration.ofHours(1));
+    GraphQL graphql1 = cache.getDml(bridge, KEYSPACE).orElseThrow(AssertionError::new);
+
+    keyspace.set(keyspace(2));
+    GraphQL graphql2 = cache.getDml(bridge, KEYSPACE).orElseThrow(AssertionError::new);
+
+    assertThat(graphql2).isNotSameAs(graphql1);
+    verifySourceChecks(2);
+  }
+
+  @Test
+  public void shouldRecompileStaleDmlAfterSourceVersionChange() {
+    // The keyspace was deployed with a schema-first source, that was since undeployed by another
+    // instance: the CQL schema is unchanged, only the source version differs.
+    GraphqlCache cache = newCache(Duration.ZERO);
+    GraphQL deployed = mock(GraphQL.class);
+    cache.putDml(keyspace.get(), new SchemaSource(KEYSPACE, Uuids.timeBased(), "{}"), deployed);
+
+    GraphQL graphql = cache.getDml(bridge, KEYSPACE).orElseThrow(AssertionError::new);
+
+    assertThat(graphql).isNotSameAs(deployed);
+    assertThat(graphql.getGraphQLSchema().getQueryType().getFieldDefinition("books")).isNotNull();
+    verifySourceChecks(1);
+  }
+
+  @Test
+  public void shouldInvalidateDmlOnUndeploy() throws Exception {
+    GraphqlCache cache = newCache(Duration.ofHours(1));
+    GraphQL deployed = mock(GraphQL.class);
+    cache.putDml(keyspace.get(), new SchemaSource(KEYSPACE, Uuids.timeBased(), "{}"), deployed);
+    assertThat(cache.getDml(bridge, KEYSPACE)).contains(deployed);
+    verifySourceChecks(0);
+
+    when(bridge.executeQuery(any())).thenReturn(applied());
+    new UndeploySchemaFetcher().get(undeployEnvironment(cache, Uuids.timeBased()));
+
+    GraphQL graphql = cache.getDml(bridge, KEYSPACE).orElseThrow(AssertionError::new);
+    assertThat(graphql).isNotSameAs(deployed);
+    verifySourceChecks(1);
+  }
+
+  private GraphqlCache newCache(Duration sourceRevalidation) {
+    GraphQLConfig.DocumentCacheConfig documentCacheConfig =
+        mock(GraphQLConfig.DocumentCacheConfig.class);
+    GraphQLConfig config = mock(GraphQLConfig.class);
+    when(config.schemaSourceRevalidation()).thenReturn(sourceRevalidation);
+    when(config.documentCache()).thenReturn(documentCacheConfig);
+    return new GraphqlCache(config);
+  }
+
+  private void verifySourceChecks(int count) {
+    verify(bridge, times(count))
+        .getTableAsync(SchemaSourceDao.KEYSPACE_NAME, SchemaSourceDao.TABLE_NAME, false);
+  }
+
+  private DataFetchingEnvironment undeployEnvironment(GraphqlCache cache, UUID expectedVersion) {
+    StargateGraphqlContext context = mock(StargateGraphqlContext.class);
+    when(context.getBridge()).thenReturn(bridge);
+    when(context.getGraphqlCache()).thenReturn(cache);
+    DataFetchingEnvironment environment = mock(DataFetchingEnvironment.class);
+    when(environment.getContext()).thenReturn(context);
+    when(environment.getArgument("keyspace")).thenReturn(KEYSPACE);
+    when(environment.getArgument("expectedVersion")).thenReturn(expectedVersion.toString());
+    when(environment.getArgument("force")).thenReturn(false);
+    return environment;
+  }
+
+  private static CqlKeyspaceDescribe keyspace(int hash) {
+    CqlKeyspaceDescribe.Builder builder = SampleKeyspaces.LIBRARY.toBuilder();
+    builder.getCqlKeyspaceBuilder().setGlobalName(KEYSPACE);
+    return builder.setHash(Int32Value.of(hash)).build();
+  }
+
+  private static Response applied() {
+    return Response.newBuilder()
+        .setResultSet(
+            ResultSet.newBuilder()
+                .addColumns(
+                    ColumnSpec.newBuilder()
+                        .setName("[applied]")
+                        .setType(TypeSpec.newBuilder().setBasic(TypeSpec.Basic.BOOLEAN)))
+                .addRows(Row.newBuilder().addValues(Values.of(true))))
+        .build();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+public class GraphqlDocumentCacheTest {
+
+  private static final String QUERY = "{ greeting }";
+
+  private final AtomicInteger parseCount = new AtomicInteger();
+  private final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate =
+      input -> {
+        parseCount.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+      };
+
+  @Test
+  public void shouldParseRepeatedQueryOnce() {
+    GraphqlDocumentCache cache = new GraphqlDocumentCache(10);
+
+    Document document1 = cache.getDocument(plain(QUERY), parseAndValidate).getDocument();
+    Document document2 = cache.getDocument(plain(QUERY), parseAndValidate).getDocument();
+
+    assertThat(document2).isSameAs(document1);
+    assertThat(parseCount).hasValue(1);
+  }
+
+  @Test
+  public void shouldFindPlainQueryByHash() {
+    GraphqlDocumentCache cache = new GraphqlDocumentCache(10);
+    Document document = cache.getDocument(plain(QUERY), parseAndValidate).getDocument();
+
+    PreparsedDocumentEntry entry =
+        cache.getDocument(
+            persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER, sha256(QUERY)),
+            parseAndValidate);
+
+    assertThat(entry.getDocument()).isSameAs(document);
+    assertThat(parseCount).hasValue(1);
+  }
+
+  @Test
+  public void shouldReportUnknownHash() {
+    GraphqlDocumentCache cache = new GraphqlDocumentCache(10);
+
+    PreparsedDocumentEntry entry =
+        cache.getDocument(
+            persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER, sha256(QUERY)),
+            parseAndValidate);
+
+    assertThat(entry.hasErrors()).isTrue();
+    assertThat(entry.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+    assertThat(parseCount).hasValue(0);
+  }
+
+  private static ExecutionInput plain(String query) {
+    return ExecutionInput.newExecutionInput(query).build();
+  }
+
+  private static ExecutionInput persisted(String query, String hash) {
+    return ExecutionInput.newExecutionInput(query)
+        .extensions(
+            ImmutableMap.of("persistedQuery", ImmutableMap.of("version", 1, "sha256Hash", hash)))
+        .build();
+  }
+
+  private static String sha256(String query) {
+    return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+  }
+}
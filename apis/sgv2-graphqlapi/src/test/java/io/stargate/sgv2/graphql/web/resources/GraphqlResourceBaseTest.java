@@ -18,6 +18,7 @@ package io.stargate.sgv2.graphql.web.resources;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.is;
 
+import com.google.common.hash.Hashing;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import io.restassured.RestAssured;
@@ -122,4 +123,88 @@ public class GraphqlResourceBaseTest {
         .statusCode(200)
         .body(is("{\"data\":{\"greetingFromFile\":\"hello, world\"}}"));
   }
+
+  @Test
+  public void shouldPostJsonPersistedQuery() {
+    String query = "query PersistedGreeting($name: String) { greeting(name: $name) }";
+    String variables = "\"variables\": { \"name\": \"world\" }";
+    String extensions =
+        String.format(
+            "\"extensions\": { \"persistedQuery\": { \"version\": 1, \"sha256Hash\": \"%s\" } }",
+            sha256(query));
+
+    // Unknown hash: the client is expected to retry with the query text
+    given()
+        .body("{ " + variables + ", " + extensions + " }")
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body("errors[0].message", is("PersistedQueryNotFound"));
+
+    given()
+        .body("{ \"query\": \"" + query + "\", " + variables + ", " + extensions + " }")
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body(is("{\"data\":{\"greeting\":\"hello, world\"}}"));
+
+    // Now the hash alone is enough
+    given()
+        .body("{ " + variables + ", " + extensions + " }")
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body(is("{\"data\":{\"greeting\":\"hello, world\"}}"));
+  }
+
+  @Test
+  public void shouldGetPersistedQuery() {
+    String query = "{ greeting(name: \"persisted get\") }";
+    String extensions =
+        String.format(
+            "{ \"persistedQuery\": { \"version\": 1, \"sha256Hash\": \"%s\" } }", sha256(query));
+
+    given()
+        .queryParam("query", query)
+        .queryParam("extensions", extensions)
+        .when()
+        .get("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body(is("{\"data\":{\"greeting\":\"hello, persisted get\"}}"));
+
+    given()
+        .queryParam("extensions", extensions)
+        .when()
+        .get("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body(is("{\"data\":{\"greeting\":\"hello, persisted get\"}}"));
+  }
+
+  @Test
+  public void shouldRejectPersistedQueryWithWrongHash() {
+    given()
+        .queryParam("query", "{ greeting(name: \"wrong hash\") }")
+        .queryParam(
+            "extensions",
+            String.format(
+                "{ \"persistedQuery\": { \"version\": 1, \"sha256Hash\": \"%s\" } }",
+                sha256("{ greeting(name: \"other\") }")))
+        .when()
+        .get("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body("errors[0].message", is("PersistedQueryIdInvalid"));
+  }
+
+  private static String sha256(String query) {
+    return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+  }
 }
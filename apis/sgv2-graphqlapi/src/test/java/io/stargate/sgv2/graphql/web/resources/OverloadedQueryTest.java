@@ -0,0 +1,56 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import graphql.ExecutionInput;
+import io.grpc.Status;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.sgv2.graphql.schema.SampleKeyspaces;
+import io.stargate.sgv2.graphql.schema.cqlfirst.dml.DmlTestBase;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class OverloadedQueryTest extends DmlTestBase {
+
+  @Override
+  protected List<CqlKeyspaceDescribe> getCqlSchema() {
+    return ImmutableList.of(SampleKeyspaces.LIBRARY);
+  }
+
+  @Test
+  public void shouldReturnTooManyRequestsWhenLoadedQueryIsOverloaded() {
+    mockQueryFailure(Status.RESOURCE_EXHAUSTED.withDescription("Overloaded").asRuntimeException());
+    ExecutionInput input = newExecutionInput("query { books { values { title, author } } }");
+
+    Throwable failure =
+        GraphqlResourceBase.execute(input, getGraphql())
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitFailure()
+            .getFailure();
+
+    assertThat(((StargateGraphqlContext) input.getContext()).isOverloaded()).isTrue();
+    assertThat(failure)
+        .isInstanceOfSatisfying(
+            WebApplicationException.class,
+            e -> assertThat(e.getResponse().getStatus()).isEqualTo(429));
+  }
+}
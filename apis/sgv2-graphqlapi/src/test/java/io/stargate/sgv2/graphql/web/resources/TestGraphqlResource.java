@@ -89,6 +89,7 @@ public class TestGraphqlResource extends GraphqlResourceBase {
                                   })
                           .build())
                   .build())
+          .preparsedDocumentProvider(new GraphqlDocumentCache(100))
           .build();
 
   // Don't need anything specific in the context
@@ -103,8 +104,9 @@ public class TestGraphqlResource extends GraphqlResourceBase {
   public Uni<RestResponse<?>> get(
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
-      @QueryParam("variables") String variables) {
-    return super.get(query, operationName, variables, GRAPHQL, CONTEXT);
+      @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions) {
+    return super.get(query, operationName, variables, extensions, GRAPHQL, CONTEXT);
   }
 
   @POST
@@ -42,6 +42,11 @@ public interface GrpcConfig {
   @NotNull
   Retries retries();
 
+  /** @return Defines if and how keyspace schema changes are pushed from the bridge. */
+  @Valid
+  @NotNull
+  SchemaChanges schemaChanges();
+
   interface Retries {
 
     /** @return If call retries are enabled. */
@@ -81,4 +86,23 @@ public interface GrpcConfig {
     @Positive
     int maxAttempts();
   }
+
+  interface SchemaChanges {
+
+    /**
+     * @return If the schema manager should subscribe to keyspace schema changes on the bridge. When
+     *     enabled, cached keyspaces are served without any hash validation call, until the bridge
+     *     pushes a change for them. Requires a bridge that supports streaming keyspace changes.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return Minimum delay before subscribing again after the schema changes stream failed or
+     *     completed. Until then, cached keyspaces are validated on every use.
+     */
+    @WithDefault("PT10S")
+    @NotNull
+    Duration resubscribeDelay();
+  }
 }
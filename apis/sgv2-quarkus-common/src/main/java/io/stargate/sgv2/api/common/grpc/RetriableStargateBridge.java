@@ -18,6 +18,7 @@
 package io.stargate.sgv2.api.common.grpc;
 
 import io.grpc.StatusRuntimeException;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
@@ -80,6 +81,18 @@ public class RetriableStargateBridge implements StargateBridge {
     return withRetries(delegate.getSupportedFeatures(request));
   }
 
+  @Override
+  public Multi<Schema.KeyspaceChange> getKeyspaceChanges(Schema.KeyspaceChangesRequest request) {
+    // long-lived stream, no retries, the subscriber decides when to subscribe again
+    return delegate.getKeyspaceChanges(request);
+  }
+
+  @Override
+  public Multi<QueryOuterClass.IndexedResponse> executeQueries(QueryOuterClass.Queries request) {
+    // streamed responses, no retries, each query is retried by the bridge
+    return delegate.executeQueries(request);
+  }
+
   private <T> Uni<T> withRetries(Uni<T> source) {
     // if disabled do nothing
     if (!enabled) {
@@ -59,8 +59,11 @@ public class StargateBridgeInterceptor implements ClientInterceptor {
       metadata = metadataResolver.getMetadata(requestInfo);
     }
 
-    // handle deadlines
-    CallOptions callOptionsFinal = callOptionsWithDeadline(callOptions);
+    // handle deadlines, only for unary calls as streams are long-lived
+    CallOptions callOptionsFinal =
+        method.getType() == MethodDescriptor.MethodType.UNARY
+            ? callOptionsWithDeadline(callOptions)
+            : callOptions;
 
     // call with extra metadata and final options
     return new HeaderAttachingClientCall<>(next.newCall(method, callOptionsFinal), metadata);
@@ -0,0 +1,221 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.schema;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.sgv2.api.common.config.GrpcConfig;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscribes to the keyspace schema changes pushed by the bridge, and keeps track of the cached
+ * keyspaces that are known to be current.
+ *
+ * <p>A cached keyspace is <i>trusted</i> if it was fetched or validated against the bridge while
+ * the subscription was active, and no change was pushed for it since. The {@link SchemaManager} can
+ * serve trusted keyspaces without validating their hash. If the subscription is not active (not yet
+ * established, failed, or disabled in the {@link GrpcConfig.SchemaChanges}), nothing is trusted and
+ * the schema manager falls back to validating the hash on every use.
+ */
+@ApplicationScoped
+public class SchemaChangesSubscriber {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SchemaChangesSubscriber.class);
+
+  /** Returned by {@link #trackingVersion()} when changes are not being tracked. */
+  static final long NOT_TRACKING = -1L;
+
+  private enum State {
+    IDLE,
+    SUBSCRIBING,
+    ACTIVE
+  }
+
+  @Inject
+  @CacheName("keyspace-cache")
+  Cache keyspaceCache;
+
+  private final boolean enabled;
+
+  private final long resubscribeDelayNanos;
+
+  private final Set<CompositeCacheKey> trustedKeys = ConcurrentHashMap.newKeySet();
+
+  private State state = State.IDLE;
+
+  // incremented on each change or (de)activation, guards against trusting a keyspace that was
+  // fetched concurrently with a change
+  private long version;
+
+  private long lastFailureNanos;
+
+  private Cancellable subscription;
+
+  @Inject
+  public SchemaChangesSubscriber(GrpcConfig grpcConfig) {
+    this.enabled = grpcConfig.schemaChanges().enabled();
+    this.resubscribeDelayNanos = grpcConfig.schemaChanges().resubscribeDelay().toNanos();
+  }
+
+  /**
+   * Subscribes to the schema changes using the given bridge, unless already subscribed, disabled or
+   * a recent subscription failed.
+   *
+   * @param bridge Bridge to subscribe with, must be usable for the current request.
+   */
+  public void ensureSubscribed(StargateBridge bridge) {
+    if (!enabled) {
+      return;
+    }
+    synchronized (this) {
+      if (state != State.IDLE
+          || (lastFailureNanos != 0
+              && System.nanoTime() - lastFailureNanos < resubscribeDelayNanos)) {
+        return;
+      }
+      state = State.SUBSCRIBING;
+    }
+
+    LOG.debug("Subscribing to schema changes from the bridge");
+    Cancellable cancellable =
+        bridge
+            .getKeyspaceChanges(Schema.KeyspaceChangesRequest.getDefaultInstance())
+            .subscribe()
+            .with(
+                this::onChange,
+                t -> onTerminated("Schema changes stream from the bridge failed", t),
+                () -> onTerminated("Schema changes stream from the bridge completed", null));
+    synchronized (this) {
+      subscription = cancellable;
+    }
+  }
+
+  /**
+   * @param cacheKey Keyspace cache key
+   * @return If the keyspace cached under the given key is known to be current.
+   */
+  public boolean isTrusted(CompositeCacheKey cacheKey) {
+    return !trustedKeys.isEmpty() && trustedKeys.contains(cacheKey);
+  }
+
+  /**
+   * Must be called before fetching or validating a keyspace against the bridge, and the result
+   * passed to {@link #trust(CompositeCacheKey, long)} once the keyspace is cached.
+   *
+   * @return The current tracking version, or {@link #NOT_TRACKING}.
+   */
+  public synchronized long trackingVersion() {
+    return state == State.ACTIVE ? version : NOT_TRACKING;
+  }
+
+  /**
+   * Marks the keyspace cached under the given key as current, unless a change happened since the
+   * given tracking version was obtained.
+   *
+   * @param cacheKey Keyspace cache key
+   * @param trackingVersion Result of {@link #trackingVersion()}, before the keyspace was fetched.
+   */
+  public synchronized void trust(CompositeCacheKey cacheKey, long trackingVersion) {
+    if (trackingVersion != NOT_TRACKING && trackingVersion == version && state == State.ACTIVE) {
+      trustedKeys.add(cacheKey);
+    }
+  }
+
+  /**
+   * Stops trusting the keyspace cached under the given key, for example because it was invalidated.
+   *
+   * @param cacheKey Keyspace cache key
+   */
+  public void distrust(CompositeCacheKey cacheKey) {
+    trustedKeys.remove(cacheKey);
+  }
+
+  @PreDestroy
+  synchronized void close() {
+    if (subscription != null) {
+      subscription.cancel();
+      subscription = null;
+    }
+  }
+
+  private void onChange(Schema.KeyspaceChange change) {
+    switch (change.getChangeType()) {
+      case SUBSCRIBED -> {
+        LOG.debug("Subscribed to schema changes from the bridge");
+        synchronized (this) {
+          state = State.ACTIVE;
+          version++;
+        }
+      }
+      case UPDATED, DROPPED -> {
+        String globalName = change.getKeyspaceGlobalName();
+        LOG.debug("Keyspace {} changed on the bridge, invalidating", globalName);
+        synchronized (this) {
+          version++;
+        }
+        invalidate(globalName);
+      }
+      default -> LOG.debug("Ignoring unknown schema change {}", change.getChangeType());
+    }
+  }
+
+  // invalidates all cached keyspaces with the given global name
+  private void invalidate(String globalName) {
+    CaffeineCache cache = keyspaceCache.as(CaffeineCache.class);
+    for (Object key : cache.keySet()) {
+      CompletableFuture<Object> cached = cache.getIfPresent(key);
+      if (null == cached || !cached.isDone() || cached.isCompletedExceptionally()) {
+        continue;
+      }
+      if (cached.getNow(null) instanceof Schema.CqlKeyspaceDescribe keyspace
+          && Objects.equals(keyspace.getCqlKeyspace().getGlobalName(), globalName)) {
+        CompositeCacheKey cacheKey = (CompositeCacheKey) key;
+        distrust(cacheKey);
+        cache.invalidate(cacheKey).subscribe().with(v -> {});
+      }
+    }
+  }
+
+  private void onTerminated(String message, Throwable failure) {
+    if (null != failure) {
+      LOG.warn(message + ", falling back to hash validation", failure);
+    } else {
+      LOG.warn(message + ", falling back to hash validation");
+    }
+    synchronized (this) {
+      state = State.IDLE;
+      version++;
+      lastFailureNanos = System.nanoTime();
+      subscription = null;
+      trustedKeys.clear();
+    }
+  }
+}
@@ -41,7 +41,11 @@ import io.stargate.sgv2.api.common.grpc.UnauthorizedTableException;
 import io.stargate.sgv2.api.common.grpc.proto.SchemaReads;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -59,8 +63,14 @@ public class SchemaManager {
   @CacheName("keyspace-cache")
   Cache keyspaceCache;
 
+  @Inject
+  @CacheName("schema-authorization-cache")
+  Cache authorizationCache;
+
   @Inject StargateRequestInfo requestInfo;
 
+  @Inject SchemaChangesSubscriber schemaChangesSubscriber;
+
   /**
    * Get the keyspace from the bridge. Note that this method is not doing any authorization. The
    * check that the keyspace has correct hash on the bridge will be done.
@@ -248,20 +258,14 @@ public class SchemaManager {
                       .map(n -> SchemaReads.keyspace(n))
                       .collect(Collectors.toList());
 
-              Schema.AuthorizeSchemaReadsRequest request =
-                  Schema.AuthorizeSchemaReadsRequest.newBuilder().addAllSchemaReads(reads).build();
-
               // execute request
-              return bridge
-                  .authorizeSchemaReads(request)
+              return authorizeInternal(bridge, reads)
 
                   // on response filter out
                   .onItem()
-                  .ifNotNull()
                   .transformToMulti(
-                      response -> {
+                      authorizedList -> {
                         List<String> authorizedKeyspaces = new ArrayList<>(keyspaceNames.size());
-                        List<Boolean> authorizedList = response.getAuthorizedList();
                         for (int i = 0; i < authorizedList.size(); i++) {
                           if (authorizedList.get(i)) {
                             authorizedKeyspaces.add(keyspaceNames.get(i));
@@ -368,20 +372,14 @@ public class SchemaManager {
                       .map(t -> SchemaReads.table(keyspace, t.getName()))
                       .collect(Collectors.toList());
 
-              Schema.AuthorizeSchemaReadsRequest request =
-                  Schema.AuthorizeSchemaReadsRequest.newBuilder().addAllSchemaReads(reads).build();
-
               // execute request
-              return bridge
-                  .authorizeSchemaReads(request)
+              return authorizeInternal(bridge, reads)
 
                   // on response filter out
                   .onItem()
-                  .ifNotNull()
                   .transformToMulti(
-                      response -> {
+                      authorizedList -> {
                         List<Schema.CqlTable> authorizedTables = new ArrayList<>(tables.size());
-                        List<Boolean> authorizedList = response.getAuthorizedList();
                         for (int i = 0; i < authorizedList.size(); i++) {
                           if (authorizedList.get(i)) {
                             authorizedTables.add(tables.get(i));
@@ -597,20 +595,97 @@ public class SchemaManager {
   }
 
   // authorizes a single schema read
+  // concurrent authorizations of the same read with the same token share a single bridge call
   private Uni<Boolean> authorizeInternal(StargateBridge bridge, Schema.SchemaRead schemaRead) {
+    CompositeCacheKey cacheKey = authorizationCacheKey(schemaRead);
+
+    return authorizationCache.getAsync(
+        cacheKey,
+        k ->
+            authorizeOnBridge(bridge, Collections.singletonList(schemaRead))
+
+                // we have only one schema read request
+                .map(authorizedList -> authorizedList.get(0)));
+  }
+
+  // authorizes multiple schema reads, keeping the order
+  // reads that are neither cached nor being authorized by a concurrent call are claimed in the
+  // cache, and sent to the bridge in a single request
+  private Uni<List<Boolean>> authorizeInternal(
+      StargateBridge bridge, List<Schema.SchemaRead> schemaReads) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              List<Schema.SchemaRead> missingReads = new ArrayList<>();
+              CompletableFuture<List<Boolean>> missingAuthorized = new CompletableFuture<>();
+              List<Uni<Boolean>> results = new ArrayList<>(schemaReads.size());
+              for (Schema.SchemaRead schemaRead : schemaReads) {
+                // the loader is called for absent keys only, and it's called right away
+                CompletableFuture<Boolean> result =
+                    authorizationCache
+                        .getAsync(
+                            authorizationCacheKey(schemaRead),
+                            k -> {
+                              int missingIndex = missingReads.size();
+                              missingReads.add(schemaRead);
+                              return Uni.createFrom()
+                                  .completionStage(missingAuthorized)
+                                  .map(authorizedList -> authorizedList.get(missingIndex));
+                            })
+                        .subscribeAsCompletionStage();
+                results.add(Uni.createFrom().completionStage(result));
+              }
+
+              // fetch all claimed in one go, this completes their cache entries
+              Uni<List<Boolean>> missingUni =
+                  missingReads.isEmpty()
+                      ? Uni.createFrom().item(Collections.emptyList())
+                      : authorizeOnBridge(bridge, missingReads);
+
+              return missingUni
+                  // do not leave claimed entries pending
+                  .onCancellation()
+                  .invoke(() -> missingAuthorized.cancel(false))
+                  .onItemOrFailure()
+                  .invoke(
+                      (authorizedList, failure) -> {
+                        if (null != failure) {
+                          missingAuthorized.completeExceptionally(failure);
+                        } else {
+                          missingAuthorized.complete(authorizedList);
+                        }
+                      })
+                  .flatMap(any -> Uni.join().all(results).andFailFast());
+            });
+  }
+
+  // calls the bridge to authorize given schema reads
+  private Uni<List<Boolean>> authorizeOnBridge(
+      StargateBridge bridge, List<Schema.SchemaRead> schemaReads) {
     Schema.AuthorizeSchemaReadsRequest request =
-        Schema.AuthorizeSchemaReadsRequest.newBuilder().addSchemaReads(schemaRead).build();
+        Schema.AuthorizeSchemaReadsRequest.newBuilder().addAllSchemaReads(schemaReads).build();
 
-    // call bridge to authorize
     return bridge
         .authorizeSchemaReads(request)
+        .map(Schema.AuthorizeSchemaReadsResponse::getAuthorizedList);
+  }
 
-        // on result
-        .map(
-            response -> {
-              // we have only one schema read request
-              return response.getAuthorizedList().iterator().next();
-            });
+  // authorization decisions are scoped to the token and the tenant of the current request
+  // the token is hashed, so that it's not kept in memory in clear
+  private CompositeCacheKey authorizationCacheKey(Schema.SchemaRead schemaRead) {
+    Optional<String> tokenHash = requestInfo.getCassandraToken().map(SchemaManager::hashToken);
+    return new CompositeCacheKey(tokenHash, requestInfo.getTenantId(), schemaRead);
+  }
+
+  private static String hashToken(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      // every JVM must support SHA-256
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
   }
 
   // gets a keyspace by provided name
@@ -618,12 +693,15 @@ public class SchemaManager {
   private Uni<Schema.CqlKeyspaceDescribe> getKeyspaceInternal(
       StargateBridge bridge, String keyspaceName, boolean validateHash) {
     Optional<String> tenantId = requestInfo.getTenantId();
+    CompositeCacheKey cacheKey = new CompositeCacheKey(keyspaceName, tenantId);
 
     // check if cached
     return Uni.createFrom()
         .deferred(
             () -> {
-              CompositeCacheKey cacheKey = new CompositeCacheKey(keyspaceName, tenantId);
+              // make sure we get notified about keyspace changes, if enabled
+              schemaChangesSubscriber.ensureSubscribed(bridge);
+
               CompletableFuture<Object> keyspaceFuture =
                   keyspaceCache.as(CaffeineCache.class).getIfPresent(cacheKey);
 
@@ -672,6 +750,14 @@ public class SchemaManager {
                 return Uni.createFrom().item(keyspace);
               }
 
+              // same if the bridge would have pushed a change for this keyspace
+              if (schemaChangesSubscriber.isTrusted(cacheKey)) {
+                return Uni.createFrom().item(keyspace);
+              }
+
+              // capture before the call, the keyspace is trusted only if no change was pushed since
+              long trackingVersion = schemaChangesSubscriber.trackingVersion();
+
               // check hash still matches
               Schema.DescribeKeyspaceQuery request =
                   Schema.DescribeKeyspaceQuery.newBuilder()
@@ -693,7 +779,10 @@ public class SchemaManager {
                         } else {
                           return Uni.createFrom().item(keyspace);
                         }
-                      });
+                      })
+
+                  // the cached keyspace is now known to be current
+                  .invoke(() -> schemaChangesSubscriber.trust(cacheKey, trackingVersion));
             })
 
         // in case of failure, check if status is not found
@@ -819,6 +908,7 @@ public class SchemaManager {
   @CacheInvalidate(cacheName = "keyspace-cache")
   protected Uni<Void> invalidateKeyspace(
       @CacheKey String keyspaceName, @CacheKey Optional<String> tenantId) {
+    schemaChangesSubscriber.distrust(new CompositeCacheKey(keyspaceName, tenantId));
     return Uni.createFrom().nullItem();
   }
 
@@ -0,0 +1,218 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.Int32Value;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectMock;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.sgv2.api.common.StargateRequestInfo;
+import io.stargate.sgv2.common.bridge.BridgeTest;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(SchemaManagerKeyspaceChangesTest.Profile.class)
+class SchemaManagerKeyspaceChangesTest extends BridgeTest {
+
+  public static class Profile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return ImmutableMap.<String, String>builder()
+          .put("stargate.grpc.schema-changes.enabled", "true")
+          .put("stargate.grpc.schema-changes.resubscribe-delay", "PT0S")
+          .build();
+    }
+  }
+
+  @Inject SchemaManager schemaManager;
+
+  @Inject SchemaChangesSubscriber schemaChangesSubscriber;
+
+  @Inject
+  @CacheName("keyspace-cache")
+  Cache keyspaceCache;
+
+  @GrpcClient("bridge")
+  StargateBridge bridge;
+
+  @InjectMock StargateRequestInfo requestInfo;
+
+  AtomicReference<StreamObserver<Schema.KeyspaceChange>> changesObserver;
+
+  @BeforeEach
+  public void init() {
+    doAnswer(invocation -> bridge).when(requestInfo).getStargateBridge();
+
+    // previous stream must be terminated
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .until(
+            () ->
+                schemaChangesSubscriber.trackingVersion() == SchemaChangesSubscriber.NOT_TRACKING);
+
+    changesObserver = new AtomicReference<>();
+    doAnswer(
+            invocationOnMock -> {
+              StreamObserver<Schema.KeyspaceChange> observer = invocationOnMock.getArgument(1);
+              changesObserver.set(observer);
+              observer.onNext(
+                  Schema.KeyspaceChange.newBuilder()
+                      .setChangeType(Schema.KeyspaceChange.Type.SUBSCRIBED)
+                      .build());
+              return null;
+            })
+        .when(bridgeService)
+        .getKeyspaceChanges(any(), any());
+  }
+
+  @AfterEach
+  public void closeStream() {
+    // complete the stream, so the mock bridge can shut down
+    StreamObserver<Schema.KeyspaceChange> observer = changesObserver.get();
+    if (null != observer) {
+      observer.onCompleted();
+    }
+  }
+
+  @Test
+  public void trustedUntilChangePushed() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    Schema.CqlKeyspaceDescribe response = keyspaceDescribe(keyspace, RandomUtils.nextInt());
+    mockDescribeKeyspace(response);
+
+    // first fetch subscribes as well
+    getKeyspace(keyspace).assertItem(response);
+    await().until(() -> schemaChangesSubscriber.trackingVersion() >= 0);
+
+    // second validates, then no more calls
+    getKeyspace(keyspace).assertItem(response);
+    getKeyspace(keyspace).assertItem(response);
+    getKeyspace(keyspace).assertItem(response);
+    verify(bridgeService, times(2)).describeKeyspace(any(), any());
+    verify(bridgeService).getKeyspaceChanges(any(), any());
+
+    // push the change
+    Schema.CqlKeyspaceDescribe updatedResponse = keyspaceDescribe(keyspace, RandomUtils.nextInt());
+    mockDescribeKeyspace(updatedResponse);
+    changesObserver
+        .get()
+        .onNext(
+            Schema.KeyspaceChange.newBuilder()
+                .setChangeType(Schema.KeyspaceChange.Type.UPDATED)
+                .setKeyspaceGlobalName(keyspace)
+                .setHash(updatedResponse.getHash())
+                .build());
+
+    CompositeCacheKey cacheKey = new CompositeCacheKey(keyspace, Optional.empty());
+    await().until(() -> !keyspaceCache.as(CaffeineCache.class).keySet().contains(cacheKey));
+
+    // fetched again
+    getKeyspace(keyspace).assertItem(updatedResponse);
+    verify(bridgeService, times(3)).describeKeyspace(any(), any());
+  }
+
+  @Test
+  public void streamFailureFallsBackToValidation() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    Schema.CqlKeyspaceDescribe response = keyspaceDescribe(keyspace, RandomUtils.nextInt());
+    mockDescribeKeyspace(response);
+
+    getKeyspace(keyspace).assertItem(response);
+    await().until(() -> schemaChangesSubscriber.trackingVersion() >= 0);
+    getKeyspace(keyspace).assertItem(response);
+    verify(bridgeService, times(2)).describeKeyspace(any(), any());
+
+    // fail the stream, validation on each call
+    StreamObserver<Schema.KeyspaceChange> observer = changesObserver.getAndSet(null);
+    observer.onError(new StatusRuntimeException(Status.UNAVAILABLE));
+    await()
+        .until(
+            () ->
+                schemaChangesSubscriber.trackingVersion() == SchemaChangesSubscriber.NOT_TRACKING);
+    assertThat(schemaChangesSubscriber.isTrusted(new CompositeCacheKey(keyspace, Optional.empty())))
+        .isFalse();
+
+    getKeyspace(keyspace).assertItem(response);
+    verify(bridgeService, times(3)).describeKeyspace(any(), any());
+  }
+
+  private UniAssertSubscriber<Schema.CqlKeyspaceDescribe> getKeyspace(String keyspace) {
+    return schemaManager
+        .getKeyspace(keyspace)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertCompleted();
+  }
+
+  private Schema.CqlKeyspaceDescribe keyspaceDescribe(String keyspace, int hash) {
+    return Schema.CqlKeyspaceDescribe.newBuilder()
+        .setCqlKeyspace(
+            Schema.CqlKeyspace.newBuilder().setName(keyspace).setGlobalName(keyspace).build())
+        .setHash(Int32Value.of(hash))
+        .build();
+  }
+
+  private void mockDescribeKeyspace(Schema.CqlKeyspaceDescribe response) {
+    doAnswer(
+            invocationOnMock -> {
+              Schema.DescribeKeyspaceQuery query = invocationOnMock.getArgument(0);
+              StreamObserver<Schema.CqlKeyspaceDescribe> observer = invocationOnMock.getArgument(1);
+              // mimic the bridge, empty response if the hash matches
+              if (query.hasHash() && query.getHash().equals(response.getHash())) {
+                observer.onNext(Schema.CqlKeyspaceDescribe.getDefaultInstance());
+              } else {
+                observer.onNext(response);
+              }
+              observer.onCompleted();
+              return null;
+            })
+        .when(bridgeService)
+        .describeKeyspace(any(), any());
+  }
+}
@@ -18,6 +18,7 @@
 package io.stargate.sgv2.api.common.schema;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
@@ -55,6 +56,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
@@ -620,7 +622,8 @@ class SchemaManagerTest extends BridgeTest {
               .withSubscriber(UniAssertSubscriber.create());
       cachedResult.awaitItem().assertItem(response).assertCompleted();
 
-      verify(bridgeService, times(2)).authorizeSchemaReads(schemaReadsCaptor.capture(), any());
+      // authorization is cached as well
+      verify(bridgeService).authorizeSchemaReads(schemaReadsCaptor.capture(), any());
       verify(bridgeService).describeKeyspace(describeKeyspaceCaptor.capture(), any());
       verifyNoMoreInteractions(bridgeService);
 
@@ -630,21 +633,133 @@ class SchemaManagerTest extends BridgeTest {
 
       // asert auth request
       assertThat(schemaReadsCaptor.getAllValues())
-          .hasSize(2)
-          .allSatisfy(
-              captured ->
-                  assertThat(captured)
-                      .extracting(Schema.AuthorizeSchemaReadsRequest::getSchemaReadsList)
+          .singleElement()
+          .extracting(Schema.AuthorizeSchemaReadsRequest::getSchemaReadsList)
+          .satisfies(
+              reads ->
+                  assertThat(reads)
+                      .singleElement()
                       .satisfies(
-                          reads ->
-                              assertThat(reads)
-                                  .singleElement()
-                                  .satisfies(
-                                      read -> {
-                                        assertThat(read.getKeyspaceName()).isEqualTo(keyspace);
-                                        assertThat(read.getElementType())
-                                            .isEqualTo(Schema.SchemaRead.ElementType.KEYSPACE);
-                                      })));
+                          read -> {
+                            assertThat(read.getKeyspaceName()).isEqualTo(keyspace);
+                            assertThat(read.getElementType())
+                                .isEqualTo(Schema.SchemaRead.ElementType.KEYSPACE);
+                          }));
+    }
+
+    @Test
+    public void authorizationCachedPerToken() {
+      String keyspace = RandomStringUtils.randomAlphanumeric(16);
+      String token1 = RandomStringUtils.randomAlphanumeric(16);
+      String token2 = RandomStringUtils.randomAlphanumeric(16);
+      Schema.CqlKeyspace value = Schema.CqlKeyspace.newBuilder().setName(keyspace).build();
+      Schema.CqlKeyspaceDescribe response =
+          Schema.CqlKeyspaceDescribe.newBuilder().setCqlKeyspace(value).build();
+
+      doAnswer(
+              invocationOnMock -> {
+                StreamObserver<Schema.AuthorizeSchemaReadsResponse> observer =
+                    invocationOnMock.getArgument(1);
+                // only first token is authorized
+                boolean authorized =
+                    requestInfo.getCassandraToken().map(token1::equals).orElse(false);
+                observer.onNext(
+                    Schema.AuthorizeSchemaReadsResponse.newBuilder()
+                        .addAuthorized(authorized)
+                        .build());
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .authorizeSchemaReads(any(), any());
+
+      doAnswer(
+              invocationOnMock -> {
+                StreamObserver<Schema.CqlKeyspaceDescribe> observer =
+                    invocationOnMock.getArgument(1);
+                observer.onNext(response);
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .describeKeyspace(any(), any());
+
+      when(requestInfo.getCassandraToken()).thenReturn(Optional.of(token1));
+      for (int i = 0; i < 2; i++) {
+        schemaManager
+            .getKeyspaceAuthorized(keyspace, false)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitItem()
+            .assertItem(response)
+            .assertCompleted();
+      }
+
+      when(requestInfo.getCassandraToken()).thenReturn(Optional.of(token2));
+      for (int i = 0; i < 2; i++) {
+        schemaManager
+            .getKeyspaceAuthorized(keyspace, false)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitFailure()
+            .assertFailedWith(UnauthorizedKeyspaceException.class);
+      }
+
+      // one authorization per token
+      verify(bridgeService, times(2)).authorizeSchemaReads(any(), any());
+      verify(bridgeService).describeKeyspace(any(), any());
+      verifyNoMoreInteractions(bridgeService);
+    }
+
+    @Test
+    public void concurrentAuthorizationsCoalesced() {
+      String keyspace = RandomStringUtils.randomAlphanumeric(16);
+      Schema.CqlKeyspace value = Schema.CqlKeyspace.newBuilder().setName(keyspace).build();
+      Schema.CqlKeyspaceDescribe response =
+          Schema.CqlKeyspaceDescribe.newBuilder().setCqlKeyspace(value).build();
+      AtomicReference<StreamObserver<Schema.AuthorizeSchemaReadsResponse>> pending =
+          new AtomicReference<>();
+
+      // keep the authorization pending until both requests are made
+      doAnswer(
+              invocationOnMock -> {
+                pending.set(invocationOnMock.getArgument(1));
+                return null;
+              })
+          .when(bridgeService)
+          .authorizeSchemaReads(any(), any());
+
+      doAnswer(
+              invocationOnMock -> {
+                StreamObserver<Schema.CqlKeyspaceDescribe> observer =
+                    invocationOnMock.getArgument(1);
+                observer.onNext(response);
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .describeKeyspace(any(), any());
+
+      UniAssertSubscriber<Schema.CqlKeyspaceDescribe> result1 =
+          schemaManager
+              .getKeyspaceAuthorized(keyspace, false)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create());
+      UniAssertSubscriber<Schema.CqlKeyspaceDescribe> result2 =
+          schemaManager
+              .getKeyspaceAuthorized(keyspace, false)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create());
+
+      await().until(() -> pending.get() != null);
+      pending
+          .get()
+          .onNext(Schema.AuthorizeSchemaReadsResponse.newBuilder().addAuthorized(true).build());
+      pending.get().onCompleted();
+
+      result1.awaitItem().assertItem(response).assertCompleted();
+      result2.awaitItem().assertItem(response).assertCompleted();
+      verify(bridgeService).authorizeSchemaReads(any(), any());
     }
 
     @Test
@@ -1004,6 +1119,83 @@ class SchemaManagerTest extends BridgeTest {
                                 .isEqualTo(Schema.SchemaRead.ElementType.KEYSPACE);
                           }));
     }
+
+    @Test
+    public void concurrentAuthorizationsCoalesced() {
+      String keyspace1 = RandomStringUtils.randomAlphanumeric(16);
+      String keyspace2 = RandomStringUtils.randomAlphanumeric(16);
+      QueryOuterClass.ResultSet.Builder resultSet =
+          QueryOuterClass.ResultSet.newBuilder()
+              .addRows(QueryOuterClass.Row.newBuilder().addValues(Values.of(keyspace1)).build())
+              .addRows(QueryOuterClass.Row.newBuilder().addValues(Values.of(keyspace2)).build());
+      QueryOuterClass.Response queryResponse =
+          QueryOuterClass.Response.newBuilder().setResultSet(resultSet).build();
+      AtomicReference<StreamObserver<Schema.AuthorizeSchemaReadsResponse>> pending =
+          new AtomicReference<>();
+
+      doAnswer(
+              invocationOnMock -> {
+                Schema.DescribeKeyspaceQuery query = invocationOnMock.getArgument(0);
+                Schema.CqlKeyspace value =
+                    Schema.CqlKeyspace.newBuilder().setName(query.getKeyspaceName()).build();
+                StreamObserver<Schema.CqlKeyspaceDescribe> observer =
+                    invocationOnMock.getArgument(1);
+                observer.onNext(
+                    Schema.CqlKeyspaceDescribe.newBuilder().setCqlKeyspace(value).build());
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .describeKeyspace(any(), any());
+
+      // keep the authorization pending until both requests are made
+      doAnswer(
+              invocationOnMock -> {
+                pending.set(invocationOnMock.getArgument(1));
+                return null;
+              })
+          .when(bridgeService)
+          .authorizeSchemaReads(any(), any());
+
+      doAnswer(
+              invocationOnMock -> {
+                StreamObserver<QueryOuterClass.Response> observer = invocationOnMock.getArgument(1);
+                observer.onNext(queryResponse);
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .executeQuery(any(), any());
+
+      AssertSubscriber<Schema.CqlKeyspaceDescribe> result1 =
+          schemaManager
+              .getKeyspacesAuthorized()
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(2));
+      await().until(() -> pending.get() != null);
+      AssertSubscriber<Schema.CqlKeyspaceDescribe> result2 =
+          schemaManager
+              .getKeyspacesAuthorized()
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(2));
+
+      pending
+          .get()
+          .onNext(
+              Schema.AuthorizeSchemaReadsResponse.newBuilder()
+                  .addAllAuthorized(Arrays.asList(true, false))
+                  .build());
+      pending.get().onCompleted();
+
+      for (AssertSubscriber<Schema.CqlKeyspaceDescribe> result : Arrays.asList(result1, result2)) {
+        assertThat(result.awaitCompletion().getItems())
+            .singleElement()
+            .satisfies(k -> assertThat(k.getCqlKeyspace().getName()).isEqualTo(keyspace1));
+      }
+
+      // the second request waits for the reads of the first one
+      verify(bridgeService).authorizeSchemaReads(any(), any());
+    }
   }
 
   @Nested
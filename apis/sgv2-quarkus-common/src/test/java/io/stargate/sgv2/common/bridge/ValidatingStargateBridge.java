@@ -20,6 +20,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
+import io.grpc.Status;
+import io.grpc.protobuf.StatusProto;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
@@ -113,6 +116,38 @@ public class ValidatingStargateBridge implements StargateBridge {
     throw new UnsupportedOperationException("Not implemented by this mock");
   }
 
+  @Override
+  public Multi<Schema.KeyspaceChange> getKeyspaceChanges(Schema.KeyspaceChangesRequest request) {
+    throw new UnsupportedOperationException("Not implemented by this mock");
+  }
+
+  @Override
+  public Multi<QueryOuterClass.IndexedResponse> executeQueries(QueryOuterClass.Queries request) {
+    // Simulate the bridge: each query is executed as by executeQuery(), and its failure is
+    // reported as the status of the query
+    return Multi.createFrom()
+        .range(0, request.getQueriesCount())
+        .onItem()
+        .transformToUniAndConcatenate(
+            index ->
+                executeQuery(request.getQueries(index))
+                    .map(
+                        response ->
+                            QueryOuterClass.IndexedResponse.newBuilder()
+                                .setIndex(index)
+                                .setResponse(response)
+                                .build())
+                    .onFailure()
+                    .recoverWithItem(
+                        failure ->
+                            QueryOuterClass.IndexedResponse.newBuilder()
+                                .setIndex(index)
+                                .setStatus(
+                                    StatusProto.fromStatusAndTrailers(
+                                        Status.fromThrowable(failure), null))
+                                .build()));
+  }
+
   private QueryExpectation add(QueryExpectation expectation) {
     expectedQueries.add(expectation);
     return expectation;
@@ -1,8 +1,11 @@
 package io.stargate.sgv2.restapi.grpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.bridge.proto.QueryOuterClass;
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +54,26 @@ public class FromProtoConverter {
     return result;
   }
 
+  /**
+   * Method called to check that Bridge Protobuf values can be converted: fails the same way as
+   * {@link #mapFromProtoValues} but does not keep the converted values. Used to report conversion
+   * problems before the values are written with {@link #writeProtoValues}, once the response may
+   * already be committed.
+   */
+  public void validateProtoValues(List<QueryOuterClass.Value> values) {
+    for (int i = 0, end = values.size(); i < end; ++i) {
+      try {
+        codecs[i].fromProtoValue(values.get(i));
+      } catch (Exception e) {
+        throw new IllegalStateException(
+            String.format(
+                "Internal error: failed to convert value of column #%d/#%d ('%s'), problem: %s",
+                i + 1, end, columnNames[i], e.getMessage()),
+            e);
+      }
+    }
+  }
+
   /**
    * Method called to convert Bridge Protobuf values into {@link ObjectNode}s: node values are
    * easier to manipulate than "simple" Java {@code java.lang.Object} values, and also as
@@ -71,4 +94,30 @@ public class FromProtoConverter {
     }
     return result;
   }
+
+  /**
+   * Method called to write Bridge Protobuf values as a JSON Object directly, with the same output
+   * as serializing the {@link Map} returned by {@link #mapFromProtoValues} but without constructing
+   * it.
+   */
+  public void writeProtoValues(
+      List<QueryOuterClass.Value> values, JsonGenerator g, SerializerProvider provider)
+      throws IOException {
+    g.writeStartObject(values);
+    for (int i = 0, end = values.size(); i < end; ++i) {
+      g.writeFieldName(columnNames[i]);
+      try {
+        codecs[i].writeJson(values.get(i), g, provider);
+      } catch (IOException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IllegalStateException(
+            String.format(
+                "Internal error: failed to convert value of column #%d/#%d ('%s'), problem: %s",
+                i + 1, end, columnNames[i], e.getMessage()),
+            e);
+      }
+    }
+    g.writeEndObject();
+  }
 }
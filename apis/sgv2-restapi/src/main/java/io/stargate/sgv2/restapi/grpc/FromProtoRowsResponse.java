@@ -0,0 +1,64 @@
+package io.stargate.sgv2.restapi.grpc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Response entity for rows read from the "Bridge" Stargate Protobuf result, which serializes the
+ * rows as JSON straight from the Protobuf values using {@link FromProtoConverter}, without building
+ * the intermediate {@code Map} per row.
+ *
+ * <p>Output is the same as serializing either the list of row {@code Map}s (if {@code raw}) or the
+ * {@link Sgv2RowsResponse} wrapping it.
+ */
+public class FromProtoRowsResponse implements JsonSerializable {
+  private final FromProtoConverter converter;
+  private final List<QueryOuterClass.Row> rows;
+  private final String pageState;
+  private final boolean raw;
+
+  public FromProtoRowsResponse(
+      FromProtoConverter converter, List<QueryOuterClass.Row> rows, String pageState, boolean raw) {
+    this.converter = converter;
+    this.rows = rows;
+    this.pageState = pageState;
+    this.raw = raw;
+  }
+
+  @Override
+  public void serialize(JsonGenerator g, SerializerProvider provider) throws IOException {
+    if (raw) {
+      writeRows(g, provider);
+      return;
+    }
+    // same properties, and inclusion, as with Sgv2RowsResponse
+    g.writeStartObject(this);
+    g.writeNumberField("count", rows.size());
+    if (pageState != null) {
+      g.writeStringField("pageState", pageState);
+    }
+    g.writeFieldName("data");
+    writeRows(g, provider);
+    g.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(
+      JsonGenerator g, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+    serialize(g, provider);
+  }
+
+  private void writeRows(JsonGenerator g, SerializerProvider provider) throws IOException {
+    g.writeStartArray(rows, rows.size());
+    for (QueryOuterClass.Row row : rows) {
+      converter.writeProtoValues(row.getValuesList(), g, provider);
+    }
+    g.writeEndArray();
+  }
+}
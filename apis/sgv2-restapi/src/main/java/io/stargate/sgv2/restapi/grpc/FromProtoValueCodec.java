@@ -1,7 +1,10 @@
 package io.stargate.sgv2.restapi.grpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import io.stargate.bridge.proto.QueryOuterClass;
+import java.io.IOException;
 
 /**
  * Interface for low-level handles that convert a single column value defined in the "external"
@@ -12,4 +15,14 @@ public abstract class FromProtoValueCodec {
   public abstract Object fromProtoValue(QueryOuterClass.Value value);
 
   public abstract JsonNode jsonNodeFrom(QueryOuterClass.Value value);
+
+  /**
+   * Method called to write the value as JSON directly, without constructing the intermediate Java
+   * value where possible. Output must be identical to serializing the value returned by {@link
+   * #fromProtoValue}, which is what the default implementation does.
+   */
+  public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+      throws IOException {
+    provider.defaultSerializeValue(fromProtoValue(value), g);
+  }
 }
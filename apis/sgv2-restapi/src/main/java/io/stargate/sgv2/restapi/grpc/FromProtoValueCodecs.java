@@ -1,12 +1,15 @@
 package io.stargate.sgv2.restapi.grpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.sgv2.api.common.config.RequestParams;
+import java.io.IOException;
 import java.time.Instant;
 import java.util.*;
 
@@ -204,6 +207,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Values.string(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Values.string(value));
+      }
+    }
   }
 
   /* Basic/scalar codec implementations: numeric */
@@ -222,6 +235,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.int_(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.int_(value));
+      }
+    }
   }
 
   protected static final class LongCodec extends FromProtoValueCodec {
@@ -238,6 +261,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.bigint(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.bigint(value));
+      }
+    }
   }
 
   protected static final class FloatCodec extends FromProtoValueCodec {
@@ -254,6 +287,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.float_(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.float_(value));
+      }
+    }
   }
 
   protected static final class DoubleCodec extends FromProtoValueCodec {
@@ -270,6 +313,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.double_(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.double_(value));
+      }
+    }
   }
 
   protected static final class ShortCodec extends FromProtoValueCodec {
@@ -286,6 +339,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.smallint(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.smallint(value));
+      }
+    }
   }
 
   protected static final class VarintCodec extends FromProtoValueCodec {
@@ -302,6 +365,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.varint(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.varint(value));
+      }
+    }
   }
 
   protected static final class DecimalCodec extends FromProtoValueCodec {
@@ -318,6 +391,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.decimal(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.decimal(value));
+      }
+    }
   }
 
   protected static final class ByteCodec extends FromProtoValueCodec {
@@ -334,6 +417,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.tinyint(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.tinyint(value));
+      }
+    }
   }
 
   // NOTE! Should be able to just use `LongCodec` but SGv1 seems to expect JSON String as
@@ -352,6 +445,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(String.valueOf(Values.int_(value)));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(String.valueOf(Values.int_(value)));
+      }
+    }
   }
 
   /* Basic/scalar codec implementations: other */
@@ -370,6 +473,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.booleanNode(Values.bool(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeBoolean(Values.bool(value));
+      }
+    }
   }
 
   protected static final class UUIDCodec extends FromProtoValueCodec {
@@ -386,6 +499,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.pojoNode(Values.uuid(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Values.uuid(value).toString());
+      }
+    }
   }
 
   protected static final class TimestampCodec extends FromProtoValueCodec {
@@ -402,6 +525,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Instant.ofEpochMilli(value.getInt()).toString());
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Instant.ofEpochMilli(value.getInt()).toString());
+      }
+    }
   }
 
   protected static final class DateCodec extends FromProtoValueCodec {
@@ -455,6 +588,16 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Values.duration(value).toString());
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Values.duration(value).toString());
+      }
+    }
   }
 
   protected static final class InetCodec extends FromProtoValueCodec {
@@ -487,6 +630,17 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.binaryNode(Values.bytes(value));
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        byte[] bytes = Values.bytes(value);
+        g.writeBinary(provider.getConfig().getBase64Variant(), bytes, 0, bytes.length);
+      }
+    }
   }
 
   /*
@@ -553,6 +707,18 @@ public class FromProtoValueCodecs {
       }
       return result;
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      QueryOuterClass.Collection coll = value.getCollection();
+      final int len = coll.getElementsCount();
+      g.writeStartArray(coll, len);
+      for (int i = 0; i < len; ++i) {
+        elementCodec.writeJson(coll.getElements(i), g, provider);
+      }
+      g.writeEndArray();
+    }
   }
 
   protected static final class MapCodec extends FromProtoValueCodec {
@@ -613,6 +779,34 @@ public class FromProtoValueCodecs {
       }
     }
 
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      QueryOuterClass.Collection coll = value.getCollection();
+      int len = verifyMapLength(coll);
+      if (this.compactMapData) {
+        g.writeStartObject(coll);
+        for (int i = 0; i < len; i += 2) {
+          // keys are serialized same way as keys of the Map returned by fromProtoValue()
+          Object key = keyCodec.fromProtoValue(coll.getElements(i));
+          provider.findKeySerializer(key.getClass(), null).serialize(key, g, provider);
+          valueCodec.writeJson(coll.getElements(i + 1), g, provider);
+        }
+        g.writeEndObject();
+      } else {
+        g.writeStartArray(coll, len / 2);
+        for (int i = 0; i < len; i += 2) {
+          g.writeStartObject();
+          g.writeFieldName("key");
+          keyCodec.writeJson(coll.getElements(i), g, provider);
+          g.writeFieldName("value");
+          valueCodec.writeJson(coll.getElements(i + 1), g, provider);
+          g.writeEndObject();
+        }
+        g.writeEndArray();
+      }
+    }
+
     private int verifyMapLength(QueryOuterClass.Collection mapValue) {
       int len = mapValue.getElementsCount();
       if ((len & 1) != 0) {
@@ -658,6 +852,22 @@ public class FromProtoValueCodecs {
       return result;
     }
 
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      QueryOuterClass.Collection coll = value.getCollection();
+      final int len = verifyTupleLength(coll);
+      if (len == 0) {
+        g.writeNull();
+        return;
+      }
+      g.writeStartArray(coll, len);
+      for (int i = 0; i < len; ++i) {
+        elementCodecs.get(i).writeJson(coll.getElements(i), g, provider);
+      }
+      g.writeEndArray();
+    }
+
     private int verifyTupleLength(QueryOuterClass.Collection tupleValue) {
       int len = tupleValue.getElementsCount();
       if (len != elementCodecs.size()) {
@@ -720,5 +930,26 @@ public class FromProtoValueCodecs {
 
       return result;
     }
+
+    @Override
+    public void writeJson(QueryOuterClass.Value value, JsonGenerator g, SerializerProvider provider)
+        throws IOException {
+      QueryOuterClass.UdtValue coll = value.getUdt();
+      Map<String, QueryOuterClass.Value> encodedFields = coll.getFieldsMap();
+      g.writeStartObject(coll);
+
+      for (Map.Entry<String, QueryOuterClass.Value> entry : encodedFields.entrySet()) {
+        final String fieldName = entry.getKey();
+        FromProtoValueCodec codec = fieldCodecs.get(fieldName);
+        if (codec == null) {
+          throw new IllegalArgumentException(
+              String.format("UDT '%s' does not have field '%s'", udtName, fieldName));
+        }
+        g.writeFieldName(fieldName);
+        codec.writeJson(entry.getValue(), g, provider);
+      }
+
+      g.writeEndObject();
+    }
   }
 }
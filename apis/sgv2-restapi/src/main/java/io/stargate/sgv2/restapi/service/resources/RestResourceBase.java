@@ -19,14 +19,13 @@ import io.stargate.sgv2.api.common.schema.SchemaManager;
 import io.stargate.sgv2.restapi.config.RestApiConfig;
 import io.stargate.sgv2.restapi.grpc.BridgeProtoValueConverters;
 import io.stargate.sgv2.restapi.grpc.FromProtoConverter;
+import io.stargate.sgv2.restapi.grpc.FromProtoRowsResponse;
 import io.stargate.sgv2.restapi.grpc.ToProtoConverter;
 import io.stargate.sgv2.restapi.service.models.Sgv2NameResponse;
-import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -232,25 +231,18 @@ public abstract class RestResourceBase {
   public static RestResponse<Object> convertRowsToResponse(
       QueryOuterClass.Response grpcResponse, boolean raw, RequestParams requestParams) {
     final QueryOuterClass.ResultSet rs = grpcResponse.getResultSet();
-    final int count = rs.getRowsCount();
 
     String pageStateStr = extractPagingStateFromResultSet(rs);
-    List<Map<String, Object>> rows = convertRows(rs, requestParams);
-    Object response = raw ? rows : new Sgv2RowsResponse(count, pageStateStr, rows);
-    return RestResponse.ok(response);
-  }
-
-  protected static List<Map<String, Object>> convertRows(
-      QueryOuterClass.ResultSet rs, RequestParams requestParams) {
     FromProtoConverter converter =
         BridgeProtoValueConverters.instance()
             .fromProtoConverter(rs.getColumnsList(), requestParams);
-    List<Map<String, Object>> resultRows = new ArrayList<>();
+    // conversion problems fail the request here, as the response is committed once writing starts
     List<QueryOuterClass.Row> rows = rs.getRowsList();
     for (QueryOuterClass.Row row : rows) {
-      resultRows.add(converter.mapFromProtoValues(row.getValuesList()));
+      converter.validateProtoValues(row.getValuesList());
     }
-    return resultRows;
+    // rows are written as JSON straight from the proto values, no need to keep them converted
+    return RestResponse.ok(new FromProtoRowsResponse(converter, rows, pageStateStr, raw));
   }
 
   protected static ArrayNode convertRowsToArrayNode(
@@ -3,10 +3,12 @@ package io.stargate.sgv2.restapi.grpc;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.stargate.bridge.grpc.CqlDuration;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.sgv2.api.common.config.ImmutableRequestParams;
+import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
 import java.util.*;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,8 @@ public class FromProtoConverterTest {
 
   private static final FromProtoValueCodecs FROM_PROTO_VALUE_CODECS = new FromProtoValueCodecs();
 
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
   private static Arguments[] fromExternalSamples() {
     return new Arguments[] {
       arguments(123, basicType(QueryOuterClass.TypeSpec.Basic.INT), Values.of(123)),
@@ -161,6 +165,55 @@ public class FromProtoConverterTest {
     assertThat(result.get(TEST_COLUMN)).isEqualTo(externalValue);
   }
 
+  @ParameterizedTest
+  @MethodSource("fromExternalSamples")
+  @DisplayName("Should write Bridge/gRPC value as JSON same as its external representation")
+  public void writeBridgeValueAsJsonTest(
+      Object externalValue, QueryOuterClass.TypeSpec typeSpec, QueryOuterClass.Value bridgeValue)
+      throws Exception {
+    FromProtoConverter conv = createConverter(typeSpec, false);
+
+    assertWrittenSameAsMaps(conv, Arrays.asList(bridgeValue));
+  }
+
+  @ParameterizedTest
+  @MethodSource("fromExternalMapSamples")
+  @DisplayName("Should write Bridge/gRPC value as JSON same as its external representation")
+  public void writeBridgeValueAsJsonTest(
+      boolean compactMapData,
+      Object externalValue,
+      QueryOuterClass.TypeSpec typeSpec,
+      QueryOuterClass.Value bridgeValue)
+      throws Exception {
+    FromProtoConverter conv = createConverter(typeSpec, compactMapData);
+
+    assertWrittenSameAsMaps(conv, Arrays.asList(bridgeValue));
+  }
+
+  @Test
+  public void writeRowsResponseAsJsonTest() throws Exception {
+    FromProtoConverter conv =
+        createConverter(basicType(QueryOuterClass.TypeSpec.Basic.VARCHAR), false);
+    List<QueryOuterClass.Row> rows =
+        Arrays.asList(
+            QueryOuterClass.Row.newBuilder().addValues(Values.of("a")).build(),
+            QueryOuterClass.Row.newBuilder().addValues(Values.NULL).build());
+
+    assertThat(JSON_MAPPER.writeValueAsString(new FromProtoRowsResponse(conv, rows, null, true)))
+        .isEqualTo("[{\"test_column\":\"a\"},{\"test_column\":null}]");
+    assertThat(JSON_MAPPER.writeValueAsString(new FromProtoRowsResponse(conv, rows, null, false)))
+        .isEqualTo("{\"count\":2,\"data\":[{\"test_column\":\"a\"},{\"test_column\":null}]}");
+    assertThat(JSON_MAPPER.writeValueAsString(new FromProtoRowsResponse(conv, rows, "ps", false)))
+        .isEqualTo(
+            JSON_MAPPER.writeValueAsString(
+                new Sgv2RowsResponse(
+                    2,
+                    "ps",
+                    Arrays.asList(
+                        conv.mapFromProtoValues(rows.get(0).getValuesList()),
+                        conv.mapFromProtoValues(rows.get(1).getValuesList())))));
+  }
+
   // For [stargate#2246]: handle conversion for "missing" Tuple value
   @Test
   public void emptyOrMissingTupleToNullTest() {
@@ -186,6 +239,18 @@ public class FromProtoConverterTest {
   ///////////////////////////////////////////////////////////////////////
    */
 
+  private static void assertWrittenSameAsMaps(
+      FromProtoConverter conv, List<QueryOuterClass.Value> values) throws Exception {
+    List<QueryOuterClass.Row> rows =
+        Arrays.asList(QueryOuterClass.Row.newBuilder().addAllValues(values).build());
+
+    String expected =
+        JSON_MAPPER.writeValueAsString(Arrays.asList(conv.mapFromProtoValues(values)));
+    String actual =
+        JSON_MAPPER.writeValueAsString(new FromProtoRowsResponse(conv, rows, null, true));
+    assertThat(actual).isEqualTo(expected);
+  }
+
   private static Set<Object> setOf(Object... values) {
     LinkedHashSet<Object> set = new LinkedHashSet<>();
     set.addAll(Arrays.asList(values));
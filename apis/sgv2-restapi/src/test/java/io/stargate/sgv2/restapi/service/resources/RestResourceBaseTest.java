@@ -0,0 +1,57 @@
+package io.stargate.sgv2.restapi.service.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.config.ImmutableRequestParams;
+import io.stargate.sgv2.api.common.config.RequestParams;
+import org.jboss.resteasy.reactive.RestResponse;
+import org.junit.jupiter.api.Test;
+
+public class RestResourceBaseTest {
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+  private static final RequestParams REQUEST_PARAMS =
+      ImmutableRequestParams.builder().compactMapData(false).build();
+
+  @Test
+  public void convertRowsToResponse() throws Exception {
+    QueryOuterClass.Response response = response(Values.of(1), Values.of(2));
+
+    RestResponse<Object> restResponse =
+        RestResourceBase.convertRowsToResponse(response, true, REQUEST_PARAMS);
+
+    assertThat(restResponse.getStatus()).isEqualTo(200);
+    assertThat(JSON_MAPPER.writeValueAsString(restResponse.getEntity()))
+        .isEqualTo("[{\"id\":1},{\"id\":2}]");
+  }
+
+  // Rows are only written once the response is committed, so invalid values must fail the
+  // conversion before, for the error to be reported as such
+  @Test
+  public void convertRowsToResponseFailsBeforeWriting() {
+    QueryOuterClass.Response response = response(Values.of(1), Values.of("not an int"));
+
+    assertThatThrownBy(() -> RestResourceBase.convertRowsToResponse(response, true, REQUEST_PARAMS))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("failed to convert value of column #1/#1 ('id')");
+  }
+
+  private static QueryOuterClass.Response response(QueryOuterClass.Value... values) {
+    QueryOuterClass.ResultSet.Builder resultSet =
+        QueryOuterClass.ResultSet.newBuilder()
+            .addColumns(
+                QueryOuterClass.ColumnSpec.newBuilder()
+                    .setName("id")
+                    .setType(
+                        QueryOuterClass.TypeSpec.newBuilder()
+                            .setBasic(QueryOuterClass.TypeSpec.Basic.INT)));
+    for (QueryOuterClass.Value value : values) {
+      resultSet.addRows(QueryOuterClass.Row.newBuilder().addValues(value));
+    }
+    return QueryOuterClass.Response.newBuilder().setResultSet(resultSet).build();
+  }
+}
@@ -25,12 +25,15 @@ import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthorizationService;
+import io.stargate.core.metrics.api.Metrics;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Hashtable;
 import net.jcip.annotations.GuardedBy;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.util.tracker.ServiceTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +56,9 @@ public class AuthJWTServiceActivator implements BundleActivator {
   @GuardedBy("this")
   private AuthzJwtService authzJwtService;
 
+  @GuardedBy("this")
+  private ServiceTracker<Metrics, Metrics> metricsTracker;
+
   @Override
   public synchronized void start(BundleContext context) {
     if (AUTH_JWT_IDENTIFIER.equals(System.getProperty("stargate.auth_id"))) {
@@ -81,14 +87,44 @@ public class AuthJWTServiceActivator implements BundleActivator {
           new JWSVerificationKeySelector<>(expectedJWSAlg, keySource);
       jwtProcessor.setJWSKeySelector(keySelector);
 
-      authnJwtService = new AuthnJwtService(jwtProcessor);
+      // Shared, so that authorization reuses the claims parsed by authentication
+      VerifiedClaimsCache claimsCache =
+          VerifiedClaimsCache.MAX_SIZE > 0 ? new VerifiedClaimsCache() : null;
+      if (claimsCache != null) {
+        metricsTracker = monitor(context, claimsCache);
+      }
+
+      authnJwtService = new AuthnJwtService(jwtProcessor, claimsCache);
       context.registerService(AuthenticationService.class.getName(), authnJwtService, props);
 
-      authzJwtService = new AuthzJwtService();
+      authzJwtService = new AuthzJwtService(claimsCache);
       context.registerService(AuthorizationService.class.getName(), authzJwtService, props);
     }
   }
 
+  // The services don't wait for the metrics: the cache is monitored once the core bundle registers
+  // them.
+  private static ServiceTracker<Metrics, Metrics> monitor(
+      BundleContext context, VerifiedClaimsCache claimsCache) {
+    ServiceTracker<Metrics, Metrics> tracker =
+        new ServiceTracker<Metrics, Metrics>(context, Metrics.class, null) {
+          @Override
+          public Metrics addingService(ServiceReference<Metrics> reference) {
+            Metrics metrics = super.addingService(reference);
+            if (metrics != null) {
+              claimsCache.monitor(metrics.getMeterRegistry());
+            }
+            return metrics;
+          }
+        };
+    tracker.open();
+    return tracker;
+  }
+
   @Override
-  public void stop(BundleContext context) {}
+  public synchronized void stop(BundleContext context) {
+    if (metricsTracker != null) {
+      metricsTracker.close();
+    }
+  }
 }
@@ -23,10 +23,14 @@ import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
+import io.stargate.auth.jwt.VerifiedClaimsCache.VerifiedClaims;
 import io.stargate.db.Authenticator.SaslNegotiator;
 import io.stargate.db.ClientInfo;
 import java.text.ParseException;
+import java.util.Date;
 import java.util.Map;
+import javax.annotation.Nullable;
+import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,9 +43,21 @@ public class AuthnJwtService implements AuthenticationService {
   protected static final String CLAIMS_FIELD = "stargate_claims";
 
   private final ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor;
+  @Nullable private final VerifiedClaimsCache claimsCache;
 
   public AuthnJwtService(ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor) {
+    this(jwtProcessor, null);
+  }
+
+  /**
+   * @param claimsCache the cache of the tokens that were already verified, or null to verify every
+   *     token.
+   */
+  AuthnJwtService(
+      ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor,
+      @Nullable VerifiedClaimsCache claimsCache) {
     this.jwtProcessor = jwtProcessor;
+    this.claimsCache = claimsCache;
   }
 
   @Override
@@ -72,10 +88,23 @@ public class AuthnJwtService implements AuthenticationService {
       throw new UnauthorizedException("authorization failed - missing token");
     }
 
+    VerifiedClaims claims = claimsCache == null ? null : claimsCache.get(token);
+    if (claims == null) {
+      claims = verify(token);
+      if (claimsCache != null) {
+        claimsCache.put(token, claims);
+      }
+    }
+    return AuthenticationSubject.of(token, claims.roleName);
+  }
+
+  private VerifiedClaims verify(String token) throws UnauthorizedException {
     JWTClaimsSet claimsSet = validate(token);
+    Map<String, Object> stargateClaims;
     String roleName;
     try {
-      roleName = getRoleForJWT(claimsSet.getJSONObjectClaim(CLAIMS_FIELD));
+      stargateClaims = claimsSet.getJSONObjectClaim(CLAIMS_FIELD);
+      roleName = getRoleForJWT(stargateClaims);
     } catch (IllegalArgumentException | ParseException e) {
       logger.info(
           "Failed to parse claim from JWT ({}): {}", e.getClass().getName(), e.getMessage());
@@ -86,7 +115,11 @@ public class AuthnJwtService implements AuthenticationService {
       throw new UnauthorizedException("JWT must have a value for " + ROLE_FIELD);
     }
 
-    return AuthenticationSubject.of(token, roleName);
+    Date expiration = claimsSet.getExpirationTime();
+    return new VerifiedClaims(
+        roleName,
+        new JSONObject(stargateClaims),
+        expiration == null ? Long.MAX_VALUE : expiration.getTime());
   }
 
   @Override
@@ -34,6 +34,7 @@ import java.util.Base64;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -43,6 +44,20 @@ public class AuthzJwtService implements AuthorizationService {
 
   private static final Logger log = LoggerFactory.getLogger(AuthzJwtService.class);
   private final Pattern tokenPattern = Pattern.compile("\\.");
+  @Nullable private final VerifiedClaimsCache claimsCache;
+
+  public AuthzJwtService() {
+    this(null);
+  }
+
+  /**
+   * @param claimsCache the cache of the tokens verified by the {@link AuthnJwtService}, which
+   *     provides their claims already parsed. If null, the claims are parsed from the token on
+   *     every call.
+   */
+  AuthzJwtService(@Nullable VerifiedClaimsCache claimsCache) {
+    this.claimsCache = claimsCache;
+  }
 
   /**
    * Using the provided JWT and the claims it contains will perform pre-authorization where
@@ -61,7 +76,7 @@ public class AuthzJwtService implements AuthorizationService {
           sourceAPI) // this isn’t supported but if you want to use it you’ll need something other
       // than a JWT
       throws Exception {
-    JSONObject stargateClaims = extractClaimsFromJWT(authenticationSubject.token());
+    JSONObject stargateClaims = getStargateClaims(authenticationSubject.token());
 
     preCheckDataReadWrite(stargateClaims, typedKeyValues);
 
@@ -143,7 +158,7 @@ public class AuthzJwtService implements AuthorizationService {
       Scope scope,
       SourceAPI sourceAPI)
       throws UnauthorizedException {
-    JSONObject stargateClaims = extractClaimsFromJWT(authenticationSubject.token());
+    JSONObject stargateClaims = getStargateClaims(authenticationSubject.token());
 
     preCheckDataReadWrite(stargateClaims, typedKeyValues);
 
@@ -258,6 +273,11 @@ public class AuthzJwtService implements AuthorizationService {
     // Cannot perform authorization with a JWT token so just return
   }
 
+  private JSONObject getStargateClaims(String token) throws JSONException {
+    JSONObject claims = claimsCache == null ? null : claimsCache.getStargateClaims(token);
+    return claims == null ? extractClaimsFromJWT(token) : claims;
+  }
+
   private JSONObject extractClaimsFromJWT(String token) throws JSONException {
     // Grab the custom claims from the JWT. It's safe to work with the JWT as a plain Base64 encoded
     // json object here since by this point we've already authenticated the request.
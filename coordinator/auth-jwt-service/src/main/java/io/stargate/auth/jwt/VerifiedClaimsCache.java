@@ -0,0 +1,146 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.json.JSONObject;
+
+/**
+ * Caches the claims of the JWTs that were successfully verified, keyed by the SHA-256 digest of the
+ * token.
+ *
+ * <p>Verifying a JWT checks its signature, which dominates the cost of authenticating requests when
+ * clients reuse long-lived tokens. An entry expires with its token (the {@code exp} claim), or
+ * after {@code stargate.auth.jwt_claims_cache_ttl_seconds} if that comes first, so a token is never
+ * accepted for longer than a fresh verification would accept it.
+ */
+class VerifiedClaimsCache {
+
+  static final int MAX_SIZE = Integer.getInteger("stargate.auth.jwt_claims_cache_max_size", 10_000);
+  private static final long TTL_SECONDS =
+      Long.getLong("stargate.auth.jwt_claims_cache_ttl_seconds", 300);
+
+  private final Cache<String, VerifiedClaims> cache;
+
+  VerifiedClaimsCache() {
+    this(MAX_SIZE, TimeUnit.SECONDS.toNanos(TTL_SECONDS));
+  }
+
+  VerifiedClaimsCache(int maxSize, long ttlNanos) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new UntilTokenExpiration(ttlNanos))
+            .recordStats()
+            .build();
+  }
+
+  /** Reports the size and the hits and misses of the cache to the given registry. */
+  void monitor(MeterRegistry meterRegistry) {
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.jwt.claims.cache");
+  }
+
+  /** Returns the claims of the token if it was verified and hasn't expired since. */
+  @Nullable
+  VerifiedClaims get(String token) {
+    VerifiedClaims claims = cache.getIfPresent(digest(token));
+    return claims == null || claims.isExpired() ? null : claims;
+  }
+
+  /**
+   * Returns the {@code stargate_claims} of the token if it was verified and hasn't expired since.
+   * Unlike {@link #get(String)}, this is not recorded in the cache statistics: it is used by
+   * authorization, for tokens that were just authenticated.
+   */
+  @Nullable
+  JSONObject getStargateClaims(String token) {
+    VerifiedClaims claims = cache.asMap().get(digest(token));
+    return claims == null || claims.isExpired() ? null : claims.stargateClaims;
+  }
+
+  void put(String token, VerifiedClaims claims) {
+    if (!claims.isExpired()) {
+      cache.put(digest(token), claims);
+    }
+  }
+
+  private static String digest(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return Base64.getEncoder()
+          .encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // Every JVM is required to support SHA-256
+      throw new AssertionError(e);
+    }
+  }
+
+  /** The claims of a verified token. */
+  static class VerifiedClaims {
+    final String roleName;
+    final JSONObject stargateClaims;
+    // In milliseconds since the epoch, Long.MAX_VALUE if the token doesn't expire
+    final long expirationMillis;
+
+    VerifiedClaims(String roleName, JSONObject stargateClaims, long expirationMillis) {
+      this.roleName = roleName;
+      this.stargateClaims = stargateClaims;
+      this.expirationMillis = expirationMillis;
+    }
+
+    boolean isExpired() {
+      return System.currentTimeMillis() >= expirationMillis;
+    }
+  }
+
+  private static class UntilTokenExpiration implements Expiry<String, VerifiedClaims> {
+    private final long ttlNanos;
+
+    UntilTokenExpiration(long ttlNanos) {
+      this.ttlNanos = ttlNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(String key, VerifiedClaims claims, long currentTime) {
+      long remainingMillis = claims.expirationMillis - System.currentTimeMillis();
+      return remainingMillis >= TimeUnit.NANOSECONDS.toMillis(ttlNanos)
+          ? ttlNanos
+          : TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, claims, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
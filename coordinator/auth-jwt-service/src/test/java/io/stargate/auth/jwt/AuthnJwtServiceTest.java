@@ -18,6 +18,8 @@ package io.stargate.auth.jwt;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.nimbusds.jose.JOSEException;
@@ -31,6 +33,7 @@ import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
 import java.security.SecureRandom;
@@ -39,6 +42,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.junit.jupiter.api.BeforeEach;
@@ -205,4 +209,74 @@ public class AuthnJwtServiceTest {
             () -> liveAuthnJwtService.validateToken(jwt.serialize(), EMPTY_HEADERS));
     assertThat(ex).hasMessage("Invalid JWT: Expired JWT");
   }
+
+  @Test
+  public void validateTokenFromCache() throws Exception {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    VerifiedClaimsCache claimsCache = new VerifiedClaimsCache();
+    claimsCache.monitor(meterRegistry);
+    AuthnJwtService service = new AuthnJwtService(jwtProcessorMocked, claimsCache);
+    when(jwtProcessorMocked.process("token", null))
+        .thenReturn(claimsWithRole("user", new Date(System.currentTimeMillis() + 60_000)));
+
+    assertThat(service.validateToken("token", EMPTY_HEADERS).roleName()).isEqualTo("user");
+    assertThat(service.validateToken("token", EMPTY_HEADERS).roleName()).isEqualTo("user");
+
+    verify(jwtProcessorMocked, times(1)).process("token", null);
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", "auth.jwt.claims.cache")
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", "auth.jwt.claims.cache")
+                .tag("result", "miss")
+                .functionCounter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void validateTokenAgainAfterExpiration() throws Exception {
+    AuthnJwtService service =
+        new AuthnJwtService(
+            jwtProcessorMocked, new VerifiedClaimsCache(100, TimeUnit.MINUTES.toNanos(5)));
+    when(jwtProcessorMocked.process("token", null))
+        .thenReturn(claimsWithRole("user", new Date(System.currentTimeMillis() + 200)));
+
+    service.validateToken("token", EMPTY_HEADERS);
+    service.validateToken("token", EMPTY_HEADERS);
+    verify(jwtProcessorMocked, times(1)).process("token", null);
+
+    TimeUnit.MILLISECONDS.sleep(300);
+    service.validateToken("token", EMPTY_HEADERS);
+    verify(jwtProcessorMocked, times(2)).process("token", null);
+  }
+
+  @Test
+  public void validateTokenNotCachedWhenInvalid() throws Exception {
+    AuthnJwtService service =
+        new AuthnJwtService(
+            jwtProcessorMocked, new VerifiedClaimsCache(100, TimeUnit.MINUTES.toNanos(5)));
+    when(jwtProcessorMocked.process("token", null))
+        .thenThrow(new BadJOSEException("The provided JWT is bad"));
+
+    assertThrows(UnauthorizedException.class, () -> service.validateToken("token", EMPTY_HEADERS));
+    assertThrows(UnauthorizedException.class, () -> service.validateToken("token", EMPTY_HEADERS));
+    verify(jwtProcessorMocked, times(2)).process("token", null);
+  }
+
+  private static JWTClaimsSet claimsWithRole(String role, Date expiration) {
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-role", role);
+    return new JWTClaimsSet.Builder()
+        .claim("stargate_claims", stargate_claims)
+        .expirationTime(expiration)
+        .build();
+  }
 }
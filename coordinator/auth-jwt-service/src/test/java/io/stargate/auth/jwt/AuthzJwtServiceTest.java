@@ -31,6 +31,7 @@ import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import io.stargate.auth.AuthenticationSubject;
+import io.stargate.auth.Scope;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.TypedKeyValue;
 import io.stargate.auth.UnauthorizedException;
@@ -49,6 +50,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.json.JSONException;
@@ -186,6 +188,33 @@ public class AuthzJwtServiceTest {
     assertThat(ex).hasMessage("Not allowed to access this resource");
   }
 
+  @Test
+  public void authorizeDataWriteWithCachedClaims() {
+    VerifiedClaimsCache claimsCache = new VerifiedClaimsCache(100, TimeUnit.MINUTES.toNanos(5));
+    AuthzJwtService service = new AuthzJwtService(claimsCache);
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-role", "web-user");
+    stargate_claims.put("x-stargate-userid", "456");
+    // Not a JWT: the claims can only come from the cache
+    claimsCache.put(
+        "opaque-token",
+        new VerifiedClaimsCache.VerifiedClaims(
+            "web-user", new JSONObject(stargate_claims), Long.MAX_VALUE));
+
+    UnauthorizedException ex =
+        assertThrows(
+            UnauthorizedException.class,
+            () ->
+                service.authorizeDataWrite(
+                    AuthenticationSubject.of("opaque-token", "web-user"),
+                    "keyspace",
+                    "table",
+                    Collections.singletonList(new TypedKeyValue("userid", Type.Text, "123")),
+                    Scope.MODIFY,
+                    SourceAPI.CQL));
+    assertThat(ex).hasMessage("Not allowed to access this resource");
+  }
+
   @Test
   public void executeDataReadWithAuthorizationNotAuthorizedResult() throws Exception {
     ResultSet resultSet = mock(ResultSet.class);
@@ -15,8 +15,9 @@
  */
 package io.stargate.auth.table;
 
-import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
@@ -34,7 +35,10 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
 import org.mindrot.jbcrypt.BCrypt;
 import org.slf4j.Logger;
@@ -57,14 +61,33 @@ public class AuthnTableBasedService implements AuthenticationService {
   private static final boolean shouldInitializeAuthKeyspace =
       Boolean.parseBoolean(System.getProperty("stargate.auth_tablebased_init", "true"));
 
-  private final Cache<String, AuthenticationSubject> tokenCache =
+  private final AsyncCache<String, AuthenticationSubject> tokenCache =
       Caffeine.newBuilder()
           .expireAfterWrite(Duration.ofSeconds(CACHE_TTL_SECONDS))
           .maximumSize(CACHE_MAX_SIZE)
-          .build();
+          .buildAsync();
+
+  private final PasswordChecker passwordChecker;
 
   private DataStore dataStore;
 
+  public AuthnTableBasedService() {
+    this(new PasswordChecker());
+  }
+
+  AuthnTableBasedService(PasswordChecker passwordChecker) {
+    this.passwordChecker = passwordChecker;
+  }
+
+  public void setMeterRegistry(MeterRegistry meterRegistry) {
+    passwordChecker.monitor(meterRegistry);
+  }
+
+  /** Stops the threads that check the passwords. */
+  public void close() {
+    passwordChecker.shutdown();
+  }
+
   public void setDataStoreFactory(DataStoreFactory dataStoreFactory) {
     this.dataStore = dataStoreFactory.createInternal();
 
@@ -108,43 +131,71 @@ public class AuthnTableBasedService implements AuthenticationService {
   @Override
   public String createToken(String key, String secret, Map<String, String> headers)
       throws UnauthorizedException {
-    UUID token = UUID.randomUUID();
-
-    String hash;
-    try {
-      hash = queryHashedPassword(key);
-    } catch (Exception e) {
-      throw new UnauthorizedException(e.getMessage());
-    }
-    if (hash == null || hash.isEmpty() || !checkpw(secret, hash)) {
-      throw new UnauthorizedException(
-          String.format("Provided username %s and/or password are incorrect", key));
-    }
-
-    saveToken(key, token);
+    return join(createTokenAsync(key, secret, headers));
+  }
 
-    return token.toString();
+  /**
+   * Asynchronous variant of {@link #createToken(String, String, Map)}. The password is checked on a
+   * dedicated pool (see {@link PasswordChecker}), never on the caller's thread.
+   *
+   * @return a stage that completes with the new token, or exceptionally with a {@link
+   *     CompletionException} wrapping an {@link UnauthorizedException} if the credentials are not
+   *     valid.
+   */
+  public CompletionStage<String> createTokenAsync(
+      String key, String secret, Map<String, String> headers) {
+    return queryHashedPassword(key)
+        .exceptionally(
+            t -> {
+              throw new CompletionException(new UnauthorizedException(unwrap(t).getMessage()));
+            })
+        .thenCompose(
+            hash ->
+                hash == null || hash.isEmpty()
+                    ? CompletableFuture.completedFuture(false)
+                    : passwordChecker.checkpw(secret, hash))
+        .thenCompose(
+            valid -> {
+              if (!valid) {
+                throw new CompletionException(
+                    new UnauthorizedException(
+                        String.format("Provided username %s and/or password are incorrect", key)));
+              }
+              return newToken(key);
+            });
   }
 
   @Override
   public String createToken(String key, Map<String, String> headers) throws UnauthorizedException {
-    UUID token = UUID.randomUUID();
-
-    String username;
-    try {
-      username = queryUsername(key);
-    } catch (Exception e) {
-      throw new UnauthorizedException(e.getMessage());
-    }
-
-    if (username == null || username.isEmpty()) {
-      throw new UnauthorizedException(
-          String.format("Provided username %s and/or password are incorrect", key));
-    }
+    return join(createTokenAsync(key, headers));
+  }
 
-    saveToken(key, token);
+  /**
+   * Asynchronous variant of {@link #createToken(String, Map)}.
+   *
+   * @return a stage that completes with the new token, or exceptionally with a {@link
+   *     CompletionException} wrapping an {@link UnauthorizedException} if the role does not exist.
+   */
+  public CompletionStage<String> createTokenAsync(String key, Map<String, String> headers) {
+    return queryUsername(key)
+        .exceptionally(
+            t -> {
+              throw new CompletionException(new UnauthorizedException(unwrap(t).getMessage()));
+            })
+        .thenCompose(
+            username -> {
+              if (username == null || username.isEmpty()) {
+                throw new CompletionException(
+                    new UnauthorizedException(
+                        String.format("Provided username %s and/or password are incorrect", key)));
+              }
+              return newToken(key);
+            });
+  }
 
-    return token.toString();
+  private CompletionStage<String> newToken(String key) {
+    UUID token = UUID.randomUUID();
+    return saveTokenAsync(key, token).thenApply(v -> token.toString());
   }
 
   /**
@@ -158,73 +209,86 @@ public class AuthnTableBasedService implements AuthenticationService {
    */
   public void saveToken(String key, UUID token) {
     try {
-      Instant instant = Instant.now();
-
-      dataStore
-          .queryBuilder()
-          .insertInto(AUTH_KEYSPACE, AUTH_TABLE)
-          .value("username", key)
-          .value("auth_token", token)
-          .value("created_timestamp", Math.toIntExact(instant.getEpochSecond()))
-          .ttl(tokenTTL)
-          .build()
-          .execute(ConsistencyLevel.LOCAL_QUORUM)
-          .get();
-
-    } catch (Exception e) {
-      logger.error("Failed to add new token", e);
-      throw new RuntimeException(e);
+      saveTokenAsync(key, token).toCompletableFuture().join();
+    } catch (CompletionException e) {
+      throw (RuntimeException) e.getCause();
     }
   }
 
-  private String queryUsername(String key) throws ExecutionException, InterruptedException {
-    ResultSet resultSet =
-        dataStore
-            .queryBuilder()
-            .select()
-            .column("role")
-            .from("system_auth", "roles")
-            .where("role", Predicate.EQ, key)
-            .build()
-            .execute()
-            .get();
-
-    if (resultSet.hasNoMoreFetchedRows()) {
-      throw new RuntimeException(String.format("Provided username %s is incorrect", key));
-    }
+  /**
+   * Asynchronous variant of {@link #saveToken(String, UUID)}.
+   *
+   * @return a stage that completes once the token is stored, or exceptionally with a {@link
+   *     CompletionException} wrapping a {@link RuntimeException} if it could not be.
+   */
+  public CompletionStage<Void> saveTokenAsync(String key, UUID token) {
+    CompletableFuture<ResultSet> insert;
+    try {
+      Instant instant = Instant.now();
 
-    Row row = resultSet.one();
-    if (row.isNull("role")) {
-      throw new RuntimeException(String.format("Provided username %s is incorrect", key));
+      insert =
+          dataStore
+              .queryBuilder()
+              .insertInto(AUTH_KEYSPACE, AUTH_TABLE)
+              .value("username", key)
+              .value("auth_token", token)
+              .value("created_timestamp", Math.toIntExact(instant.getEpochSecond()))
+              .ttl(tokenTTL)
+              .build()
+              .execute(ConsistencyLevel.LOCAL_QUORUM);
+    } catch (Exception e) {
+      insert = failed(e);
     }
+    return insert.handle(
+        (resultSet, t) -> {
+          if (t != null) {
+            logger.error("Failed to add new token", unwrap(t));
+            throw new CompletionException(new RuntimeException(unwrap(t)));
+          }
+          return null;
+        });
+  }
 
-    return row.getString("role");
+  private CompletableFuture<String> queryUsername(String key) {
+    return queryRole(key, "role", String.format("Provided username %s is incorrect", key));
   }
 
-  private String queryHashedPassword(String key) throws ExecutionException, InterruptedException {
-    ResultSet resultSet =
-        dataStore
-            .queryBuilder()
-            .select()
-            .column("salted_hash")
-            .from("system_auth", "roles")
-            .where("role", Predicate.EQ, key)
-            .build()
-            .execute()
-            .get();
-
-    if (resultSet.hasNoMoreFetchedRows()) {
-      throw new RuntimeException(
-          String.format("Provided username %s and/or password are incorrect", key));
-    }
+  private CompletableFuture<String> queryHashedPassword(String key) {
+    return queryRole(
+        key,
+        "salted_hash",
+        String.format("Provided username %s and/or password are incorrect", key));
+  }
 
-    Row row = resultSet.one();
-    if (row.isNull("salted_hash")) {
-      throw new RuntimeException(
-          String.format("Provided username %s and/or password are incorrect", key));
+  // Reads a column of the role from system_auth, failing with the message if it is missing
+  private CompletableFuture<String> queryRole(String key, String column, String errorMessage) {
+    CompletableFuture<ResultSet> select;
+    try {
+      select =
+          dataStore
+              .queryBuilder()
+              .select()
+              .column(column)
+              .from("system_auth", "roles")
+              .where("role", Predicate.EQ, key)
+              .build()
+              .execute();
+    } catch (Exception e) {
+      return failed(e);
     }
-
-    return row.getString("salted_hash");
+    return select.thenApply(
+        resultSet -> {
+          if (resultSet.hasNoMoreFetchedRows()) {
+            throw new RuntimeException(errorMessage);
+          }
+
+          Row row = resultSet.one();
+          if (row.isNull(column)) {
+            throw new RuntimeException(errorMessage);
+          }
+
+          return row.getString(column);
+        });
   }
 
   protected static boolean checkpw(String password, String hash) {
@@ -240,49 +304,39 @@ public class AuthnTableBasedService implements AuthenticationService {
 
   @Override
   public AuthenticationSubject validateToken(String token) throws UnauthorizedException {
+    return join(validateTokenAsync(token));
+  }
+
+  /** Doesn't use the executor: validating a token never blocks. */
+  @Override
+  public CompletionStage<AuthenticationSubject> validateTokenAsync(
+      String token, Map<String, String> headers, Executor executor) {
+    return validateTokenAsync(token);
+  }
+
+  private CompletionStage<AuthenticationSubject> validateTokenAsync(String token) {
     // if not there fail fast
     if ((token == null) || token.isEmpty()) {
-      throw new UnauthorizedException("authorization failed - missing token");
+      return failed(new UnauthorizedException("authorization failed - missing token"));
     }
 
-    // otherwise, look in the cache and optionally fetch if missing
-    try {
-      return tokenCache.get(
-          token,
-          v -> {
-            try {
-              return getAuthenticationSubject(v);
-            } catch (UnauthorizedException e) {
-              throw new RuntimeException(e);
-            }
-          });
-    } catch (RuntimeException e) {
-      // properly inspect the cause of the execution exception
-      // and re-throw if UnauthorizedException or RuntimeException
-      // otherwise wrap in the RuntimeException
-      Throwable cause = e.getCause();
-      if (cause instanceof UnauthorizedException) {
-        throw (UnauthorizedException) cause;
-      } else if (cause instanceof RuntimeException) {
-        throw (RuntimeException) cause;
-      } else {
-        throw e;
-      }
-    }
+    // otherwise, look in the cache and optionally fetch if missing. Concurrent validations of the
+    // same token share a single fetch, and failed fetches are not cached.
+    return tokenCache.get(token, (t, executor) -> getAuthenticationSubject(t));
   }
 
   // fetches the authentication subject from the data store
-  private AuthenticationSubject getAuthenticationSubject(String token)
-      throws UnauthorizedException {
+  private CompletableFuture<AuthenticationSubject> getAuthenticationSubject(String token) {
     UUID uuid;
     try {
       uuid = UUID.fromString(token);
     } catch (IllegalArgumentException exception) {
-      throw new UnauthorizedException("authorization failed - bad token");
+      return failed(new UnauthorizedException("authorization failed - bad token"));
     }
 
+    CompletableFuture<ResultSet> select;
     try {
-      ResultSet resultSet =
+      select =
           dataStore
               .queryBuilder()
               .select()
@@ -290,37 +344,70 @@ public class AuthnTableBasedService implements AuthenticationService {
               .from(AUTH_KEYSPACE, AUTH_TABLE)
               .where("auth_token", Predicate.EQ, uuid)
               .build()
-              .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
+              .execute(ConsistencyLevel.LOCAL_QUORUM);
+    } catch (Exception e) {
+      select = failed(e);
+    }
 
-      if (resultSet.hasNoMoreFetchedRows()) {
-        throw new UnauthorizedException("authorization failed");
-      }
+    return select
+        .exceptionally(
+            t -> {
+              logger.error("Failed to validate token", unwrap(t));
+              throw new CompletionException(new RuntimeException(unwrap(t)));
+            })
+        .thenApply(
+            resultSet -> {
+              if (resultSet.hasNoMoreFetchedRows()) {
+                throw new CompletionException(new UnauthorizedException("authorization failed"));
+              }
+
+              Row row = resultSet.one();
+              if (row.isNull("username")) {
+                throw new RuntimeException("unable to get username from token table");
+              }
+
+              int timestamp = row.getInt("created_timestamp");
+              String username = row.getString("username");
+
+              // update of the TTL can be done in the async way
+              dataStore
+                  .queryBuilder()
+                  .update(AUTH_KEYSPACE, AUTH_TABLE)
+                  .ttl(tokenTTL)
+                  .value("username", username)
+                  .value("created_timestamp", timestamp)
+                  .where("auth_token", Predicate.EQ, uuid)
+                  .build()
+                  .execute(ConsistencyLevel.LOCAL_QUORUM);
+
+              return AuthenticationSubject.of(token, username);
+            });
+  }
 
-      Row row = resultSet.one();
-      if (row.isNull("username")) {
-        throw new RuntimeException("unable to get username from token table");
+  // Waits for a stage of this class, and rethrows its failure as the synchronous methods would
+  private static <T> T join(CompletionStage<T> stage) throws UnauthorizedException {
+    try {
+      return stage.toCompletableFuture().join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof UnauthorizedException) {
+        throw (UnauthorizedException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else {
+        throw e;
       }
+    }
+  }
 
-      int timestamp = row.getInt("created_timestamp");
-      String username = row.getString("username");
-
-      // update of the TTL can be done in the async way
-      dataStore
-          .queryBuilder()
-          .update(AUTH_KEYSPACE, AUTH_TABLE)
-          .ttl(tokenTTL)
-          .value("username", username)
-          .value("created_timestamp", timestamp)
-          .where("auth_token", Predicate.EQ, uuid)
-          .build()
-          .execute(ConsistencyLevel.LOCAL_QUORUM);
+  private static <T> CompletableFuture<T> failed(Throwable t) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(new CompletionException(t));
+    return future;
+  }
 
-      return AuthenticationSubject.of(token, username);
-    } catch (InterruptedException | ExecutionException e) {
-      logger.error("Failed to validate token", e);
-      throw new RuntimeException(e);
-    }
+  private static Throwable unwrap(Throwable t) {
+    return (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
   }
 
   @Override
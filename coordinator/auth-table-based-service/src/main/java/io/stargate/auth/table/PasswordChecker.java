@@ -0,0 +1,111 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.table;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Checks passwords against their BCrypt hashes on a dedicated, bounded pool.
+ *
+ * <p>BCrypt is deliberately slow (tens to hundreds of milliseconds per check), so running it on the
+ * request threads lets a burst of token creations stall unrelated requests. The pool has a fixed
+ * number of threads and a bounded queue: once it is full, new checks fail right away with a {@link
+ * RejectedExecutionException} instead of piling up.
+ */
+class PasswordChecker {
+
+  static final int THREADS =
+      Integer.getInteger(
+          "stargate.auth_tablebased.bcrypt_threads", Runtime.getRuntime().availableProcessors());
+  static final int QUEUE_SIZE =
+      Integer.getInteger("stargate.auth_tablebased.bcrypt_queue_size", 1024);
+
+  private final ThreadPoolExecutor executor;
+  private volatile Counter rejections;
+
+  PasswordChecker() {
+    this(THREADS, QUEUE_SIZE);
+  }
+
+  PasswordChecker(int threads, int queueSize) {
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            r -> {
+              Thread thread = new Thread(r, "auth-bcrypt-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Reports the queue depth, the active threads and the rejected checks to the given registry. */
+  void monitor(MeterRegistry meterRegistry) {
+    Gauge.builder("auth.tablebased.bcrypt.queue_depth", executor, e -> e.getQueue().size())
+        .description("Password checks waiting for a BCrypt thread")
+        .register(meterRegistry);
+    Gauge.builder("auth.tablebased.bcrypt.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Password checks in progress")
+        .register(meterRegistry);
+    rejections =
+        Counter.builder("auth.tablebased.bcrypt.rejected")
+            .description("Password checks rejected because the queue was full")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Checks the password against the hash on the BCrypt pool.
+   *
+   * @return a future that completes with whether the password matches, or exceptionally with a
+   *     {@link RejectedExecutionException} if too many checks are already queued.
+   */
+  CompletableFuture<Boolean> checkpw(String password, String hash) {
+    return submit(() -> AuthnTableBasedService.checkpw(password, hash));
+  }
+
+  // Also used by the tests, to occupy the pool
+  <T> CompletableFuture<T> submit(Supplier<T> task) {
+    try {
+      return CompletableFuture.supplyAsync(task, executor);
+    } catch (RejectedExecutionException e) {
+      Counter rejections = this.rejections;
+      if (rejections != null) {
+        rejections.increment();
+      }
+      CompletableFuture<T> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new CompletionException(e));
+      return failed;
+    }
+  }
+
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,214 @@
+package io.stargate.auth.table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.auth.AuthenticationSubject;
+import io.stargate.auth.UnauthorizedException;
+import io.stargate.db.Parameters;
+import io.stargate.db.datastore.DataStore;
+import io.stargate.db.datastore.DataStoreFactory;
+import io.stargate.db.datastore.ResultSet;
+import io.stargate.db.datastore.Row;
+import io.stargate.db.query.BoundQuery;
+import io.stargate.db.query.TypedValue.Codec;
+import io.stargate.db.schema.Column.Kind;
+import io.stargate.db.schema.Column.Type;
+import io.stargate.db.schema.Schema;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+import org.mockito.ArgumentMatchers;
+
+class AuthnTableBasedServiceTest {
+
+  private static final String TOKEN = "a24b121a-a385-44a6-8ae1-fe7542dbc490";
+  private static final String ROLE = "someRole";
+
+  private static final Schema SCHEMA =
+      Schema.build()
+          .keyspace("system_auth")
+          .table("roles")
+          .column("role", Type.Text, Kind.PartitionKey)
+          .column("salted_hash", Type.Text)
+          .keyspace("data_endpoint_auth")
+          .table("token")
+          .column("auth_token", Type.Uuid, Kind.PartitionKey)
+          .column("username", Type.Text)
+          .column("created_timestamp", Type.Int)
+          .build();
+
+  private final DataStore dataStore = mock(DataStore.class, CALLS_REAL_METHODS);
+  // Responds to the queries executed by the service, given their query string
+  private volatile Function<String, CompletableFuture<ResultSet>> responses;
+  private final PasswordChecker passwordChecker = new PasswordChecker(1, 1);
+  private final AuthnTableBasedService service = new AuthnTableBasedService(passwordChecker);
+
+  @BeforeAll
+  public static void skipAuthTableInitialization() {
+    System.setProperty("stargate.auth_tablebased_init", "false");
+  }
+
+  AuthnTableBasedServiceTest() {
+    doReturn(SCHEMA).when(dataStore).schema();
+    doReturn(Codec.testCodec()).when(dataStore).valueCodec();
+    doAnswer(i -> responses.apply(i.<BoundQuery>getArgument(0).queryString()))
+        .when(dataStore)
+        .execute(any(BoundQuery.class), ArgumentMatchers.<UnaryOperator<Parameters>>any());
+    DataStoreFactory dataStoreFactory = mock(DataStoreFactory.class);
+    when(dataStoreFactory.createInternal()).thenReturn(dataStore);
+    service.setDataStoreFactory(dataStoreFactory);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    service.close();
+  }
+
+  @Test
+  public void validateTokenLoadsConcurrentRequestsOnce() throws Exception {
+    CompletableFuture<ResultSet> select = new CompletableFuture<>();
+    AtomicInteger loads = new AtomicInteger();
+    responses =
+        query -> {
+          if (isTokenSelect(query)) {
+            loads.incrementAndGet();
+            return select;
+          }
+          return CompletableFuture.completedFuture(mock(ResultSet.class));
+        };
+
+    CompletableFuture<AuthenticationSubject> first =
+        service
+            .validateTokenAsync(TOKEN, Collections.emptyMap(), Runnable::run)
+            .toCompletableFuture();
+    CompletableFuture<AuthenticationSubject> second =
+        service
+            .validateTokenAsync(TOKEN, Collections.emptyMap(), Runnable::run)
+            .toCompletableFuture();
+    assertThat(first).isNotDone();
+    assertThat(second).isNotDone();
+
+    select.complete(row("username", ROLE));
+
+    assertThat(first.get().roleName()).isEqualTo(ROLE);
+    assertThat(second.get().roleName()).isEqualTo(ROLE);
+    assertThat(service.validateToken(TOKEN).roleName()).isEqualTo(ROLE);
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  public void validateTokenDoesNotCacheFailures() throws Exception {
+    ResultSet empty = mock(ResultSet.class);
+    when(empty.hasNoMoreFetchedRows()).thenReturn(true);
+    AtomicInteger loads = new AtomicInteger();
+    responses =
+        query ->
+            CompletableFuture.completedFuture(
+                isTokenSelect(query) && loads.getAndIncrement() == 0
+                    ? empty
+                    : row("username", ROLE));
+
+    assertThatThrownBy(() -> service.validateToken(TOKEN))
+        .isInstanceOf(UnauthorizedException.class)
+        .hasMessage("authorization failed");
+    assertThat(service.validateToken(TOKEN).roleName()).isEqualTo(ROLE);
+  }
+
+  @Test
+  public void validateTokenAsyncFailsWithBadToken() {
+    CompletableFuture<AuthenticationSubject> result =
+        service
+            .validateTokenAsync("not-a-uuid", Collections.emptyMap(), Runnable::run)
+            .toCompletableFuture();
+
+    assertThatThrownBy(result::join)
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(UnauthorizedException.class);
+  }
+
+  @Test
+  public void createTokenWithPassword() throws Exception {
+    mockHashedPassword(BCrypt.hashpw("secret", BCrypt.gensalt(4)));
+
+    assertThat(service.createToken(ROLE, "secret", Collections.emptyMap())).isNotEmpty();
+    assertThatThrownBy(() -> service.createToken(ROLE, "wrong", Collections.emptyMap()))
+        .isInstanceOf(UnauthorizedException.class)
+        .hasMessage("Provided username someRole and/or password are incorrect");
+  }
+
+  @Test
+  public void rejectPasswordChecksWhenPoolIsFull() throws Exception {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    service.setMeterRegistry(meterRegistry);
+    mockHashedPassword(BCrypt.hashpw("secret", BCrypt.gensalt(4)));
+
+    // Occupy the only thread, then the only queue slot
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> running =
+        passwordChecker.submit(
+            () -> {
+              started.countDown();
+              await(release);
+              return null;
+            });
+    started.await();
+    CompletableFuture<Void> queued = passwordChecker.submit(() -> null);
+    assertThat(meterRegistry.get("auth.tablebased.bcrypt.queue_depth").gauge().value())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("auth.tablebased.bcrypt.active").gauge().value()).isEqualTo(1);
+
+    assertThatThrownBy(() -> service.createToken(ROLE, "secret", Collections.emptyMap()))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThat(meterRegistry.get("auth.tablebased.bcrypt.rejected").counter().count()).isEqualTo(1);
+
+    release.countDown();
+    running.get();
+    queued.get();
+  }
+
+  private static boolean isTokenSelect(String query) {
+    return query.startsWith("SELECT") && query.contains("data_endpoint_auth");
+  }
+
+  private void mockHashedPassword(String hash) {
+    responses =
+        query ->
+            CompletableFuture.completedFuture(
+                query.contains("salted_hash") ? row("salted_hash", hash) : mock(ResultSet.class));
+  }
+
+  private static ResultSet row(String column, String value) {
+    ResultSet resultSet = mock(ResultSet.class);
+    Row row = mock(Row.class);
+    when(resultSet.one()).thenReturn(row);
+    when(row.getString(column)).thenReturn(value);
+    return resultSet;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
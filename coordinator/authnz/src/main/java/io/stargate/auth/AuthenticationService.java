@@ -18,6 +18,10 @@ package io.stargate.auth;
 import io.stargate.db.Authenticator.SaslNegotiator;
 import io.stargate.db.ClientInfo;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 public interface AuthenticationService {
 
@@ -38,5 +42,31 @@ public interface AuthenticationService {
     return validateToken(token);
   }
 
+  /**
+   * Asynchronous variant of {@link #validateToken(String, Map)}, for callers that must not block,
+   * for example gRPC interceptors running on a Netty event loop.
+   *
+   * <p>The default implementation runs {@link #validateToken(String, Map)} on the given executor.
+   * Implementations that can validate tokens without blocking should override it.
+   *
+   * @param token the token to validate
+   * @param headers the request headers
+   * @param executor the executor to use for any blocking work
+   * @return a stage that completes with the subject, or exceptionally with a {@link
+   *     CompletionException} wrapping an {@link UnauthorizedException} if the token is not valid.
+   */
+  default CompletionStage<AuthenticationSubject> validateTokenAsync(
+      String token, Map<String, String> headers, Executor executor) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return validateToken(token, headers);
+          } catch (UnauthorizedException e) {
+            throw new CompletionException(e);
+          }
+        },
+        executor);
+  }
+
   SaslNegotiator getSaslNegotiator(SaslNegotiator wrapped, ClientInfo clientInfo);
 }
@@ -16,6 +16,7 @@
 package io.stargate.bridge.codec;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.stargate.bridge.proto.QueryOuterClass.Value;
 import io.stargate.bridge.proto.QueryOuterClass.Value.InnerCase;
@@ -23,6 +24,20 @@ import io.stargate.db.schema.Column.ColumnType;
 import java.nio.ByteBuffer;
 
 public class BytesCodec implements ValueCodec {
+  private final boolean zeroCopy;
+
+  public BytesCodec() {
+    this(false);
+  }
+
+  /**
+   * @param zeroCopy whether to decode by wrapping the bytes in the value instead of copying them.
+   *     <b>The wrapped buffer must not be modified afterwards</b>.
+   */
+  public BytesCodec(boolean zeroCopy) {
+    this.zeroCopy = zeroCopy;
+  }
+
   @Override
   public ByteBuffer encode(@NonNull Value value, @NonNull ColumnType type) {
     if (value.getInnerCase() != InnerCase.BYTES) {
@@ -33,6 +48,8 @@ public class BytesCodec implements ValueCodec {
 
   @Override
   public Value decode(@NonNull ByteBuffer bytes, @NonNull ColumnType type) {
-    return Value.newBuilder().setBytes(ByteString.copyFrom(bytes.duplicate())).build();
+    ByteString value =
+        zeroCopy ? UnsafeByteOperations.unsafeWrap(bytes) : ByteString.copyFrom(bytes.duplicate());
+    return Value.newBuilder().setBytes(value).build();
   }
 }
@@ -16,6 +16,7 @@
 package io.stargate.bridge.codec;
 
 import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.google.protobuf.UnsafeByteOperations;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.stargate.bridge.proto.QueryOuterClass.Value;
 import io.stargate.bridge.proto.QueryOuterClass.Value.InnerCase;
@@ -24,9 +25,21 @@ import java.nio.ByteBuffer;
 
 public class StringCodec implements ValueCodec {
   private final TypeCodec<String> innerCodec;
+  private final boolean zeroCopy;
 
   public StringCodec(@NonNull TypeCodec<String> innerCodec) {
+    this(innerCodec, false);
+  }
+
+  /**
+   * @param innerCodec the codec used to encode, and to decode unless zero-copy is enabled.
+   * @param zeroCopy whether to decode by wrapping the bytes, which are already UTF-8 (or ASCII), in
+   *     the value instead of decoding them to a {@link String} that protobuf would encode back.
+   *     <b>The wrapped buffer must not be modified afterwards</b>.
+   */
+  public StringCodec(@NonNull TypeCodec<String> innerCodec, boolean zeroCopy) {
     this.innerCodec = innerCodec;
+    this.zeroCopy = zeroCopy;
   }
 
   @Override
@@ -39,6 +52,13 @@ public class StringCodec implements ValueCodec {
 
   @Override
   public Value decode(@NonNull ByteBuffer bytes, @NonNull ColumnType type) {
+    if (zeroCopy) {
+      try {
+        return Value.newBuilder().setStringBytes(UnsafeByteOperations.unsafeWrap(bytes)).build();
+      } catch (IllegalArgumentException e) {
+        // not valid UTF-8, let the codec fail as it always did
+      }
+    }
     return Value.newBuilder().setString(innerCodec.decode(bytes, PROTOCOL_VERSION)).build();
   }
 }
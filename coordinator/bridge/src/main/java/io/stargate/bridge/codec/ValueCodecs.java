@@ -24,12 +24,19 @@ import io.stargate.db.schema.Column.Type;
 
 public class ValueCodecs {
 
+  /**
+   * Whether text and blob values read from the persistence are wrapped as they are into the gRPC
+   * values, instead of being decoded and copied. See {@link StringCodec} and {@link BytesCodec}.
+   */
+  private static final boolean ZERO_COPY =
+      Boolean.parseBoolean(System.getProperty("stargate.bridge.zero_copy_values", "true"));
+
   private static final ImmutableMap<Type, ValueCodec> CODECS =
       Maps.immutableEnumMap(
           ImmutableMap.<Type, ValueCodec>builder()
-              .put(Type.Ascii, new StringCodec(TypeCodecs.ASCII))
+              .put(Type.Ascii, new StringCodec(TypeCodecs.ASCII, ZERO_COPY))
               .put(Type.Bigint, new BigintCodec())
-              .put(Type.Blob, new BytesCodec())
+              .put(Type.Blob, new BytesCodec(ZERO_COPY))
               .put(Type.Boolean, new BooleanCodec())
               .put(Type.Counter, new BigintCodec())
               .put(Type.Date, new DateCodec())
@@ -40,7 +47,7 @@ public class ValueCodecs {
               .put(Type.Int, new IntCodec())
               .put(Type.Inet, new InetCodec())
               .put(Type.Smallint, new SmallintCodec())
-              .put(Type.Text, new StringCodec(TypeCodecs.TEXT))
+              .put(Type.Text, new StringCodec(TypeCodecs.TEXT, ZERO_COPY))
               .put(Type.Time, new TimeCodec())
               .put(Type.Timestamp, new BigintCodec())
               .put(Type.Timeuuid, new UuidCodec())
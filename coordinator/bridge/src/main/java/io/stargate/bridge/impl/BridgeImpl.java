@@ -31,8 +31,11 @@ import java.io.UncheckedIOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,11 +44,16 @@ public class BridgeImpl {
   private static final Logger logger = LoggerFactory.getLogger(BridgeImpl.class);
   private static final Integer EXECUTOR_SIZE =
       Integer.getInteger("stargate.bridge.executor_size", 8);
+  private static final Integer AUTH_EXECUTOR_SIZE =
+      Integer.getInteger("stargate.bridge.auth_executor_size", 4);
+  private static final Integer AUTH_QUEUE_SIZE =
+      Integer.getInteger("stargate.bridge.auth_queue_size", 1024);
   private static final Integer SHUTDOWN_TIMEOUT_SECONDS =
       Integer.getInteger("stargate.bridge.shutdown_timeout_seconds", 60);
 
   private final Server server;
   private final ScheduledExecutorService executor;
+  private final ExecutorService authenticationExecutor;
 
   public BridgeImpl(
       Persistence persistence,
@@ -70,12 +78,29 @@ public class BridgeImpl {
     executor =
         Executors.newScheduledThreadPool(
             EXECUTOR_SIZE, GrpcUtil.getThreadFactory("bridge-stargate-executor", true));
+    // Authentications get their own bounded pool, so that a slow token validation does not delay
+    // the retries and schema agreement polls scheduled on the shared executor.
+    authenticationExecutor =
+        new ThreadPoolExecutor(
+            AUTH_EXECUTOR_SIZE,
+            AUTH_EXECUTOR_SIZE,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(AUTH_QUEUE_SIZE),
+            GrpcUtil.getThreadFactory("bridge-auth-executor-%d", true));
     server =
         NettyServerBuilder.forAddress(new InetSocketAddress(listenAddress, port))
             // `Persistence` operations are done asynchronously so there isn't a need for a separate
             // thread pool for handling gRPC callbacks in `GrpcService`.
             .directExecutor()
-            .intercept(new NewConnectionInterceptor(persistence, authenticationService))
+            // Connections are created on the authentication executor, so that slow
+            // authentications don't block the event loop.
+            .intercept(
+                new NewConnectionInterceptor(
+                    persistence,
+                    authenticationService,
+                    authenticationExecutor,
+                    metrics.getMeterRegistry()))
             .intercept(new SourceApiInterceptor(true))
             .intercept(new MetricCollectingServerInterceptor(metrics.getMeterRegistry()))
             .addService(new BridgeService(persistence, authorizationService, executor))
@@ -97,12 +122,15 @@ public class BridgeImpl {
       // Note that we don't handle restarts because GrpcActivator never reuses an existing instance
       // (and that wouldn't work anyway, because Server doesn't support it either).
       executor.shutdown();
+      authenticationExecutor.shutdown();
 
       long timeoutMillis = TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS);
       long start = System.currentTimeMillis();
 
       if (!server.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)
           || !executor.awaitTermination(
+              timeoutMillis - (System.currentTimeMillis() - start), TimeUnit.MILLISECONDS)
+          || !authenticationExecutor.awaitTermination(
               timeoutMillis - (System.currentTimeMillis() - start), TimeUnit.MILLISECONDS)) {
         logger.warn("Timed out while waiting for executor shutdown");
       }
@@ -17,8 +17,10 @@ package io.stargate.bridge.retries;
 
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.ThreadLocalRandom;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.cassandra.stargate.db.WriteType;
+import org.apache.cassandra.stargate.exceptions.PersistenceException;
 import org.apache.cassandra.stargate.exceptions.PreparedQueryNotFoundException;
 import org.apache.cassandra.stargate.exceptions.ReadTimeoutException;
 import org.apache.cassandra.stargate.exceptions.WriteTimeoutException;
@@ -32,6 +34,10 @@ import org.slf4j.LoggerFactory;
  * and only in cases that have a high chance of success (see the method javadocs for detailed
  * explanations of each case). The exception is the {@link
  * RetryPolicy#onUnprepared(PreparedQueryNotFoundException, int)}, which allows 2 retries.
+ *
+ * <p>Timeouts are retried after an exponential backoff with jitter, so that retries don't pile up
+ * on a cluster that is already struggling. Unprepared errors are retried immediately, as they only
+ * require to prepare the query again.
  */
 @ThreadSafe
 public class DefaultRetryPolicy implements RetryPolicy {
@@ -52,6 +58,28 @@ public class DefaultRetryPolicy implements RetryPolicy {
   public static final String RETRYING_ON_UNPREPARED =
       "Retrying on unprepared (MD5 digest: {}, retries: {})";
 
+  private static final long DEFAULT_BASE_DELAY_MILLIS =
+      Long.getLong("stargate.bridge.retry_base_delay_millis", 10);
+
+  private static final long DEFAULT_MAX_DELAY_MILLIS =
+      Long.getLong("stargate.bridge.retry_max_delay_millis", 1000);
+
+  private final long baseDelayMillis;
+  private final long maxDelayMillis;
+
+  public DefaultRetryPolicy() {
+    this(DEFAULT_BASE_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+  }
+
+  /**
+   * @param baseDelayMillis the delay before the first retry of a timeout, doubled on each retry.
+   * @param maxDelayMillis the upper bound of the delay between retries.
+   */
+  public DefaultRetryPolicy(long baseDelayMillis, long maxDelayMillis) {
+    this.baseDelayMillis = Math.max(baseDelayMillis, 0);
+    this.maxDelayMillis = Math.max(maxDelayMillis, this.baseDelayMillis);
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -127,4 +155,25 @@ public class DefaultRetryPolicy implements RetryPolicy {
 
     return decision;
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Unprepared errors are retried immediately. Otherwise, the delay is the base delay doubled on
+   * each retry and capped at the max delay, minus a random amount of up to half of it (jitter), so
+   * that the requests failing at the same time are not retried at the same time.
+   */
+  @Override
+  public long getRetryDelayMillis(@NonNull PersistenceException exception, int retryCount) {
+    if (exception instanceof PreparedQueryNotFoundException || baseDelayMillis == 0) {
+      return 0;
+    }
+
+    long delay = maxDelayMillis;
+    if (retryCount < Long.numberOfLeadingZeros(baseDelayMillis) - 1) {
+      delay = Math.min(baseDelayMillis << retryCount, maxDelayMillis);
+    }
+    long half = delay / 2;
+    return delay - half + ThreadLocalRandom.current().nextLong(half + 1);
+  }
 }
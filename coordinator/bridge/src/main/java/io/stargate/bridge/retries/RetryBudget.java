@@ -0,0 +1,70 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.retries;
+
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A token bucket limiting how many retries can be done, shared by all the requests of a same
+ * client.
+ *
+ * <p>Each retry takes a token, and tokens are added back at a fixed rate up to the capacity of the
+ * bucket. This allows short bursts of retries, but when most requests fail (for example during a
+ * storage brownout) the retries are capped at the refill rate instead of multiplying the load.
+ */
+@ThreadSafe
+public class RetryBudget {
+
+  private final double capacity;
+  private final double tokensPerNano;
+  private final LongSupplier nanoClock;
+
+  private double tokens;
+  private long lastRefillNanos;
+
+  /**
+   * @param capacity the max number of tokens, i.e. of retries that can be done in a burst.
+   * @param tokensPerSecond how many tokens are added back every second.
+   */
+  public RetryBudget(int capacity, double tokensPerSecond) {
+    this(capacity, tokensPerSecond, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  RetryBudget(int capacity, double tokensPerSecond, LongSupplier nanoClock) {
+    this.capacity = Math.max(capacity, 0);
+    this.tokensPerNano = Math.max(tokensPerSecond, 0) / TimeUnit.SECONDS.toNanos(1);
+    this.nanoClock = nanoClock;
+    this.tokens = this.capacity;
+    this.lastRefillNanos = nanoClock.getAsLong();
+  }
+
+  /** @return whether a retry is allowed, in which case a token was taken. */
+  public synchronized boolean tryAcquire() {
+    long now = nanoClock.getAsLong();
+    tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+    lastRefillNanos = now;
+
+    if (tokens >= 1) {
+      tokens -= 1;
+      return true;
+    }
+    return false;
+  }
+}
@@ -16,6 +16,7 @@
 package io.stargate.bridge.retries;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import org.apache.cassandra.stargate.exceptions.PersistenceException;
 import org.apache.cassandra.stargate.exceptions.PreparedQueryNotFoundException;
 import org.apache.cassandra.stargate.exceptions.ReadTimeoutException;
 import org.apache.cassandra.stargate.exceptions.WriteTimeoutException;
@@ -62,4 +63,17 @@ public interface RetryPolicy {
    */
   RetryDecision onUnprepared(
       PreparedQueryNotFoundException preparedQueryNotFoundException, int retryCount);
+
+  /**
+   * How long to wait before retrying, once one of the other methods decided to {@link
+   * RetryDecision#RETRY}. The default implementation retries immediately.
+   *
+   * @param exception the exception that triggered the retry.
+   * @param retryCount how many times the retry policy has been invoked already for this request
+   *     (not counting the current invocation).
+   * @return the delay in milliseconds, or 0 to retry immediately.
+   */
+  default long getRetryDelayMillis(@NonNull PersistenceException exception, int retryCount) {
+    return 0;
+  }
 }
@@ -23,6 +23,8 @@ import io.stargate.bridge.proto.QueryOuterClass.Batch;
 import io.stargate.bridge.proto.QueryOuterClass.BatchParameters;
 import io.stargate.bridge.proto.QueryOuterClass.BatchQuery;
 import io.stargate.bridge.proto.QueryOuterClass.Response;
+import io.stargate.bridge.retries.RetryBudget;
+import io.stargate.bridge.retries.RetryPolicy;
 import io.stargate.db.BatchType;
 import io.stargate.db.ClientInfo;
 import io.stargate.db.ImmutableParameters;
@@ -40,6 +42,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
@@ -59,8 +62,11 @@ public class BatchHandler extends MessageHandler<Batch, BatchHandler.BatchAndIde
       Connection connection,
       Persistence persistence,
       SourceAPI sourceAPI,
+      ScheduledExecutorService executor,
+      RetryPolicy retryPolicy,
+      RetryBudget retryBudget,
       StreamObserver<Response> responseObserver) {
-    super(batch, connection, persistence, responseObserver);
+    super(batch, connection, persistence, executor, retryPolicy, retryBudget, responseObserver);
     BatchParameters batchParameters = batch.getParameters();
     this.decoratedKeyspace =
         batchParameters.hasKeyspace()
@@ -158,6 +164,8 @@ public class BatchHandler extends MessageHandler<Batch, BatchHandler.BatchAndIde
       builder.nowInSeconds(parameters.getNowInSeconds().getValue());
     }
 
+    builder.clientAddress(clientAddress);
+
     Map<String, ByteBuffer> customPayload = getCustomPayload(clientInfo.orElse(null));
     if (!customPayload.isEmpty()) {
       builder.customPayload(customPayload);
@@ -15,19 +15,27 @@
  */
 package io.stargate.bridge.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.grpc.Context;
 import io.grpc.StatusException;
 import io.grpc.stub.StreamObserver;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.auth.SourceAPI;
 import io.stargate.bridge.proto.QueryOuterClass.Batch;
+import io.stargate.bridge.proto.QueryOuterClass.IndexedResponse;
+import io.stargate.bridge.proto.QueryOuterClass.Queries;
 import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.Response;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.bridge.proto.StargateBridgeGrpc;
+import io.stargate.bridge.retries.DefaultRetryPolicy;
+import io.stargate.bridge.retries.RetryBudget;
+import io.stargate.bridge.retries.RetryPolicy;
 import io.stargate.db.Persistence;
 import io.stargate.db.Result;
 import io.stargate.db.schema.Keyspace;
+import java.net.SocketAddress;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
@@ -40,17 +48,37 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
       Context.key("connection");
   public static final Context.Key<Map<String, String>> HEADERS_KEY = Context.key("headers");
 
+  /**
+   * The remote address of the call. Connections are shared between the calls of the same principal,
+   * so it can differ from the address in the connection's client info.
+   */
+  public static final Context.Key<SocketAddress> REMOTE_ADDRESS_KEY = Context.key("remote-address");
+
   public static final Context.Key<SourceAPI> SOURCE_API_KEY = Context.key("source-api");
   public static final int DEFAULT_PAGE_SIZE = 100;
   public static final ConsistencyLevel DEFAULT_CONSISTENCY = ConsistencyLevel.LOCAL_QUORUM;
   public static final ConsistencyLevel DEFAULT_SERIAL_CONSISTENCY = ConsistencyLevel.SERIAL;
 
+  /** The max number of retries in a burst, per connection. */
+  private static final int RETRY_BUDGET_CAPACITY =
+      Integer.getInteger("stargate.bridge.retry_budget_capacity", 10);
+
+  /** How many retries per second are allowed once the burst is spent, per connection. */
+  private static final int RETRY_BUDGET_PER_SECOND =
+      Integer.getInteger("stargate.bridge.retry_budget_per_second", 5);
+
   private final Persistence persistence;
   private final AuthorizationService authorizationService;
 
   private final ScheduledExecutorService executor;
   private final int schemaAgreementRetries;
   private final Schema.SupportedFeaturesResponse supportedFeaturesResponse;
+  private final SchemaChangesPublisher schemaChangesPublisher;
+  private final RetryPolicy retryPolicy;
+
+  // connections are shared per principal (see NewConnectionInterceptor), so are their budgets
+  private final Cache<Persistence.Connection, RetryBudget> retryBudgets =
+      Caffeine.newBuilder().weakKeys().build();
 
   public BridgeService(
       Persistence persistence,
@@ -64,6 +92,20 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
       AuthorizationService authorizationService,
       ScheduledExecutorService executor,
       int schemaAgreementRetries) {
+    this(
+        persistence,
+        authorizationService,
+        executor,
+        schemaAgreementRetries,
+        new DefaultRetryPolicy());
+  }
+
+  BridgeService(
+      Persistence persistence,
+      AuthorizationService authorizationService,
+      ScheduledExecutorService executor,
+      int schemaAgreementRetries,
+      RetryPolicy retryPolicy) {
     this.persistence = persistence;
     this.authorizationService = authorizationService;
     this.executor = executor;
@@ -74,18 +116,24 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
             .setSai(persistence.supportsSAI())
             .setLoggedBatches(persistence.supportsLoggedBatches())
             .build();
+    this.schemaChangesPublisher = new SchemaChangesPublisher(persistence);
+    persistence.registerEventListener(schemaChangesPublisher);
+    this.retryPolicy = retryPolicy;
   }
 
   @Override
   public void executeQuery(Query query, StreamObserver<Response> responseObserver) {
     SynchronizedStreamObserver<Response> synchronizedStreamObserver =
         new SynchronizedStreamObserver<>(responseObserver);
+    Persistence.Connection connection = CONNECTION_KEY.get();
     new QueryHandler(
             query,
-            CONNECTION_KEY.get(),
+            connection,
             persistence,
             SOURCE_API_KEY.get(),
             executor,
+            retryPolicy,
+            retryBudget(connection),
             schemaAgreementRetries,
             synchronizedStreamObserver)
         .handle();
@@ -157,11 +205,33 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
   public void executeBatch(Batch batch, StreamObserver<Response> responseObserver) {
     SynchronizedStreamObserver<Response> synchronizedStreamObserver =
         new SynchronizedStreamObserver<>(responseObserver);
+    Persistence.Connection connection = CONNECTION_KEY.get();
     new BatchHandler(
             batch,
-            CONNECTION_KEY.get(),
+            connection,
+            persistence,
+            SOURCE_API_KEY.get(),
+            executor,
+            retryPolicy,
+            retryBudget(connection),
+            synchronizedStreamObserver)
+        .handle();
+  }
+
+  @Override
+  public void executeQueries(Queries queries, StreamObserver<IndexedResponse> responseObserver) {
+    SynchronizedStreamObserver<IndexedResponse> synchronizedStreamObserver =
+        new SynchronizedStreamObserver<>(responseObserver);
+    Persistence.Connection connection = CONNECTION_KEY.get();
+    new QueriesHandler(
+            queries,
+            connection,
             persistence,
             SOURCE_API_KEY.get(),
+            executor,
+            retryPolicy,
+            retryBudget(connection),
+            schemaAgreementRetries,
             synchronizedStreamObserver)
         .handle();
   }
@@ -196,6 +266,18 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
     responseObserver.onCompleted();
   }
 
+  @Override
+  public void getKeyspaceChanges(
+      Schema.KeyspaceChangesRequest request,
+      StreamObserver<Schema.KeyspaceChange> responseObserver) {
+    schemaChangesPublisher.subscribe(responseObserver);
+  }
+
+  private RetryBudget retryBudget(Persistence.Connection connection) {
+    return retryBudgets.get(
+        connection, c -> new RetryBudget(RETRY_BUDGET_CAPACITY, RETRY_BUDGET_PER_SECOND));
+  }
+
   static class ResponseAndTraceId {
 
     final @Nullable UUID tracingId;
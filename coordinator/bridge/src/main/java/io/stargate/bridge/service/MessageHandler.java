@@ -17,6 +17,8 @@ package io.stargate.bridge.service;
 
 import com.google.protobuf.GeneratedMessageV3;
 import com.google.protobuf.StringValue;
+import io.grpc.Context;
+import io.grpc.Deadline;
 import io.grpc.Status;
 import io.grpc.StatusException;
 import io.grpc.StatusRuntimeException;
@@ -24,8 +26,9 @@ import io.grpc.stub.StreamObserver;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.QueryOuterClass.Response;
 import io.stargate.bridge.proto.QueryOuterClass.Values;
-import io.stargate.bridge.retries.DefaultRetryPolicy;
+import io.stargate.bridge.retries.RetryBudget;
 import io.stargate.bridge.retries.RetryDecision;
+import io.stargate.bridge.retries.RetryPolicy;
 import io.stargate.bridge.tracing.TraceEventsMapper;
 import io.stargate.db.BoundStatement;
 import io.stargate.db.ImmutableParameters;
@@ -37,18 +40,26 @@ import io.stargate.db.Result.Prepared;
 import io.stargate.db.Result.SchemaChange;
 import io.stargate.db.Result.SchemaChangeMetadata;
 import io.stargate.db.tracing.QueryTracingFetcher;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
+import org.apache.cassandra.stargate.exceptions.ExceptionCode;
 import org.apache.cassandra.stargate.exceptions.PersistenceException;
 import org.apache.cassandra.stargate.exceptions.PreparedQueryNotFoundException;
 import org.apache.cassandra.stargate.exceptions.ReadTimeoutException;
 import org.apache.cassandra.stargate.exceptions.WriteTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @param <MessageT> the type of gRPC message being handled.
@@ -58,24 +69,45 @@ public abstract class MessageHandler<MessageT extends GeneratedMessageV3, Prepar
 
   protected static final ConsistencyLevel DEFAULT_TRACING_CONSISTENCY = ConsistencyLevel.ONE;
 
+  private static final Logger LOG = LoggerFactory.getLogger(MessageHandler.class);
+
   protected final MessageT message;
   protected final Connection connection;
   protected final Persistence persistence;
-  private final DefaultRetryPolicy retryPolicy;
+  protected final ScheduledExecutorService executor;
+  private final RetryPolicy retryPolicy;
+  private final RetryBudget retryBudget;
   protected final StreamObserver<QueryOuterClass.Response> responseObserver;
   private final ExceptionHandler exceptionHandler;
+  // the context of the gRPC call, used to honor its deadline and to propagate it to the retries
+  private final Context context;
+  // the address of the client of the call, it can differ from the one of the shared connection
+  protected final Optional<InetSocketAddress> clientAddress;
 
   protected MessageHandler(
       MessageT message,
       Connection connection,
       Persistence persistence,
+      ScheduledExecutorService executor,
+      RetryPolicy retryPolicy,
+      RetryBudget retryBudget,
       StreamObserver<Response> responseObserver) {
     this.message = message;
     this.connection = connection;
     this.persistence = persistence;
-    this.retryPolicy = new DefaultRetryPolicy();
+    this.executor = executor;
+    this.retryPolicy = retryPolicy;
+    this.retryBudget = retryBudget;
     this.responseObserver = responseObserver;
     this.exceptionHandler = new ExceptionHandler(responseObserver);
+    this.context = Context.current();
+    this.clientAddress = inetAddress(BridgeService.REMOTE_ADDRESS_KEY.get());
+  }
+
+  private static Optional<InetSocketAddress> inetAddress(SocketAddress address) {
+    return address instanceof InetSocketAddress
+        ? Optional.of((InetSocketAddress) address)
+        : Optional.empty();
   }
 
   public void handle() {
@@ -96,7 +128,9 @@ public abstract class MessageHandler<MessageT extends GeneratedMessageV3, Prepar
                 RetryDecision decision = shouldRetry(error, retryCount);
                 switch (decision) {
                   case RETRY:
-                    executeWithRetry(retryCount + 1);
+                    if (!scheduleRetry(error, retryCount)) {
+                      exceptionHandler.handleException(error);
+                    }
                     break;
                   case RETHROW:
                     exceptionHandler.handleException(error);
@@ -111,6 +145,44 @@ public abstract class MessageHandler<MessageT extends GeneratedMessageV3, Prepar
             });
   }
 
+  /**
+   * Schedules the retry on the executor, after the delay given by the retry policy.
+   *
+   * @return false if the retry can't be done, because it would happen past the deadline of the
+   *     call, the call was cancelled, or the retry budget is exhausted.
+   */
+  private boolean scheduleRetry(Throwable error, int retryCount) {
+    PersistenceException cause =
+        unwrapCause(error).orElseThrow(() -> new IllegalStateException("Unexpected retry", error));
+    long delayMillis = retryPolicy.getRetryDelayMillis(cause, retryCount);
+
+    if (context.isCancelled()) {
+      return false;
+    }
+    Deadline deadline = context.getDeadline();
+    if (deadline != null && deadline.timeRemaining(TimeUnit.MILLISECONDS) <= delayMillis) {
+      LOG.debug("Not retrying {}, the deadline of the call would be exceeded", cause.code());
+      return false;
+    }
+    // re-preparing a query does not add load on the replicas, so it's not limited by the budget
+    if (cause.code() != ExceptionCode.UNPREPARED && !retryBudget.tryAcquire()) {
+      LOG.debug("Not retrying {}, the retry budget is exhausted", cause.code());
+      return false;
+    }
+
+    Runnable retry = context.wrap(() -> executeWithRetry(retryCount + 1));
+    try {
+      if (delayMillis > 0) {
+        executor.schedule(retry, delayMillis, TimeUnit.MILLISECONDS);
+      } else {
+        executor.execute(retry);
+      }
+      return true;
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+  }
+
   private CompletionStage<Response> executeQuery() {
     CompletionStage<Result> resultFuture = prepare().thenCompose(this::executePrepared);
     return handleUnprepared(resultFuture)
@@ -0,0 +1,164 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.stargate.auth.SourceAPI;
+import io.stargate.bridge.proto.QueryOuterClass.IndexedResponse;
+import io.stargate.bridge.proto.QueryOuterClass.Queries;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
+import io.stargate.bridge.retries.RetryBudget;
+import io.stargate.bridge.retries.RetryPolicy;
+import io.stargate.db.Persistence;
+import io.stargate.db.Persistence.Connection;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handles an {@code ExecuteQueries} call: each query is executed by its own {@link QueryHandler}
+ * (with its own retries), on the connection of the call, and its response or error is streamed back
+ * as soon as it completes.
+ */
+class QueriesHandler {
+
+  private static final List<Metadata.Key<? extends Message>> ERROR_DETAIL_KEYS =
+      Arrays.asList(
+          ExceptionHandler.UNAVAILABLE_KEY,
+          ExceptionHandler.WRITE_TIMEOUT_KEY,
+          ExceptionHandler.READ_TIMEOUT_KEY,
+          ExceptionHandler.READ_FAILURE_KEY,
+          ExceptionHandler.FUNCTION_FAILURE_KEY,
+          ExceptionHandler.WRITE_FAILURE_KEY,
+          ExceptionHandler.ALREADY_EXISTS_KEY,
+          ExceptionHandler.CAS_WRITE_UNKNOWN_KEY);
+
+  private final Queries queries;
+  private final Connection connection;
+  private final Persistence persistence;
+  private final SourceAPI sourceAPI;
+  private final ScheduledExecutorService executor;
+  private final RetryPolicy retryPolicy;
+  private final RetryBudget retryBudget;
+  private final int schemaAgreementRetries;
+  private final StreamObserver<IndexedResponse> responseObserver;
+  private final AtomicInteger remaining;
+
+  QueriesHandler(
+      Queries queries,
+      Connection connection,
+      Persistence persistence,
+      SourceAPI sourceAPI,
+      ScheduledExecutorService executor,
+      RetryPolicy retryPolicy,
+      RetryBudget retryBudget,
+      int schemaAgreementRetries,
+      StreamObserver<IndexedResponse> responseObserver) {
+    this.queries = queries;
+    this.connection = connection;
+    this.persistence = persistence;
+    this.sourceAPI = sourceAPI;
+    this.executor = executor;
+    this.retryPolicy = retryPolicy;
+    this.retryBudget = retryBudget;
+    this.schemaAgreementRetries = schemaAgreementRetries;
+    this.responseObserver = responseObserver;
+    this.remaining = new AtomicInteger(queries.getQueriesCount());
+  }
+
+  void handle() {
+    if (queries.getQueriesCount() == 0) {
+      responseObserver.onCompleted();
+      return;
+    }
+    for (int i = 0; i < queries.getQueriesCount(); i++) {
+      IndexedObserver queryObserver = new IndexedObserver(i);
+      try {
+        new QueryHandler(
+                queries.getQueries(i),
+                connection,
+                persistence,
+                sourceAPI,
+                executor,
+                retryPolicy,
+                retryBudget,
+                schemaAgreementRetries,
+                queryObserver)
+            .handle();
+      } catch (Throwable t) {
+        new ExceptionHandler(queryObserver).handleException(t);
+      }
+    }
+  }
+
+  private void onQueryDone() {
+    if (remaining.decrementAndGet() == 0) {
+      responseObserver.onCompleted();
+    }
+  }
+
+  /** Converts the error of a query to a status, since it must not fail the whole call. */
+  static com.google.rpc.Status toStatus(Throwable throwable) {
+    Status status = Status.fromThrowable(throwable);
+    com.google.rpc.Status.Builder builder =
+        com.google.rpc.Status.newBuilder().setCode(status.getCode().value());
+    if (status.getDescription() != null) {
+      builder.setMessage(status.getDescription());
+    }
+    Metadata trailers = Status.trailersFromThrowable(throwable);
+    if (trailers != null) {
+      for (Metadata.Key<? extends Message> key : ERROR_DETAIL_KEYS) {
+        Message detail = trailers.get(key);
+        if (detail != null) {
+          builder.addDetails(Any.pack(detail));
+        }
+      }
+    }
+    return builder.build();
+  }
+
+  /** Receives the outcome of a single query (a response then completion, or an error). */
+  private class IndexedObserver implements StreamObserver<Response> {
+    private final int index;
+
+    private IndexedObserver(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public void onNext(Response response) {
+      responseObserver.onNext(
+          IndexedResponse.newBuilder().setIndex(index).setResponse(response).build());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      responseObserver.onNext(
+          IndexedResponse.newBuilder().setIndex(index).setStatus(toStatus(throwable)).build());
+      onQueryDone();
+    }
+
+    @Override
+    public void onCompleted() {
+      onQueryDone();
+    }
+  }
+}
@@ -24,6 +24,8 @@ import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
 import io.stargate.bridge.proto.QueryOuterClass.Response;
 import io.stargate.bridge.proto.QueryOuterClass.SchemaChange;
+import io.stargate.bridge.retries.RetryBudget;
+import io.stargate.bridge.retries.RetryPolicy;
 import io.stargate.db.ClientInfo;
 import io.stargate.db.ImmutableParameters;
 import io.stargate.db.PagingPosition;
@@ -62,9 +64,11 @@ public class QueryHandler extends MessageHandler<Query, Prepared> {
       Persistence persistence,
       SourceAPI sourceAPI,
       ScheduledExecutorService executor,
+      RetryPolicy retryPolicy,
+      RetryBudget retryBudget,
       int schemaAgreementRetries,
       StreamObserver<Response> responseObserver) {
-    super(query, connection, persistence, responseObserver);
+    super(query, connection, persistence, executor, retryPolicy, retryBudget, responseObserver);
     this.schemaAgreementHelper =
         new SchemaAgreementHelper(connection, schemaAgreementRetries, executor);
     QueryParameters queryParameters = query.getParameters();
@@ -230,6 +234,8 @@ public class QueryHandler extends MessageHandler<Query, Prepared> {
       builder.nowInSeconds(parameters.getNowInSeconds().getValue());
     }
 
+    builder.clientAddress(clientAddress);
+
     Map<String, ByteBuffer> customPayload = getCustomPayload(clientInfo.orElse(null));
     if (!customPayload.isEmpty()) {
       builder.customPayload(customPayload);
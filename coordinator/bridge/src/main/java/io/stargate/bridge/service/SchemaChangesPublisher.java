@@ -0,0 +1,135 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import com.google.protobuf.Int32Value;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.stargate.bridge.proto.Schema.KeyspaceChange;
+import io.stargate.db.EventListener;
+import io.stargate.db.Persistence;
+import io.stargate.db.schema.Keyspace;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes keyspace schema changes to the clients that called {@code GetKeyspaceChanges}.
+ *
+ * <p>A single instance is registered with the {@link Persistence}, and fans out every change to all
+ * the active streams. Each event is converted to the new hash of the affected keyspace, so that
+ * clients can tell if their cached version is still current.
+ */
+class SchemaChangesPublisher implements EventListener {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SchemaChangesPublisher.class);
+
+  private static final KeyspaceChange SUBSCRIBED =
+      KeyspaceChange.newBuilder().setChangeType(KeyspaceChange.Type.SUBSCRIBED).build();
+
+  private final Persistence persistence;
+  private final Set<StreamObserver<KeyspaceChange>> observers = ConcurrentHashMap.newKeySet();
+
+  SchemaChangesPublisher(Persistence persistence) {
+    this.persistence = persistence;
+  }
+
+  void subscribe(StreamObserver<KeyspaceChange> responseObserver) {
+    StreamObserver<KeyspaceChange> observer = new SynchronizedStreamObserver<>(responseObserver);
+    if (responseObserver instanceof ServerCallStreamObserver) {
+      ((ServerCallStreamObserver<KeyspaceChange>) responseObserver)
+          .setOnCancelHandler(() -> observers.remove(observer));
+    }
+    // Register before acknowledging, so that the client can't miss a change that happens in between
+    observers.add(observer);
+    send(observer, SUBSCRIBED);
+  }
+
+  private void publish(String keyspaceName) {
+    if (observers.isEmpty()) {
+      return;
+    }
+    Keyspace keyspace = persistence.schema().keyspace(keyspaceName);
+    KeyspaceChange.Builder change = KeyspaceChange.newBuilder().setKeyspaceGlobalName(keyspaceName);
+    if (keyspace == null) {
+      change.setChangeType(KeyspaceChange.Type.DROPPED);
+    } else {
+      change
+          .setChangeType(KeyspaceChange.Type.UPDATED)
+          .setHash(Int32Value.of(keyspace.schemaHashCode()));
+    }
+    KeyspaceChange message = change.build();
+    for (StreamObserver<KeyspaceChange> observer : observers) {
+      send(observer, message);
+    }
+  }
+
+  private void send(StreamObserver<KeyspaceChange> observer, KeyspaceChange message) {
+    try {
+      observer.onNext(message);
+    } catch (Exception e) {
+      // The call was most likely cancelled concurrently, the client will have to resubscribe
+      LOG.debug("Could not publish schema change, removing subscriber", e);
+      observers.remove(observer);
+    }
+  }
+
+  @Override
+  public void onCreateKeyspace(String keyspace) {
+    publish(keyspace);
+  }
+
+  @Override
+  public void onCreateTable(String keyspace, String table) {
+    publish(keyspace);
+  }
+
+  @Override
+  public void onCreateType(String keyspace, String type) {
+    publish(keyspace);
+  }
+
+  @Override
+  public void onAlterKeyspace(String keyspace) {
+    publish(keyspace);
+  }
+
+  @Override
+  public void onAlterTable(String keyspace, String table) {
+    publish(keyspace);
+  }
+
+  @Override
+  public void onAlterType(String keyspace, String type) {
+    publish(keyspace);
+  }
+
+  @Override
+  public void onDropKeyspace(String keyspace) {
+    publish(keyspace);
+  }
+
+  @Override
+  public void onDropTable(String keyspace, String table) {
+    publish(keyspace);
+  }
+
+  @Override
+  public void onDropType(String keyspace, String type) {
+    publish(keyspace);
+  }
+}
@@ -17,8 +17,8 @@ package io.stargate.bridge.service;
 
 import static io.stargate.bridge.codec.ValueCodec.decodeValue;
 
-import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
+import com.google.protobuf.UnsafeByteOperations;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.grpc.Status;
@@ -212,11 +212,15 @@ public class ValuesHelper {
       }
       if (comparableBytes != null) {
         rowBuilder.setComparableBytes(
-            BytesValue.newBuilder().setValue(ByteString.copyFrom(comparableBytes)).build());
+            BytesValue.newBuilder()
+                .setValue(UnsafeByteOperations.unsafeWrap(comparableBytes))
+                .build());
       }
       if (rowPagingState != null) {
         rowBuilder.setPagingState(
-            BytesValue.newBuilder().setValue(ByteString.copyFrom(rowPagingState)).build());
+            BytesValue.newBuilder()
+                .setValue(UnsafeByteOperations.unsafeWrap(rowPagingState))
+                .build());
       }
       resultSetBuilder.addRows(rowBuilder);
       count++;
@@ -225,7 +229,7 @@ public class ValuesHelper {
     if (rows.resultMetadata.pagingState != null) {
       resultSetBuilder.setPagingState(
           BytesValue.newBuilder()
-              .setValue(ByteString.copyFrom(rows.resultMetadata.pagingState))
+              .setValue(UnsafeByteOperations.unsafeWrap(rows.resultMetadata.pagingState))
               .build());
     }
 
@@ -1,7 +1,7 @@
 package io.stargate.bridge.service.interceptors;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.protobuf.Descriptors;
 import io.grpc.Context;
 import io.grpc.Contexts;
@@ -13,6 +13,10 @@ import io.grpc.ServerCall.Listener;
 import io.grpc.ServerCallHandler;
 import io.grpc.ServerInterceptor;
 import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
@@ -25,9 +29,19 @@ import io.stargate.db.Persistence.Connection;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.apache.cassandra.stargate.exceptions.UnhandledClientException;
 import org.immutables.value.Value;
@@ -48,36 +62,87 @@ public class NewConnectionInterceptor implements ServerInterceptor {
       Integer.getInteger("stargate.grpc.connection_cache_ttl_seconds", 60);
   private static final int CACHE_MAX_SIZE =
       Integer.getInteger("stargate.grpc.connection_cache_max_size", 10_000);
+  // Headers that vary between clients of the same principal, but are not relevant to the
+  // persistence connection. They are not part of the connection cache key.
+  private static final Set<String> CACHE_KEY_IGNORED_HEADERS =
+      Arrays.stream(
+              System.getProperty(
+                      "stargate.grpc.connection_cache_ignored_headers",
+                      "user-agent,content-type,te,accept-encoding")
+                  .split(","))
+          .map(String::trim)
+          .filter(h -> !h.isEmpty())
+          .collect(Collectors.toSet());
 
   protected final Persistence persistence;
   private final AuthenticationService authenticationService;
-  private final LoadingCache<RequestInfo, Connection> connectionCache =
-      Caffeine.newBuilder()
-          .expireAfterWrite(Duration.ofSeconds(CACHE_TTL_SECS))
-          .maximumSize(CACHE_MAX_SIZE)
-          .build(this::newConnection);
+  private final Executor executor;
+  private final AsyncCache<RequestInfo, Connection> connectionCache;
+  private final Timer interceptTimer;
+  private final Timer authenticationQueueTimer;
 
+  /**
+   * Identifies the principal of a call, connections are shared between the calls of the same
+   * principal.
+   */
   @Value.Immutable
   public interface RequestInfo {
 
     @Nullable
     String token();
 
+    /** The headers relevant to the connection, this includes the tenant. */
     Map<String, String> headers();
-
-    @Nullable
-    SocketAddress remoteAddress();
   }
 
+  /**
+   * Creates an interceptor that authenticates new connections on the calling thread.
+   *
+   * @see #NewConnectionInterceptor(Persistence, AuthenticationService, Executor, MeterRegistry)
+   */
   public NewConnectionInterceptor(
       Persistence persistence, AuthenticationService authenticationService) {
+    this(persistence, authenticationService, Runnable::run, Metrics.globalRegistry);
+  }
+
+  /**
+   * @param executor the executor used to authenticate new connections. Calls that need a new
+   *     connection are started once it is available, so that a slow token validation does not block
+   *     the event loop the call was received on. It should be dedicated to authentication and
+   *     bounded: the calls it rejects are closed with {@link Status#UNAVAILABLE}.
+   * @param meterRegistry the registry of the timers that record how long calls are held on the
+   *     thread that intercepts them, and how long authentications wait for the executor.
+   */
+  public NewConnectionInterceptor(
+      Persistence persistence,
+      AuthenticationService authenticationService,
+      Executor executor,
+      MeterRegistry meterRegistry) {
     this.persistence = persistence;
     this.authenticationService = authenticationService;
+    this.authenticationQueueTimer =
+        Timer.builder("grpc.server.connection.authentication.queue")
+            .description("Time new connections wait for the authentication executor")
+            .register(meterRegistry);
+    this.executor = timeQueued(executor, authenticationQueueTimer);
+    this.connectionCache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(CACHE_TTL_SECS))
+            .maximumSize(CACHE_MAX_SIZE)
+            .recordStats()
+            .buildAsync();
+    CaffeineCacheMetrics.monitor(
+        meterRegistry, connectionCache.synchronous(), "bridge.connection.cache");
+    this.interceptTimer =
+        Timer.builder("grpc.server.connection.intercept")
+            .description("Time spent establishing connections on the thread that received the call")
+            .register(meterRegistry);
   }
 
   @Override
   public <ReqT, RespT> Listener<ReqT> interceptCall(
       ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+    long start = System.nanoTime();
     try {
       Context context = Context.current();
 
@@ -103,47 +168,132 @@ public class NewConnectionInterceptor implements ServerInterceptor {
         RequestInfo info =
             ImmutableRequestInfo.builder()
                 .token(token)
-                .headers(stringHeaders)
-                .remoteAddress(call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR))
+                .headers(connectionHeaders(stringHeaders))
                 .build();
+        SocketAddress remoteAddress = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+
+        CompletableFuture<Connection> connectionFuture =
+            connectionCache.get(info, (i, e) -> newConnection(i, remoteAddress));
 
-        Connection connection = connectionCache.get(info);
-        context =
-            context
-                .withValue(BridgeService.HEADERS_KEY, stringHeaders)
-                .withValue(BridgeService.CONNECTION_KEY, connection);
+        // Fast path: the connection is cached, start the call right away
+        if (connectionFuture.isDone()) {
+          Connection connection = connectionFuture.join();
+          return Contexts.interceptCall(
+              withConnection(context, stringHeaders, remoteAddress, connection),
+              call,
+              headers,
+              next);
+        }
+
+        // Otherwise the call is started once the connection is available, its events are buffered
+        // in the meantime.
+        DeferredListener<ReqT> listener = new DeferredListener<>();
+        Context parentContext = context;
+        connectionFuture.whenComplete(
+            (connection, error) -> {
+              Listener<ReqT> delegate = new NopListener<>();
+              try {
+                if (error != null) {
+                  closeCall(call, error);
+                } else if (!call.isCancelled()) {
+                  delegate =
+                      Contexts.interceptCall(
+                          withConnection(parentContext, stringHeaders, remoteAddress, connection),
+                          call,
+                          headers,
+                          next);
+                }
+              } catch (Exception e) {
+                closeCall(call, e);
+              }
+              listener.setDelegate(delegate);
+            });
+        return listener;
       }
       return Contexts.interceptCall(context, call, headers, next);
     } catch (Exception e) {
-      Throwable cause = e;
-      if (cause instanceof CompletionException) {
-        cause = e.getCause();
-      }
-      if (cause instanceof UnauthorizedException) {
-        call.close(
-            Status.UNAUTHENTICATED.withDescription("Invalid token").withCause(e), new Metadata());
-      } else if (cause instanceof UnhandledClientException) {
-        call.close(Status.UNAVAILABLE.withDescription(e.getMessage()).withCause(e), new Metadata());
-      } else {
-        final String message = "Error attempting to create connection to persistence";
-        logger.error(message, cause);
-        call.close(Status.INTERNAL.withDescription(message).withCause(e), new Metadata());
-      }
+      closeCall(call, e);
+    } finally {
+      interceptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
     return new NopListener<>();
   }
 
+  private static Context withConnection(
+      Context context,
+      Map<String, String> stringHeaders,
+      SocketAddress remoteAddress,
+      Connection connection) {
+    Context result =
+        context
+            .withValue(BridgeService.HEADERS_KEY, stringHeaders)
+            .withValue(BridgeService.CONNECTION_KEY, connection);
+    return remoteAddress == null
+        ? result
+        : result.withValue(BridgeService.REMOTE_ADDRESS_KEY, remoteAddress);
+  }
+
+  private static Executor timeQueued(Executor executor, Timer queueTimer) {
+    return task -> {
+      long queued = System.nanoTime();
+      executor.execute(
+          () -> {
+            queueTimer.record(System.nanoTime() - queued, TimeUnit.NANOSECONDS);
+            task.run();
+          });
+    };
+  }
+
+  private static Map<String, String> connectionHeaders(Map<String, String> stringHeaders) {
+    Map<String, String> connectionHeaders = new HashMap<>(stringHeaders);
+    connectionHeaders.keySet().removeAll(CACHE_KEY_IGNORED_HEADERS);
+    return connectionHeaders;
+  }
+
+  private static void closeCall(ServerCall<?, ?> call, Throwable e) {
+    Throwable cause = e;
+    if (cause instanceof CompletionException) {
+      cause = e.getCause();
+    }
+    if (cause instanceof UnauthorizedException) {
+      call.close(
+          Status.UNAUTHENTICATED.withDescription("Invalid token").withCause(e), new Metadata());
+    } else if (cause instanceof RejectedExecutionException) {
+      call.close(
+          Status.UNAVAILABLE
+              .withDescription("Too many connections waiting for authentication")
+              .withCause(e),
+          new Metadata());
+    } else if (cause instanceof UnhandledClientException) {
+      call.close(Status.UNAVAILABLE.withDescription(e.getMessage()).withCause(e), new Metadata());
+    } else {
+      final String message = "Error attempting to create connection to persistence";
+      logger.error(message, cause);
+      call.close(Status.INTERNAL.withDescription(message).withCause(e), new Metadata());
+    }
+  }
+
   private boolean shouldCreateConnection(ServerCall<?, ?> call) {
     return !GET_SUPPORTED_FEATURES_NAME.equals(call.getMethodDescriptor().getFullMethodName());
   }
 
-  protected Connection newConnection(RequestInfo info) throws UnauthorizedException {
-    AuthenticationSubject authenticationSubject =
-        authenticationService.validateToken(info.token(), info.headers());
+  /**
+   * @param remoteAddress the address of the call that triggered the creation. The connection is
+   *     shared with other calls of the same principal, which may come from other addresses.
+   */
+  protected CompletableFuture<Connection> newConnection(
+      RequestInfo info, @Nullable SocketAddress remoteAddress) {
+    return authenticationService
+        .validateTokenAsync(info.token(), info.headers(), executor)
+        .thenApply(
+            authenticationSubject -> newConnection(info, remoteAddress, authenticationSubject))
+        .toCompletableFuture();
+  }
 
+  private Connection newConnection(
+      RequestInfo info, SocketAddress remoteAddress, AuthenticationSubject authenticationSubject) {
     AuthenticatedUser user = authenticationSubject.asUser();
 
-    SocketAddress remoteAddress = info.remoteAddress();
     // This is best effort attempt to set the remote address, if the remote address is not the
     // correct type then use a dummy value. Note: `remoteAddress` is almost always a
     // `InetSocketAddress`.
@@ -185,4 +335,69 @@ public class NewConnectionInterceptor implements ServerInterceptor {
   }
 
   private static class NopListener<ReqT> extends Listener<ReqT> {}
+
+  /**
+   * Buffers the events of a call until the actual listener is available, then replays them in
+   * order. Modeled after the delayed listener of the gRPC client calls.
+   */
+  private static class DeferredListener<ReqT> extends Listener<ReqT> {
+
+    private Listener<ReqT> delegate;
+    private List<Consumer<Listener<ReqT>>> pendingEvents = new ArrayList<>();
+
+    void setDelegate(Listener<ReqT> delegate) {
+      List<Consumer<Listener<ReqT>>> toRun;
+      while (true) {
+        synchronized (this) {
+          if (pendingEvents.isEmpty()) {
+            this.delegate = delegate;
+            pendingEvents = null;
+            return;
+          }
+          toRun = pendingEvents;
+          pendingEvents = new ArrayList<>();
+        }
+        for (Consumer<Listener<ReqT>> event : toRun) {
+          event.accept(delegate);
+        }
+      }
+    }
+
+    private void dispatch(Consumer<Listener<ReqT>> event) {
+      Listener<ReqT> current;
+      synchronized (this) {
+        if (delegate == null) {
+          pendingEvents.add(event);
+          return;
+        }
+        current = delegate;
+      }
+      event.accept(current);
+    }
+
+    @Override
+    public void onMessage(ReqT message) {
+      dispatch(l -> l.onMessage(message));
+    }
+
+    @Override
+    public void onHalfClose() {
+      dispatch(Listener::onHalfClose);
+    }
+
+    @Override
+    public void onCancel() {
+      dispatch(Listener::onCancel);
+    }
+
+    @Override
+    public void onComplete() {
+      dispatch(Listener::onComplete);
+    }
+
+    @Override
+    public void onReady() {
+      dispatch(Listener::onReady);
+    }
+  }
 }
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
 import com.datastax.oss.driver.api.core.uuid.Uuids;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.google.protobuf.ByteString;
@@ -37,12 +38,14 @@ import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.UUID;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -100,6 +103,46 @@ public class ValueCodecTest {
     assertThat(actualValue2).isEqualTo(expectedValue);
   }
 
+  @Test
+  public void zeroCopyStringDecode() {
+    StringCodec codec = new StringCodec(TypeCodecs.TEXT, true);
+    byte[] utf8 = "你好，世界".getBytes(StandardCharsets.UTF_8);
+    ByteBuffer bytes = ByteBuffer.wrap(utf8);
+
+    Value value = codec.decode(bytes, Type.Text);
+
+    assertThat(bytes.position()).isZero();
+    // wrapped, not copied
+    utf8[0] = 'x';
+    assertThat(value.getStringBytes().byteAt(0)).isEqualTo((byte) 'x');
+    utf8[0] = "你".getBytes(StandardCharsets.UTF_8)[0];
+    assertThat(value).isEqualTo(Values.of("你好，世界"));
+  }
+
+  @Test
+  public void zeroCopyStringDecodeMalformed() {
+    ByteBuffer bytes = ByteBuffer.wrap(new byte[] {'a', (byte) 0xC3});
+
+    // same failure as without zero-copy
+    assertThatThrownBy(() -> new StringCodec(TypeCodecs.TEXT, true).decode(bytes, Type.Text))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new StringCodec(TypeCodecs.TEXT).decode(bytes, Type.Text))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void zeroCopyBytesDecode() {
+    BytesCodec codec = new BytesCodec(true);
+    byte[] array = {1, 2, 3, 4};
+    ByteBuffer bytes = ByteBuffer.wrap(array, 1, 2);
+
+    Value value = codec.decode(bytes, Type.Blob);
+
+    assertThat(value.getBytes()).isEqualTo(ByteString.copyFrom(new byte[] {2, 3}));
+    array[1] = 9;
+    assertThat(value.getBytes().byteAt(0)).isEqualTo((byte) 9);
+  }
+
   @ParameterizedTest
   @MethodSource({
     "invalidBigintValues",
@@ -93,4 +93,38 @@ class DefaultRetryPolicyTest {
       assertThat(decision).isEqualTo(RetryDecision.RETHROW);
     }
   }
+
+  @Nested
+  class GetRetryDelayMillis {
+
+    private final RetryPolicy backoffPolicy = new DefaultRetryPolicy(100, 1000);
+
+    @Test
+    public void exponentialWithJitter() {
+      ReadTimeoutException ex = new ReadTimeoutException(QUORUM, 2, 2, false);
+
+      for (int i = 0; i < 100; i++) {
+        assertThat(backoffPolicy.getRetryDelayMillis(ex, 0)).isBetween(50L, 100L);
+        assertThat(backoffPolicy.getRetryDelayMillis(ex, 1)).isBetween(100L, 200L);
+        assertThat(backoffPolicy.getRetryDelayMillis(ex, 2)).isBetween(200L, 400L);
+        assertThat(backoffPolicy.getRetryDelayMillis(ex, 4)).isBetween(500L, 1000L);
+        assertThat(backoffPolicy.getRetryDelayMillis(ex, 100)).isBetween(500L, 1000L);
+      }
+    }
+
+    @Test
+    public void unpreparedImmediately() {
+      PreparedQueryNotFoundException ex = new PreparedQueryNotFoundException(null);
+
+      assertThat(backoffPolicy.getRetryDelayMillis(ex, 0)).isZero();
+      assertThat(backoffPolicy.getRetryDelayMillis(ex, 1)).isZero();
+    }
+
+    @Test
+    public void noBaseDelay() {
+      WriteTimeoutException ex = new WriteTimeoutException(BATCH_LOG, QUORUM, 2, 0);
+
+      assertThat(new DefaultRetryPolicy(0, 1000).getRetryDelayMillis(ex, 3)).isZero();
+    }
+  }
 }
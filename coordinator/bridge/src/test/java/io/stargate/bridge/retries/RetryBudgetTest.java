@@ -0,0 +1,62 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.retries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+
+  @Test
+  public void shouldAllowBurstUpToCapacity() {
+    RetryBudget budget = new RetryBudget(3, 1, nanos::get);
+
+    assertThat(budget.tryAcquire()).isTrue();
+    assertThat(budget.tryAcquire()).isTrue();
+    assertThat(budget.tryAcquire()).isTrue();
+    assertThat(budget.tryAcquire()).isFalse();
+  }
+
+  @Test
+  public void shouldRefillOverTime() {
+    RetryBudget budget = new RetryBudget(2, 4, nanos::get);
+    assertThat(budget.tryAcquire()).isTrue();
+    assertThat(budget.tryAcquire()).isTrue();
+    assertThat(budget.tryAcquire()).isFalse();
+
+    // 4 tokens per second, one token every 250ms
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+    assertThat(budget.tryAcquire()).isFalse();
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+    assertThat(budget.tryAcquire()).isTrue();
+    assertThat(budget.tryAcquire()).isFalse();
+  }
+
+  @Test
+  public void shouldNotRefillAboveCapacity() {
+    RetryBudget budget = new RetryBudget(2, 100, nanos::get);
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+    assertThat(budget.tryAcquire()).isTrue();
+    assertThat(budget.tryAcquire()).isTrue();
+    assertThat(budget.tryAcquire()).isFalse();
+  }
+}
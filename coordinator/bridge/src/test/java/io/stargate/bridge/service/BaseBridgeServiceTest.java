@@ -43,6 +43,8 @@ import io.stargate.bridge.proto.QueryOuterClass.Values;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.bridge.proto.StargateBridgeGrpc;
 import io.stargate.bridge.proto.StargateBridgeGrpc.StargateBridgeBlockingStub;
+import io.stargate.bridge.retries.DefaultRetryPolicy;
+import io.stargate.bridge.retries.RetryPolicy;
 import io.stargate.db.BoundStatement;
 import io.stargate.db.Persistence;
 import io.stargate.db.Persistence.Connection;
@@ -72,6 +74,7 @@ public class BaseBridgeServiceTest {
 
   protected @Mock Persistence persistence;
   protected @Mock AuthorizationService authorizationService;
+  protected RetryPolicy retryPolicy = new DefaultRetryPolicy();
 
   protected Connection connection = spy(mock(Connection.class));
 
@@ -156,7 +159,8 @@ public class BaseBridgeServiceTest {
 
     server =
         builder
-            .addService(new BridgeService(persistence, authorizationService, executor, 2))
+            .addService(
+                new BridgeService(persistence, authorizationService, executor, 2, retryPolicy))
             .build();
     try {
       server.start();
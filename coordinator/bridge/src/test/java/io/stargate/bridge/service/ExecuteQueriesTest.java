@@ -0,0 +1,188 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import io.grpc.Status;
+import io.stargate.bridge.Utils;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass.IndexedResponse;
+import io.stargate.bridge.proto.QueryOuterClass.Queries;
+import io.stargate.bridge.proto.QueryOuterClass.Query;
+import io.stargate.bridge.proto.QueryOuterClass.ReadTimeout;
+import io.stargate.bridge.proto.StargateBridgeGrpc.StargateBridgeBlockingStub;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.Parameters;
+import io.stargate.db.Result;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.Statement;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.cassandra.stargate.db.ConsistencyLevel;
+import org.apache.cassandra.stargate.exceptions.ReadTimeoutException;
+import org.apache.cassandra.stargate.exceptions.SyntaxException;
+import org.junit.jupiter.api.Test;
+
+public class ExecuteQueriesTest extends BaseBridgeServiceTest {
+
+  private static final String QUERY = "SELECT release_version FROM system.local WHERE key = ?";
+  private static final String INVALID_QUERY = "SELECT invalid";
+
+  @Test
+  public void shouldStreamEachResponseOrError() {
+    ResultMetadata resultMetadata =
+        Utils.makeResultMetadata(Column.create("release_version", Type.Text));
+    Prepared prepared = makePrepared(resultMetadata);
+    when(connection.prepare(eq(QUERY), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+    when(connection.prepare(eq(INVALID_QUERY), any(Parameters.class)))
+        .thenThrow(new SyntaxException("line 1:14 no viable alternative"));
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .then(
+            invocation -> {
+              BoundStatement statement =
+                  (BoundStatement) invocation.getArgument(0, Statement.class);
+              String key = TypeCodecs.TEXT.decode(statement.values().get(0), ProtocolVersion.V4);
+              return rows(resultMetadata, "version-" + key);
+            });
+    when(persistence.newConnection()).thenReturn(connection);
+    startServer(persistence);
+
+    List<IndexedResponse> responses =
+        executeQueries(
+            makeBlockingStub(), query(QUERY, "a"), query(INVALID_QUERY), query(QUERY, "b"));
+
+    assertThat(responses).hasSize(3);
+    assertThat(responses.get(0).getResponse().getResultSet().getRows(0).getValues(0).getString())
+        .isEqualTo("version-a");
+    assertThat(responses.get(1).hasStatus()).isTrue();
+    assertThat(responses.get(1).getStatus().getCode())
+        .isEqualTo(Status.Code.INVALID_ARGUMENT.value());
+    assertThat(responses.get(1).getStatus().getMessage()).contains("no viable alternative");
+    assertThat(responses.get(2).getResponse().getResultSet().getRows(0).getValues(0).getString())
+        .isEqualTo("version-b");
+    // All the queries share the connection of the call
+    verify(persistence, times(1)).newConnection();
+  }
+
+  @Test
+  public void shouldRetryQueriesIndividually() {
+    ResultMetadata resultMetadata =
+        Utils.makeResultMetadata(Column.create("release_version", Type.Text));
+    Prepared prepared = makePrepared(resultMetadata);
+    when(connection.prepare(eq(QUERY), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenThrow(new ReadTimeoutException(ConsistencyLevel.QUORUM, 3, 3, false))
+        .then(invocation -> rows(resultMetadata, "4.0.0"));
+    when(persistence.newConnection()).thenReturn(connection);
+    startServer(persistence);
+
+    List<IndexedResponse> responses =
+        executeQueries(makeBlockingStub(), query(QUERY, "a"), query(QUERY, "b"));
+
+    assertThat(responses).hasSize(2);
+    assertThat(responses).allMatch(IndexedResponse::hasResponse);
+    verify(connection, times(3)).execute(any(Statement.class), any(Parameters.class), anyLong());
+  }
+
+  @Test
+  public void shouldReportErrorDetails() throws Exception {
+    ResultMetadata resultMetadata =
+        Utils.makeResultMetadata(Column.create("release_version", Type.Text));
+    Prepared prepared = makePrepared(resultMetadata);
+    when(connection.prepare(eq(QUERY), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+    // Not retried, since data was present
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenThrow(new ReadTimeoutException(ConsistencyLevel.QUORUM, 1, 3, true));
+    when(persistence.newConnection()).thenReturn(connection);
+    startServer(persistence);
+
+    List<IndexedResponse> responses = executeQueries(makeBlockingStub(), query(QUERY, "a"));
+
+    assertThat(responses).hasSize(1);
+    com.google.rpc.Status status = responses.get(0).getStatus();
+    assertThat(status.getCode()).isEqualTo(Status.Code.DEADLINE_EXCEEDED.value());
+    assertThat(status.getDetailsCount()).isEqualTo(1);
+    ReadTimeout readTimeout = status.getDetails(0).unpack(ReadTimeout.class);
+    assertThat(readTimeout.getReceived()).isEqualTo(1);
+    assertThat(readTimeout.getBlockFor()).isEqualTo(3);
+    assertThat(readTimeout.getDataPresent()).isTrue();
+  }
+
+  @Test
+  public void shouldCompleteWithoutQueries() {
+    when(persistence.newConnection()).thenReturn(connection);
+    startServer(persistence);
+
+    assertThat(executeQueries(makeBlockingStub())).isEmpty();
+  }
+
+  private static Prepared makePrepared(ResultMetadata resultMetadata) {
+    return new Prepared(
+        Utils.STATEMENT_ID,
+        Utils.RESULT_METADATA_ID,
+        resultMetadata,
+        Utils.makePreparedMetadata(Column.create("key", Type.Text)),
+        true,
+        false);
+  }
+
+  private static CompletableFuture<Result> rows(ResultMetadata resultMetadata, String value) {
+    List<List<ByteBuffer>> rows =
+        Collections.singletonList(
+            Collections.singletonList(TypeCodecs.TEXT.encode(value, ProtocolVersion.DEFAULT)));
+    return CompletableFuture.completedFuture(new Result.Rows(rows, resultMetadata));
+  }
+
+  private static Query query(String cql, String... keys) {
+    Query.Builder query = Query.newBuilder().setCql(cql);
+    for (String key : keys) {
+      query.setValues(valuesOf(Values.of(key)));
+    }
+    return query.build();
+  }
+
+  // Returns the responses in the order of the queries
+  private static List<IndexedResponse> executeQueries(
+      StargateBridgeBlockingStub stub, Query... queries) {
+    Queries.Builder request = Queries.newBuilder();
+    for (Query query : queries) {
+      request.addQueries(query);
+    }
+    List<IndexedResponse> responses = new ArrayList<>();
+    stub.executeQueries(request.build()).forEachRemaining(responses::add);
+    responses.sort(Comparator.comparingInt(IndexedResponse::getIndex));
+    return responses;
+  }
+}
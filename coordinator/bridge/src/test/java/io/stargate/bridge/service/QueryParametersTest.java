@@ -21,6 +21,7 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.protobuf.ByteString;
@@ -28,7 +29,12 @@ import com.google.protobuf.BytesValue;
 import com.google.protobuf.Int32Value;
 import com.google.protobuf.Int64Value;
 import com.google.protobuf.StringValue;
+import io.grpc.Context;
+import io.grpc.Contexts;
 import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.stargate.auth.SourceAPI;
@@ -45,6 +51,7 @@ import io.stargate.db.Result;
 import io.stargate.db.Result.Prepared;
 import io.stargate.db.Result.ResultMetadata;
 import io.stargate.db.Statement;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,6 +63,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 
 public class QueryParametersTest extends BaseBridgeServiceTest {
   @ParameterizedTest
@@ -136,6 +144,42 @@ public class QueryParametersTest extends BaseBridgeServiceTest {
     assertThat(response.hasResultSet()).isTrue();
   }
 
+  @Test
+  public void queryParametersWithClientAddress() {
+    InetSocketAddress clientAddress = new InetSocketAddress("10.0.0.1", 50000);
+    ResultMetadata resultMetadata = Utils.makeResultMetadata();
+    Prepared prepared = Utils.makePrepared();
+
+    when(connection.prepare(anyString(), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new Result.Rows(Collections.emptyList(), resultMetadata)));
+    when(persistence.newConnection()).thenReturn(connection);
+
+    // the address of the call, as set by the NewConnectionInterceptor
+    ServerInterceptor remoteAddressInterceptor =
+        new ServerInterceptor() {
+          @Override
+          public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+              ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+            Context context =
+                Context.current().withValue(BridgeService.REMOTE_ADDRESS_KEY, clientAddress);
+            return Contexts.interceptCall(context, call, headers, next);
+          }
+        };
+    startServer(remoteAddressInterceptor, new MockInterceptor(persistence));
+
+    QueryOuterClass.Response response =
+        makeBlockingStub().executeQuery(Query.newBuilder().setCql("SELECT * FROM test").build());
+    assertThat(response.hasResultSet()).isTrue();
+
+    ArgumentCaptor<Parameters> parameters = ArgumentCaptor.forClass(Parameters.class);
+    verify(connection).execute(any(Statement.class), parameters.capture(), anyLong());
+    assertThat(parameters.getValue().clientAddress()).contains(clientAddress);
+  }
+
   @Test
   public void queryParametersWithWrongSourceApi() {
     startServer(new SourceApiInterceptor(true), new MockInterceptor(persistence));
@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.ProtocolVersion;
@@ -32,6 +33,7 @@ import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.StargateBridgeGrpc.StargateBridgeBlockingStub;
+import io.stargate.bridge.retries.DefaultRetryPolicy;
 import io.stargate.db.Batch;
 import io.stargate.db.BatchType;
 import io.stargate.db.BoundStatement;
@@ -46,6 +48,7 @@ import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
 import org.apache.cassandra.stargate.db.WriteType;
 import org.apache.cassandra.stargate.exceptions.ReadTimeoutException;
@@ -213,6 +216,42 @@ public class RetryTest extends BaseBridgeServiceTest {
     validateResponse(releaseVersion, response);
   }
 
+  @Test
+  public void shouldNotRetryPastDeadline() {
+    final String query = "SELECT release_version FROM system.local WHERE key = ?";
+    final String releaseVersion = "4.0.0";
+
+    ResultMetadata resultMetadata =
+        Utils.makeResultMetadata(Column.create("release_version", Type.Text));
+    Prepared prepared =
+        new Prepared(
+            Utils.STATEMENT_ID,
+            Utils.RESULT_METADATA_ID,
+            resultMetadata,
+            Utils.makePreparedMetadata(Column.create("key", Type.Text)),
+            true,
+            false);
+    when(connection.prepare(eq(query), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenThrow(new ReadTimeoutException(ConsistencyLevel.QUORUM, 3, 3, false))
+        .then(correctResponse(releaseVersion, resultMetadata, prepared));
+
+    when(persistence.newConnection()).thenReturn(connection);
+
+    // the retry would be delayed by at least 30 seconds
+    retryPolicy = new DefaultRetryPolicy(60_000, 60_000);
+    startServer(persistence);
+
+    StargateBridgeBlockingStub stub = makeBlockingStub().withDeadlineAfter(10, TimeUnit.SECONDS);
+
+    assertThatThrownBy(() -> executeQuery(stub, query, Values.of("local")))
+        .isInstanceOf(StatusRuntimeException.class)
+        .hasMessageContaining("Operation timed out - received only 3 responses");
+    verify(connection).execute(any(Statement.class), any(Parameters.class), anyLong());
+  }
+
   @Test
   public void shouldRetryOnWriteTimeoutIfWriteTypeBatchLog() throws InvalidProtocolBufferException {
     final String query = "SELECT release_version FROM system.local WHERE key = ?";
@@ -0,0 +1,91 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Context;
+import io.stargate.bridge.proto.Schema.KeyspaceChange;
+import io.stargate.bridge.proto.Schema.KeyspaceChangesRequest;
+import io.stargate.bridge.proto.StargateBridgeGrpc;
+import io.stargate.db.EventListener;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Schema;
+import java.util.Iterator;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class SchemaChangesTest extends BaseBridgeTest {
+
+  @Test
+  public void shouldPublishKeyspaceChanges() throws Exception {
+    // Given
+    StargateBridgeGrpc.StargateBridgeBlockingStub stub = makeBlockingStub();
+    startServer(persistence);
+
+    ArgumentCaptor<EventListener> listener = ArgumentCaptor.forClass(EventListener.class);
+    verify(persistence).registerEventListener(listener.capture());
+
+    Schema schema =
+        Schema.build()
+            .keyspace("ks")
+            .table("tbl")
+            .column("k", Column.Type.Text, Column.Kind.PartitionKey)
+            .build();
+    when(persistence.schema()).thenReturn(schema);
+
+    // When
+    // (cancelled at the end, otherwise the server can't shut down)
+    Context.CancellableContext context = Context.current().withCancellation();
+    Iterator<KeyspaceChange> changes =
+        context.call(() -> stub.getKeyspaceChanges(KeyspaceChangesRequest.getDefaultInstance()));
+
+    // Then
+    assertThat(changes.next().getChangeType()).isEqualTo(KeyspaceChange.Type.SUBSCRIBED);
+
+    listener.getValue().onCreateTable("ks", "tbl");
+    KeyspaceChange updated = changes.next();
+    assertThat(updated.getChangeType()).isEqualTo(KeyspaceChange.Type.UPDATED);
+    assertThat(updated.getKeyspaceGlobalName()).isEqualTo("ks");
+    assertThat(updated.getHash().getValue()).isEqualTo(schema.keyspace("ks").schemaHashCode());
+
+    listener.getValue().onDropKeyspace("other_ks");
+    KeyspaceChange dropped = changes.next();
+    assertThat(dropped.getChangeType()).isEqualTo(KeyspaceChange.Type.DROPPED);
+    assertThat(dropped.getKeyspaceGlobalName()).isEqualTo("other_ks");
+    assertThat(dropped.hasHash()).isFalse();
+
+    context.cancel(null);
+  }
+
+  @Test
+  public void shouldNotPublishWithoutSubscribers() {
+    // Given
+    startServer(persistence);
+
+    ArgumentCaptor<EventListener> listener = ArgumentCaptor.forClass(EventListener.class);
+    verify(persistence).registerEventListener(listener.capture());
+
+    // When
+    listener.getValue().onCreateKeyspace("ks");
+
+    // Then
+    verify(persistence, never()).schema();
+  }
+}
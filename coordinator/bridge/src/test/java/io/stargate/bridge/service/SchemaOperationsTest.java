@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -87,7 +88,8 @@ public class SchemaOperationsTest extends BaseBridgeServiceTest {
     AuthenticationSubject authenticationSubject = mock(AuthenticationSubject.class);
     when(authenticationSubject.asUser()).thenReturn(authenticatedUser);
 
-    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
     when(authenticationService.validateToken(anyString(), any(Map.class)))
         .thenReturn(authenticationSubject);
 
@@ -20,6 +20,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -33,6 +35,7 @@ import io.grpc.MethodDescriptor;
 import io.grpc.ServerCall;
 import io.grpc.ServerCallHandler;
 import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
@@ -41,10 +44,15 @@ import io.stargate.db.AuthenticatedUser;
 import io.stargate.db.Persistence;
 import io.stargate.db.Persistence.Connection;
 import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.cassandra.stargate.exceptions.UnhandledClientException;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 public class NewConnectionInterceptorTest {
 
@@ -56,7 +64,8 @@ public class NewConnectionInterceptorTest {
     AuthenticationSubject authenticationSubject = mock(AuthenticationSubject.class);
     when(authenticationSubject.asUser()).thenReturn(authenticatedUser);
 
-    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
     when(authenticationService.validateToken(eq("abc"), any(Map.class)))
         .thenReturn(authenticationSubject);
 
@@ -91,7 +100,8 @@ public class NewConnectionInterceptorTest {
   public void emptyCredentials() throws UnauthorizedException {
     Persistence persistence = mock(Persistence.class);
 
-    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
 
     ServerCallHandler next = mock(ServerCallHandler.class);
     ServerCall call = mockCall();
@@ -116,7 +126,8 @@ public class NewConnectionInterceptorTest {
   public void invalidCredentials() throws UnauthorizedException {
     Persistence persistence = mock(Persistence.class);
 
-    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
     when(authenticationService.validateToken(eq("invalid"), any(Map.class)))
         .thenThrow(new UnauthorizedException(""));
 
@@ -144,7 +155,8 @@ public class NewConnectionInterceptorTest {
   public void unhandledClientException() throws UnauthorizedException {
     Persistence persistence = mock(Persistence.class);
 
-    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
     when(authenticationService.validateToken(anyString(), any(Map.class)))
         .thenThrow(new UnhandledClientException(""));
 
@@ -171,7 +183,8 @@ public class NewConnectionInterceptorTest {
     AuthenticationSubject authenticationSubject = mock(AuthenticationSubject.class);
     when(authenticationSubject.asUser()).thenReturn(authenticatedUser);
 
-    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
     when(authenticationService.validateToken(anyString(), any(Map.class)))
         .then(
             invocation -> {
@@ -200,6 +213,202 @@ public class NewConnectionInterceptorTest {
     verify(authenticationService, times(1)).validateToken(anyString(), any(Map.class));
   }
 
+  @Test
+  public void deferredUntilAuthenticated() throws UnauthorizedException {
+    AuthenticatedUser authenticatedUser = mock(AuthenticatedUser.class);
+    AuthenticationSubject authenticationSubject = mock(AuthenticationSubject.class);
+    when(authenticationSubject.asUser()).thenReturn(authenticatedUser);
+
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
+    when(authenticationService.validateToken(eq("abc"), any(Map.class)))
+        .thenReturn(authenticationSubject);
+
+    Connection connection = mock(Connection.class);
+    Persistence persistence = mock(Persistence.class);
+    when(persistence.newConnection(any())).thenReturn(connection);
+
+    ServerCall.Listener delegate = mock(ServerCall.Listener.class);
+    ServerCallHandler next = mock(ServerCallHandler.class);
+    when(next.startCall(any(ServerCall.class), any(Metadata.class)))
+        .then(
+            invocation -> {
+              assertThat(BridgeService.CONNECTION_KEY.get()).isSameAs(connection);
+              return delegate;
+            });
+    ServerCall call = mockCall();
+
+    Metadata metadata = new Metadata();
+    metadata.put(NewConnectionInterceptor.TOKEN_KEY, "abc");
+
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    NewConnectionInterceptor interceptor =
+        new NewConnectionInterceptor(persistence, authenticationService, tasks::add, meterRegistry);
+    ServerCall.Listener listener = interceptor.interceptCall(call, metadata, next);
+
+    // events are buffered until the connection is there
+    listener.onReady();
+    listener.onHalfClose();
+    verify(next, never()).startCall(any(ServerCall.class), any(Metadata.class));
+    assertThat(meterRegistry.get("grpc.server.connection.intercept").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("grpc.server.connection.authentication.queue").timer().count())
+        .isZero();
+
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    assertThat(meterRegistry.get("grpc.server.connection.authentication.queue").timer().count())
+        .isEqualTo(1);
+    verify(next).startCall(any(ServerCall.class), any(Metadata.class));
+    InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).onReady();
+    inOrder.verify(delegate).onHalfClose();
+
+    // then delivered directly
+    listener.onComplete();
+    verify(delegate).onComplete();
+    verify(call, never()).close(any(Status.class), any(Metadata.class));
+  }
+
+  @Test
+  public void deferredInvalidCredentials() throws UnauthorizedException {
+    Persistence persistence = mock(Persistence.class);
+
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
+    when(authenticationService.validateToken(eq("invalid"), any(Map.class)))
+        .thenThrow(new UnauthorizedException(""));
+
+    ServerCallHandler next = mock(ServerCallHandler.class);
+    ServerCall call = mockCall();
+
+    Metadata metadata = new Metadata();
+    metadata.put(NewConnectionInterceptor.TOKEN_KEY, "invalid");
+
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    NewConnectionInterceptor interceptor =
+        new NewConnectionInterceptor(
+            persistence, authenticationService, tasks::add, new SimpleMeterRegistry());
+    ServerCall.Listener listener = interceptor.interceptCall(call, metadata, next);
+    listener.onHalfClose();
+    verify(call, never()).close(any(Status.class), any(Metadata.class));
+
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    verify(call, times(1))
+        .close(
+            argThat(
+                s ->
+                    s.getCode() == Status.UNAUTHENTICATED.getCode()
+                        && s.getDescription().equals("Invalid token")),
+            any(Metadata.class));
+    verify(next, never()).startCall(any(ServerCall.class), any(Metadata.class));
+  }
+
+  @Test
+  public void rejectedAuthentication() throws UnauthorizedException {
+    Persistence persistence = mock(Persistence.class);
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
+    ServerCallHandler next = mock(ServerCallHandler.class);
+    ServerCall call = mockCall();
+
+    Metadata metadata = new Metadata();
+    metadata.put(NewConnectionInterceptor.TOKEN_KEY, "abc");
+
+    NewConnectionInterceptor interceptor =
+        new NewConnectionInterceptor(
+            persistence,
+            authenticationService,
+            task -> {
+              throw new RejectedExecutionException();
+            },
+            new SimpleMeterRegistry());
+    interceptor.interceptCall(call, metadata, next);
+
+    verify(call, times(1))
+        .close(
+            argThat(
+                s ->
+                    s.getCode() == Status.UNAVAILABLE.getCode()
+                        && s.getDescription()
+                            .equals("Too many connections waiting for authentication")),
+            any(Metadata.class));
+    verify(authenticationService, never()).validateToken(anyString(), any(Map.class));
+    verify(next, never()).startCall(any(ServerCall.class), any(Metadata.class));
+  }
+
+  @Test
+  public void connectionSharedPerPrincipal() throws UnauthorizedException {
+    AuthenticatedUser authenticatedUser = mock(AuthenticatedUser.class);
+    AuthenticationSubject authenticationSubject = mock(AuthenticationSubject.class);
+    when(authenticationSubject.asUser()).thenReturn(authenticatedUser);
+
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
+    when(authenticationService.validateToken(eq("abc"), any(Map.class)))
+        .thenReturn(authenticationSubject);
+
+    Persistence persistence = mock(Persistence.class);
+    when(persistence.newConnection(any())).thenAnswer(invocation -> mock(Connection.class));
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    NewConnectionInterceptor interceptor =
+        new NewConnectionInterceptor(
+            persistence, authenticationService, Runnable::run, meterRegistry);
+
+    // same principal, different client addresses and user agents
+    Connection first = interceptConnection(interceptor, 8090, "agent/1", "tenant1");
+    Connection second = interceptConnection(interceptor, 8091, "agent/2", "tenant1");
+    assertThat(second).isSameAs(first);
+
+    // another tenant gets its own connection
+    Connection third = interceptConnection(interceptor, 8090, "agent/1", "tenant2");
+    assertThat(third).isNotSameAs(first);
+
+    verify(persistence, times(2)).newConnection(any());
+    verify(authenticationService, times(2)).validateToken(eq("abc"), any(Map.class));
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tags("cache", "bridge.connection.cache", "result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Connection interceptConnection(
+      NewConnectionInterceptor interceptor, int port, String userAgent, String tenant) {
+    ServerCall call = mockCall();
+    Attributes attributes =
+        Attributes.newBuilder()
+            .set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, new InetSocketAddress(port))
+            .build();
+    when(call.getAttributes()).thenReturn(attributes);
+
+    Metadata metadata = new Metadata();
+    metadata.put(NewConnectionInterceptor.TOKEN_KEY, "abc");
+    metadata.put(Metadata.Key.of("user-agent", Metadata.ASCII_STRING_MARSHALLER), userAgent);
+    metadata.put(Metadata.Key.of("x-tenant-id", Metadata.ASCII_STRING_MARSHALLER), tenant);
+
+    AtomicReference<Connection> connection = new AtomicReference<>();
+    interceptor.interceptCall(
+        call,
+        metadata,
+        (c, h) -> {
+          connection.set(BridgeService.CONNECTION_KEY.get());
+          assertThat(BridgeService.REMOTE_ADDRESS_KEY.get()).isEqualTo(new InetSocketAddress(port));
+          return null;
+        });
+    verify(call, never()).close(any(Status.class), any(Metadata.class));
+    return connection.get();
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   private ServerCall mockCall() {
     ServerCall call = mock(ServerCall.class);
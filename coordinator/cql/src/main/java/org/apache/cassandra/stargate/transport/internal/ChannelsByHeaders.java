@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal;
+
+import io.netty.channel.Channel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Channels grouped by the proxy headers of their connection (see {@link ProxyInfo#toHeaders()}).
+ *
+ * <p>Event and close filters are predicates on those headers, so they are tested once per distinct
+ * set of headers (typically one per tenant or proxy) instead of once per channel, and only the
+ * channels of the matching groups are written to or closed. Closed channels leave their group, and
+ * empty groups are dropped.
+ */
+class ChannelsByHeaders {
+
+  private final String name;
+  private final ConcurrentMap<Map<String, String>, ChannelGroup> groups = new ConcurrentHashMap<>();
+
+  ChannelsByHeaders(String name) {
+    this.name = name;
+  }
+
+  void add(Channel channel) {
+    Map<String, String> headers = headers(channel);
+    groups.compute(
+        headers,
+        (h, group) -> {
+          ChannelGroup result =
+              group != null ? group : new DefaultChannelGroup(name, GlobalEventExecutor.INSTANCE);
+          result.add(channel);
+          return result;
+        });
+    channel
+        .closeFuture()
+        .addListener(
+            f ->
+                groups.computeIfPresent(
+                    headers,
+                    (h, group) -> {
+                      group.remove(channel);
+                      return group.isEmpty() ? null : group;
+                    }));
+  }
+
+  /**
+   * Writes the message to the channels whose headers match the filter.
+   *
+   * @param headerFilter a predicate used to match the channels, or null to write to all of them.
+   */
+  void writeAndFlush(Object message, Predicate<Map<String, String>> headerFilter) {
+    groups.forEach(
+        (headers, group) -> {
+          if (headerFilter == null || headerFilter.test(headers)) group.writeAndFlush(message);
+        });
+  }
+
+  /**
+   * Closes the channels whose headers match the filter.
+   *
+   * @param headerFilter a predicate used to match the channels.
+   */
+  void close(Predicate<Map<String, String>> headerFilter) {
+    groups.forEach(
+        (headers, group) -> {
+          if (headerFilter.test(headers)) group.close();
+        });
+  }
+
+  private static Map<String, String> headers(Channel channel) {
+    ProxyInfo proxyInfo = channel.attr(ProxyInfo.attributeKey).get();
+    return proxyInfo != null ? proxyInfo.toHeaders() : Collections.emptyMap();
+  }
+}
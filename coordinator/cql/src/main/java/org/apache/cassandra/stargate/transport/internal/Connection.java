@@ -85,5 +85,8 @@ public class Connection {
 
   public interface Tracker {
     void addConnection(Channel ch, Connection connection);
+
+    /** Notifies the tracker that the user logged in on the connection. */
+    default void updateUser(Channel ch, Connection connection) {}
   }
 }
@@ -26,7 +26,6 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.ChannelOutboundInvoker;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
@@ -41,6 +40,8 @@ import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import io.netty.util.Version;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import io.netty.util.internal.logging.InternalLoggerFactory;
@@ -55,12 +56,10 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -70,7 +69,6 @@ import java.util.function.Predicate;
 import org.apache.cassandra.net.ResourceLimits;
 import org.apache.cassandra.stargate.config.EncryptionOptions;
 import org.apache.cassandra.stargate.locator.InetAddressAndPort;
-import org.apache.cassandra.stargate.metrics.ConnectionMetrics;
 import org.apache.cassandra.stargate.security.SSLFactory;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.stargate.transport.internal.messages.EventMessage;
@@ -268,43 +266,77 @@ public class CqlServer {
   }
 
   public static class ConnectionTracker implements Connection.Tracker {
+    private static final AttributeKey<String> userAttributeKey = AttributeKey.valueOf("CONN_USER");
+    private static final String UNKNOWN_USER = "unknown";
+
     // TODO: should we be using the GlobalEventExecutor or defining our own?
     public final ChannelGroup allChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
-    private final EnumMap<Event.Type, ChannelGroup> groups = new EnumMap<>(Event.Type.class);
+    // the client channels (without the server channel), indexed for the close filters
+    private final ChannelsByHeaders clientChannels = new ChannelsByHeaders("clients");
+    private final EnumMap<Event.Type, ChannelsByHeaders> groups = new EnumMap<>(Event.Type.class);
     private final ProtocolVersionTracker protocolVersionTracker = new ProtocolVersionTracker();
 
+    // connection counts, maintained as connections are added, logged in and closed
+    private final ConcurrentMap<String, Integer> countsByUser = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Tags, Integer> countsByTags = new ConcurrentHashMap<>();
+
     public ConnectionTracker() {
       for (Event.Type type : Event.Type.values())
-        groups.put(type, new DefaultChannelGroup(type.toString(), GlobalEventExecutor.INSTANCE));
+        groups.put(type, new ChannelsByHeaders(type.toString()));
     }
 
     @Override
     public void addConnection(Channel ch, Connection connection) {
       allChannels.add(ch);
+      clientChannels.add(ch);
+
+      // Note that this is called from the Connection constructor: the user is not logged in yet
+      Tags tags = connection.getConnectionMetrics().getTags();
+      count(countsByTags, tags, 1);
+      if (connection instanceof ServerConnection) {
+        ch.attr(userAttributeKey).set(UNKNOWN_USER);
+        count(countsByUser, UNKNOWN_USER, 1);
+      }
+      ch.closeFuture()
+          .addListener(
+              f -> {
+                count(countsByTags, tags, -1);
+                String user = ch.attr(userAttributeKey).getAndSet(null);
+                if (user != null) count(countsByUser, user, -1);
+              });
 
       if (ch.remoteAddress() instanceof InetSocketAddress)
         protocolVersionTracker.addConnection(
             ((InetSocketAddress) ch.remoteAddress()).getAddress(), connection.getVersion());
     }
 
+    @Override
+    public void updateUser(Channel ch, Connection connection) {
+      if (!(connection instanceof ServerConnection)) return;
+
+      String user =
+          ((ServerConnection) connection)
+              .persistenceConnection()
+              .loggedUser()
+              .map(AuthenticatedUser::name)
+              .orElse(UNKNOWN_USER);
+      Attribute<String> attribute = ch.attr(userAttributeKey);
+      String previous;
+      do {
+        previous = attribute.get();
+        // closed (or never added) connections are not counted
+        if (previous == null) return;
+      } while (!attribute.compareAndSet(previous, user));
+      count(countsByUser, previous, -1);
+      count(countsByUser, user, 1);
+    }
+
     public void register(Event.Type type, Channel ch) {
       groups.get(type).add(ch);
     }
 
     public void send(Event event) {
-      groups
-          .get(event.type)
-          .writeAndFlush(
-              new EventMessage(event),
-              channel -> {
-                if (channel == null || event.headerFilter == null) return true;
-
-                ProxyInfo proxyInfo = channel.attr(ProxyInfo.attributeKey).get();
-                Map<String, String> headers =
-                    proxyInfo != null ? proxyInfo.toHeaders() : Collections.emptyMap();
-
-                return event.headerFilter.test(headers);
-              });
+      groups.get(event.type).writeAndFlush(new EventMessage(event), event.headerFilter);
     }
 
     void closeAll() {
@@ -312,20 +344,12 @@ public class CqlServer {
     }
 
     /**
-     * Close any channels that match the header filter predicate.
+     * Close any client channels that match the header filter predicate.
      *
      * @param headerFilter a predicate used to match affected clients.
      */
     void closeFilter(Predicate<Map<String, String>> headerFilter) {
-      allChannels.stream()
-          .filter(
-              channel -> {
-                ProxyInfo proxyInfo = channel.attr(ProxyInfo.attributeKey).get();
-                Map<String, String> headers =
-                    proxyInfo != null ? proxyInfo.toHeaders() : Collections.emptyMap();
-                return headerFilter.test(headers);
-              })
-          .forEach(ChannelOutboundInvoker::close);
+      clientChannels.close(headerFilter);
     }
 
     int countConnectedClients() {
@@ -338,29 +362,30 @@ public class CqlServer {
     }
 
     Map<String, Integer> countConnectedClientsByUser() {
-      Map<String, Integer> result = new HashMap<>();
-      for (Channel c : allChannels) {
-        Connection connection = c.attr(Connection.attributeKey).get();
-        if (connection instanceof ServerConnection) {
-          ServerConnection conn = (ServerConnection) connection;
-          Optional<AuthenticatedUser> user = conn.persistenceConnection().loggedUser();
-          String name = user.map(AuthenticatedUser::name).orElse("unknown");
-          result.put(name, result.getOrDefault(name, 0) + 1);
-        }
-      }
-      return result;
+      return snapshot(countsByUser);
     }
 
     Map<Tags, Integer> countConnectedClientsByConnectionTags() {
-      Map<Tags, Integer> result = new HashMap<>();
-      for (Channel c : allChannels) {
-        Connection connection = c.attr(Connection.attributeKey).get();
-        if (null != connection) {
-          ConnectionMetrics connectionMetrics = connection.getConnectionMetrics();
-          Tags tags = connectionMetrics.getTags();
-          result.compute(tags, (t, v) -> v == null ? 1 : v + 1);
-        }
-      }
+      return snapshot(countsByTags);
+    }
+
+    private static <K> void count(ConcurrentMap<K, Integer> counts, K key, int delta) {
+      // a count can be briefly negative if a login races with the close, so drop it only at 0
+      counts.merge(
+          key,
+          delta,
+          (current, d) -> {
+            int count = current + d;
+            return count == 0 ? null : count;
+          });
+    }
+
+    private static <K> Map<K, Integer> snapshot(ConcurrentMap<K, Integer> counts) {
+      Map<K, Integer> result = new HashMap<>();
+      counts.forEach(
+          (key, count) -> {
+            if (count > 0) result.put(key, count);
+          });
       return result;
     }
   }
@@ -31,6 +31,7 @@ import org.apache.cassandra.stargate.transport.internal.frame.FrameBodyTransform
 import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.SnappyCompressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.ZstdCompressor;
 import org.apache.cassandra.utils.ChecksumType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -133,6 +134,14 @@ public class ChecksummingTransformer implements FrameBodyTransformer {
         ChecksumType.ADLER32,
         SnappyCompressor.INSTANCE,
         new ChecksummingTransformer(ChecksumType.ADLER32, SnappyCompressor.INSTANCE));
+    if (ZstdCompressor.INSTANCE != null) {
+      for (ChecksumType checksumType : ChecksumType.values()) {
+        builder.put(
+            checksumType,
+            ZstdCompressor.INSTANCE,
+            new ChecksummingTransformer(checksumType, ZstdCompressor.INSTANCE));
+      }
+    }
     transformers = builder.build();
   }
 
@@ -20,6 +20,7 @@ package org.apache.cassandra.stargate.transport.internal.frame.compress;
 
 import io.netty.buffer.ByteBuf;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.EnumSet;
 import org.apache.cassandra.stargate.transport.ProtocolException;
 import org.apache.cassandra.stargate.transport.internal.CBUtil;
@@ -27,8 +28,11 @@ import org.apache.cassandra.stargate.transport.internal.Frame;
 import org.apache.cassandra.stargate.transport.internal.frame.FrameBodyTransformer;
 
 public abstract class CompressingTransformer implements FrameBodyTransformer {
-  private static final CompressingTransformer LZ4 = new LZ4();
+  private static final CompressingTransformer LZ4 =
+      new LengthPrefixed(LZ4Compressor.INSTANCE, "LZ4");
   private static final CompressingTransformer SNAPPY = new Snappy();
+  private static final CompressingTransformer ZSTD =
+      ZstdCompressor.INSTANCE == null ? null : new LengthPrefixed(ZstdCompressor.INSTANCE, "Zstd");
 
   private static final EnumSet<Frame.Header.Flag> headerFlags =
       EnumSet.of(Frame.Header.Flag.COMPRESSED);
@@ -43,6 +47,13 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
       return SNAPPY;
     }
 
+    if (compressor instanceof ZstdCompressor) {
+      if (ZSTD == null)
+        throw new ProtocolException("This instance does not support Zstd compression");
+
+      return ZSTD;
+    }
+
     throw new ProtocolException(
         "Unsupported compression implementation: " + compressor.getClass().getCanonicalName());
   }
@@ -62,51 +73,65 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
 
   abstract ByteBuf transformInbound(ByteBuf inputBuf) throws IOException;
 
+  // The compressors work on NIO views of the frame buffers, so the output is allocated with the
+  // same kind (heap or direct) as the input: when both match, nothing is copied.
+  private static ByteBuf allocate(ByteBuf like, int capacity) {
+    return like.isDirect()
+        ? CBUtil.allocator.directBuffer(capacity)
+        : CBUtil.allocator.heapBuffer(capacity);
+  }
+
   // Simple LZ4 encoding prefixes the compressed bytes with the
   // length of the uncompressed bytes. This length is explicitly big-endian
   // as the native protocol is entirely big-endian, so it feels like putting
-  // little-endian here would be a annoying trap for client writer
-  private static class LZ4 extends CompressingTransformer {
+  // little-endian here would be a annoying trap for client writer.
+  // Zstd uses the same encoding.
+  private static class LengthPrefixed extends CompressingTransformer {
+    private final Compressor compressor;
+    private final String name;
+
+    LengthPrefixed(Compressor compressor, String name) {
+      this.compressor = compressor;
+      this.name = name;
+    }
+
     @Override
     public ByteBuf transformOutbound(ByteBuf inputBuf) throws IOException {
-      byte[] input = CBUtil.readRawBytes(inputBuf);
-      int maxCompressedLength = LZ4Compressor.INSTANCE.maxCompressedLength(input.length);
-      ByteBuf outputBuf = CBUtil.allocator.heapBuffer(Integer.BYTES + maxCompressedLength);
-      byte[] output = outputBuf.array();
-      int outputOffset = outputBuf.arrayOffset();
-      output[outputOffset] = (byte) (input.length >>> 24);
-      output[outputOffset + 1] = (byte) (input.length >>> 16);
-      output[outputOffset + 2] = (byte) (input.length >>> 8);
-      output[outputOffset + 3] = (byte) input.length;
+      int uncompressedLength = inputBuf.readableBytes();
+      int maxCompressedLength = compressor.maxCompressedLength(uncompressedLength);
+      ByteBuf outputBuf = allocate(inputBuf, Integer.BYTES + maxCompressedLength);
       try {
+        outputBuf.writeInt(uncompressedLength);
         int written =
-            LZ4Compressor.INSTANCE.compress(
-                input, 0, input.length, output, Integer.BYTES + outputOffset);
+            compressor.compress(
+                inputBuf.nioBuffer(), outputBuf.nioBuffer(Integer.BYTES, maxCompressedLength));
         outputBuf.writerIndex(Integer.BYTES + written);
+        inputBuf.skipBytes(uncompressedLength);
         return outputBuf;
-      } catch (IOException e) {
+      } catch (Throwable t) {
         outputBuf.release();
-        throw e;
+        throw t;
       }
     }
 
     @Override
     ByteBuf transformInbound(ByteBuf inputBuf) throws IOException {
-      byte[] input = CBUtil.readRawBytes(inputBuf);
-      int uncompressedLength =
-          ((input[0] & 0xFF) << 24)
-              | ((input[1] & 0xFF) << 16)
-              | ((input[2] & 0xFF) << 8)
-              | (input[3] & 0xFF);
-      ByteBuf outputBuf = CBUtil.allocator.heapBuffer(uncompressedLength);
+      int uncompressedLength = inputBuf.readInt();
+      if (uncompressedLength < 0) {
+        throw new ProtocolException(
+            String.format(
+                "Invalid uncompressed length in %s compressed frame: %d",
+                name, uncompressedLength));
+      }
+      ByteBuf outputBuf = allocate(inputBuf, uncompressedLength);
       try {
-        outputBuf.writeBytes(
-            LZ4Compressor.INSTANCE.decompress(
-                input, Integer.BYTES, input.length - Integer.BYTES, uncompressedLength));
+        compressor.decompress(inputBuf.nioBuffer(), outputBuf.nioBuffer(0, uncompressedLength));
+        outputBuf.writerIndex(uncompressedLength);
+        inputBuf.skipBytes(inputBuf.readableBytes());
         return outputBuf;
-      } catch (IOException e) {
+      } catch (Throwable t) {
         outputBuf.release();
-        throw e;
+        throw t;
       }
     }
   }
@@ -115,34 +140,35 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
   private static class Snappy extends CompressingTransformer {
     @Override
     public ByteBuf transformOutbound(ByteBuf inputBuf) throws IOException {
-      byte[] input = CBUtil.readRawBytes(inputBuf);
-      int uncompressedLength = input.length;
+      int uncompressedLength = inputBuf.readableBytes();
       int maxCompressedLength = SnappyCompressor.INSTANCE.maxCompressedLength(uncompressedLength);
-      ByteBuf outputBuf = CBUtil.allocator.heapBuffer(maxCompressedLength);
+      ByteBuf outputBuf = allocate(inputBuf, maxCompressedLength);
       try {
         int written =
             SnappyCompressor.INSTANCE.compress(
-                input, 0, uncompressedLength, outputBuf.array(), outputBuf.arrayOffset());
+                inputBuf.nioBuffer(), outputBuf.nioBuffer(0, maxCompressedLength));
         outputBuf.writerIndex(written);
+        inputBuf.skipBytes(uncompressedLength);
         return outputBuf;
-      } catch (IOException e) {
+      } catch (Throwable t) {
         outputBuf.release();
-        throw e;
+        throw t;
       }
     }
 
     @Override
     ByteBuf transformInbound(ByteBuf inputBuf) throws IOException {
-      byte[] input = CBUtil.readRawBytes(inputBuf);
-      int uncompressedLength = org.xerial.snappy.Snappy.uncompressedLength(input);
-      ByteBuf outputBuf = CBUtil.allocator.heapBuffer(uncompressedLength);
+      ByteBuffer input = inputBuf.nioBuffer();
+      int uncompressedLength = SnappyCompressor.INSTANCE.uncompressedLength(input);
+      ByteBuf outputBuf = allocate(inputBuf, uncompressedLength);
       try {
-        outputBuf.writeBytes(
-            SnappyCompressor.INSTANCE.decompress(input, 0, input.length, uncompressedLength));
+        SnappyCompressor.INSTANCE.decompress(input, outputBuf.nioBuffer(0, uncompressedLength));
+        outputBuf.writerIndex(uncompressedLength);
+        inputBuf.skipBytes(inputBuf.readableBytes());
         return outputBuf;
-      } catch (IOException e) {
+      } catch (Throwable t) {
         outputBuf.release();
-        throw e;
+        throw t;
       }
     }
   }
@@ -19,14 +19,15 @@
 package org.apache.cassandra.stargate.transport.internal.frame.compress;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Analogous to {@link org.apache.cassandra.io.compress.ICompressor}, but different enough that it's
  * worth specializing:
  *
  * <ul>
- *   <li>disk IO is mostly oriented around ByteBuffers, whereas with Frames raw byte arrays are
- *       primarily used
+ *   <li>frames are compressed straight from and into the (heap or direct) Netty buffers, while
+ *       checksummed frames compress raw byte arrays block by block
  *   <li>our LZ4 compression format is opionated about the endianness of the preceding length bytes,
  *       big for protocol, little for disk
  *   <li>ICompressor doesn't make it easy to pre-allocate the output buffer/array
@@ -62,4 +63,55 @@ public interface Compressor {
    */
   byte[] decompress(byte[] src, int srcOffset, int length, int expectedDecompressedLength)
       throws IOException;
+
+  /**
+   * Compresses the remaining bytes of {@code src} into {@code dest}. The positions and limits of
+   * both buffers are left unchanged.
+   *
+   * <p>The default implementation copies the input and the output through byte arrays.
+   * Implementations should override it to work on the buffers directly, at least when both are heap
+   * buffers or both are direct buffers.
+   *
+   * @param src the input bytes to be compressed, between its position and limit
+   * @param dest the output buffer, with at least {@link #maxCompressedLength} bytes remaining for
+   *     the length of the input
+   * @return the length of resulting compressed bytes written at the position of dest
+   * @throws IOException if the compression implementation failed while compressing the input bytes
+   */
+  default int compress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    byte[] input = new byte[src.remaining()];
+    src.duplicate().get(input);
+    byte[] output = new byte[maxCompressedLength(input.length)];
+    int written = compress(input, 0, input.length, output, 0);
+    dest.duplicate().put(output, 0, written);
+    return written;
+  }
+
+  /**
+   * Decompresses the remaining bytes of {@code src} into {@code dest}. The positions and limits of
+   * both buffers are left unchanged.
+   *
+   * <p>The default implementation copies the input and the output through byte arrays.
+   * Implementations should override it to work on the buffers directly, at least when both are heap
+   * buffers or both are direct buffers.
+   *
+   * @param src the compressed bytes to be decompressed, between its position and limit
+   * @param dest the output buffer, with exactly the decompressed length remaining
+   * @throws IOException if the compression implementation failed to decompress the input bytes, or
+   *     if they don't decompress to the remaining length of dest
+   */
+  default void decompress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    byte[] input = new byte[src.remaining()];
+    src.duplicate().get(input);
+    byte[] output = decompress(input, 0, input.length, dest.remaining());
+    checkDecompressedLength(output.length, dest.remaining());
+    dest.duplicate().put(output);
+  }
+
+  static void checkDecompressedLength(int actual, int expected) throws IOException {
+    if (actual != expected) {
+      throw new IOException(
+          String.format("Expected %d decompressed bytes but got %d", expected, actual));
+    }
+  }
 }
@@ -19,6 +19,7 @@
 package org.apache.cassandra.stargate.transport.internal.frame.compress;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import org.xerial.snappy.Snappy;
 import org.xerial.snappy.SnappyError;
 
@@ -52,18 +53,75 @@ public class SnappyCompressor implements Compressor {
   @Override
   public int compress(byte[] src, int srcOffset, int length, byte[] dest, int destOffset)
       throws IOException {
-    return Snappy.compress(src, 0, src.length, dest, destOffset);
+    return Snappy.compress(src, srcOffset, length, dest, destOffset);
   }
 
   @Override
   public byte[] decompress(byte[] src, int offset, int length, int expectedDecompressedLength)
       throws IOException {
-    if (!Snappy.isValidCompressedBuffer(src, 0, length))
+    if (!Snappy.isValidCompressedBuffer(src, offset, length))
       throw new IOException("Provided frame does not appear to be Snappy compressed");
 
-    int uncompressedLength = Snappy.uncompressedLength(src);
+    int uncompressedLength = Snappy.uncompressedLength(src, offset, length);
     byte[] output = new byte[uncompressedLength];
     Snappy.uncompress(src, offset, length, output, 0);
     return output;
   }
+
+  // The ByteBuffer methods of Snappy only accept direct buffers, and the array ones are used for
+  // heap buffers. Mixed buffers go through the copying default implementations. The decompressed
+  // length is checked upfront, since Snappy doesn't bound the output to the remaining bytes.
+
+  @Override
+  public int compress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    if (src.isDirect() && dest.isDirect()) {
+      // Duplicates because Snappy moves the limit of dest
+      return Snappy.compress(src.duplicate(), dest.duplicate());
+    }
+    if (src.hasArray() && dest.hasArray()) {
+      return Snappy.compress(
+          src.array(),
+          src.arrayOffset() + src.position(),
+          src.remaining(),
+          dest.array(),
+          dest.arrayOffset() + dest.position());
+    }
+    return Compressor.super.compress(src, dest);
+  }
+
+  @Override
+  public void decompress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    int expected = dest.remaining();
+    if (src.isDirect() && dest.isDirect()) {
+      if (!Snappy.isValidCompressedBuffer(src.duplicate()))
+        throw new IOException("Provided frame does not appear to be Snappy compressed");
+      Compressor.checkDecompressedLength(Snappy.uncompressedLength(src.duplicate()), expected);
+      Snappy.uncompress(src.duplicate(), dest.duplicate());
+    } else if (src.hasArray() && dest.hasArray()) {
+      byte[] input = src.array();
+      int offset = src.arrayOffset() + src.position();
+      int length = src.remaining();
+      if (!Snappy.isValidCompressedBuffer(input, offset, length))
+        throw new IOException("Provided frame does not appear to be Snappy compressed");
+      Compressor.checkDecompressedLength(
+          Snappy.uncompressedLength(input, offset, length), expected);
+      Snappy.uncompress(input, offset, length, dest.array(), dest.arrayOffset() + dest.position());
+    } else {
+      Compressor.super.decompress(src, dest);
+    }
+  }
+
+  /** Reads the decompressed length from the header of the remaining bytes of {@code src}. */
+  public int uncompressedLength(ByteBuffer src) throws IOException {
+    if (src.isDirect()) {
+      return Snappy.uncompressedLength(src.duplicate());
+    }
+    if (src.hasArray()) {
+      return Snappy.uncompressedLength(
+          src.array(), src.arrayOffset() + src.position(), src.remaining());
+    }
+    byte[] input = new byte[src.remaining()];
+    src.duplicate().get(input);
+    return Snappy.uncompressedLength(input);
+  }
 }
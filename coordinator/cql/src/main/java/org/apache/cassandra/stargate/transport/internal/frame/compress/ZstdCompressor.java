@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.cassandra.stargate.transport.internal.frame.compress;
+
+import com.github.luben.zstd.Zstd;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Zstandard compression, which is not part of the native protocol spec: clients must opt in by
+ * requesting {@code zstd} in their {@code STARTUP} message.
+ *
+ * <p>The compression level can be set with the {@code stargate.cql.zstd_compression_level} system
+ * property (defaults to 3, the Zstandard default). Lower levels trade some compression ratio for
+ * less CPU on the event loops.
+ */
+public class ZstdCompressor implements Compressor {
+  public static final ZstdCompressor INSTANCE;
+
+  static {
+    ZstdCompressor i;
+    try {
+      i = new ZstdCompressor(Integer.getInteger("stargate.cql.zstd_compression_level", 3));
+    } catch (Exception | NoClassDefFoundError | UnsatisfiedLinkError e) {
+      // The native library is not available for this platform
+      i = null;
+    }
+    INSTANCE = i;
+  }
+
+  private final int level;
+
+  private ZstdCompressor(int level) {
+    // Loads the native library, or throws if it is not available
+    Zstd.compressBound(0);
+    this.level = level;
+  }
+
+  @Override
+  public int maxCompressedLength(int length) {
+    return (int) Zstd.compressBound(length);
+  }
+
+  @Override
+  public int compress(byte[] src, int srcOffset, int length, byte[] dest, int destOffset)
+      throws IOException {
+    long written;
+    try {
+      written =
+          Zstd.compressByteArray(
+              dest, destOffset, dest.length - destOffset, src, srcOffset, length, level);
+    } catch (Throwable t) {
+      throw new IOException("Error caught during Zstd compression", t);
+    }
+    return (int) check(written, "compression");
+  }
+
+  @Override
+  public byte[] decompress(byte[] src, int srcOffset, int length, int expectedDecompressedLength)
+      throws IOException {
+    byte[] decompressed = new byte[expectedDecompressedLength];
+    long read;
+    try {
+      read =
+          Zstd.decompressByteArray(
+              decompressed, 0, expectedDecompressedLength, src, srcOffset, length);
+    } catch (Throwable t) {
+      throw new IOException("Error caught during Zstd decompression", t);
+    }
+    Compressor.checkDecompressedLength(
+        (int) check(read, "decompression"), expectedDecompressedLength);
+    return decompressed;
+  }
+
+  // Zstd only has ByteBuffer methods for direct buffers, the array ones are used for heap buffers.
+  // Mixed buffers go through the copying default implementations.
+
+  @Override
+  public int compress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    long written;
+    try {
+      if (src.isDirect() && dest.isDirect()) {
+        written =
+            Zstd.compressDirectByteBuffer(
+                dest,
+                dest.position(),
+                dest.remaining(),
+                src,
+                src.position(),
+                src.remaining(),
+                level);
+      } else if (src.hasArray() && dest.hasArray()) {
+        // Bounded by the remaining bytes: pooled heap buffers share their array with others
+        written =
+            Zstd.compressByteArray(
+                dest.array(),
+                dest.arrayOffset() + dest.position(),
+                dest.remaining(),
+                src.array(),
+                src.arrayOffset() + src.position(),
+                src.remaining(),
+                level);
+      } else {
+        return Compressor.super.compress(src, dest);
+      }
+    } catch (IOException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IOException("Error caught during Zstd compression", t);
+    }
+    return (int) check(written, "compression");
+  }
+
+  @Override
+  public void decompress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    long read;
+    try {
+      if (src.isDirect() && dest.isDirect()) {
+        read =
+            Zstd.decompressDirectByteBuffer(
+                dest, dest.position(), dest.remaining(), src, src.position(), src.remaining());
+      } else if (src.hasArray() && dest.hasArray()) {
+        read =
+            Zstd.decompressByteArray(
+                dest.array(),
+                dest.arrayOffset() + dest.position(),
+                dest.remaining(),
+                src.array(),
+                src.arrayOffset() + src.position(),
+                src.remaining());
+      } else {
+        Compressor.super.decompress(src, dest);
+        return;
+      }
+    } catch (IOException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IOException("Error caught during Zstd decompression", t);
+    }
+    Compressor.checkDecompressedLength((int) check(read, "decompression"), dest.remaining());
+  }
+
+  private static long check(long result, String operation) throws IOException {
+    if (Zstd.isError(result)) {
+      throw new IOException(
+          String.format("Error during Zstd %s: %s", operation, Zstd.getErrorName(result)));
+    }
+    return result;
+  }
+}
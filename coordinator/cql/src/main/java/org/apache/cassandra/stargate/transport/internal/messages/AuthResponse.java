@@ -80,6 +80,7 @@ public class AuthResponse extends Message.Request {
                 if (negotiator.isComplete()) {
                   AuthenticatedUser authenticatedUser = negotiator.getAuthenticatedUser();
                   persistenceConnection().login(authenticatedUser);
+                  connection.getTracker().updateUser(connection.channel(), connection);
                   if (authenticatedUser.token() != null) {
                     ((ServerConnection) connection)
                         .clientInfo()
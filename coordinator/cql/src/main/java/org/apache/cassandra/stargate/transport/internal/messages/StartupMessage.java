@@ -32,6 +32,7 @@ import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressi
 import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.SnappyCompressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.ZstdCompressor;
 import org.apache.cassandra.utils.CassandraVersion;
 import org.apache.cassandra.utils.ChecksumType;
 
@@ -149,6 +150,13 @@ public class StartupMessage extends Message.Request {
         }
       case "lz4":
         return LZ4Compressor.INSTANCE;
+      case "zstd":
+        {
+          if (ZstdCompressor.INSTANCE == null)
+            throw new ProtocolException("This instance does not support Zstd compression");
+
+          return ZstdCompressor.INSTANCE;
+        }
       default:
         throw new ProtocolException(String.format("Unknown compression algorithm: %s", name));
     }
@@ -0,0 +1,156 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.transport.internal;
+
+import static io.stargate.db.ClientInfo.PROXY_PUBLIC_ADDRESS_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Tags;
+import io.netty.channel.DefaultChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.stargate.db.AuthenticatedUser;
+import io.stargate.db.Persistence;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.apache.cassandra.stargate.metrics.ConnectionMetrics;
+import org.apache.cassandra.stargate.transport.internal.messages.EventMessage;
+import org.junit.jupiter.api.Test;
+
+class ConnectionTrackerTest {
+
+  private static final Tags TAGS = Tags.of("driver", "test");
+
+  private final CqlServer.ConnectionTracker tracker = new CqlServer.ConnectionTracker();
+
+  @Test
+  public void sendTestsFilterOncePerHeaders() {
+    EmbeddedChannel tenant1a = channel("10.0.0.1");
+    EmbeddedChannel tenant1b = channel("10.0.0.1");
+    EmbeddedChannel tenant2 = channel("10.0.0.2");
+    EmbeddedChannel unregistered = channel("10.0.0.1");
+    for (EmbeddedChannel channel : Arrays.asList(tenant1a, tenant1b, tenant2)) {
+      tracker.register(Event.Type.SCHEMA_CHANGE, channel);
+    }
+
+    List<Map<String, String>> tested = new ArrayList<>();
+    Predicate<Map<String, String>> filter =
+        headers -> {
+          tested.add(headers);
+          return "10.0.0.1".equals(headers.get(PROXY_PUBLIC_ADDRESS_HEADER));
+        };
+    tracker.send(new Event.SchemaChange(Event.SchemaChange.Change.CREATED, "ks", filter));
+
+    assertThat(tested).hasSize(2);
+    assertThat(tenant1a.<EventMessage>readOutbound().event.type)
+        .isEqualTo(Event.Type.SCHEMA_CHANGE);
+    assertThat(tenant1b.<EventMessage>readOutbound()).isNotNull();
+    assertThat(tenant2.<Object>readOutbound()).isNull();
+    assertThat(unregistered.<Object>readOutbound()).isNull();
+  }
+
+  @Test
+  public void sendWithoutFilter() {
+    EmbeddedChannel tenant1 = channel("10.0.0.1");
+    EmbeddedChannel noProxy = new EmbeddedChannel(DefaultChannelId.newInstance());
+    tracker.register(Event.Type.SCHEMA_CHANGE, tenant1);
+    tracker.register(Event.Type.SCHEMA_CHANGE, noProxy);
+
+    tracker.send(new Event.SchemaChange(Event.SchemaChange.Change.CREATED, "ks", null));
+
+    assertThat(tenant1.<EventMessage>readOutbound()).isNotNull();
+    assertThat(noProxy.<EventMessage>readOutbound()).isNotNull();
+  }
+
+  @Test
+  public void closeFilterClosesMatchingConnections() {
+    EmbeddedChannel tenant1 = channel("10.0.0.1");
+    EmbeddedChannel tenant2 = channel("10.0.0.2");
+    tracker.addConnection(tenant1, connection(tenant1));
+    tracker.addConnection(tenant2, connection(tenant2));
+
+    tracker.closeFilter(headers -> "10.0.0.1".equals(headers.get(PROXY_PUBLIC_ADDRESS_HEADER)));
+
+    assertThat(tenant1.isOpen()).isFalse();
+    assertThat(tenant2.isOpen()).isTrue();
+    assertThat(tracker.countConnectedClientsByConnectionTags()).containsExactly(entry(TAGS, 1));
+  }
+
+  @Test
+  public void countConnectedClientsByUser() {
+    EmbeddedChannel channel1 = channel("10.0.0.1");
+    EmbeddedChannel channel2 = channel("10.0.0.1");
+    ServerConnection connection1 = connection(channel1);
+    ServerConnection connection2 = connection(channel2);
+    tracker.addConnection(channel1, connection1);
+    tracker.addConnection(channel2, connection2);
+    assertThat(tracker.countConnectedClientsByUser()).containsExactly(entry("unknown", 2));
+    assertThat(tracker.countConnectedClientsByConnectionTags()).containsExactly(entry(TAGS, 2));
+
+    login(connection1, "alice");
+    assertThat(tracker.countConnectedClientsByUser())
+        .containsOnly(entry("unknown", 1), entry("alice", 1));
+
+    channel1.close();
+    channel2.close();
+    assertThat(tracker.countConnectedClientsByUser()).isEmpty();
+    assertThat(tracker.countConnectedClientsByConnectionTags()).isEmpty();
+
+    // logins after the close are not counted
+    login(connection2, "bob");
+    assertThat(tracker.countConnectedClientsByUser()).isEmpty();
+  }
+
+  private void login(ServerConnection connection, String name) {
+    AuthenticatedUser user = mock(AuthenticatedUser.class);
+    when(user.name()).thenReturn(name);
+    when(connection.persistenceConnection().loggedUser()).thenReturn(Optional.of(user));
+    tracker.updateUser(connection.channel(), connection);
+  }
+
+  private static EmbeddedChannel channel(String publicAddress) {
+    // channel groups tell channels apart by their id
+    EmbeddedChannel channel = new EmbeddedChannel(DefaultChannelId.newInstance());
+    channel
+        .attr(ProxyInfo.attributeKey)
+        .set(
+            new ProxyInfo(
+                new InetSocketAddress(publicAddress, 9042),
+                new InetSocketAddress("192.168.0.1", 50000)));
+    return channel;
+  }
+
+  private static ServerConnection connection(EmbeddedChannel channel) {
+    ConnectionMetrics metrics = mock(ConnectionMetrics.class);
+    when(metrics.getTags()).thenReturn(TAGS);
+    Persistence.Connection persistenceConnection = mock(Persistence.Connection.class);
+    when(persistenceConnection.loggedUser()).thenReturn(Optional.empty());
+    ServerConnection connection = mock(ServerConnection.class);
+    when(connection.channel()).thenReturn(channel);
+    when(connection.getConnectionMetrics()).thenReturn(metrics);
+    when(connection.persistenceConnection()).thenReturn(persistenceConnection);
+    return connection;
+  }
+}
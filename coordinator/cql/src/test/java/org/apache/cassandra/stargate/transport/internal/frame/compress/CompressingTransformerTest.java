@@ -0,0 +1,192 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.transport.internal.frame.compress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class CompressingTransformerTest {
+
+  private static final byte[] BODY = body(64 * 1024);
+
+  static Stream<Arguments> compressors() {
+    List<Arguments> arguments = new ArrayList<>();
+    for (Compressor compressor :
+        new Compressor[] {
+          LZ4Compressor.INSTANCE, SnappyCompressor.INSTANCE, ZstdCompressor.INSTANCE
+        }) {
+      if (compressor != null) {
+        arguments.add(Arguments.of(compressor, true));
+        arguments.add(Arguments.of(compressor, false));
+      }
+    }
+    return arguments.stream();
+  }
+
+  @ParameterizedTest
+  @MethodSource("compressors")
+  public void shouldRoundTripFrameBodies(Compressor compressor, boolean direct) throws IOException {
+    CompressingTransformer transformer = CompressingTransformer.getTransformer(compressor);
+    ByteBuf input = buffer(BODY, direct);
+
+    ByteBuf compressed = transformer.transformOutbound(input);
+    ByteBuf decompressed = transformer.transformInbound(compressed);
+    try {
+      assertThat(input.readableBytes()).isZero();
+      assertThat(compressed.isDirect()).isEqualTo(direct);
+      assertThat(compressed.readableBytes()).isZero();
+      assertThat(decompressed.isDirect()).isEqualTo(direct);
+      assertThat(bytes(decompressed)).isEqualTo(BODY);
+    } finally {
+      input.release();
+      compressed.release();
+      decompressed.release();
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("compressors")
+  public void shouldRoundTripEmptyFrameBodies(Compressor compressor, boolean direct)
+      throws IOException {
+    CompressingTransformer transformer = CompressingTransformer.getTransformer(compressor);
+    ByteBuf input = buffer(new byte[0], direct);
+
+    ByteBuf compressed = transformer.transformOutbound(input);
+    ByteBuf decompressed = transformer.transformInbound(compressed);
+    try {
+      assertThat(decompressed.readableBytes()).isZero();
+    } finally {
+      input.release();
+      compressed.release();
+      decompressed.release();
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("compressors")
+  public void shouldMatchByteArrayFormat(Compressor compressor, boolean direct) throws IOException {
+    CompressingTransformer transformer = CompressingTransformer.getTransformer(compressor);
+    ByteBuf input = buffer(BODY, direct);
+    ByteBuf compressed = transformer.transformOutbound(input);
+    try {
+      byte[] output = bytes(compressed);
+      // Snappy frames are raw, the others are prefixed with the big-endian uncompressed length
+      int offset = compressor instanceof SnappyCompressor ? 0 : Integer.BYTES;
+      if (offset > 0) {
+        assertThat(ByteBuffer.wrap(output).getInt()).isEqualTo(BODY.length);
+      }
+      assertThat(compressor.decompress(output, offset, output.length - offset, BODY.length))
+          .isEqualTo(BODY);
+    } finally {
+      input.release();
+      compressed.release();
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("compressors")
+  public void shouldCompressMixedBuffers(Compressor compressor, boolean direct) throws IOException {
+    ByteBuffer src = nioBuffer(BODY, direct);
+    ByteBuffer compressed = allocate(compressor.maxCompressedLength(BODY.length), !direct);
+    int written = compressor.compress(src, compressed);
+    compressed.limit(written);
+    ByteBuffer decompressed = allocate(BODY.length, direct);
+
+    compressor.decompress(compressed, decompressed);
+
+    assertThat(src.remaining()).isEqualTo(BODY.length);
+    assertThat(decompressed.remaining()).isEqualTo(BODY.length);
+    byte[] output = new byte[BODY.length];
+    decompressed.get(output);
+    assertThat(output).isEqualTo(BODY);
+  }
+
+  @ParameterizedTest
+  @MethodSource("compressors")
+  public void shouldRejectUnexpectedDecompressedLength(Compressor compressor, boolean direct)
+      throws IOException {
+    ByteBuffer src = nioBuffer(BODY, direct);
+    ByteBuffer compressed = allocate(compressor.maxCompressedLength(BODY.length), direct);
+    compressed.limit(compressor.compress(src, compressed));
+
+    Throwable t =
+        catchThrowable(() -> compressor.decompress(compressed, allocate(BODY.length + 1, direct)));
+
+    assertThat(t).isInstanceOf(IOException.class);
+  }
+
+  @ParameterizedTest
+  @MethodSource("compressors")
+  public void shouldRejectNegativeUncompressedLength(Compressor compressor, boolean direct) {
+    if (compressor instanceof SnappyCompressor) {
+      return;
+    }
+    CompressingTransformer transformer = CompressingTransformer.getTransformer(compressor);
+    ByteBuf input = buffer(new byte[] {(byte) 0xFF, 0, 0, 0, 1, 2, 3}, direct);
+    try {
+      assertThat(catchThrowable(() -> transformer.transformInbound(input)))
+          .isInstanceOf(ProtocolException.class)
+          .hasMessageContaining("Invalid uncompressed length");
+    } finally {
+      input.release();
+    }
+  }
+
+  private static byte[] body(int size) {
+    // Repetitive enough to be compressible, like most result sets
+    StringBuilder body = new StringBuilder(size);
+    for (int i = 0; body.length() < size; i++) {
+      body.append("row-").append(i).append(":value-").append(i % 97).append(';');
+    }
+    return body.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static ByteBuf buffer(byte[] bytes, boolean direct) {
+    ByteBuf buffer = direct ? Unpooled.directBuffer(bytes.length) : Unpooled.buffer(bytes.length);
+    return buffer.writeBytes(bytes);
+  }
+
+  private static ByteBuffer nioBuffer(byte[] bytes, boolean direct) {
+    ByteBuffer buffer = allocate(bytes.length, direct);
+    buffer.put(bytes).flip();
+    return buffer;
+  }
+
+  private static ByteBuffer allocate(int capacity, boolean direct) {
+    return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+  }
+
+  private static byte[] bytes(ByteBuf buffer) {
+    byte[] bytes = new byte[buffer.readableBytes()];
+    buffer.getBytes(buffer.readerIndex(), bytes);
+    return bytes;
+  }
+}
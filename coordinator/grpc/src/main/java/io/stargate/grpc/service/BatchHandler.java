@@ -146,6 +146,8 @@ public abstract class BatchHandler
       builder.nowInSeconds(parameters.getNowInSeconds().getValue());
     }
 
+    builder.clientAddress(clientAddress);
+
     clientInfo.ifPresent(
         c -> {
           Map<String, ByteBuffer> customPayload = new HashMap<>();
@@ -16,7 +16,10 @@
 package io.stargate.grpc.service;
 
 import io.grpc.Context;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.db.Persistence;
 import io.stargate.db.Persistence.Connection;
 import io.stargate.db.Result;
@@ -24,11 +27,13 @@ import io.stargate.db.query.TypedValue;
 import io.stargate.grpc.service.streaming.MessageStreamObserver;
 import io.stargate.grpc.service.streaming.StreamingBatchHandlerFactory;
 import io.stargate.grpc.service.streaming.StreamingExceptionHandler;
+import io.stargate.grpc.service.streaming.StreamingMetrics;
 import io.stargate.grpc.service.streaming.StreamingQueryHandlerFactory;
 import io.stargate.proto.QueryOuterClass.Batch;
 import io.stargate.proto.QueryOuterClass.Query;
 import io.stargate.proto.QueryOuterClass.Response;
 import io.stargate.proto.QueryOuterClass.StreamingResponse;
+import java.net.SocketAddress;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
@@ -40,26 +45,65 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
 
   public static final Context.Key<Connection> CONNECTION_KEY = Context.key("connection");
   public static final Context.Key<Map<String, String>> HEADERS_KEY = Context.key("headers");
+
+  /**
+   * The remote address of the call. Connections are shared between the calls of the same principal,
+   * so it can differ from the address in the connection's client info.
+   */
+  public static final Context.Key<SocketAddress> REMOTE_ADDRESS_KEY = Context.key("remote-address");
+
   public static final int DEFAULT_PAGE_SIZE = 100;
   public static final ConsistencyLevel DEFAULT_CONSISTENCY = ConsistencyLevel.LOCAL_QUORUM;
   public static final ConsistencyLevel DEFAULT_SERIAL_CONSISTENCY = ConsistencyLevel.SERIAL;
 
+  /** The maximum number of requests of a streaming call that are executed at a time. */
+  private static final int STREAM_MAX_IN_FLIGHT =
+      Integer.getInteger("stargate.grpc.stream_max_in_flight", 128);
+
   private final Persistence persistence;
   private final TypedValue.Codec valueCodec;
 
   private final ScheduledExecutorService executor;
   private final int schemaAgreementRetries;
+  private final int streamMaxInFlight;
+  private final StreamingMetrics streamingMetrics;
 
   public GrpcService(Persistence persistence, ScheduledExecutorService executor) {
-    this(persistence, executor, Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES);
+    this(persistence, executor, new SimpleMeterRegistry());
+  }
+
+  public GrpcService(
+      Persistence persistence, ScheduledExecutorService executor, MeterRegistry meterRegistry) {
+    this(
+        persistence,
+        executor,
+        Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES,
+        STREAM_MAX_IN_FLIGHT,
+        meterRegistry);
   }
 
   GrpcService(
       Persistence persistence, ScheduledExecutorService executor, int schemaAgreementRetries) {
+    this(
+        persistence,
+        executor,
+        schemaAgreementRetries,
+        STREAM_MAX_IN_FLIGHT,
+        new SimpleMeterRegistry());
+  }
+
+  GrpcService(
+      Persistence persistence,
+      ScheduledExecutorService executor,
+      int schemaAgreementRetries,
+      int streamMaxInFlight,
+      MeterRegistry meterRegistry) {
     this.persistence = persistence;
     this.valueCodec = new TypedValue.Codec(ProtocolVersion.CURRENT, persistence);
     this.executor = executor;
     this.schemaAgreementRetries = schemaAgreementRetries;
+    this.streamMaxInFlight = streamMaxInFlight;
+    this.streamingMetrics = new StreamingMetrics(meterRegistry);
   }
 
   @Override
@@ -99,7 +143,10 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
         synchronizedStreamObserver,
         StreamingExceptionHandler::new,
         new StreamingQueryHandlerFactory(
-            CONNECTION_KEY.get(), persistence, executor, schemaAgreementRetries));
+            CONNECTION_KEY.get(), persistence, executor, schemaAgreementRetries),
+        callObserver(responseObserver),
+        streamMaxInFlight,
+        streamingMetrics);
   }
 
   @Override
@@ -110,7 +157,18 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
     return new MessageStreamObserver<>(
         synchronizedStreamObserver,
         StreamingExceptionHandler::new,
-        new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence));
+        new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence),
+        callObserver(responseObserver),
+        streamMaxInFlight,
+        streamingMetrics);
+  }
+
+  @Nullable
+  private static ServerCallStreamObserver<?> callObserver(StreamObserver<?> responseObserver) {
+    // Always the case for calls handled by gRPC, but not necessarily in tests
+    return responseObserver instanceof ServerCallStreamObserver
+        ? (ServerCallStreamObserver<?>) responseObserver
+        : null;
   }
 
   static class ResponseAndTraceId {
@@ -39,6 +39,8 @@ import io.stargate.grpc.tracing.TraceEventsMapper;
 import io.stargate.proto.QueryOuterClass;
 import io.stargate.proto.QueryOuterClass.Response;
 import io.stargate.proto.QueryOuterClass.Values;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -65,6 +67,8 @@ public abstract class MessageHandler<MessageT extends GeneratedMessageV3, Prepar
   protected final Persistence persistence;
   private final DefaultRetryPolicy retryPolicy;
   private final ExceptionHandler exceptionHandler;
+  // the address of the client of the call, it can differ from the one of the shared connection
+  protected final Optional<InetSocketAddress> clientAddress;
 
   protected MessageHandler(
       MessageT message,
@@ -76,6 +80,13 @@ public abstract class MessageHandler<MessageT extends GeneratedMessageV3, Prepar
     this.persistence = persistence;
     this.retryPolicy = new DefaultRetryPolicy();
     this.exceptionHandler = exceptionHandler;
+    this.clientAddress = inetAddress(GrpcService.REMOTE_ADDRESS_KEY.get());
+  }
+
+  private static Optional<InetSocketAddress> inetAddress(SocketAddress address) {
+    return address instanceof InetSocketAddress
+        ? Optional.of((InetSocketAddress) address)
+        : Optional.empty();
   }
 
   public void handle() {
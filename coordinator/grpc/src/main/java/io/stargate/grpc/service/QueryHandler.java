@@ -157,6 +157,8 @@ public abstract class QueryHandler extends MessageHandler<Query, Prepared> {
       builder.nowInSeconds(parameters.getNowInSeconds().getValue());
     }
 
+    builder.clientAddress(clientAddress);
+
     clientInfo.ifPresent(
         c -> {
           Map<String, ByteBuffer> customPayload = new HashMap<>();
@@ -1,19 +1,29 @@
 package io.stargate.grpc.service.streaming;
 
 import com.google.protobuf.GeneratedMessageV3;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
 import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.proto.QueryOuterClass;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * Implements the {@link StreamObserver} interface. It is able to process Query and Batch (both
  * extends {@link GeneratedMessageV3}).
  *
+ * <p>When it is given the {@link ServerCallStreamObserver} of the call, the requests are read with
+ * manual flow control: at most {@code maxInFlight} requests of the stream are executed at a time,
+ * and a new one is only read once a response was written. If the responses can't be written because
+ * the client does not consume them fast enough, reading is paused until the call is ready again.
+ * Otherwise, the requests are read as fast as the client sends them.
+ *
  * @param <MessageT> - type of the Message to process. We support {@link
  *     io.stargate.proto.QueryOuterClass.Query} and {@link io.stargate.proto.QueryOuterClass.Batch}
  */
@@ -22,23 +32,57 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
 
   private final AtomicLong inFlight = new AtomicLong(0);
   private final AtomicBoolean clientSignalComplete = new AtomicBoolean(false);
+  // The requests freed by written responses, that were not asked to the client yet
+  private final AtomicInteger pendingRequests = new AtomicInteger(0);
   private final ExceptionHandler exceptionHandler;
   StreamingHandlerFactory<MessageT> streamingHandlerFactory;
   private final StreamObserver<QueryOuterClass.StreamingResponse> responseObserver;
+  @Nullable private final ServerCallStreamObserver<?> callObserver;
+  private final StreamingMetrics metrics;
 
   public MessageStreamObserver(
       StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
       Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
       StreamingHandlerFactory<MessageT> streamingHandlerFactory) {
+    this(
+        responseObserver,
+        exceptionHandlerProducer,
+        streamingHandlerFactory,
+        null,
+        0,
+        new StreamingMetrics(new SimpleMeterRegistry()));
+  }
+
+  /**
+   * @param callObserver the observer of the call, used to control the flow of requests. It must be
+   *     given while the service method is invoked. If null, there is no flow control.
+   * @param maxInFlight the maximum number of requests of the stream executed at a time. Ignored if
+   *     there is no {@code callObserver}.
+   */
+  public MessageStreamObserver(
+      StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
+      Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
+      StreamingHandlerFactory<MessageT> streamingHandlerFactory,
+      @Nullable ServerCallStreamObserver<?> callObserver,
+      int maxInFlight,
+      StreamingMetrics metrics) {
     this.responseObserver = responseObserver;
     this.streamingHandlerFactory = streamingHandlerFactory;
     this.exceptionHandler = exceptionHandlerProducer.apply(this);
+    this.callObserver = callObserver;
+    this.metrics = metrics;
+    if (callObserver != null) {
+      callObserver.disableAutoRequest();
+      callObserver.setOnReadyHandler(this::requestPending);
+      callObserver.request(maxInFlight);
+    }
   }
 
   /**
    * Calls {@code StreamObserver#onNext} for a response. Next, it decrements the {@code inFlight}
    * and checks if the {@code this#onCompleted()} was called. If it was (and there were no errors),
-   * it calls {@code onCompleted()} on the {@code this#responseObserver}.
+   * it calls {@code onCompleted()} on the {@code this#responseObserver}. With flow control, it also
+   * asks the client for the next request.
    *
    * @param response
    */
@@ -47,12 +91,35 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
     try {
       responseObserver.onNext(response);
     } finally {
+      metrics.requestCompleted();
+      if (callObserver != null) {
+        pendingRequests.incrementAndGet();
+        requestPending();
+      }
       if (inFlight.decrementAndGet() == 0 && clientSignalComplete.get()) {
         responseObserver.onCompleted();
       }
     }
   }
 
+  /**
+   * Asks the client for the pending requests, unless the responses can't be written: in that case,
+   * this is called again by gRPC once the call is ready.
+   */
+  private void requestPending() {
+    if (clientSignalComplete.get() || pendingRequests.get() == 0) {
+      return;
+    }
+    if (!callObserver.isReady()) {
+      metrics.readDeferred();
+      return;
+    }
+    int count = pendingRequests.getAndSet(0);
+    if (count > 0) {
+      callObserver.request(count);
+    }
+  }
+
   /**
    * It is creating new handler for each request and invokes the {@link MessageHandler#handle()}
    * method.
@@ -61,7 +128,7 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
    */
   @Override
   public void onNext(MessageT value) {
-    inFlight.incrementAndGet();
+    metrics.requestStarted(inFlight.incrementAndGet());
     streamingHandlerFactory.create(value, this, exceptionHandler).handle();
   }
 
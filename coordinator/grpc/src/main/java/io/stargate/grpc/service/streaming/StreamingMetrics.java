@@ -0,0 +1,48 @@
+package io.stargate.grpc.service.streaming;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The metrics of the bidirectional streaming calls, shared by all the {@link
+ * MessageStreamObserver}s of a service.
+ */
+public class StreamingMetrics {
+
+  private final AtomicLong inFlight = new AtomicLong();
+  private final DistributionSummary streamInFlight;
+  private final Counter deferredReads;
+
+  public StreamingMetrics(MeterRegistry meterRegistry) {
+    Gauge.builder("grpc.server.stream.in_flight", inFlight, AtomicLong::get)
+        .description("Requests in flight over all the streaming calls")
+        .register(meterRegistry);
+    this.streamInFlight =
+        DistributionSummary.builder("grpc.server.stream.in_flight.per_stream")
+            .description(
+                "Requests in flight on a streaming call, recorded each time it receives a request")
+            .register(meterRegistry);
+    this.deferredReads =
+        Counter.builder("grpc.server.stream.deferred_reads")
+            .description(
+                "Requests of streaming calls that were not read right away, because the responses"
+                    + " could not be written")
+            .register(meterRegistry);
+  }
+
+  void requestStarted(long streamInFlight) {
+    inFlight.incrementAndGet();
+    this.streamInFlight.record(streamInFlight);
+  }
+
+  void requestCompleted() {
+    inFlight.decrementAndGet();
+  }
+
+  void readDeferred() {
+    deferredReads.increment();
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.Metrics;
+import io.stargate.db.Persistence;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.Test;
+
+public class GrpcServiceTest {
+
+  @Test
+  public void doesNotRegisterOnGlobalRegistry() {
+    new GrpcService(mock(Persistence.class), mock(ScheduledExecutorService.class));
+    new GrpcService(mock(Persistence.class), mock(ScheduledExecutorService.class));
+
+    assertThat(Metrics.globalRegistry.find("grpc.server.stream.in_flight").gauges()).isEmpty();
+  }
+}
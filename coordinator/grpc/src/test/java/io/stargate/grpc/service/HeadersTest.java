@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -74,7 +75,8 @@ public class HeadersTest extends BaseGrpcServiceTest {
     AuthenticationSubject authenticationSubject = mock(AuthenticationSubject.class);
     when(authenticationSubject.asUser()).thenReturn(authenticatedUser);
 
-    AuthenticationService authenticationService = mock(AuthenticationService.class);
+    AuthenticationService authenticationService =
+        mock(AuthenticationService.class, CALLS_REAL_METHODS);
     when(authenticationService.validateToken(anyString(), any(Map.class)))
         .thenReturn(authenticationSubject);
 
@@ -35,6 +35,7 @@ import io.grpc.MethodDescriptor.MethodType;
 import io.grpc.ServerCall;
 import io.grpc.ServerCallHandler;
 import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
@@ -45,9 +46,11 @@ import io.stargate.grpc.service.GrpcService;
 import java.net.InetSocketAddress;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import org.apache.cassandra.stargate.exceptions.UnhandledClientException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -70,7 +73,8 @@ public class NewConnectionInterceptorTest {
 
   @Mock Connection connection;
 
-  @Mock AuthenticationService authenticationService;
+  @Mock(answer = Answers.CALLS_REAL_METHODS)
+  AuthenticationService authenticationService;
 
   @Mock AuthenticatedUser authenticatedUser;
 
@@ -191,6 +195,43 @@ public class NewConnectionInterceptorTest {
     verify(next, never()).startCall(any(ServerCall.class), any(Metadata.class));
   }
 
+  @Test
+  public void rejectedAuthentication() throws UnauthorizedException {
+    when(call.getMethodDescriptor()).thenReturn(TEST_METHOD_DESCRIPTOR);
+
+    Attributes attributes =
+        Attributes.newBuilder()
+            .set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, new InetSocketAddress(8090))
+            .build();
+    when(call.getAttributes()).thenReturn(attributes);
+
+    Metadata metadata = new Metadata();
+    metadata.put(NewConnectionInterceptor.TOKEN_KEY, "someToken");
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    NewConnectionInterceptor interceptor =
+        new NewConnectionInterceptor(
+            persistence,
+            authenticationService,
+            task -> {
+              throw new RejectedExecutionException();
+            },
+            meterRegistry);
+    interceptor.interceptCall(call, metadata, next);
+
+    verify(call, times(1))
+        .close(
+            argThat(
+                s ->
+                    s.getCode() == Status.UNAVAILABLE.getCode()
+                        && s.getDescription()
+                            .equals("Too many connections waiting for authentication")),
+            any(Metadata.class));
+    verify(authenticationService, never()).validateToken(anyString(), any(Map.class));
+    verify(next, never()).startCall(any(ServerCall.class), any(Metadata.class));
+    assertThat(meterRegistry.get("grpc.server.connection.authentication.queue").timer().count())
+        .isZero();
+  }
+
   @Test
   public void setHostHeaderUsingAuthorityPseudoHeader() throws UnauthorizedException {
     when(authenticationSubject.asUser()).thenReturn(authenticatedUser);
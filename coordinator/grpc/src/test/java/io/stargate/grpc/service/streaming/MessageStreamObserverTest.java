@@ -1,20 +1,30 @@
 package io.stargate.grpc.service.streaming;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
+import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.grpc.service.SynchronizedStreamObserver;
 import io.stargate.proto.QueryOuterClass;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class MessageStreamObserverTest {
   private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(1);
@@ -105,6 +115,110 @@ class MessageStreamObserverTest {
     verify(callerStreamObserver, timeout(1000).times(0)).onCompleted();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldLimitRequestsInFlight() {
+    // given
+    ServerCallStreamObserver<QueryOuterClass.StreamingResponse> callObserver =
+        mock(ServerCallStreamObserver.class);
+    when(callObserver.isReady()).thenReturn(true);
+    List<StreamingSuccessHandler> pending = new ArrayList<>();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        flowControlledObserver(callObserver, pending, meterRegistry);
+
+    // then only the max in-flight requests are read initially
+    verify(callObserver).disableAutoRequest();
+    verify(callObserver).request(2);
+
+    // when
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    assertThat(meterRegistry.get("grpc.server.stream.in_flight").gauge().value()).isEqualTo(2);
+    assertThat(meterRegistry.get("grpc.server.stream.in_flight.per_stream").summary().max())
+        .isEqualTo(2);
+    pending.get(0).handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+
+    // then the next request is read once a response was written
+    verify(callObserver).request(1);
+    assertThat(meterRegistry.get("grpc.server.stream.in_flight").gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldPauseReadingWhileResponsesCannotBeWritten() {
+    // given
+    ServerCallStreamObserver<QueryOuterClass.StreamingResponse> callObserver =
+        mock(ServerCallStreamObserver.class);
+    when(callObserver.isReady()).thenReturn(false);
+    List<StreamingSuccessHandler> pending = new ArrayList<>();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        flowControlledObserver(callObserver, pending, meterRegistry);
+    ArgumentCaptor<Runnable> onReadyHandler = ArgumentCaptor.forClass(Runnable.class);
+    verify(callObserver).setOnReadyHandler(onReadyHandler.capture());
+
+    // when
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    pending.get(0).handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+    pending.get(1).handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+
+    // then
+    verify(callObserver, never()).request(1);
+    assertThat(meterRegistry.get("grpc.server.stream.deferred_reads").counter().count())
+        .isEqualTo(2);
+
+    // when the responses can be written again
+    when(callObserver.isReady()).thenReturn(true);
+    onReadyHandler.getValue().run();
+
+    // then the deferred requests are read at once (in addition to the initial ones)
+    verify(callObserver, times(2)).request(2);
+    verify(callObserver, times(2)).request(anyInt());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldNotReadAfterClientCompleted() {
+    // given
+    ServerCallStreamObserver<QueryOuterClass.StreamingResponse> callObserver =
+        mock(ServerCallStreamObserver.class);
+    when(callObserver.isReady()).thenReturn(true);
+    List<StreamingSuccessHandler> pending = new ArrayList<>();
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        flowControlledObserver(callObserver, pending, new SimpleMeterRegistry());
+
+    // when
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    observer.onCompleted();
+    pending.get(0).handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+
+    // then
+    verify(callObserver, times(1)).request(anyInt());
+    verify(callObserver).onCompleted();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static MessageStreamObserver<QueryOuterClass.Query> flowControlledObserver(
+      ServerCallStreamObserver<QueryOuterClass.StreamingResponse> callObserver,
+      List<StreamingSuccessHandler> pending,
+      SimpleMeterRegistry meterRegistry) {
+    StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
+        (query, successHandler, exH) -> {
+          // responses are written when the test decides to
+          pending.add(successHandler);
+          return mock(MessageHandler.class);
+        };
+    return new MessageStreamObserver<>(
+        new SynchronizedStreamObserver<>(callObserver),
+        (v) -> mock(ExceptionHandler.class),
+        streamingHandlerFactory,
+        callObserver,
+        2,
+        new StreamingMetrics(meterRegistry));
+  }
+
   @AfterAll
   public static void cleanup() {
     EXECUTOR.shutdown();
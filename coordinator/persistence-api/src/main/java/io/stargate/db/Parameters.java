@@ -18,6 +18,7 @@ package io.stargate.db;
 
 import static java.lang.String.format;
 
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -105,6 +106,14 @@ public abstract class Parameters {
    */
   public abstract Optional<String> defaultKeyspace();
 
+  /**
+   * The optional address of the client that made the request. If unset, the address of the {@link
+   * ClientInfo} the underlying {@link Persistence.Connection} was created with is used. Set when a
+   * connection is shared by clients of the same principal, so that each request is attributed to
+   * its own client.
+   */
+  public abstract Optional<InetSocketAddress> clientAddress();
+
   /** Custom payload that can be used by the underlying {@link Persistence} implementation. */
   public abstract Optional<Map<String, ByteBuffer>> customPayload();
 
@@ -181,6 +190,9 @@ public abstract class Parameters {
     if (nowInSeconds().isPresent()) {
       m.put("now", Integer.toString(nowInSeconds().getAsInt()));
     }
+    if (clientAddress().isPresent()) {
+      m.put("client", clientAddress().get().toString());
+    }
     return m.toString();
   }
 }
@@ -197,6 +197,7 @@ public class AsyncRateLimiter {
       return task.get();
     } else {
       // Time is in the future. Delay running the task.
+      onDelayed(delay);
       CompletableFuture<T> executionFuture = new CompletableFuture<>();
       executor.schedule(
           () -> {
@@ -208,6 +209,14 @@ public class AsyncRateLimiter {
     }
   }
 
+  /**
+   * Called by {@link #acquireAndExecute} when a task has to wait for its permits, right before it
+   * is scheduled. Does nothing by default.
+   *
+   * @param delayNanos the number of nanoseconds the task waits before being executed.
+   */
+  protected void onDelayed(long delayNanos) {}
+
   private static <T> void complete(CompletableFuture<T> toComplete, T result, Throwable exception) {
     if (exception != null) {
       toComplete.completeExceptionally(exception);
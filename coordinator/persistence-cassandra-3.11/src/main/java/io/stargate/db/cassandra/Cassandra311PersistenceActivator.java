@@ -168,6 +168,7 @@ public class Cassandra311PersistenceActivator extends BaseActivator {
     // TODO copy metrics if this gets invoked more than once?
     CassandraMetricsRegistry.actualRegistry =
         metrics.get().getRegistry("persistence-cassandra-3.11");
+    cassandraDB.registerMetrics(CassandraMetricsRegistry.actualRegistry);
 
     try {
       cassandraDB.setAuthorizationService(authorizationService.get());
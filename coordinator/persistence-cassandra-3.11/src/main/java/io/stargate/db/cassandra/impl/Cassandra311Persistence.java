@@ -43,6 +43,7 @@ import io.stargate.db.datastore.common.util.SchemaAgreementAchievableCheck;
 import io.stargate.db.schema.TableName;
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -54,6 +55,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -170,12 +172,12 @@ public class Cassandra311Persistence
   }
 
   @Override
-  protected void registerInternalSchemaListener(Runnable runOnSchemaChange) {
+  protected void registerInternalSchemaListener(Consumer<String> onKeyspaceChange) {
     migrationListener =
         new SimpleCallbackMigrationListener() {
           @Override
-          void onSchemaChange() {
-            runOnSchemaChange.run();
+          void onSchemaChange(String keyspace) {
+            onKeyspaceChange.accept(keyspace);
           }
         };
     MigrationManager.instance.register(migrationListener);
@@ -468,12 +470,7 @@ public class Cassandra311Persistence
         Parameters parameters, long queryStartNanoTime, Supplier<Request> requestSupplier) {
       return runOnExecutor(
           () -> {
-            QueryState queryState =
-                new QueryState(
-                    parameters
-                        .defaultKeyspace()
-                        .map(k -> cloneWithKeyspace(clientState, k))
-                        .orElse(clientState));
+            QueryState queryState = new QueryState(requestClientState(parameters));
             Request request = requestSupplier.get();
             if (parameters.tracingRequested()) {
               request.setTracingRequested();
@@ -502,11 +499,32 @@ public class Cassandra311Persistence
           parameters.protocolVersion().isGreaterOrEqualTo(ProtocolVersion.V4));
     }
 
-    private ClientState cloneWithKeyspace(ClientState original, String keyspace) {
+    // the connection's client state, or a clone of it if the request has its own default keyspace
+    // or its own client address
+    private ClientState requestClientState(Parameters parameters) {
+      Optional<InetSocketAddress> clientAddress =
+          parameters
+              .clientAddress()
+              .filter(
+                  a ->
+                      !clientState.isInternal
+                          && clientState.getUser() != null
+                          && !a.equals(clientState.getRemoteAddress()));
+      if (!parameters.defaultKeyspace().isPresent() && !clientAddress.isPresent()) {
+        return clientState;
+      }
+      return cloneClientState(
+          clientState,
+          clientAddress.orElse(clientState.getRemoteAddress()),
+          parameters.defaultKeyspace().orElse(clientState.getRawKeyspace()));
+    }
+
+    private ClientState cloneClientState(
+        ClientState original, InetSocketAddress remoteAddress, String keyspace) {
       ClientState clone =
           original.isInternal
               ? ClientState.forInternalCalls()
-              : ClientState.forExternalCalls(original.getRemoteAddress());
+              : ClientState.forExternalCalls(remoteAddress);
       clone.login(original.getUser());
       if (original.isNoCompactMode()) {
         clone.setNoCompactMode();
@@ -27,6 +27,7 @@ import io.stargate.db.datastore.common.AbstractCassandraPersistence;
 import io.stargate.db.datastore.common.util.SchemaAgreementAchievableCheck;
 import io.stargate.db.schema.TableName;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -38,6 +39,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -151,12 +153,12 @@ public class Cassandra40Persistence
   }
 
   @Override
-  protected void registerInternalSchemaListener(Runnable runOnSchemaChange) {
+  protected void registerInternalSchemaListener(Consumer<String> onKeyspaceChange) {
     schemaChangeListener =
         new SimpleCallbackMigrationListener() {
           @Override
-          void onSchemaChange() {
-            runOnSchemaChange.run();
+          void onSchemaChange(String keyspace) {
+            onKeyspaceChange.accept(keyspace);
           }
         };
     org.apache.cassandra.schema.Schema.instance.registerListener(schemaChangeListener);
@@ -272,13 +274,8 @@ public class Cassandra40Persistence
                 (T) supplier.get().setWarnings(ClientWarn.instance.getWarnings());
             future.complete(resultWithWarnings);
           } catch (Throwable t) {
-            JVMStabilityInspector.inspectThrowable(t);
-            PersistenceException pe =
-                (t instanceof PersistenceException)
-                    ? (PersistenceException) t
-                    : Conversion.convertInternalException(t);
-            pe.setWarnings(ClientWarn.instance.getWarnings());
-            future.completeExceptionally(pe);
+            future.completeExceptionally(
+                toPersistenceException(t, ClientWarn.instance.getWarnings()));
           } finally {
             // Note that it's a no-op if we haven't called captureWarnings
             ClientWarn.instance.resetWarnings();
@@ -288,6 +285,68 @@ public class Cassandra40Persistence
     return future;
   }
 
+  /**
+   * Same as {@link #runOnExecutor}, but the writes started by the supplier with {@link
+   * NonBlockingWrites} complete the returned future once acknowledged, without blocking the
+   * executor thread in the meantime.
+   */
+  private <T extends Result> CompletableFuture<T> runOnExecutorWithoutBlocking(
+      Supplier<T> supplier, boolean captureWarnings) {
+    assert executor != null : "This persistence has not been initialized";
+    CompletableFuture<T> future = new CompletableFuture<>();
+    executor.submit(
+        () -> {
+          if (captureWarnings) ClientWarn.instance.captureWarnings();
+          try {
+            T result;
+            CompletableFuture<Void> write;
+            NonBlockingWrites.begin();
+            try {
+              result = supplier.get();
+            } finally {
+              write = NonBlockingWrites.end();
+            }
+            List<String> warnings = ClientWarn.instance.getWarnings();
+            if (write == null) {
+              @SuppressWarnings("unchecked")
+              T resultWithWarnings = (T) result.setWarnings(warnings);
+              future.complete(resultWithWarnings);
+            } else {
+              // Completed from a C* messaging thread, continue on the executor like other results
+              write.whenCompleteAsync(
+                  (v, t) -> {
+                    if (t == null) {
+                      @SuppressWarnings("unchecked")
+                      T resultWithWarnings = (T) result.setWarnings(warnings);
+                      future.complete(resultWithWarnings);
+                    } else {
+                      future.completeExceptionally(toPersistenceException(t, warnings));
+                    }
+                  },
+                  executor);
+            }
+          } catch (Throwable t) {
+            future.completeExceptionally(
+                toPersistenceException(t, ClientWarn.instance.getWarnings()));
+          } finally {
+            // Note that it's a no-op if we haven't called captureWarnings
+            ClientWarn.instance.resetWarnings();
+          }
+        });
+
+    return future;
+  }
+
+  private static PersistenceException toPersistenceException(Throwable t, List<String> warnings) {
+    JVMStabilityInspector.inspectThrowable(t);
+    PersistenceException pe =
+        (t instanceof PersistenceException)
+            ? (PersistenceException) t
+            : Conversion.convertInternalException(t);
+    pe.setWarnings(warnings);
+    return pe;
+  }
+
   private static boolean shouldCheckSchema(InetAddressAndPort ep) {
     EndpointState epState = Gossiper.instance.getEndpointStateForEndpoint(ep);
     return epState != null && !Gossiper.instance.isDeadState(epState);
@@ -445,46 +504,64 @@ public class Cassandra40Persistence
     private <T extends Result> CompletableFuture<T> executeRequestOnExecutor(
         Parameters parameters, long queryStartNanoTime, Supplier<Request> requestSupplier) {
       return runOnExecutor(
-          () -> {
-            QueryState queryState = new QueryState(clientState);
-            Request request = requestSupplier.get();
-            if (parameters.tracingRequested()) {
-              ReflectionUtils.setTracingRequested(request);
-            }
-            request.setCustomPayload(parameters.customPayload().orElse(null));
-
-            Message.Response response = request.execute(queryState, queryStartNanoTime);
-
-            // There is only 2 types of response that can come out: either a ResultMessage (which
-            // itself can of different kind), or an ErrorMessage.
-            if (response instanceof ErrorMessage) {
-              // Note that we convert in runOnExecutor (to handle exceptions coming from other
-              // parts of this method), but we need an unchecked exception here anyway, so
-              // we convert, and runOnExecutor will detect it's already converted.
-              PersistenceException pe =
-                  Conversion.convertInternalException((Throwable) ((ErrorMessage) response).error);
-              pe.setTracingId(Cassandra40TracingIdAccessor.getTracingId(response));
-              throw pe;
-            }
-
-            @SuppressWarnings("unchecked")
-            T result =
-                (T)
-                    Conversion.toResult(
-                        (ResultMessage) response,
-                        Conversion.toInternal(parameters.protocolVersion()),
-                        parameters.tracingRequested());
-            return result;
-          },
+          () -> executeRequest(parameters, queryStartNanoTime, requestSupplier),
           parameters.protocolVersion().isGreaterOrEqualTo(ProtocolVersion.V4));
     }
 
+    private <T extends Result> T executeRequest(
+        Parameters parameters, long queryStartNanoTime, Supplier<Request> requestSupplier) {
+      QueryState queryState = new QueryState(requestClientState(parameters));
+      Request request = requestSupplier.get();
+      if (parameters.tracingRequested()) {
+        ReflectionUtils.setTracingRequested(request);
+      }
+      request.setCustomPayload(parameters.customPayload().orElse(null));
+
+      Message.Response response = request.execute(queryState, queryStartNanoTime);
+
+      // There is only 2 types of response that can come out: either a ResultMessage (which
+      // itself can of different kind), or an ErrorMessage.
+      if (response instanceof ErrorMessage) {
+        // Note that we convert in runOnExecutor (to handle exceptions coming from other
+        // parts of this method), but we need an unchecked exception here anyway, so
+        // we convert, and runOnExecutor will detect it's already converted.
+        PersistenceException pe =
+            Conversion.convertInternalException((Throwable) ((ErrorMessage) response).error);
+        pe.setTracingId(Cassandra40TracingIdAccessor.getTracingId(response));
+        throw pe;
+      }
+
+      @SuppressWarnings("unchecked")
+      T result =
+          (T)
+              Conversion.toResult(
+                  (ResultMessage) response,
+                  Conversion.toInternal(parameters.protocolVersion()),
+                  parameters.tracingRequested());
+      return result;
+    }
+
+    // the connection's client state, or a clone of it if the request has its own client address
+    private ClientState requestClientState(Parameters parameters) {
+      Optional<InetSocketAddress> clientAddress =
+          parameters
+              .clientAddress()
+              .filter(a -> !clientState.isInternal && !a.equals(clientState.getRemoteAddress()));
+      if (!clientAddress.isPresent() || clientState.getUser() == null) {
+        return clientState;
+      }
+      ClientState clone = ClientState.forExternalCalls(clientAddress.get());
+      clone.login(clientState.getUser());
+      if (clientState.getRawKeyspace() != null) {
+        clone.setKeyspace(clientState.getRawKeyspace());
+      }
+      return clone;
+    }
+
     @Override
     public CompletableFuture<Result> execute(
         Statement statement, Parameters parameters, long queryStartNanoTime) {
-      return executeRequestOnExecutor(
-          parameters,
-          queryStartNanoTime,
+      Supplier<Request> requestSupplier =
           () -> {
             QueryOptions options =
                 Conversion.toInternal(
@@ -498,7 +575,14 @@ public class Cassandra40Persistence
               // The 'resultMetadataId' is a protocol v5 feature we don't yet support
               return new ExecuteMessage(id, null, options);
             }
-          });
+          };
+      // Tracing sessions end with the request, so they need the regular (blocking) execution
+      if (NonBlockingWrites.ENABLED && !parameters.tracingRequested()) {
+        return runOnExecutorWithoutBlocking(
+            () -> executeRequest(parameters, queryStartNanoTime, requestSupplier),
+            parameters.protocolVersion().isGreaterOrEqualTo(ProtocolVersion.V4));
+      }
+      return executeRequestOnExecutor(parameters, queryStartNanoTime, requestSupplier);
     }
 
     @Override
@@ -0,0 +1,247 @@
+package io.stargate.db.cassandra.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.cassandra.concurrent.ScheduledExecutors;
+import org.apache.cassandra.concurrent.Stage;
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.cql3.CQLStatement;
+import org.apache.cassandra.cql3.QueryOptions;
+import org.apache.cassandra.cql3.statements.ModificationStatement;
+import org.apache.cassandra.db.ConsistencyLevel;
+import org.apache.cassandra.db.IMutation;
+import org.apache.cassandra.db.Mutation;
+import org.apache.cassandra.db.WriteType;
+import org.apache.cassandra.exceptions.OverloadedException;
+import org.apache.cassandra.exceptions.UnavailableException;
+import org.apache.cassandra.exceptions.WriteFailureException;
+import org.apache.cassandra.exceptions.WriteTimeoutException;
+import org.apache.cassandra.locator.ReplicaPlan;
+import org.apache.cassandra.metrics.ClientRequestsMetricsHolder;
+import org.apache.cassandra.schema.KeyspaceMetadata;
+import org.apache.cassandra.schema.Schema;
+import org.apache.cassandra.schema.TableMetadata;
+import org.apache.cassandra.service.AbstractWriteResponseHandler;
+import org.apache.cassandra.service.ClientState;
+import org.apache.cassandra.service.QueryState;
+import org.apache.cassandra.service.StorageProxy;
+
+/**
+ * Executes simple writes without blocking the calling thread while the replicas respond.
+ *
+ * <p>Regular C* execution sends the mutations and then parks the request thread until enough
+ * replicas have acknowledged them, so the coordinator throughput is capped by the number of request
+ * threads. Here, the mutations are sent with {@link StorageProxy#performWrite} and the write is
+ * completed from the callback invoked by the response handler (or by a timer when the write times
+ * out), so the request thread is released as soon as the mutations are sent.
+ *
+ * <p>This only applies to statements executed by a thread between {@link #begin()} and {@link
+ * #end()}, and only to the writes that C* would send with a plain {@code StorageProxy.mutate}:
+ * conditional updates, counters, virtual tables, tables with triggers or materialized views, and
+ * the {@code ANY}, {@code NODE_LOCAL} and serial consistency levels use the regular path. So do
+ * reads: {@code StorageProxy.read} has no completion callback, its executors wait for the replies
+ * (and for read repair) internally.
+ */
+final class NonBlockingWrites {
+
+  /** Whether non-blocking writes are enabled (they are disabled by default). */
+  static final boolean ENABLED = Boolean.getBoolean("stargate.cassandra.non_blocking_writes");
+
+  private static final ThreadLocal<Slot> CURRENT = new ThreadLocal<>();
+
+  private NonBlockingWrites() {}
+
+  /**
+   * Allows the next eligible write executed by the current thread to be started without blocking.
+   * Must be followed by {@link #end()} on the same thread.
+   */
+  static void begin() {
+    CURRENT.set(new Slot());
+  }
+
+  /**
+   * Returns the write started since {@link #begin()} on the current thread, or {@code null} if the
+   * statement was executed the regular way.
+   */
+  static CompletableFuture<Void> end() {
+    Slot slot = CURRENT.get();
+    CURRENT.remove();
+    return slot == null ? null : slot.write;
+  }
+
+  /**
+   * Starts the write of the given statement if possible.
+   *
+   * @return whether the write was started, in which case it can be retrieved with {@link #end()}.
+   *     If {@code false}, the statement must be executed the regular way.
+   */
+  static boolean maybeStart(
+      CQLStatement statement,
+      QueryState queryState,
+      QueryOptions options,
+      long queryStartNanoTime) {
+    Slot slot = CURRENT.get();
+    if (slot == null || slot.write != null || !(statement instanceof ModificationStatement)) {
+      return false;
+    }
+    // Orders named values like QueryProcessor.process does (prepared ones already are)
+    options = options.prepare(statement.getBindVariables());
+    if (!isEligible((ModificationStatement) statement, options)) {
+      return false;
+    }
+
+    ModificationStatement modification = (ModificationStatement) statement;
+    ClientState clientState = queryState.getClientState();
+    modification.authorize(clientState);
+    modification.validate(clientState);
+    ConsistencyLevel consistency = options.getConsistency();
+    consistency.validateForWrite();
+
+    List<? extends IMutation> mutations =
+        ReflectionUtils.getMutations(
+            modification,
+            options,
+            options.getTimestamp(queryState),
+            options.getNowInSeconds(queryState),
+            queryStartNanoTime);
+    slot.write =
+        mutations.isEmpty()
+            ? CompletableFuture.completedFuture(null)
+            : new Write(mutations, consistency, queryStartNanoTime).start();
+    return true;
+  }
+
+  private static boolean isEligible(ModificationStatement modification, QueryOptions options) {
+    if (modification.hasConditions() || modification.isCounter() || modification.isVirtual()) {
+      return false;
+    }
+    // Let the regular path report the invalid requests
+    if (options.getValues().size() != modification.getBindVariables().size()) {
+      return false;
+    }
+    ConsistencyLevel consistency = options.getConsistency();
+    if (consistency == null
+        || consistency == ConsistencyLevel.ANY
+        || consistency == ConsistencyLevel.NODE_LOCAL
+        || consistency.isSerialConsistency()) {
+      return false;
+    }
+    TableMetadata table = modification.metadata();
+    if (!table.triggers.isEmpty()) {
+      return false;
+    }
+    KeyspaceMetadata keyspace = Schema.instance.getKeyspaceMetadata(table.keyspace);
+    return keyspace != null && !keyspace.views.forTable(table.id).iterator().hasNext();
+  }
+
+  private static class Slot {
+    private CompletableFuture<Void> write;
+  }
+
+  /** The mutations of a statement, completed once all of them have been acknowledged. */
+  private static class Write implements Runnable {
+    private final List<? extends IMutation> mutations;
+    private final ConsistencyLevel consistency;
+    private final long queryStartNanoTime;
+    private final List<AbstractWriteResponseHandler<IMutation>> handlers;
+    // One per handler, plus one released once they have all been created
+    private final AtomicInteger pending;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private volatile ScheduledFuture<?> timeout;
+
+    private Write(
+        List<? extends IMutation> mutations,
+        ConsistencyLevel consistency,
+        long queryStartNanoTime) {
+      this.mutations = mutations;
+      this.consistency = consistency;
+      this.queryStartNanoTime = queryStartNanoTime;
+      this.handlers = new ArrayList<>(mutations.size());
+      this.pending = new AtomicInteger(mutations.size() + 1);
+    }
+
+    private CompletableFuture<Void> start() {
+      String localDataCenter = DatabaseDescriptor.getEndpointSnitch().getLocalDatacenter();
+      WriteType writeType = mutations.size() <= 1 ? WriteType.SIMPLE : WriteType.UNLOGGED_BATCH;
+      try {
+        for (IMutation mutation : mutations) {
+          handlers.add(
+              StorageProxy.performWrite(
+                  mutation,
+                  consistency,
+                  localDataCenter,
+                  NonBlockingWrites::sendToReplicas,
+                  this,
+                  writeType,
+                  queryStartNanoTime));
+        }
+      } catch (UnavailableException | OverloadedException e) {
+        ClientRequestsMetricsHolder.writeMetrics.unavailables.mark();
+        ClientRequestsMetricsHolder.writeMetricsForLevel(consistency).unavailables.mark();
+        throw e;
+      }
+
+      // All the handlers share the same deadline
+      timeout =
+          ScheduledExecutors.scheduledFastTasks.schedule(
+              this::complete, handlers.get(0).currentTimeoutNanos(), TimeUnit.NANOSECONDS);
+      run();
+      return future;
+    }
+
+    /** Invoked by each handler once it got enough responses (or too many failures). */
+    @Override
+    public void run() {
+      if (pending.decrementAndGet() == 0) {
+        complete();
+      }
+    }
+
+    private void complete() {
+      if (!done.compareAndSet(false, true)) {
+        return;
+      }
+      ScheduledFuture<?> timeout = this.timeout;
+      if (timeout != null) {
+        timeout.cancel(false);
+      }
+      try {
+        // Returns right away for the signaled handlers, and throws for the timed out ones
+        for (AbstractWriteResponseHandler<IMutation> handler : handlers) {
+          handler.get();
+        }
+        future.complete(null);
+      } catch (WriteTimeoutException e) {
+        ClientRequestsMetricsHolder.writeMetrics.timeouts.mark();
+        ClientRequestsMetricsHolder.writeMetricsForLevel(consistency).timeouts.mark();
+        future.completeExceptionally(e);
+      } catch (WriteFailureException e) {
+        ClientRequestsMetricsHolder.writeMetrics.failures.mark();
+        ClientRequestsMetricsHolder.writeMetricsForLevel(consistency).failures.mark();
+        future.completeExceptionally(e);
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      } finally {
+        long latency = System.nanoTime() - queryStartNanoTime;
+        ClientRequestsMetricsHolder.writeMetrics.addNano(latency);
+        ClientRequestsMetricsHolder.writeMetricsForLevel(consistency).addNano(latency);
+      }
+    }
+  }
+
+  // Same as StorageProxy.standardWritePerformer, which is private
+  private static void sendToReplicas(
+      IMutation mutation,
+      ReplicaPlan.ForTokenWrite targets,
+      AbstractWriteResponseHandler<IMutation> handler,
+      String localDataCenter) {
+    StorageProxy.sendToHintedReplicas(
+        (Mutation) mutation, targets, handler, localDataCenter, Stage.MUTATION);
+  }
+}
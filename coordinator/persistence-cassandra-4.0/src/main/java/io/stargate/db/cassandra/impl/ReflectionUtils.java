@@ -6,6 +6,8 @@ import java.lang.reflect.Method;
 import java.util.List;
 import java.util.UUID;
 import org.apache.cassandra.cql3.QueryOptions;
+import org.apache.cassandra.cql3.statements.ModificationStatement;
+import org.apache.cassandra.db.IMutation;
 import org.apache.cassandra.transport.Message.Request;
 import org.apache.cassandra.transport.Message.Response;
 
@@ -14,6 +16,7 @@ class ReflectionUtils {
   private static final Method requestSetTracingRequested;
   private static final Method responseGetTracingId;
   private static final Constructor<? extends QueryOptions> optionsWithNamesCtor;
+  private static final Method modificationGetMutations;
 
   static {
     try {
@@ -35,6 +38,11 @@ class ReflectionUtils {
 
       optionsWithNamesCtor = withNamesClass.getDeclaredConstructor(defaultOptionsClass, List.class);
       optionsWithNamesCtor.setAccessible(true);
+
+      modificationGetMutations =
+          ModificationStatement.class.getDeclaredMethod(
+              "getMutations", QueryOptions.class, boolean.class, long.class, int.class, long.class);
+      modificationGetMutations.setAccessible(true);
     } catch (Exception e) {
       // We know it's there.
       throw new AssertionError(
@@ -90,4 +98,20 @@ class ReflectionUtils {
   static QueryOptions newOptionsWithNames(QueryOptions options, List<String> boundNames) {
     return newInstance(optionsWithNamesCtor, options, boundNames);
   }
+
+  static List<? extends IMutation> getMutations(
+      ModificationStatement statement,
+      QueryOptions options,
+      long timestamp,
+      int nowInSeconds,
+      long queryStartNanoTime) {
+    return invoke(
+        modificationGetMutations,
+        statement,
+        options,
+        false,
+        timestamp,
+        nowInSeconds,
+        queryStartNanoTime);
+  }
 }
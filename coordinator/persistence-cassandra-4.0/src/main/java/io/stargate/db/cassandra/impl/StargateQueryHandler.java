@@ -152,6 +152,11 @@ public class StargateQueryHandler implements QueryHandler {
       authorizeByToken(customPayload, statement);
     }
 
+    if (NonBlockingWrites.maybeStart(statement, queryState, options, queryStartNanoTime)) {
+      QueryProcessor.metrics.regularStatementsExecuted.inc();
+      return new ResultMessage.Void();
+    }
+
     return QueryProcessor.instance.process(statement, queryState, options, queryStartNanoTime);
   }
 
@@ -207,6 +212,11 @@ public class StargateQueryHandler implements QueryHandler {
       authorizeByToken(customPayload, statement);
     }
 
+    if (NonBlockingWrites.maybeStart(statement, queryState, options, queryStartNanoTime)) {
+      QueryProcessor.metrics.preparedStatementsExecuted.inc();
+      return new ResultMessage.Void();
+    }
+
     return QueryProcessor.instance.processPrepared(
         statement, queryState, options, customPayload, queryStartNanoTime);
   }
@@ -0,0 +1,134 @@
+package io.stargate.db.cassandra.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.cql3.CQLStatement;
+import org.apache.cassandra.cql3.QueryOptions;
+import org.apache.cassandra.cql3.QueryProcessor;
+import org.apache.cassandra.cql3.UntypedResultSet;
+import org.apache.cassandra.db.ConsistencyLevel;
+import org.apache.cassandra.db.Keyspace;
+import org.apache.cassandra.db.commitlog.CommitLog;
+import org.apache.cassandra.db.marshal.AsciiType;
+import org.apache.cassandra.db.marshal.CounterColumnType;
+import org.apache.cassandra.schema.KeyspaceMetadata;
+import org.apache.cassandra.schema.KeyspaceParams;
+import org.apache.cassandra.schema.Schema;
+import org.apache.cassandra.schema.TableMetadata;
+import org.apache.cassandra.schema.Tables;
+import org.apache.cassandra.service.ClientState;
+import org.apache.cassandra.service.QueryState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NonBlockingWritesTest extends BaseCassandraTest {
+
+  private static final String KEYSPACE = "non_blocking_writes";
+
+  @BeforeEach
+  public void initTest() {
+    if (Schema.instance.getKeyspaceMetadata(KEYSPACE) == null) {
+      TableMetadata table =
+          TableMetadata.builder(KEYSPACE, "tbl")
+              .addPartitionKeyColumn("key", AsciiType.instance)
+              .addRegularColumn("value", AsciiType.instance)
+              .build();
+      TableMetadata counters =
+          TableMetadata.builder(KEYSPACE, "counters")
+              .isCounter(true)
+              .addPartitionKeyColumn("key", AsciiType.instance)
+              .addRegularColumn("value", CounterColumnType.instance)
+              .build();
+      Schema.instance.load(
+          KeyspaceMetadata.create(KEYSPACE, KeyspaceParams.local(), Tables.of(table, counters)));
+    }
+    // The happy path applies the mutations locally
+    Keyspace.setInitialized();
+    CommitLog.instance.start();
+  }
+
+  @AfterEach
+  public void cleanup() {
+    NonBlockingWrites.end();
+  }
+
+  private static boolean maybeStart(String query, ConsistencyLevel consistency) {
+    CQLStatement statement =
+        QueryProcessor.parseStatement(query).prepare(ClientState.forInternalCalls());
+    return NonBlockingWrites.maybeStart(
+        statement,
+        QueryState.forInternalCalls(),
+        QueryOptions.forInternalCalls(consistency, Collections.emptyList()),
+        System.nanoTime());
+  }
+
+  @Test
+  public void shouldCompleteWhenWriteIsAcknowledged() throws Exception {
+    // The first write opens the table, which could otherwise exceed the timeout of the next one
+    QueryProcessor.executeInternal(
+        "INSERT INTO non_blocking_writes.tbl (key, value) VALUES ('warmup', 'v')");
+    NonBlockingWrites.begin();
+
+    assertThat(
+            maybeStart(
+                "INSERT INTO non_blocking_writes.tbl (key, value) VALUES ('k', 'v')",
+                ConsistencyLevel.ONE))
+        .isTrue();
+    CompletableFuture<Void> write = NonBlockingWrites.end();
+    assertThat(write).isNotNull();
+    write.get(10, TimeUnit.SECONDS);
+
+    UntypedResultSet rows =
+        QueryProcessor.executeInternal("SELECT value FROM non_blocking_writes.tbl WHERE key = 'k'");
+    assertThat(rows.one().getString("value")).isEqualTo("v");
+  }
+
+  @Test
+  public void shouldNotStartOutsideOfBeginEnd() {
+    assertThat(
+            maybeStart(
+                "INSERT INTO non_blocking_writes.tbl (key, value) VALUES ('k', 'v')",
+                ConsistencyLevel.ONE))
+        .isFalse();
+  }
+
+  @Test
+  public void shouldNotStartConditionalUpdates() {
+    NonBlockingWrites.begin();
+
+    assertThat(
+            maybeStart(
+                "INSERT INTO non_blocking_writes.tbl (key, value) VALUES ('k', 'v') IF NOT EXISTS",
+                ConsistencyLevel.ONE))
+        .isFalse();
+    assertThat(NonBlockingWrites.end()).isNull();
+  }
+
+  @Test
+  public void shouldNotStartCounterUpdates() {
+    NonBlockingWrites.begin();
+
+    assertThat(
+            maybeStart(
+                "UPDATE non_blocking_writes.counters SET value = value + 1 WHERE key = 'k'",
+                ConsistencyLevel.ONE))
+        .isFalse();
+    assertThat(NonBlockingWrites.end()).isNull();
+  }
+
+  @Test
+  public void shouldNotStartWithAnyConsistency() {
+    NonBlockingWrites.begin();
+
+    assertThat(
+            maybeStart(
+                "INSERT INTO non_blocking_writes.tbl (key, value) VALUES ('k', 'v')",
+                ConsistencyLevel.ANY))
+        .isFalse();
+    assertThat(NonBlockingWrites.end()).isNull();
+  }
+}
@@ -1,5 +1,7 @@
 package io.stargate.db.datastore.common;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.datastax.oss.driver.shaded.guava.common.base.Joiner;
 import io.stargate.db.AuthenticatedUser;
 import io.stargate.db.ClientInfo;
@@ -8,6 +10,8 @@ import io.stargate.db.schema.Schema;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,15 +36,20 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
 
   private static final Logger logger = LoggerFactory.getLogger(AbstractCassandraPersistence.class);
 
+  public static final String SCHEMA_CONVERSION_METRIC = "schema-conversion";
+
   private final String name;
 
   private final AbstractCassandraSchemaConverter<K, T, C, U, I, V> schemaConverter;
 
   // The schema exposed by stargate. It is translated from the internal C* schema during
   // initialization, and then updated every time the internal schema changes through a schema
-  // listener callback.
+  // listener callback. Only the changed keyspace is translated again on updates.
   private volatile Schema schema;
 
+  // Not registered anywhere until registerMetrics is called.
+  private volatile Timer schemaConversionTimer = new Timer();
+
   protected AbstractCassandraPersistence(String name) {
     this.name = name;
     this.schemaConverter = newSchemaConverter();
@@ -53,18 +62,18 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
   protected abstract Iterable<K> currentInternalSchema();
 
   /**
-   * Register an internal schema listener that runs the provided runnable every time the internal
-   * schema of the persistence layer changes.
+   * Register an internal schema listener that calls the provided consumer, with the (unquoted) name
+   * of the modified keyspace, every time the internal schema of the persistence layer changes.
    *
    * <p>This is guaranteed to be called only once for each persistence instance, during
    * initialization. Implementations should usually keep track of the registered listener so they
    * can implement {@link #unregisterInternalSchemaListener()}.
    */
-  protected abstract void registerInternalSchemaListener(Runnable onSchemaChange);
+  protected abstract void registerInternalSchemaListener(Consumer<String> onKeyspaceChange);
 
   /**
    * Unregister the internal schema listener registered through {@link
-   * #registerInternalSchemaListener(Runnable)}, if necessary.
+   * #registerInternalSchemaListener(Consumer)}, if necessary.
    */
   protected abstract void unregisterInternalSchemaListener();
 
@@ -96,6 +105,16 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
     return schema;
   }
 
+  /**
+   * Publishes the metrics of this abstract facility, currently the time taken to convert the
+   * internal schema (as {@link #SCHEMA_CONVERSION_METRIC}), in the provided registry.
+   *
+   * <p>This should be called before {@link #initialize}, for the initial conversion to be recorded.
+   */
+  public void registerMetrics(MetricRegistry registry) {
+    schemaConversionTimer = registry.timer(SCHEMA_CONVERSION_METRIC);
+  }
+
   public final void initialize(Config config) {
     logger.info("Initializing {}", name);
 
@@ -105,12 +124,27 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
 
     initializePersistence(config);
 
-    schema = computeCurrentSchema();
-    registerInternalSchemaListener(() -> schema = computeCurrentSchema());
+    try (Timer.Context ignored = schemaConversionTimer.time()) {
+      schema = schemaConverter.convertCassandraSchema(currentInternalSchema());
+    }
+    registerInternalSchemaListener(this::onKeyspaceChange);
+  }
+
+  // Synchronized because each update builds on the previous schema.
+  private synchronized void onKeyspaceChange(String keyspaceName) {
+    long start = System.nanoTime();
+    schema = schemaConverter.updateKeyspace(schema, keyspaceName, internalKeyspace(keyspaceName));
+    schemaConversionTimer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
   }
 
-  private Schema computeCurrentSchema() {
-    return schemaConverter.convertCassandraSchema(currentInternalSchema());
+  private @Nullable K internalKeyspace(String keyspaceName) {
+    // Only the names are compared, which is cheap compared to converting all the keyspaces.
+    for (K keyspace : currentInternalSchema()) {
+      if (schemaConverter.keyspaceName(keyspace).equals(keyspaceName)) {
+        return keyspace;
+      }
+    }
+    return null;
   }
 
   public final void destroy() {
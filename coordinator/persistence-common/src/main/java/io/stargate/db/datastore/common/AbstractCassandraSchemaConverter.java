@@ -13,6 +13,7 @@ import io.stargate.db.schema.Schema;
 import io.stargate.db.schema.SecondaryIndex;
 import io.stargate.db.schema.Table;
 import io.stargate.db.schema.UserDefinedType;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -20,6 +21,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.apache.cassandra.stargate.utils.Streams;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
@@ -126,6 +128,37 @@ public abstract class AbstractCassandraSchemaConverter<K, T, C, U, I, V> {
     return Schema.create(Iterables.transform(cassandraKeyspaces, this::convertKeyspace));
   }
 
+  /**
+   * Updates a previously converted schema after a change to a single keyspace.
+   *
+   * <p>Only that keyspace is converted again, all the others are reused as is from the provided
+   * schema.
+   *
+   * @param schema the schema before the change.
+   * @param keyspaceName the (unquoted) name of the keyspace that changed.
+   * @param cassandraKeyspace the new internal metadata of the keyspace, or {@code null} if it was
+   *     dropped.
+   */
+  public Schema updateKeyspace(Schema schema, String keyspaceName, @Nullable K cassandraKeyspace) {
+    Keyspace newKeyspace = cassandraKeyspace == null ? null : convertKeyspace(cassandraKeyspace);
+    List<Keyspace> keyspaces = new ArrayList<>(schema.keyspaces().size() + 1);
+    boolean replaced = false;
+    for (Keyspace keyspace : schema.keyspaces()) {
+      if (keyspace.name().equals(keyspaceName)) {
+        replaced = true;
+        if (newKeyspace != null) {
+          keyspaces.add(newKeyspace);
+        }
+      } else {
+        keyspaces.add(keyspace);
+      }
+    }
+    if (!replaced && newKeyspace != null) {
+      keyspaces.add(newKeyspace);
+    }
+    return Schema.create(keyspaces);
+  }
+
   private Keyspace convertKeyspace(K keyspace) {
     String name = keyspaceName(keyspace);
     Stream<Table> tables = convertTables(name, tables(keyspace), views(keyspace));
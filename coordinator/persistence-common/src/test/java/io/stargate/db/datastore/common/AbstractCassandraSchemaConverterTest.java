@@ -0,0 +1,95 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.stargate.db.schema.Schema;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AbstractCassandraSchemaConverterTest {
+
+  // Internal keyspaces are simply "name:replicationFactor" strings, without any table.
+  private AbstractCassandraSchemaConverter<String, ?, ?, ?, ?, ?> converter;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    AbstractCassandraSchemaConverter<String, Object, Object, Object, Object, Object> mock =
+        mock(AbstractCassandraSchemaConverter.class, CALLS_REAL_METHODS);
+    when(mock.keyspaceName(any())).thenAnswer(i -> name(i.getArgument(0)));
+    when(mock.replicationOptions(any()))
+        .thenAnswer(
+            i ->
+                Collections.singletonMap(
+                    "replication_factor", ((String) i.getArgument(0)).split(":")[1]));
+    when(mock.usesDurableWrites(any())).thenReturn(true);
+    when(mock.tables(any())).thenReturn(Collections.emptyList());
+    when(mock.userTypes(any())).thenReturn(Collections.emptyList());
+    when(mock.views(any())).thenReturn(Collections.emptyList());
+    converter = mock;
+  }
+
+  private static String name(String keyspace) {
+    return keyspace.split(":")[0];
+  }
+
+  private Schema convert(String... keyspaces) {
+    List<String> list = Arrays.asList(keyspaces);
+    return converter.convertCassandraSchema(list);
+  }
+
+  @Test
+  public void shouldUpdateOnlyChangedKeyspace() {
+    Schema schema = convert("ks1:1", "ks2:1", "ks3:1");
+
+    Schema updated = converter.updateKeyspace(schema, "ks2", "ks2:3");
+
+    assertThat(updated).isEqualTo(convert("ks1:1", "ks2:3", "ks3:1"));
+    assertThat(updated.keyspace("ks1")).isSameAs(schema.keyspace("ks1"));
+    assertThat(updated.keyspace("ks3")).isSameAs(schema.keyspace("ks3"));
+    assertThat(updated.keyspace("ks2").schemaHashCode())
+        .isNotEqualTo(schema.keyspace("ks2").schemaHashCode());
+  }
+
+  @Test
+  public void shouldAddKeyspace() {
+    Schema schema = convert("ks1:1");
+
+    Schema updated = converter.updateKeyspace(schema, "ks2", "ks2:1");
+
+    assertThat(updated).isEqualTo(convert("ks1:1", "ks2:1"));
+    assertThat(updated.keyspace("ks1")).isSameAs(schema.keyspace("ks1"));
+  }
+
+  @Test
+  public void shouldDropKeyspace() {
+    Schema schema = convert("ks1:1", "ks2:1");
+
+    Schema updated = converter.updateKeyspace(schema, "ks1", null);
+
+    assertThat(updated).isEqualTo(convert("ks2:1"));
+    assertThat(updated.keyspace("ks2")).isSameAs(schema.keyspace("ks2"));
+  }
+}
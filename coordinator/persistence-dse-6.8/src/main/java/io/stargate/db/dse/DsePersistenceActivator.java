@@ -176,6 +176,7 @@ public class DsePersistenceActivator extends BaseActivator {
     dseDB = new DsePersistence();
     // TODO copy metrics if this gets invoked more than once?
     CassandraMetricsRegistry.actualRegistry = metrics.get().getRegistry("persistence-dse-68");
+    dseDB.registerMetrics(CassandraMetricsRegistry.actualRegistry);
     @SuppressWarnings("JdkObsolete")
     Hashtable<String, String> props = new Hashtable<>();
     props.put("Identifier", "DsePersistence");
@@ -0,0 +1,68 @@
+package io.stargate.db.limiter.tenant;
+
+import io.stargate.config.store.api.ConfigStore;
+import io.stargate.core.activator.BaseActivator;
+import io.stargate.core.metrics.api.Metrics;
+import io.stargate.db.DbActivator;
+import io.stargate.db.limiter.RateLimitingManager;
+import io.stargate.db.limiter.tenant.impl.TenantRateLimitingManager;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+
+/**
+ * Activator for the {@link TenantRateLimitingManager} rate limiting service.
+ *
+ * <p>For this service to activate, the {@link #IDENTIFIER} value needs to be passed to the {@link
+ * DbActivator#RATE_LIMITING_ID_PROPERTY)} system property (see {@link DbActivator}). The limits are
+ * read from the YAML config store.
+ */
+public class TenantRateLimitingActivator extends BaseActivator {
+  public static final String IDENTIFIER = "TenantRateLimiting";
+  private static final boolean IS_ENABLED =
+      IDENTIFIER.equalsIgnoreCase(System.getProperty(DbActivator.RATE_LIMITING_ID_PROPERTY));
+
+  private final ServicePointer<ConfigStore> configStore =
+      ServicePointer.create(ConfigStore.class, "ConfigStoreIdentifier", "ConfigStoreYaml");
+  private final ServicePointer<Metrics> metrics = ServicePointer.create(Metrics.class);
+
+  private TenantRateLimitingManager manager;
+
+  public TenantRateLimitingActivator() {
+    super("Tenant Rate Limiting");
+  }
+
+  @Override
+  protected ServiceAndProperties createService() {
+    // Same as for the global rate limiting, avoid failing on the missing configuration if this
+    // service is not the one in use.
+    if (!IS_ENABLED) {
+      return null;
+    }
+    manager = new TenantRateLimitingManager(configStore.get(), metrics.get());
+    return new ServiceAndProperties(manager, RateLimitingManager.class, properties());
+  }
+
+  @Override
+  // The parent class calls stopService() from a synchronized method
+  @SuppressWarnings("GuardedBy")
+  protected void stopService() {
+    if (manager != null) {
+      manager.close();
+      manager = null;
+    }
+  }
+
+  private static Hashtable<String, String> properties() {
+    Hashtable<String, String> props = new Hashtable<>();
+    props.put("Identifier", IDENTIFIER);
+    return props;
+  }
+
+  @Override
+  protected List<ServicePointer<?>> dependencies() {
+    // don't wait for services that will never be used
+    return IS_ENABLED ? Arrays.asList(configStore, metrics) : Collections.emptyList();
+  }
+}
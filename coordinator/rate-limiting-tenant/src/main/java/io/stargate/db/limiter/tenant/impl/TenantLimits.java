@@ -0,0 +1,166 @@
+package io.stargate.db.limiter.tenant.impl;
+
+import static java.lang.String.format;
+
+import io.stargate.config.store.api.ConfigWithOverrides;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The limits enforced by the {@link TenantRateLimitingManager}, as read from the {@link
+ * TenantRateLimitingManager#CONFIG_MODULE} module of the config store.
+ *
+ * <p>The configuration looks like:
+ *
+ * <pre>
+ * rate_limiting_tenant:
+ *   # custom property of the logged user identifying its tenant, the role name is used if absent
+ *   tenant_property: tenant_id
+ *   # rate (in permits/seconds) of the tenants (or roles) not listed below
+ *   default_rate: 1000
+ *   # queries waiting for permits above which new queries of a tenant are rejected, 0 to disable
+ *   max_delayed: 1000
+ *   tenants:
+ *     some_tenant: 5000
+ *     blocked_tenant: 0
+ *   # permits charged per query type, batches being charged per statement
+ *   costs:
+ *     prepare: 1
+ *     simple: 1
+ *     bound: 1
+ *     batch_statement: 1
+ * </pre>
+ *
+ * A rate of 0 rejects all the queries of the tenant, and a cost of 0 excludes the query type from
+ * rate limiting.
+ */
+class TenantLimits {
+  static final String TENANT_PROPERTY = "tenant_property";
+  static final String DEFAULT_RATE = "default_rate";
+  static final String MAX_DELAYED = "max_delayed";
+  static final String TENANTS = "tenants";
+  static final String COSTS = "costs";
+
+  static final String COST_PREPARE = "prepare";
+  static final String COST_SIMPLE = "simple";
+  static final String COST_BOUND = "bound";
+  static final String COST_BATCH_STATEMENT = "batch_statement";
+
+  private final String tenantProperty;
+  private final long defaultRate;
+  private final long maxDelayed;
+  private final Map<String, Long> tenantRates;
+  private final long prepareCost;
+  private final long simpleCost;
+  private final long boundCost;
+  private final long batchStatementCost;
+
+  TenantLimits(
+      String tenantProperty,
+      long defaultRate,
+      long maxDelayed,
+      Map<String, Long> tenantRates,
+      long prepareCost,
+      long simpleCost,
+      long boundCost,
+      long batchStatementCost) {
+    this.tenantProperty = tenantProperty;
+    this.defaultRate = defaultRate;
+    this.maxDelayed = maxDelayed;
+    this.tenantRates = tenantRates;
+    this.prepareCost = prepareCost;
+    this.simpleCost = simpleCost;
+    this.boundCost = boundCost;
+    this.batchStatementCost = batchStatementCost;
+  }
+
+  static TenantLimits fromConfig(ConfigWithOverrides config) {
+    String tenantProperty = config.getWithOverrides(TENANT_PROPERTY);
+    long defaultRate = longValue(config, DEFAULT_RATE, null);
+    long maxDelayed = longValue(config, MAX_DELAYED, 0L);
+
+    Map<String, Long> tenantRates = new HashMap<>();
+    Map<?, ?> tenants =
+        config.getOptionalSettingValue(TENANTS, Map.class).orElse(Collections.emptyMap());
+    for (Map.Entry<?, ?> entry : tenants.entrySet()) {
+      String tenant = String.valueOf(entry.getKey());
+      tenantRates.put(
+          tenant, parse(format("%s.%s", TENANTS, tenant), String.valueOf(entry.getValue())));
+    }
+
+    Map<?, ?> costs =
+        config.getOptionalSettingValue(COSTS, Map.class).orElse(Collections.emptyMap());
+    return new TenantLimits(
+        tenantProperty,
+        defaultRate,
+        maxDelayed,
+        tenantRates,
+        cost(costs, COST_PREPARE),
+        cost(costs, COST_SIMPLE),
+        cost(costs, COST_BOUND),
+        cost(costs, COST_BATCH_STATEMENT));
+  }
+
+  private static long longValue(ConfigWithOverrides config, String setting, Long defaultValue) {
+    String value = config.getWithOverrides(setting);
+    if (value == null) {
+      if (defaultValue == null) {
+        throw new IllegalArgumentException(
+            format("Tenant rate limiting is enabled but missing value for setting '%s'", setting));
+      }
+      return defaultValue;
+    }
+    return parse(setting, value);
+  }
+
+  private static long cost(Map<?, ?> costs, String type) {
+    Object value = costs.get(type);
+    return value == null ? 1 : parse(format("%s.%s", COSTS, type), String.valueOf(value));
+  }
+
+  private static long parse(String setting, String value) {
+    long parsed;
+    try {
+      parsed = Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          format("Invalid value for setting '%s': expected a number, but got %s", setting, value));
+    }
+    if (parsed < 0) {
+      throw new IllegalArgumentException(
+          format("Invalid value for setting '%s': must not be negative, got %d", setting, parsed));
+    }
+    return parsed;
+  }
+
+  /** The custom property of the logged user identifying its tenant, or null to use the role. */
+  String tenantProperty() {
+    return tenantProperty;
+  }
+
+  /** The rate, in permits per seconds, for the given tenant. */
+  long rateFor(String tenant) {
+    return tenantRates.getOrDefault(tenant, defaultRate);
+  }
+
+  long maxDelayed() {
+    return maxDelayed;
+  }
+
+  long prepareCost() {
+    return prepareCost;
+  }
+
+  long simpleCost() {
+    return simpleCost;
+  }
+
+  long boundCost() {
+    return boundCost;
+  }
+
+  long batchStatementCost() {
+    return batchStatementCost;
+  }
+}
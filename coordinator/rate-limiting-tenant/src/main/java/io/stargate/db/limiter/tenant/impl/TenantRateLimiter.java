@@ -0,0 +1,75 @@
+package io.stargate.db.limiter.tenant.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stargate.db.limiter.AsyncRateLimiter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The {@link AsyncRateLimiter} of a single tenant, which additionally keeps track of the tasks
+ * waiting for their permits.
+ */
+class TenantRateLimiter extends AsyncRateLimiter {
+  private final String tenant;
+  private final Counter delayedCounter;
+  private final Counter rejectedCounter;
+  private final AtomicLong delayed = new AtomicLong();
+
+  TenantRateLimiter(
+      String tenant,
+      ScheduledExecutorService executor,
+      long rate,
+      Counter delayedCounter,
+      Counter rejectedCounter) {
+    // a rate of 0 is rejected before reaching the limiter, but it must still be constructible
+    super(executor, Math.max(rate, 1), TimeUnit.SECONDS, 1, TimeUnit.MINUTES);
+    this.tenant = tenant;
+    this.delayedCounter = delayedCounter;
+    this.rejectedCounter = rejectedCounter;
+  }
+
+  String tenant() {
+    return tenant;
+  }
+
+  /** The number of tasks currently waiting for their permits. */
+  long delayed() {
+    return delayed.get();
+  }
+
+  void onRejected() {
+    rejectedCounter.increment();
+  }
+
+  /** Removes the meters of this limiter, once it is dropped. */
+  void removeMeters(MeterRegistry meterRegistry) {
+    meterRegistry.remove(delayedCounter);
+    meterRegistry.remove(rejectedCounter);
+  }
+
+  @Override
+  public void setRate(long rate, TimeUnit rateUnit) {
+    super.setRate(Math.max(rate, 1), rateUnit);
+  }
+
+  @Override
+  protected void onDelayed(long delayNanos) {
+    delayedCounter.increment();
+  }
+
+  @Override
+  public <T> CompletableFuture<T> acquireAndExecute(
+      long permits, Supplier<CompletableFuture<T>> task) {
+    delayed.incrementAndGet();
+    return super.acquireAndExecute(
+        permits,
+        () -> {
+          delayed.decrementAndGet();
+          return task.get();
+        });
+  }
+}
@@ -0,0 +1,231 @@
+package io.stargate.db.limiter.tenant.impl;
+
+import static java.lang.String.format;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.stargate.config.store.api.ConfigStore;
+import io.stargate.core.metrics.api.Metrics;
+import io.stargate.db.AuthenticatedUser;
+import io.stargate.db.Batch;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.ClientInfo;
+import io.stargate.db.Parameters;
+import io.stargate.db.Statement;
+import io.stargate.db.limiter.RateLimitingDecision;
+import io.stargate.db.limiter.RateLimitingManager;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A rate limiting manager that rate limits the queries of each tenant separately, so that a single
+ * tenant cannot use up the capacity of all the others.
+ *
+ * <p>The tenant of a connection is identified when a user logs in, either by a custom property of
+ * the {@link AuthenticatedUser} (see {@link TenantLimits#tenantProperty()}) or otherwise by its
+ * role name. All queries of connections without logged user are rate limited together.
+ *
+ * <p>A limiter is created for a tenant the first time it sends a query, and is dropped once the
+ * tenant stayed idle for {@link #IDLE_TIMEOUT_PROPERTY} seconds. The limits are read from the
+ * {@link #CONFIG_MODULE} module of the {@link ConfigStore} (see {@link TenantLimits} for the
+ * format), and are refreshed every {@link #REFRESH_PROPERTY} seconds, so that they can be changed
+ * at runtime.
+ *
+ * <p>The number of delayed and rejected queries of each tenant are published as metrics, which are
+ * removed along with the limiter of the tenant.
+ */
+public class TenantRateLimitingManager implements RateLimitingManager {
+  private static final Logger logger = LoggerFactory.getLogger(TenantRateLimitingManager.class);
+
+  public static final String CONFIG_MODULE = "rate_limiting_tenant";
+  public static final String METRICS_MODULE = "rate-limiting-tenant";
+  public static final String DELAYED_METRIC = "rate_limiting_tenant_delayed";
+  public static final String REJECTED_METRIC = "rate_limiting_tenant_rejected";
+
+  public static final String IDLE_TIMEOUT_PROPERTY = "stargate.limiter.tenant.idle_timeout_seconds";
+  public static final String REFRESH_PROPERTY = "stargate.limiter.tenant.refresh_seconds";
+  private static final int DELAYED_TASKS_EXECUTOR_THREADS =
+      Integer.getInteger("stargate.limiter.tenant.threads", 4);
+
+  // the tenant of connections without logged user
+  static final String ANONYMOUS_TENANT = "";
+
+  private final ConfigStore configStore;
+  private final ScheduledExecutorService executor;
+  private final MeterRegistry meterRegistry;
+  private final Tags tags;
+  private final LoadingCache<String, TenantRateLimiter> limiters;
+
+  private volatile TenantLimits limits;
+
+  public TenantRateLimitingManager(ConfigStore configStore, Metrics metrics) {
+    this(
+        configStore,
+        Executors.newScheduledThreadPool(DELAYED_TASKS_EXECUTOR_THREADS, newThreadFactory()),
+        metrics.getMeterRegistry(),
+        metrics.tagsForModule(METRICS_MODULE),
+        Duration.ofSeconds(Long.getLong(IDLE_TIMEOUT_PROPERTY, 600)),
+        Ticker.systemTicker());
+
+    long refreshSeconds = Long.getLong(REFRESH_PROPERTY, 10);
+    executor.scheduleWithFixedDelay(
+        this::refreshLimits, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+  }
+
+  TenantRateLimitingManager(
+      ConfigStore configStore,
+      ScheduledExecutorService executor,
+      MeterRegistry meterRegistry,
+      Tags tags,
+      Duration idleTimeout,
+      Ticker ticker) {
+    this.configStore = configStore;
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+    this.tags = tags;
+    // fails right away if the configuration is missing or invalid
+    this.limits = loadLimits();
+    this.limiters =
+        Caffeine.newBuilder()
+            .expireAfterAccess(idleTimeout)
+            .ticker(ticker)
+            // the meters of an idle tenant are removed with its limiter; the listener runs
+            // atomically with the eviction, so that a new limiter for the same tenant registers new
+            // meters
+            .evictionListener(
+                (String tenant, TenantRateLimiter limiter, RemovalCause cause) ->
+                    limiter.removeMeters(meterRegistry))
+            .build(this::newLimiter);
+  }
+
+  private static ThreadFactory newThreadFactory() {
+    AtomicInteger threadCount = new AtomicInteger();
+    return r -> {
+      Thread thread = new Thread(r, "tenant-rate-limiter-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /** Stops the delayed queries and the refresh of the limits. */
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  // Visible for testing, expired limiters are otherwise removed as part of the cache maintenance
+  void cleanUp() {
+    limiters.cleanUp();
+  }
+
+  private TenantLimits loadLimits() {
+    return TenantLimits.fromConfig(configStore.getConfigForModule(CONFIG_MODULE));
+  }
+
+  private TenantRateLimiter newLimiter(String tenant) {
+    Tags tenantTags = tags.and("tenant", tenant);
+    return new TenantRateLimiter(
+        tenant,
+        executor,
+        limits.rateFor(tenant),
+        meterRegistry.counter(DELAYED_METRIC, tenantTags),
+        meterRegistry.counter(REJECTED_METRIC, tenantTags));
+  }
+
+  /** Re-reads the limits from the config store, and applies them to the existing limiters. */
+  void refreshLimits() {
+    TenantLimits newLimits;
+    try {
+      newLimits = loadLimits();
+    } catch (RuntimeException e) {
+      logger.warn("Failed to refresh the tenant rate limits, keeping the previous ones", e);
+      return;
+    }
+    limits = newLimits;
+    for (TenantRateLimiter limiter : limiters.asMap().values()) {
+      limiter.setRate(newLimits.rateFor(limiter.tenant()), TimeUnit.SECONDS);
+    }
+  }
+
+  @Override
+  public String description() {
+    return "per tenant rate limiting";
+  }
+
+  @Override
+  public ConnectionManager forNewConnection() {
+    return new TenantConnectionManager();
+  }
+
+  @Override
+  public ConnectionManager forNewConnection(ClientInfo clientInfo) {
+    TenantConnectionManager manager = new TenantConnectionManager();
+    AuthenticatedUser user = clientInfo.getAuthenticatedUser();
+    if (user != null) {
+      manager.onUserLogged(user);
+    }
+    return manager;
+  }
+
+  private String tenantOf(AuthenticatedUser user) {
+    String property = limits.tenantProperty();
+    String tenant = property == null ? null : user.customProperties().get(property);
+    return tenant == null ? user.name() : tenant;
+  }
+
+  private RateLimitingDecision decide(String tenant, long permits) {
+    if (permits <= 0) {
+      return RateLimitingDecision.unlimited();
+    }
+    TenantLimits currentLimits = limits;
+    TenantRateLimiter limiter = limiters.get(tenant);
+    if (currentLimits.rateFor(tenant) == 0) {
+      limiter.onRejected();
+      return RateLimitingDecision.reject(format("Queries of tenant '%s' are not allowed", tenant));
+    }
+    long maxDelayed = currentLimits.maxDelayed();
+    if (maxDelayed > 0 && limiter.delayed() >= maxDelayed) {
+      limiter.onRejected();
+      return RateLimitingDecision.reject(format("Rate limit exceeded for tenant '%s'", tenant));
+    }
+    return RateLimitingDecision.limit(limiter, permits);
+  }
+
+  private class TenantConnectionManager implements ConnectionManager {
+    private volatile String tenant = ANONYMOUS_TENANT;
+
+    @Override
+    public void onUserLogged(AuthenticatedUser user) {
+      tenant = tenantOf(user);
+    }
+
+    @Override
+    public RateLimitingDecision forPrepare(String query, Parameters parameters) {
+      return decide(tenant, limits.prepareCost());
+    }
+
+    @Override
+    public RateLimitingDecision forExecute(Statement statement, Parameters parameters) {
+      TenantLimits currentLimits = limits;
+      long cost =
+          statement instanceof BoundStatement
+              ? currentLimits.boundCost()
+              : currentLimits.simpleCost();
+      return decide(tenant, cost);
+    }
+
+    @Override
+    public RateLimitingDecision forBatch(Batch batch, Parameters parameters) {
+      return decide(tenant, batch.size() * limits.batchStatementCost());
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package io.stargate.db.limiter.tenant.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.config.store.api.ConfigStore;
+import io.stargate.config.store.api.ConfigWithOverrides;
+import io.stargate.db.AuthenticatedUser;
+import io.stargate.db.Batch;
+import io.stargate.db.BatchType;
+import io.stargate.db.Parameters;
+import io.stargate.db.SimpleStatement;
+import io.stargate.db.Statement;
+import io.stargate.db.limiter.RateLimitingDecision;
+import io.stargate.db.limiter.RateLimitingManager.ConnectionManager;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class TenantRateLimitingManagerTest {
+
+  private final Parameters parameters = mock(Parameters.class);
+  private final Statement statement = new SimpleStatement("SELECT * FROM ks.t");
+  private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ConfigStore configStore = mock(ConfigStore.class);
+  private final Map<String, Object> config = new HashMap<>();
+  private final Map<String, Object> tenants = new HashMap<>();
+  private final AtomicInteger executed = new AtomicInteger();
+  private final AtomicLong ticker = new AtomicLong();
+
+  private TenantRateLimitingManager manager;
+
+  @BeforeEach
+  public void setup() {
+    config.put(TenantLimits.TENANT_PROPERTY, "tenant_id");
+    config.put(TenantLimits.DEFAULT_RATE, 1);
+    config.put(TenantLimits.TENANTS, tenants);
+    when(configStore.getConfigForModule(TenantRateLimitingManager.CONFIG_MODULE))
+        .thenAnswer(
+            i ->
+                new ConfigWithOverrides(
+                    new HashMap<>(config), TenantRateLimitingManager.CONFIG_MODULE));
+    manager = newManager();
+  }
+
+  private TenantRateLimitingManager newManager() {
+    return new TenantRateLimitingManager(
+        configStore, executor, meterRegistry, Tags.empty(), Duration.ofMinutes(1), ticker::get);
+  }
+
+  private ConnectionManager connection(String role, String tenant) {
+    ConnectionManager connection = manager.forNewConnection();
+    Map<String, String> properties =
+        tenant == null ? Collections.emptyMap() : Collections.singletonMap("tenant_id", tenant);
+    connection.onUserLogged(AuthenticatedUser.of(role, "token", false, properties));
+    return connection;
+  }
+
+  private void execute(RateLimitingDecision decision) {
+    decision.apply(
+        () -> {
+          executed.incrementAndGet();
+          return CompletableFuture.completedFuture(null);
+        });
+  }
+
+  private double counter(String name, String tenant) {
+    return meterRegistry.counter(name, Tags.of("tenant", tenant)).count();
+  }
+
+  @Test
+  public void limitsTenantsSeparately() {
+    ConnectionManager tenantA = connection("role1", "a");
+    ConnectionManager tenantAOtherRole = connection("role2", "a");
+    ConnectionManager tenantB = connection("role1", "b");
+
+    execute(tenantA.forExecute(statement, parameters));
+    execute(tenantB.forExecute(statement, parameters));
+    assertThat(executed).hasValue(2);
+    verify(executor, never()).schedule(any(Runnable.class), anyLong(), any());
+
+    // same tenant, so shares the limiter even though the role differs
+    execute(tenantAOtherRole.forExecute(statement, parameters));
+    assertThat(executed).hasValue(2);
+    verify(executor).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+    assertThat(counter(TenantRateLimitingManager.DELAYED_METRIC, "a")).isEqualTo(1);
+    assertThat(counter(TenantRateLimitingManager.DELAYED_METRIC, "b")).isZero();
+  }
+
+  @Test
+  public void usesRoleWithoutTenantProperty() {
+    ConnectionManager role1 = connection("role1", null);
+    ConnectionManager role2 = connection("role2", null);
+
+    execute(role1.forExecute(statement, parameters));
+    execute(role2.forExecute(statement, parameters));
+
+    assertThat(executed).hasValue(2);
+  }
+
+  @Test
+  public void chargesBatchesBySize() {
+    config.put(TenantLimits.DEFAULT_RATE, 10);
+    manager = newManager();
+    ConnectionManager connection = connection("role", "a");
+    Batch batch =
+        new Batch(BatchType.LOGGED, Collections.nCopies(10, new SimpleStatement("INSERT")));
+
+    execute(connection.forBatch(batch, parameters));
+    execute(connection.forExecute(statement, parameters));
+
+    ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+    verify(executor).schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.NANOSECONDS));
+    // the batch used up a whole second of permits
+    assertThat(delay.getValue()).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(900));
+  }
+
+  @Test
+  public void skipsFreeQueryTypes() {
+    config.put(TenantLimits.COSTS, Collections.singletonMap(TenantLimits.COST_PREPARE, 0));
+    manager = newManager();
+    ConnectionManager connection = connection("role", "a");
+
+    assertThat(connection.forPrepare("SELECT", parameters))
+        .isInstanceOf(RateLimitingDecision.Unlimited.class);
+    assertThat(connection.forExecute(statement, parameters))
+        .isInstanceOf(RateLimitingDecision.Limited.class);
+  }
+
+  @Test
+  public void rejectsAboveMaxDelayed() {
+    config.put(TenantLimits.MAX_DELAYED, 1);
+    manager = newManager();
+    ConnectionManager connection = connection("role", "a");
+
+    execute(connection.forExecute(statement, parameters));
+    // the mocked executor never runs it, so it stays delayed
+    execute(connection.forExecute(statement, parameters));
+
+    assertThat(connection.forExecute(statement, parameters))
+        .isInstanceOf(RateLimitingDecision.Rejected.class);
+    assertThat(counter(TenantRateLimitingManager.REJECTED_METRIC, "a")).isEqualTo(1);
+  }
+
+  @Test
+  public void reloadsLimits() {
+    tenants.put("a", 0);
+    manager = newManager();
+    ConnectionManager connection = connection("role", "a");
+
+    assertThat(connection.forExecute(statement, parameters))
+        .isInstanceOf(RateLimitingDecision.Rejected.class);
+
+    // the rate of the existing limiter is updated
+    tenants.put("a", 10000);
+    manager.refreshLimits();
+
+    for (int i = 0; i < 3; i++) {
+      execute(connection.forExecute(statement, parameters));
+    }
+    assertThat(executed).hasValue(3);
+    verify(executor, never()).schedule(any(Runnable.class), anyLong(), any());
+  }
+
+  @Test
+  public void keepsLimitsOnInvalidReload() {
+    ConnectionManager connection = connection("role", "a");
+    config.put(TenantLimits.DEFAULT_RATE, "not a number");
+
+    manager.refreshLimits();
+
+    assertThat(connection.forExecute(statement, parameters))
+        .isInstanceOf(RateLimitingDecision.Limited.class);
+    verify(configStore, times(2)).getConfigForModule(TenantRateLimitingManager.CONFIG_MODULE);
+  }
+
+  @Test
+  public void removesMetersOfIdleTenants() {
+    config.put(TenantLimits.MAX_DELAYED, 1);
+    manager = newManager();
+    ConnectionManager connection = connection("role", "a");
+    execute(connection.forExecute(statement, parameters));
+    execute(connection.forExecute(statement, parameters));
+    assertThat(connection.forExecute(statement, parameters))
+        .isInstanceOf(RateLimitingDecision.Rejected.class);
+    assertThat(meterRegistry.find(TenantRateLimitingManager.REJECTED_METRIC).counters()).hasSize(1);
+
+    ticker.addAndGet(Duration.ofMinutes(2).toNanos());
+    manager.cleanUp();
+
+    assertThat(meterRegistry.find(TenantRateLimitingManager.REJECTED_METRIC).counters()).isEmpty();
+    assertThat(meterRegistry.find(TenantRateLimitingManager.DELAYED_METRIC).counters()).isEmpty();
+
+    // a new limiter for the same tenant reports to new meters
+    execute(connection.forExecute(statement, parameters));
+    execute(connection.forExecute(statement, parameters));
+    assertThat(connection.forExecute(statement, parameters))
+        .isInstanceOf(RateLimitingDecision.Rejected.class);
+    assertThat(counter(TenantRateLimitingManager.REJECTED_METRIC, "a")).isEqualTo(1);
+  }
+
+  @Test
+  public void shutsDownExecutorOnClose() {
+    manager.close();
+
+    verify(executor).shutdownNow();
+  }
+}
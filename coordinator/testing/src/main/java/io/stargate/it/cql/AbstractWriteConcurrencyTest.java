@@ -0,0 +1,129 @@
+package io.stargate.it.cql;
+
+import static io.stargate.it.MetricsTestsHelper.getMetricValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.config.OptionsMap;
+import com.datastax.oss.driver.api.core.config.TypedDriverOption;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import io.stargate.it.BaseIntegrationTest;
+import io.stargate.it.driver.CqlSessionExtension;
+import io.stargate.it.driver.CqlSessionSpec;
+import io.stargate.it.http.RestUtils;
+import io.stargate.it.storage.StargateConnectionInfo;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the same writes with each execution mode of the persistence (see the subclasses), and
+ * reports the throughput and the coordinator thread count under {@link #CONCURRENT_WRITES}
+ * concurrent requests, so that the modes can be compared.
+ */
+@ExtendWith(CqlSessionExtension.class)
+@CqlSessionSpec(
+    customOptions = "allowConcurrentRequests",
+    initQueries = "CREATE TABLE IF NOT EXISTS test (k int PRIMARY KEY, v text)")
+public abstract class AbstractWriteConcurrencyTest extends BaseIntegrationTest {
+  private static final Logger LOG = LoggerFactory.getLogger(AbstractWriteConcurrencyTest.class);
+
+  private static final int CONCURRENT_WRITES = 10_000;
+  private static final Pattern THREAD_COUNT_REGEXP =
+      Pattern.compile("(jvm_threads_count\\s*)(\\d+.\\d+)");
+
+  private static String metricsUrl;
+
+  public static void allowConcurrentRequests(OptionsMap config) {
+    // The default (1024) would fail most of the concurrent requests with a single connection
+    config.put(TypedDriverOption.CONNECTION_MAX_REQUESTS, CONCURRENT_WRITES);
+    config.put(TypedDriverOption.REQUEST_TIMEOUT, Duration.ofMinutes(1));
+  }
+
+  @BeforeAll
+  public static void setup(StargateConnectionInfo stargate) {
+    metricsUrl = String.format("http://%s:8084/metrics", stargate.seedAddress());
+  }
+
+  @Test
+  public void shouldWriteAndReadBack(CqlSession session) {
+    session.execute("INSERT INTO test (k, v) VALUES (-1, 'simple')");
+    PreparedStatement prepared = session.prepare("INSERT INTO test (k, v) VALUES (?, ?)");
+    session.execute(prepared.bind(-2, "prepared"));
+
+    assertThat(session.execute("SELECT v FROM test WHERE k = -1").one().getString("v"))
+        .isEqualTo("simple");
+    assertThat(session.execute("SELECT v FROM test WHERE k = -2").one().getString("v"))
+        .isEqualTo("prepared");
+  }
+
+  @Test
+  public void shouldApplyConditionalUpdates(CqlSession session) {
+    String query = "INSERT INTO test (k, v) VALUES (-3, 'lwt') IF NOT EXISTS";
+
+    assertThat(session.execute(query).wasApplied()).isTrue();
+    assertThat(session.execute(query).wasApplied()).isFalse();
+  }
+
+  @Test
+  public void shouldExecuteConcurrentWrites(CqlSession session) throws Exception {
+    PreparedStatement prepared = session.prepare("INSERT INTO test (k, v) VALUES (?, ?)");
+    AtomicLong maxThreads = new AtomicLong(threadCount());
+    ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+    sampler.scheduleAtFixedRate(
+        () -> maxThreads.accumulateAndGet(threadCount(), Math::max),
+        100,
+        100,
+        TimeUnit.MILLISECONDS);
+
+    long start = System.nanoTime();
+    List<CompletableFuture<?>> writes = new ArrayList<>(CONCURRENT_WRITES);
+    try {
+      for (int i = 0; i < CONCURRENT_WRITES; i++) {
+        writes.add(session.executeAsync(prepared.bind(i, "v" + i)).toCompletableFuture());
+      }
+      CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).get(2, TimeUnit.MINUTES);
+    } finally {
+      sampler.shutdownNow();
+    }
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    LOG.info(
+        "{}: {} concurrent writes in {} ms ({} writes/s), at most {} coordinator threads",
+        getClass().getSimpleName(),
+        CONCURRENT_WRITES,
+        elapsedMillis,
+        CONCURRENT_WRITES * 1000L / Math.max(elapsedMillis, 1),
+        maxThreads.get());
+
+    ResultSet rs = session.execute("SELECT k, v FROM test WHERE k = ?", CONCURRENT_WRITES - 1);
+    Row row = rs.one();
+    assertThat(row).isNotNull();
+    assertThat(row.getString("v")).isEqualTo("v" + (CONCURRENT_WRITES - 1));
+  }
+
+  private static long threadCount() {
+    try {
+      String body = RestUtils.get("", metricsUrl, HttpStatus.SC_OK);
+      return (long) getMetricValue(body, "jvm_threads_count", THREAD_COUNT_REGEXP);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package io.stargate.it.cql;
+
+/** Executes the writes the regular way, blocking a coordinator thread until they complete. */
+public class BlockingWriteConcurrencyTest extends AbstractWriteConcurrencyTest {}
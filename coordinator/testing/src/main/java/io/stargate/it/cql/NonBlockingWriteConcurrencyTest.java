@@ -0,0 +1,17 @@
+package io.stargate.it.cql;
+
+import io.stargate.it.storage.StargateParameters;
+import io.stargate.it.storage.StargateSpec;
+
+/**
+ * Executes the writes without blocking a coordinator thread while the replicas respond (only
+ * supported by the Cassandra 4.0 persistence, the others ignore the option).
+ */
+@StargateSpec(parametersCustomizer = "buildParameters")
+public class NonBlockingWriteConcurrencyTest extends AbstractWriteConcurrencyTest {
+
+  @SuppressWarnings("unused") // referenced in @StargateSpec
+  public static void buildParameters(StargateParameters.Builder builder) {
+    builder.putSystemProperties("stargate.cassandra.non_blocking_writes", "true");
+  }
+}
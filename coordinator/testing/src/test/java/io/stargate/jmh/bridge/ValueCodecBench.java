@@ -0,0 +1,100 @@
+package io.stargate.jmh.bridge;
+
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import io.stargate.bridge.codec.BytesCodec;
+import io.stargate.bridge.codec.StringCodec;
+import io.stargate.bridge.proto.QueryOuterClass.Row;
+import io.stargate.db.schema.Column;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for decoding text and blob cells into bridge rows, and serializing them, with and
+ * without zero-copy in the {@link StringCodec} and {@link BytesCodec}.
+ *
+ * <p>Each row mimics a wide Docs API row: a number of text path columns followed by a text and a
+ * blob value column.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=ValueCodecBench -Djmh.prof=gc</code>, and compare the
+ * <code>gc.alloc.rate.norm</code> of the copying and zero-copy variants.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ValueCodecBench {
+
+  private static final int PATH_COLUMNS = 64;
+
+  private final StringCodec copyingText = new StringCodec(TypeCodecs.TEXT, false);
+
+  private final StringCodec zeroCopyText = new StringCodec(TypeCodecs.TEXT, true);
+
+  private final BytesCodec copyingBlob = new BytesCodec(false);
+
+  private final BytesCodec zeroCopyBlob = new BytesCodec(true);
+
+  private List<ByteBuffer> paths;
+
+  private ByteBuffer text;
+
+  private ByteBuffer blob;
+
+  @Param({"16", "1024", "65536"})
+  int valueSize;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    paths = new ArrayList<>(PATH_COLUMNS);
+    for (int i = 0; i < PATH_COLUMNS; i++) {
+      paths.add(utf8(RandomStringUtils.randomAlphanumeric(12)));
+    }
+    text = utf8(RandomStringUtils.randomAlphanumeric(valueSize));
+    blob = ByteBuffer.wrap(RandomUtils.nextBytes(valueSize));
+  }
+
+  @Benchmark
+  public void copying(Blackhole bh) {
+    bh.consume(serialize(copyingText, copyingBlob));
+  }
+
+  @Benchmark
+  public void zeroCopy(Blackhole bh) {
+    bh.consume(serialize(zeroCopyText, zeroCopyBlob));
+  }
+
+  private byte[] serialize(StringCodec textCodec, BytesCodec blobCodec) {
+    Row.Builder row = Row.newBuilder();
+    for (ByteBuffer path : paths) {
+      row.addValues(textCodec.decode(path, Column.Type.Text));
+    }
+    row.addValues(textCodec.decode(text, Column.Type.Text));
+    row.addValues(blobCodec.decode(blob, Column.Type.Blob));
+    return row.build().toByteArray();
+  }
+
+  private static ByteBuffer utf8(String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,129 @@
+package io.stargate.jmh.cql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.transport.internal.Frame;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.CompressingTransformer;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.SnappyCompressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.ZstdCompressor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for compressing and decompressing CQL frame bodies with each supported algorithm, from
+ * heap and direct buffers.
+ *
+ * <p>Frame bodies are made of text rows, repetitive enough to compress like typical result sets.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=FrameCompressionBench -Djmh.prof=gc</code>, and check that
+ * <code>gc.alloc.rate.norm</code> stays flat as the frame size grows (the frames are neither copied
+ * into byte arrays nor decompressed into temporary ones).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FrameCompressionBench {
+
+  private static final EnumSet<Frame.Header.Flag> COMPRESSED =
+      EnumSet.of(Frame.Header.Flag.COMPRESSED);
+
+  @Param({"lz4", "snappy", "zstd"})
+  String compression;
+
+  @Param({"1024", "65536", "1048576"})
+  int frameSize;
+
+  @Param({"true", "false"})
+  boolean direct;
+
+  private CompressingTransformer transformer;
+
+  private ByteBuf body;
+
+  private ByteBuf compressedBody;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    transformer = CompressingTransformer.getTransformer(compressor());
+
+    byte[] bytes = body(frameSize);
+    body =
+        direct
+            ? PooledByteBufAllocator.DEFAULT.directBuffer(frameSize)
+            : PooledByteBufAllocator.DEFAULT.heapBuffer(frameSize);
+    body.writeBytes(bytes);
+    compressedBody = transformer.transformOutbound(body.duplicate());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    body.release();
+    compressedBody.release();
+  }
+
+  @Benchmark
+  public int compress() throws IOException {
+    ByteBuf compressed = transformer.transformOutbound(body.duplicate());
+    int length = compressed.readableBytes();
+    compressed.release();
+    return length;
+  }
+
+  @Benchmark
+  public int decompress() throws IOException {
+    ByteBuf decompressed = transformer.transformInbound(compressedBody.duplicate(), COMPRESSED);
+    int length = decompressed.readableBytes();
+    decompressed.release();
+    return length;
+  }
+
+  private Compressor compressor() {
+    Compressor compressor;
+    switch (compression) {
+      case "lz4":
+        compressor = LZ4Compressor.INSTANCE;
+        break;
+      case "snappy":
+        compressor = SnappyCompressor.INSTANCE;
+        break;
+      case "zstd":
+        compressor = ZstdCompressor.INSTANCE;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown compression " + compression);
+    }
+    if (compressor == null) {
+      throw new IllegalStateException(compression + " is not available on this platform");
+    }
+    return compressor;
+  }
+
+  private static byte[] body(int size) {
+    StringBuilder body = new StringBuilder(size);
+    for (int i = 0; body.length() < size; i++) {
+      body.append("row-").append(i).append(":value-").append(i % 97).append(';');
+    }
+    return body.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+  }
+}